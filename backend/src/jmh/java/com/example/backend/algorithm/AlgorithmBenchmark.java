@@ -0,0 +1,144 @@
+package com.example.backend.algorithm;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/** Graph algorithms as the algorithm endpoints run them, from 1k to 1M edges. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AlgorithmBenchmark {
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    int edges;
+
+    private CsrGraph graph;
+    private int source;
+    private int target;
+    private int[] sources;
+    private double heuristicScale;
+    private ForkJoinPool pool;
+    private MultiSourceShortestPaths multiSource;
+    private Dijkstra dijkstra;
+    private AStar astar;
+    private BidirectionalDijkstra bidirectional;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        graph = BenchmarkGraphs.geometric(edges, 42);
+        source = 0;
+        target = graph.vertexCount() - 1;
+        sources = new int[16];
+        for (int i = 0; i < sources.length; i++) sources[i] = (int) ((long) i * graph.vertexCount() / sources.length);
+        heuristicScale = Math.min(graph.geometricScale(), graph.coordinateScale());
+        pool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+        multiSource = new MultiSourceShortestPaths(pool);
+        dijkstra = new Dijkstra(graph.vertexCount());
+        astar = new AStar(graph.vertexCount());
+        bidirectional = new BidirectionalDijkstra(graph.vertexCount());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public SearchResult bfs() {
+        return GraphSearch.bfs(graph, source, -1);
+    }
+
+    @Benchmark
+    public SearchResult dfs() {
+        return GraphSearch.dfs(graph, source, -1);
+    }
+
+    @Benchmark
+    public PathResult dijkstra() {
+        return dijkstra.shortestPath(graph, source, target);
+    }
+
+    @Benchmark
+    public ShortestPathTree dijkstraTree() {
+        return dijkstra.tree(graph, source);
+    }
+
+    @Benchmark
+    public PathResult astar() {
+        return astar.shortestPath(graph, source, target, heuristicScale);
+    }
+
+    @Benchmark
+    public PathResult bidirectional() {
+        return bidirectional.shortestPath(graph, source, target);
+    }
+
+    @Benchmark
+    public double[] multiSource() {
+        return multiSource.matrix(graph, sources);
+    }
+
+    @Benchmark
+    public int[] coloringLargestFirst() {
+        return GraphColoring.color(graph, GraphColoring.Strategy.LARGEST_FIRST, pool, 1);
+    }
+
+    @Benchmark
+    public int[] coloringSmallestLast() {
+        return GraphColoring.color(graph, GraphColoring.Strategy.SMALLEST_LAST, pool, 1);
+    }
+
+    @Benchmark
+    public int[] coloringDsatur() {
+        return GraphColoring.color(graph, GraphColoring.Strategy.DSATUR, pool, 1);
+    }
+
+    @Benchmark
+    public int[] coloringJonesPlassmann() {
+        return GraphColoring.color(graph, GraphColoring.Strategy.JONES_PLASSMANN, pool, 1);
+    }
+
+    /**
+     * A directed graph without a cached symmetric copy. The benchmark graph
+     * is undirected, so its symmetric() is the graph itself, and a directed
+     * graph caches the copy after the first call; every invocation therefore
+     * gets a fresh graph object over the same buffer, which costs no copy.
+     */
+    @State(Scope.Thread)
+    public static class DirectedGraph {
+        private CsrGraph built;
+        CsrGraph graph;
+
+        @Setup(Level.Trial)
+        public void build(AlgorithmBenchmark benchmark) {
+            built = BenchmarkGraphs.geometric(benchmark.edges, 42, true);
+        }
+
+        @Setup(Level.Invocation)
+        public void fresh() {
+            graph = CsrGraph.wrap(built.data());
+        }
+    }
+
+    @Benchmark
+    public CsrGraph symmetric(DirectedGraph directed) {
+        return directed.graph.symmetric();
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.backend.algorithm;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * All-pairs distances, kept apart from {@link AlgorithmBenchmark} because the
+ * matrix is quadratic in the vertex count: sizes stop at the 4000-node limit
+ * the distance matrix service enforces by default.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+public class AllPairsBenchmark {
+
+    @Param({"1000", "4000", "16000"})
+    int edges;
+
+    private CsrGraph graph;
+    private ForkJoinPool pool;
+    private MultiSourceShortestPaths engine;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        graph = BenchmarkGraphs.geometric(edges, 42);
+        pool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+        engine = new MultiSourceShortestPaths(pool);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public DistanceMatrix auto() {
+        return AllPairsShortestPaths.compute(graph, engine);
+    }
+
+    @Benchmark
+    public DistanceMatrix floydWarshall() {
+        return AllPairsShortestPaths.floydWarshall(graph, pool);
+    }
+
+    @Benchmark
+    public DistanceMatrix repeatedDijkstra() {
+        return AllPairsShortestPaths.repeatedDijkstra(graph, engine);
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.backend.algorithm;
+
+import java.util.Random;
+
+/** Synthetic graphs for the benchmarks, deterministic for a given size and seed. */
+final class BenchmarkGraphs {
+
+    private BenchmarkGraphs() {}
+
+    /**
+     * Undirected road-like graph with about {@code edges} edges: vertices sit
+     * on a jittered grid and connect to nearby grid cells, weighted by their
+     * distance times a random detour factor, so A* has a valid heuristic.
+     * Vertex 0 and the last vertex are opposite corners.
+     */
+    static CsrGraph geometric(int edges, long seed) {
+        return geometric(edges, seed, false);
+    }
+
+    /** The same graph with every edge directed from its lower to its higher vertex when {@code directed} is set. */
+    static CsrGraph geometric(int edges, long seed, boolean directed) {
+        Random rnd = new Random(seed);
+        int n = Math.max(16, edges / 4);
+        int side = (int) Math.ceil(Math.sqrt(n));
+        double[] xs = new double[n];
+        double[] ys = new double[n];
+        CsrGraph.Builder b = new CsrGraph.Builder(n, edges);
+        for (int v = 0; v < n; v++) {
+            xs[v] = (v % side + rnd.nextDouble() * 0.4) * 10;
+            ys[v] = (v / side + rnd.nextDouble() * 0.4) * 10;
+            b.addVertex("n" + v, xs[v], ys[v]);
+        }
+        int[] offsets = {1, side, side + 1, side - 1, 2, 2 * side};
+        for (int i = 0; i < edges; i++) {
+            int u = rnd.nextInt(n);
+            int v = Math.min(n - 1, u + offsets[rnd.nextInt(offsets.length)]);
+            if (u == v) v = Math.max(0, u - 1);
+            double d = Math.hypot(xs[u] - xs[v], ys[u] - ys[v]);
+            b.addArc(u, v, d * (1 + rnd.nextDouble() * 0.5), directed);
+        }
+        return b.build();
+    }
+}
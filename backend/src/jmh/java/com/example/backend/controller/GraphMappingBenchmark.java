@@ -0,0 +1,116 @@
+package com.example.backend.controller;
+
+import com.example.backend.entity.Edge;
+import com.example.backend.entity.Graph;
+import com.example.backend.entity.Node;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Request-side work of the graph endpoints without the database: mapping a
+ * save request to entities, the dedupe maps of a full update, and writing a
+ * loaded graph (with its managed node and edge references) as JSON.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GraphMappingBenchmark {
+
+    // Nodes per request; edges are twice as many, one in ten a duplicate
+    @Param({"1000", "10000", "100000"})
+    int nodes;
+
+    private GraphController.SaveGraphRequest request;
+    private Graph graph;
+    private ObjectMapper objectMapper;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random rnd = new Random(42);
+        List<GraphController.NodeDTO> nodeDtos = new ArrayList<>(nodes);
+        for (int i = 0; i < nodes; i++) {
+            GraphController.NodeDTO dto = new GraphController.NodeDTO();
+            dto.setNodeId("n" + i);
+            dto.setLabel("Düğüm " + i);
+            dto.setPositionX(rnd.nextDouble() * 1000);
+            dto.setPositionY(rnd.nextDouble() * 1000);
+            if (i % 3 == 0) dto.setColor("#ff9800");
+            nodeDtos.add(dto);
+        }
+        List<GraphController.EdgeDTO> edgeDtos = new ArrayList<>(2 * nodes);
+        for (int i = 0; i < 2 * nodes; i++) {
+            GraphController.EdgeDTO dto = new GraphController.EdgeDTO();
+            dto.setEdgeId("e" + i);
+            if (i % 10 == 9) {
+                // The previous edge reversed, which an update collapses when both are undirected
+                GraphController.EdgeDTO previous = edgeDtos.get(i - 1);
+                dto.setFromNode(previous.getToNode());
+                dto.setToNode(previous.getFromNode());
+            } else {
+                dto.setFromNode("n" + rnd.nextInt(nodes));
+                dto.setToNode("n" + rnd.nextInt(nodes));
+            }
+            dto.setWeight(1 + rnd.nextInt(20) / 2.0);
+            dto.setIsDirected(i % 4 == 0);
+            edgeDtos.add(dto);
+        }
+        request = new GraphController.SaveGraphRequest();
+        request.setName("benchmark");
+        request.setNodes(nodeDtos);
+        request.setEdges(edgeDtos);
+
+        graph = mapSaveRequest();
+        // Configured as Spring MVC configures its converter
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    }
+
+    @Benchmark
+    public Graph mapSaveRequest() {
+        Graph g = new Graph(request.getName(), null);
+        for (GraphController.NodeDTO dto : request.getNodes()) g.getNodes().add(GraphController.toNode(dto, g));
+        for (GraphController.EdgeDTO dto : request.getEdges()) g.getEdges().add(GraphController.toEdge(dto, g));
+        return g;
+    }
+
+    @Benchmark
+    public Graph dedupeAndMapUpdate() {
+        Graph g = new Graph(request.getName(), null);
+        Map<String, GraphController.NodeDTO> uniqueNodes = GraphController.dedupeNodes(request.getNodes());
+        Map<String, GraphController.EdgeDTO> uniqueEdges = GraphController.dedupeEdges(request.getEdges());
+        for (GraphController.NodeDTO dto : uniqueNodes.values()) {
+            Node node = GraphController.toNode(dto, g);
+            g.getNodes().add(node);
+        }
+        for (GraphController.EdgeDTO dto : uniqueEdges.values()) {
+            Edge edge = GraphController.toEdge(dto, g);
+            g.getEdges().add(edge);
+        }
+        return g;
+    }
+
+    @Benchmark
+    public byte[] serializeGraph() throws Exception {
+        return objectMapper.writeValueAsBytes(graph);
+    }
+}
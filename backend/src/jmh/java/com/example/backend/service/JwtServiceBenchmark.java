@@ -0,0 +1,58 @@
+package com.example.backend.service;
+
+import com.example.backend.config.JwtProperties;
+import com.example.backend.security.AuthPrincipal;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/** Per-request token cost: full signature check versus the verified-token cache. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtServiceBenchmark {
+
+    private JwtService jwtService;
+    private String token;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        JwtProperties props = new JwtProperties();
+        props.setSecret("benchmark-secret-benchmark-secret-0123456789abcdef");
+        props.setAccessTtlMs(3_600_000);
+        props.setRefreshTtlMs(3_600_000);
+        jwtService = new JwtService(props, new SimpleMeterRegistry());
+        token = jwtService.generateAccessToken(42L, "benchmark@example.com");
+    }
+
+    @Benchmark
+    public Map<String, Object> parseClaims() {
+        return jwtService.parseClaims(token);
+    }
+
+    @Benchmark
+    public Optional<AuthPrincipal> verifyCached() {
+        return jwtService.verify(token);
+    }
+
+    @Benchmark
+    public String generateAccessToken() {
+        return jwtService.generateAccessToken(42L, "benchmark@example.com");
+    }
+}
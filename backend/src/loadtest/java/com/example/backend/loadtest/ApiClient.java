@@ -0,0 +1,67 @@
+package com.example.backend.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+
+/** Blocking JSON calls against the backend; one instance is shared by every client. */
+final class ApiClient {
+
+    static final class Response {
+        final int status;
+        final byte[] body;
+
+        Response(int status, byte[] body) {
+            this.status = status;
+            this.body = body;
+        }
+
+        boolean ok() { return status >= 200 && status < 300; }
+    }
+
+    private final HttpClient http;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final String baseUrl;
+    private final Duration timeout;
+
+    ApiClient(String baseUrl, Duration timeout) {
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        this.timeout = timeout;
+        this.http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+    }
+
+    Response send(String method, String path, String token, byte[] json) throws IOException, InterruptedException {
+        HttpRequest.Builder b = HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(timeout);
+        if (token != null) b.header("Authorization", "Bearer " + token);
+        if (json != null) {
+            b.header("Content-Type", "application/json");
+            b.method(method, HttpRequest.BodyPublishers.ofByteArray(json));
+        } else {
+            b.method(method, HttpRequest.BodyPublishers.noBody());
+        }
+        HttpResponse<byte[]> res = http.send(b.build(), HttpResponse.BodyHandlers.ofByteArray());
+        return new Response(res.statusCode(), res.body());
+    }
+
+    /** Sends and parses the body, failing on a non-2xx status; used while seeding. */
+    JsonNode call(String method, String path, String token, Object body) throws IOException, InterruptedException {
+        Response res = send(method, path, token, body != null ? objectMapper.writeValueAsBytes(body) : null);
+        if (!res.ok()) {
+            throw new IOException(method + " " + path + " -> " + res.status + ": " + new String(res.body));
+        }
+        return objectMapper.readTree(res.body);
+    }
+
+    ObjectMapper objectMapper() {
+        return objectMapper;
+    }
+}
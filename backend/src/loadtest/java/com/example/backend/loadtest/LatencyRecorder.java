@@ -0,0 +1,70 @@
+package com.example.backend.loadtest;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Raw request latencies per operation. Each client thread owns one recorder,
+ * so recording takes no lock; recorders are merged once the run is over.
+ * Every sample is kept, so high percentiles are exact rather than estimated.
+ */
+final class LatencyRecorder {
+
+    static final class Samples {
+        private long[] nanos = new long[1024];
+        private int size;
+        private long errors;
+
+        void add(long value) {
+            if (size == nanos.length) nanos = Arrays.copyOf(nanos, size * 2);
+            nanos[size++] = value;
+        }
+
+        int count() { return size; }
+        long errors() { return errors; }
+
+        /** Nearest-rank percentile in milliseconds; the samples must be sorted. */
+        double percentileMs(double p) {
+            if (size == 0) return 0;
+            int rank = (int) Math.ceil(p / 100.0 * size);
+            return nanos[Math.max(0, Math.min(size, rank) - 1)] / 1e6;
+        }
+
+        double meanMs() {
+            if (size == 0) return 0;
+            double sum = 0;
+            for (int i = 0; i < size; i++) sum += nanos[i];
+            return sum / size / 1e6;
+        }
+
+        void sort() {
+            Arrays.sort(nanos, 0, size);
+        }
+
+        private void addAll(Samples other) {
+            if (size + other.size > nanos.length) nanos = Arrays.copyOf(nanos, Math.max(nanos.length * 2, size + other.size));
+            System.arraycopy(other.nanos, 0, nanos, size, other.size);
+            size += other.size;
+            errors += other.errors;
+        }
+    }
+
+    private final Map<String, Samples> byOperation = new LinkedHashMap<>();
+
+    void record(String operation, long nanos, boolean ok) {
+        Samples s = byOperation.computeIfAbsent(operation, k -> new Samples());
+        s.add(nanos);
+        if (!ok) s.errors++;
+    }
+
+    /** Samples of all recorders by operation, sorted for percentile queries. */
+    static Map<String, Samples> merge(Iterable<LatencyRecorder> recorders) {
+        Map<String, Samples> merged = new LinkedHashMap<>();
+        for (LatencyRecorder r : recorders) {
+            r.byOperation.forEach((op, s) -> merged.computeIfAbsent(op, k -> new Samples()).addAll(s));
+        }
+        merged.values().forEach(Samples::sort);
+        return merged;
+    }
+}
@@ -0,0 +1,352 @@
+package com.example.backend.loadtest;
+
+import com.example.backend.DemoApplication;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * HTTP load generator. Starts the backend in-process on an in-memory H2
+ * database in PostgreSQL mode (or against {@code --db-url}), unless
+ * {@code --base-url} points at a running instance. It seeds users and graphs
+ * through the API, then has every client loop over a weighted mix of list,
+ * get, update and algorithm requests for a fixed time. The report gives
+ * throughput and p50/p99/p999 latency per operation, measured after warm-up.
+ *
+ * <p>Options are {@code --name=value}: users, graphs-per-user, nodes, edges,
+ * clients, duration and warmup (seconds), mix (e.g.
+ * {@code list:40,get:30,update:10,algorithm:20}), base-url, db-url, db-user,
+ * db-password and report (JSON output path).
+ */
+public final class LoadTest {
+
+    private static final String PASSWORD = "loadtest-password";
+    private static final String[] OPERATIONS = {"list", "get", "update", "algorithm"};
+
+    private final Map<String, String> options;
+    private final int nodes;
+    private final int edges;
+
+    private static final class Fixture {
+        final long id;
+        final byte[][] updateBodies;
+
+        Fixture(long id, byte[][] updateBodies) {
+            this.id = id;
+            this.updateBodies = updateBodies;
+        }
+    }
+
+    private static final class SeededUser {
+        final String token;
+        final List<Fixture> graphs = new ArrayList<>();
+
+        SeededUser(String token) {
+            this.token = token;
+        }
+    }
+
+    private LoadTest(Map<String, String> options) {
+        this.options = options;
+        this.nodes = intOption("nodes", 1000);
+        this.edges = intOption("edges", 3000);
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) throw new IllegalArgumentException("Expected --name=value: " + arg);
+            options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+        }
+        new LoadTest(options).run();
+        System.exit(0);
+    }
+
+    private void run() throws Exception {
+        ConfigurableApplicationContext app = null;
+        String baseUrl = options.get("base-url");
+        if (baseUrl == null) {
+            app = startBackend();
+            baseUrl = "http://localhost:" + app.getEnvironment().getProperty("local.server.port");
+        }
+        int clients = intOption("clients", 100);
+        ExecutorService executor = clientExecutor(clients);
+        try {
+            ApiClient api = new ApiClient(baseUrl, Duration.ofSeconds(60));
+            long seedStart = System.nanoTime();
+            List<SeededUser> users = seed(api, executor);
+            System.out.printf("Seeded %d users x %d graphs (%d nodes, %d edges) in %.1f s%n", users.size(),
+                    users.get(0).graphs.size(), nodes, edges, (System.nanoTime() - seedStart) / 1e9);
+            Map<String, LatencyRecorder.Samples> results = drive(api, executor, users, clients);
+            report(results, clients);
+        } finally {
+            executor.shutdownNow();
+            if (app != null) app.close();
+        }
+    }
+
+    private ConfigurableApplicationContext startBackend() {
+        String dbUrl = options.get("db-url");
+        boolean h2 = dbUrl == null;
+        List<String> args = new ArrayList<>(List.of(
+                "--server.port=0",
+                "--spring.application.name=algo-net-loadtest",
+                "--spring.datasource.url=" + (h2 ? "jdbc:h2:mem:loadtest;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1" : dbUrl),
+                "--spring.datasource.username=" + options.getOrDefault("db-user", h2 ? "sa" : "postgres"),
+                "--spring.datasource.password=" + options.getOrDefault("db-password", ""),
+                "--spring.datasource.driver-class-name=" + (h2 ? "org.h2.Driver" : "org.postgresql.Driver"),
+                "--spring.datasource.hikari.maximum-pool-size=" + options.getOrDefault("db-pool", "20"),
+                "--spring.jpa.database-platform=" + (h2 ? "org.hibernate.dialect.H2Dialect" : "org.hibernate.dialect.PostgreSQLDialect"),
+                "--spring.jpa.hibernate.ddl-auto=create",
+                "--spring.jpa.show-sql=false",
+                "--spring.jpa.properties.hibernate.format_sql=false",
+                "--spring.mail.host=localhost",
+                "--spring.mail.port=25",
+                "--spring.mail.username=",
+                "--spring.mail.password=",
+                "--app.internal.api-key=",
+                // Tokens must outlive the run
+                "--app.jwt.access-ttl-ms=86400000"));
+        if (h2) {
+            // The PostgreSQL driver option means nothing to H2
+            args.add("--spring.datasource.hikari.data-source-properties.reWriteBatchedInserts=");
+        }
+        return new SpringApplicationBuilder(DemoApplication.class).run(args.toArray(new String[0]));
+    }
+
+    private List<SeededUser> seed(ApiClient api, ExecutorService executor) throws Exception {
+        int userCount = intOption("users", 10);
+        int graphsPerUser = intOption("graphs-per-user", 5);
+        String run = Long.toString(System.currentTimeMillis(), 36);
+
+        List<Future<SeededUser>> pending = new ArrayList<>();
+        for (int u = 0; u < userCount; u++) {
+            int index = u;
+            pending.add(executor.submit(() -> {
+                String email = "loadtest-" + run + "-" + index + "@example.com";
+                Map<String, Object> create = new HashMap<>();
+                create.put("email", email);
+                create.put("password", PASSWORD);
+                create.put("firstName", "Load");
+                create.put("lastName", "Test " + index);
+                api.call("POST", "/api/create-user", null, create);
+                JsonNode login = api.call("POST", "/api/auth/login", null, Map.of("email", email, "password", PASSWORD));
+                SeededUser user = new SeededUser(login.get("accessToken").asText());
+                for (int g = 0; g < graphsPerUser; g++) {
+                    long seed = (long) index * graphsPerUser + g;
+                    JsonNode saved = api.call("POST", "/api/graphs/save", user.token, graphBody("graph-" + seed, seed, 0));
+                    // Two layouts of the same topology, alternated by updates
+                    byte[][] updates = {
+                            api.objectMapper().writeValueAsBytes(graphBody("graph-" + seed, seed, 1)),
+                            api.objectMapper().writeValueAsBytes(graphBody("graph-" + seed, seed, 2))
+                    };
+                    user.graphs.add(new Fixture(saved.get("graphId").asLong(), updates));
+                }
+                return user;
+            }));
+        }
+        List<SeededUser> users = new ArrayList<>();
+        for (Future<SeededUser> f : pending) users.add(f.get());
+        return users;
+    }
+
+    // Random topology fixed by the seed; the layout number only moves the positions
+    private Map<String, Object> graphBody(String name, long seed, int layout) {
+        Random topology = new Random(seed);
+        Random positions = new Random(seed * 31 + layout);
+        List<Map<String, Object>> nodeList = new ArrayList<>(nodes);
+        for (int i = 0; i < nodes; i++) {
+            Map<String, Object> n = new HashMap<>();
+            n.put("nodeId", "n" + i);
+            n.put("label", "Node " + i);
+            n.put("positionX", positions.nextDouble() * 1000);
+            n.put("positionY", positions.nextDouble() * 1000);
+            nodeList.add(n);
+        }
+        List<Map<String, Object>> edgeList = new ArrayList<>(edges);
+        for (int i = 0; i < edges; i++) {
+            Map<String, Object> e = new HashMap<>();
+            e.put("edgeId", "e" + i);
+            // A ring keeps the graph connected; the rest are random chords
+            e.put("fromNode", "n" + (i < nodes ? i : topology.nextInt(nodes)));
+            e.put("toNode", "n" + (i < nodes ? (i + 1) % nodes : topology.nextInt(nodes)));
+            e.put("weight", 1 + topology.nextInt(20));
+            e.put("isDirected", false);
+            edgeList.add(e);
+        }
+        Map<String, Object> body = new HashMap<>();
+        body.put("name", name);
+        body.put("nodes", nodeList);
+        body.put("edges", edgeList);
+        return body;
+    }
+
+    private Map<String, LatencyRecorder.Samples> drive(ApiClient api, ExecutorService executor, List<SeededUser> users,
+                                                       int clients) throws Exception {
+        int[] weights = parseMix(options.getOrDefault("mix", "list:40,get:30,update:10,algorithm:20"));
+        long warmupNanos = TimeUnit.SECONDS.toNanos(intOption("warmup", 10));
+        long durationNanos = TimeUnit.SECONDS.toNanos(intOption("duration", 60));
+        long start = System.nanoTime();
+        long measureFrom = start + warmupNanos;
+        long end = measureFrom + durationNanos;
+        System.out.printf("Running %d clients: %d s warm-up, %d s measured%n", clients,
+                TimeUnit.NANOSECONDS.toSeconds(warmupNanos), TimeUnit.NANOSECONDS.toSeconds(durationNanos));
+
+        List<LatencyRecorder> recorders = new ArrayList<>();
+        List<Future<?>> running = new ArrayList<>();
+        for (int c = 0; c < clients; c++) {
+            LatencyRecorder recorder = new LatencyRecorder();
+            recorders.add(recorder);
+            SeededUser user = users.get(c % users.size());
+            running.add(executor.submit(() -> {
+                ThreadLocalRandom rnd = ThreadLocalRandom.current();
+                int updates = 0;
+                String listCursor = null;
+                while (System.nanoTime() < end) {
+                    String op = pick(weights, rnd.nextInt(100));
+                    Fixture graph = user.graphs.get(rnd.nextInt(user.graphs.size()));
+                    long t0 = System.nanoTime();
+                    ApiClient.Response res;
+                    try {
+                        res = execute(api, op, user, graph, rnd, updates++, listCursor);
+                    } catch (IOException e) {
+                        res = null;
+                    }
+                    boolean ok = res != null && res.ok();
+                    if (t0 >= measureFrom) recorder.record(op, System.nanoTime() - t0, ok);
+                    // Each client walks its listing page by page and starts over after the last one
+                    if ("list".equals(op)) listCursor = ok ? nextCursor(api, res) : null;
+                }
+                return null;
+            }));
+        }
+        for (Future<?> f : running) f.get();
+        return LatencyRecorder.merge(recorders);
+    }
+
+    private ApiClient.Response execute(ApiClient api, String op, SeededUser user, Fixture graph, ThreadLocalRandom rnd,
+                                       int sequence, String listCursor) throws IOException, InterruptedException {
+        switch (op) {
+            case "list":
+                String page = listCursor != null ? "&cursor=" + URLEncoder.encode(listCursor, StandardCharsets.UTF_8) : "";
+                return api.send("GET", "/api/graphs/user?limit=20" + page, user.token, null);
+            case "get":
+                return api.send("GET", "/api/graphs/" + graph.id, user.token, null);
+            case "update":
+                return api.send("PUT", "/api/graphs/" + graph.id, user.token, graph.updateBodies[sequence & 1]);
+            default:
+                // Random endpoints, so most runs miss the result cache
+                String body = "{\"source\":\"n" + rnd.nextInt(nodes) + "\",\"target\":\"n" + rnd.nextInt(nodes) + "\"}";
+                return api.send("POST", "/api/graphs/" + graph.id + "/shortest-path", user.token, body.getBytes());
+        }
+    }
+
+    // Cursor of the page after a list response, or null on the last page
+    private static String nextCursor(ApiClient api, ApiClient.Response res) {
+        try {
+            JsonNode next = api.objectMapper().readTree(res.body).path("nextCursor");
+            return next.isTextual() ? next.asText() : null;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private void report(Map<String, LatencyRecorder.Samples> results, int clients) throws IOException {
+        double seconds = intOption("duration", 60);
+        System.out.printf("%n%-10s %10s %8s %10s %10s %10s %10s %10s%n",
+                "operation", "requests", "errors", "req/s", "mean ms", "p50 ms", "p99 ms", "p999 ms");
+        Map<String, Object> json = new LinkedHashMap<>();
+        Map<String, Object> ops = new LinkedHashMap<>();
+        long total = 0;
+        for (String op : OPERATIONS) {
+            LatencyRecorder.Samples s = results.get(op);
+            if (s == null) continue;
+            total += s.count();
+            System.out.printf("%-10s %10d %8d %10.1f %10.2f %10.2f %10.2f %10.2f%n", op, s.count(), s.errors(),
+                    s.count() / seconds, s.meanMs(), s.percentileMs(50), s.percentileMs(99), s.percentileMs(99.9));
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("requests", s.count());
+            row.put("errors", s.errors());
+            row.put("throughput", s.count() / seconds);
+            row.put("meanMs", s.meanMs());
+            row.put("p50Ms", s.percentileMs(50));
+            row.put("p99Ms", s.percentileMs(99));
+            row.put("p999Ms", s.percentileMs(99.9));
+            row.put("maxMs", s.percentileMs(100));
+            ops.put(op, row);
+        }
+        System.out.printf("%-10s %10d %8s %10.1f%n", "total", total, "", total / seconds);
+
+        json.put("clients", clients);
+        json.put("durationSeconds", seconds);
+        json.put("nodes", nodes);
+        json.put("edges", edges);
+        json.put("throughput", total / seconds);
+        json.put("operations", ops);
+        String report = options.get("report");
+        if (report != null) {
+            Path path = Path.of(report);
+            if (path.getParent() != null) Files.createDirectories(path.getParent());
+            new ObjectMapper().writerWithDefaultPrettyPrinter().writeValue(path.toFile(), json);
+            System.out.println("Report written to " + path.toAbsolutePath());
+        }
+    }
+
+    // Cumulative percentages per operation, in OPERATIONS order
+    private static int[] parseMix(String mix) {
+        int[] weights = new int[OPERATIONS.length];
+        for (String part : mix.split(",")) {
+            String[] kv = part.trim().split(":");
+            int i = List.of(OPERATIONS).indexOf(kv[0]);
+            if (i < 0 || kv.length != 2) throw new IllegalArgumentException("Unknown mix entry: " + part);
+            weights[i] = Integer.parseInt(kv[1]);
+        }
+        int sum = 0;
+        for (int i = 0; i < weights.length; i++) {
+            sum += weights[i];
+            weights[i] = sum;
+        }
+        if (sum != 100) throw new IllegalArgumentException("Mix weights must add up to 100: " + mix);
+        return weights;
+    }
+
+    private static String pick(int[] cumulative, int roll) {
+        for (int i = 0; i < cumulative.length; i++) {
+            if (roll < cumulative[i]) return OPERATIONS[i];
+        }
+        return OPERATIONS[OPERATIONS.length - 1];
+    }
+
+    // One virtual thread per client on Java 21+, otherwise one platform thread each
+    private static ExecutorService clientExecutor(int clients) {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newFixedThreadPool(clients);
+        }
+    }
+
+    private int intOption(String name, int fallback) {
+        String value = options.get(name);
+        return value != null ? Integer.parseInt(value) : fallback;
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.backend.algorithm;
+
+import java.util.Arrays;
+
+/**
+ * Goal-directed shortest path using scale * straight-line distance to the
+ * target as heuristic. The heuristic is consistent whenever the scale does
+ * not exceed {@link CsrGraph#geometricScale()}. Reusable workspace, not thread-safe.
+ */
+public final class AStar {
+
+    private double[] dist;
+    private int[] parent;
+    private int[] stamp;
+    private int epoch;
+    private final IndexedDaryHeap heap;
+    private int settledCount;
+
+    public AStar(int capacity) {
+        dist = new double[capacity];
+        parent = new int[capacity];
+        stamp = new int[capacity];
+        heap = new IndexedDaryHeap(capacity);
+    }
+
+    public int getSettledCount() { return settledCount; }
+
+    public PathResult shortestPath(CsrGraph g, int source, int target, double scale) {
+        if (g.minWeight() < 0) {
+            throw new IllegalArgumentException("A* requires non-negative edge weights");
+        }
+        ensureCapacity(g.vertexCount());
+        if (++epoch == Integer.MAX_VALUE) {
+            Arrays.fill(stamp, 0);
+            epoch = 1;
+        }
+        heap.clear();
+        settledCount = 0;
+
+        dist[source] = 0.0;
+        parent[source] = -1;
+        stamp[source] = epoch;
+        heap.insertOrDecrease(source, scale * g.euclidean(source, target));
+        boolean found = false;
+        while (!heap.isEmpty()) {
+            int u = heap.pollMin();
+            settledCount++;
+            if (u == target) {
+                found = true;
+                break;
+            }
+            double du = dist[u];
+            for (int a = g.arcStart(u), end = g.arcEnd(u); a < end; a++) {
+                int v = g.target(a);
+                double alt = du + g.weight(a);
+                if (stamp[v] != epoch) {
+                    stamp[v] = epoch;
+                } else if (alt >= dist[v]) {
+                    continue;
+                }
+                dist[v] = alt;
+                parent[v] = u;
+                // A vertex improved after being settled (rounding only) is simply reopened
+                heap.insertOrDecrease(v, alt + scale * g.euclidean(v, target));
+            }
+        }
+        if (!found) return new PathResult(new int[0], Double.POSITIVE_INFINITY);
+
+        int len = 1;
+        for (int v = target; v != source; v = parent[v]) len++;
+        int[] path = new int[len];
+        for (int v = target, i = len - 1; i >= 0; v = parent[v], i--) path[i] = v;
+        return new PathResult(path, dist[target]);
+    }
+
+    private void ensureCapacity(int n) {
+        if (n <= dist.length) return;
+        dist = new double[n];
+        parent = new int[n];
+        stamp = new int[n];
+        epoch = 0;
+        heap.ensureCapacity(n);
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.backend.algorithm;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * All-pairs shortest paths. Dense graphs use a blocked Floyd–Warshall over a
+ * flat row-major array; sparse graphs run one Dijkstra per source through
+ * {@link MultiSourceShortestPaths}. Both parallelise on the engine's pool.
+ */
+public final class AllPairsShortestPaths {
+
+    private static final int BLOCK = 64;
+
+    private AllPairsShortestPaths() {}
+
+    public static DistanceMatrix compute(CsrGraph g, MultiSourceShortestPaths engine) {
+        int n = g.vertexCount();
+        // Negative weights rule out Dijkstra; otherwise prefer it unless the graph is close to complete
+        boolean dense = g.minWeight() < 0 || n <= BLOCK || (long) g.arcCount() * 8 >= (long) n * n;
+        return dense ? floydWarshall(g, engine.getPool()) : repeatedDijkstra(g, engine);
+    }
+
+    public static DistanceMatrix floydWarshall(CsrGraph g, ForkJoinPool pool) {
+        int n = g.vertexCount();
+        long cells = (long) n * n;
+        if (cells > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Distance matrix too large: " + cells + " cells");
+        }
+        double[] d = new double[(int) cells];
+        Arrays.fill(d, Double.POSITIVE_INFINITY);
+        for (int v = 0; v < n; v++) {
+            d[v * n + v] = 0.0;
+            for (int a = g.arcStart(v), end = g.arcEnd(v); a < end; a++) {
+                int idx = v * n + g.target(a);
+                if (g.weight(a) < d[idx]) d[idx] = g.weight(a);
+            }
+        }
+
+        int blocks = (n + BLOCK - 1) / BLOCK;
+        for (int kb = 0; kb < blocks; kb++) {
+            int k0 = kb * BLOCK, k1 = Math.min(k0 + BLOCK, n);
+            // Phase 1: the pivot block on the diagonal
+            relax(d, n, k0, k1, k0, k1, k0, k1);
+            // Phase 2: the pivot row and column of blocks
+            for (int b = 0; b < blocks; b++) {
+                if (b == kb) continue;
+                int o0 = b * BLOCK, o1 = Math.min(o0 + BLOCK, n);
+                relax(d, n, k0, k1, o0, o1, k0, k1);
+                relax(d, n, o0, o1, k0, k1, k0, k1);
+            }
+            // Phase 3: every other block only reads the finished pivot row/column, so rows run in parallel
+            final int pivot = kb;
+            pool.submit(() -> IntStream.range(0, blocks).parallel().forEach(ib -> {
+                if (ib == pivot) return;
+                int i0 = ib * BLOCK, i1 = Math.min(i0 + BLOCK, n);
+                for (int jb = 0; jb < blocks; jb++) {
+                    if (jb == pivot) continue;
+                    int j0 = jb * BLOCK;
+                    relax(d, n, i0, i1, j0, Math.min(j0 + BLOCK, n), k0, k1);
+                }
+            })).join();
+        }
+        for (int v = 0; v < n; v++) {
+            if (d[v * n + v] < 0) {
+                throw new IllegalArgumentException("Graph contains a negative cycle");
+            }
+        }
+        return new DistanceMatrix(nodeIds(g), d, "floyd-warshall");
+    }
+
+    public static DistanceMatrix repeatedDijkstra(CsrGraph g, MultiSourceShortestPaths engine) {
+        int[] sources = new int[g.vertexCount()];
+        for (int v = 0; v < sources.length; v++) sources[v] = v;
+        return new DistanceMatrix(nodeIds(g), engine.matrix(g, sources), "dijkstra");
+    }
+
+    private static void relax(double[] d, int n, int i0, int i1, int j0, int j1, int k0, int k1) {
+        for (int k = k0; k < k1; k++) {
+            int kRow = k * n;
+            for (int i = i0; i < i1; i++) {
+                int iRow = i * n;
+                double dik = d[iRow + k];
+                if (dik == Double.POSITIVE_INFINITY) continue;
+                for (int j = j0; j < j1; j++) {
+                    double alt = dik + d[kRow + j];
+                    if (alt < d[iRow + j]) d[iRow + j] = alt;
+                }
+            }
+        }
+    }
+
+    private static String[] nodeIds(CsrGraph g) {
+        String[] ids = new String[g.vertexCount()];
+        for (int v = 0; v < ids.length; v++) ids[v] = g.nodeId(v);
+        return ids;
+    }
+}
@@ -0,0 +1,125 @@
+package com.example.backend.algorithm;
+
+import java.util.Arrays;
+
+/**
+ * Point-to-point Dijkstra searching forward from the source and backward
+ * from the target (over {@link CsrGraph#reversed()}) until the frontiers
+ * prove the best meeting point. Reusable workspace, not thread-safe.
+ */
+public final class BidirectionalDijkstra {
+
+    private final Side forward;
+    private final Side backward;
+    private int epoch;
+    private int settledCount;
+
+    public BidirectionalDijkstra(int capacity) {
+        forward = new Side(capacity);
+        backward = new Side(capacity);
+    }
+
+    public int getSettledCount() { return settledCount; }
+
+    public PathResult shortestPath(CsrGraph g, int source, int target) {
+        if (g.minWeight() < 0) {
+            throw new IllegalArgumentException("Dijkstra requires non-negative edge weights");
+        }
+        int n = g.vertexCount();
+        forward.ensureCapacity(n);
+        backward.ensureCapacity(n);
+        if (++epoch == Integer.MAX_VALUE) {
+            Arrays.fill(forward.stamp, 0);
+            Arrays.fill(backward.stamp, 0);
+            epoch = 1;
+        }
+        settledCount = 0;
+        if (source == target) {
+            settledCount = 1;
+            return new PathResult(new int[]{source}, 0.0);
+        }
+
+        CsrGraph rev = g.reversed();
+        forward.start(source, epoch);
+        backward.start(target, epoch);
+
+        double best = Double.POSITIVE_INFINITY;
+        int meet = -1;
+        while (!forward.heap.isEmpty() && !backward.heap.isEmpty()) {
+            // Once the two frontiers together cannot beat the best meeting, it is optimal
+            if (forward.heap.minKey() + backward.heap.minKey() >= best) break;
+
+            boolean goForward = forward.heap.size() <= backward.heap.size();
+            Side side = goForward ? forward : backward;
+            Side other = goForward ? backward : forward;
+            CsrGraph graph = goForward ? g : rev;
+
+            int u = side.heap.pollMin();
+            settledCount++;
+            double du = side.dist[u];
+            for (int a = graph.arcStart(u), end = graph.arcEnd(u); a < end; a++) {
+                int v = graph.target(a);
+                double alt = du + graph.weight(a);
+                if (side.relax(v, u, alt, epoch) && other.stamp[v] == epoch) {
+                    double through = alt + other.dist[v];
+                    if (through < best) {
+                        best = through;
+                        meet = v;
+                    }
+                }
+            }
+        }
+        if (meet < 0) return new PathResult(new int[0], Double.POSITIVE_INFINITY);
+
+        int head = 1, tail = 0;
+        for (int v = meet; v != source; v = forward.parent[v]) head++;
+        for (int v = meet; v != target; v = backward.parent[v]) tail++;
+        int[] path = new int[head + tail];
+        for (int v = meet, i = head - 1; i >= 0; v = forward.parent[v], i--) path[i] = v;
+        for (int v = meet, i = head; i < path.length; i++) {
+            v = backward.parent[v];
+            path[i] = v;
+        }
+        return new PathResult(path, best);
+    }
+
+    private static final class Side {
+        double[] dist;
+        int[] parent;
+        int[] stamp;
+        final IndexedDaryHeap heap;
+
+        Side(int capacity) {
+            dist = new double[capacity];
+            parent = new int[capacity];
+            stamp = new int[capacity];
+            heap = new IndexedDaryHeap(capacity);
+        }
+
+        void ensureCapacity(int n) {
+            if (n <= dist.length) return;
+            dist = new double[n];
+            parent = new int[n];
+            stamp = new int[n];
+            heap.ensureCapacity(n);
+        }
+
+        void start(int root, int epoch) {
+            heap.clear();
+            dist[root] = 0.0;
+            parent[root] = -1;
+            stamp[root] = epoch;
+            heap.insertOrDecrease(root, 0.0);
+        }
+
+        /** Returns true when alt improved v's tentative distance. */
+        boolean relax(int v, int u, double alt, int epoch) {
+            if (stamp[v] == epoch && alt >= dist[v]) return false;
+            stamp[v] = epoch;
+            dist[v] = alt;
+            parent[v] = u;
+            heap.insertOrDecrease(v, alt);
+            return true;
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.backend.algorithm;
+
+/** Maps color indices to display colors, using the same palette the Python service used. */
+public final class ColorPalette {
+
+    private static final String[] PALETTE = {
+            "#e6194b", "#3cb44b", "#ffe119", "#4363d8", "#f58231",
+            "#911eb4", "#46f0f0", "#f032e6", "#bcf60c", "#fabebe",
+            "#008080", "#e6beff", "#9a6324", "#fffac8", "#800000",
+    };
+
+    private ColorPalette() {}
+
+    public static String colorFor(int index) {
+        if (index < PALETTE.length) return PALETTE[index];
+        // Beyond the palette spread hues by the golden ratio so colors stay distinct and deterministic
+        double hue = (index * 0.618033988749895) % 1.0;
+        return String.format("#%06x", hsvToRgb(hue, 0.65, 0.85));
+    }
+
+    private static int hsvToRgb(double h, double s, double v) {
+        double sector = h * 6.0;
+        int i = (int) sector;
+        double f = sector - i;
+        double p = v * (1 - s), q = v * (1 - s * f), t = v * (1 - s * (1 - f));
+        double r, g, b;
+        switch (i % 6) {
+            case 0: r = v; g = t; b = p; break;
+            case 1: r = q; g = v; b = p; break;
+            case 2: r = p; g = v; b = t; break;
+            case 3: r = p; g = q; b = v; break;
+            case 4: r = t; g = p; b = v; break;
+            default: r = v; g = p; b = q; break;
+        }
+        return ((int) Math.round(r * 255) << 16) | ((int) Math.round(g * 255) << 8) | (int) Math.round(b * 255);
+    }
+}
@@ -0,0 +1,481 @@
+package com.example.backend.algorithm;
+
+import com.example.backend.entity.Edge;
+import com.example.backend.entity.Graph;
+import com.example.backend.entity.LegendEntry;
+import com.example.backend.entity.Node;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Immutable compressed-sparse-row adjacency over int vertex indices.
+ * Undirected edges are stored as two arcs, directed edges as one.
+ * Rows are sorted by target index so traversal order is deterministic.
+ * Arrays, positions and the node id table all live in one little-endian
+ * buffer with the {@link GraphSnapshot} layout, so a mapped snapshot file
+ * is read in place. Built graphs use a direct buffer, keeping them off the
+ * heap as well: about 12 bytes per arc and 32 per vertex plus its id bytes.
+ * Graphs derived by {@link #symmetric()} and {@link #reversed()} use a heap
+ * buffer instead, so they are reclaimed like any array rather than holding
+ * direct memory until a collection happens to run their cleaner.
+ */
+public final class CsrGraph {
+
+    static final int MAGIC = 0x47525343; // "CSRG"
+    static final int FORMAT_VERSION = 1;
+    static final int HEADER_BYTES = 48;
+    private static final int FLAG_DIRECTED = 1;
+
+    private final ByteBuffer data;
+    private final int vertexCount;
+    private final int arcCount;
+    private final IntBuffer offsets;
+    private final IntBuffer targets;
+    private final DoubleBuffer weights;
+    private final DoubleBuffer positionX;
+    private final DoubleBuffer positionY;
+    private final StringTable nodeIds;
+    private final StringTable labels;
+    private final boolean hasDirectedArcs;
+    private final double minWeight;
+    private final double coordinateScale;
+
+    private volatile CsrGraph symmetric;
+    private volatile CsrGraph reversed;
+    private volatile double geometricScale = Double.NaN;
+
+    private CsrGraph(ByteBuffer buffer) {
+        ByteBuffer d = buffer.slice().order(ByteOrder.LITTLE_ENDIAN);
+        if (d.capacity() < HEADER_BYTES || d.getInt(0) != MAGIC || d.getInt(4) != FORMAT_VERSION) {
+            throw new IllegalArgumentException("Geçersiz graph snapshot");
+        }
+        int flags = d.getInt(8);
+        int n = d.getInt(12);
+        int m = d.getInt(16);
+        int idBytes = d.getInt(20);
+        int labelBytes = d.getInt(40);
+        if (n < 0 || m < 0 || idBytes < 0 || labelBytes < 0 || layoutSize(n, m, idBytes, labelBytes) > d.capacity()) {
+            throw new IllegalArgumentException("Geçersiz graph snapshot");
+        }
+        this.data = d;
+        this.vertexCount = n;
+        this.arcCount = m;
+        this.hasDirectedArcs = (flags & FLAG_DIRECTED) != 0;
+        this.minWeight = d.getDouble(24);
+        this.coordinateScale = d.getDouble(32);
+
+        int at = HEADER_BYTES;
+        offsets = section(d, at, 4 * (n + 1)).asIntBuffer();
+        at += align(4L * (n + 1));
+        targets = section(d, at, 4 * m).asIntBuffer();
+        at += align(4L * m);
+        weights = section(d, at, 8 * m).asDoubleBuffer();
+        at += 8 * m;
+        positionX = section(d, at, 8 * n).asDoubleBuffer();
+        at += 8 * n;
+        positionY = section(d, at, 8 * n).asDoubleBuffer();
+        at += 8 * n;
+        nodeIds = StringTable.wrap(section(d, at, idBytes));
+        at += align(idBytes);
+        labels = labelBytes > 0 ? StringTable.wrap(section(d, at, labelBytes)) : null;
+        if (nodeIds.size() != n || (labels != null && labels.size() != n)) {
+            throw new IllegalArgumentException("Geçersiz graph snapshot");
+        }
+    }
+
+    /** Graph over a buffer in the snapshot layout, e.g. a mapped file. Nothing is copied. */
+    static CsrGraph wrap(ByteBuffer buffer) {
+        return new CsrGraph(buffer);
+    }
+
+    public static CsrGraph from(Graph graph) {
+        Builder b = new Builder(graph.getNodes().size(), graph.getEdges().size());
+        for (Node n : graph.getNodes()) b.addNode(n);
+        for (Edge e : graph.getEdges()) b.addEdge(e);
+        b.setCoordinateScale(coordinateScale(graph));
+        return b.build();
+    }
+
+    /** Legend unit distance that converts canvas coordinates into edge-weight units; 1 without a legend. */
+    public static double coordinateScale(Graph graph) {
+        double scale = Double.POSITIVE_INFINITY;
+        if (graph.isHasLegend()) {
+            for (LegendEntry le : graph.getLegendEntries()) {
+                Double unit = le.getUnitDistance();
+                if (unit != null && unit > 0 && unit < scale) scale = unit;
+            }
+        }
+        return scale == Double.POSITIVE_INFINITY ? 1.0 : scale;
+    }
+
+    public int vertexCount() { return vertexCount; }
+    public int arcCount() { return arcCount; }
+
+    public int arcStart(int v) { return offsets.get(v); }
+    public int arcEnd(int v) { return offsets.get(v + 1); }
+    public int target(int arc) { return targets.get(arc); }
+    public double weight(int arc) { return weights.get(arc); }
+    public int degree(int v) { return offsets.get(v + 1) - offsets.get(v); }
+
+    public String nodeId(int v) { return nodeIds.get(v); }
+
+    /** Node label, or null when the graph was built without labels. */
+    public String label(int v) {
+        if (labels == null) return null;
+        String label = labels.get(v);
+        return label.isEmpty() ? null : label;
+    }
+
+    /** Returns the vertex index of a frontend node id, or -1 when unknown. */
+    public int indexOf(String nodeId) {
+        return nodeIds.indexOf(nodeId);
+    }
+
+    public double positionX(int v) { return positionX.get(v); }
+    public double positionY(int v) { return positionY.get(v); }
+
+    public boolean hasDirectedArcs() { return hasDirectedArcs; }
+    public double minWeight() { return arcCount() == 0 ? 0.0 : minWeight; }
+
+    /** Edge-weight units per canvas coordinate unit, taken from the legend. */
+    public double coordinateScale() { return coordinateScale; }
+
+    public boolean hasPositions() {
+        for (int v = 0; v < vertexCount; v++) {
+            if (Double.isNaN(positionX.get(v)) || Double.isNaN(positionY.get(v))) return false;
+        }
+        return true;
+    }
+
+    public double euclidean(int u, int v) {
+        double dx = positionX.get(u) - positionX.get(v);
+        double dy = positionY.get(u) - positionY.get(v);
+        return Math.sqrt(dx * dx + dy * dy);
+    }
+
+    /**
+     * Largest factor s with weight >= s * straight-line length on every arc, so
+     * that s * euclidean distance is an admissible and consistent A* heuristic.
+     * Zero when positions are missing or some arc is shorter than its endpoints' gap.
+     */
+    public double geometricScale() {
+        double s = geometricScale;
+        if (Double.isNaN(s)) {
+            s = hasPositions() ? Double.POSITIVE_INFINITY : 0.0;
+            for (int u = 0; u < vertexCount && s > 0; u++) {
+                for (int a = arcStart(u); a < arcEnd(u); a++) {
+                    double len = euclidean(u, target(a));
+                    if (len > 0) s = Math.min(s, weight(a) / len);
+                }
+            }
+            if (s == Double.POSITIVE_INFINITY) s = 0.0;
+            geometricScale = s;
+        }
+        return s;
+    }
+
+    /**
+     * Same vertices with every arc mirrored, as needed by coloring. Returns
+     * this graph when it has no directed arcs. Each neighbour appears once
+     * per row, with the lightest weight between the two: an undirected edge
+     * is already stored both ways, and mirroring it again would double the
+     * degrees that coloring orders vertices by.
+     */
+    public CsrGraph symmetric() {
+        if (!hasDirectedArcs) return this;
+        CsrGraph s = symmetric;
+        if (s == null) {
+            Builder b = new Builder(this);
+            for (int v = 0; v < vertexCount; v++) {
+                for (int a = arcStart(v); a < arcEnd(v); a++) {
+                    b.addArc(v, target(a), weight(a), false);
+                }
+            }
+            b.simple = true;
+            s = b.build();
+            symmetric = s;
+        }
+        return s;
+    }
+
+    /** Same vertices with every arc flipped, for backward searches. */
+    public CsrGraph reversed() {
+        if (!hasDirectedArcs) return this;
+        CsrGraph r = reversed;
+        if (r == null) {
+            Builder b = new Builder(this);
+            for (int v = 0; v < vertexCount; v++) {
+                for (int a = arcStart(v); a < arcEnd(v); a++) {
+                    b.push(target(a), v, weight(a));
+                }
+            }
+            b.directed = true;
+            b.minWeight = minWeight;
+            r = b.build();
+            reversed = r;
+        }
+        return r;
+    }
+
+    /** The whole graph as a read-only buffer in the snapshot layout. */
+    ByteBuffer data() {
+        return data.asReadOnlyBuffer().order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    /** Bytes held by the graph's buffer, direct, heap or mapped. */
+    public long byteSize() {
+        return data.capacity();
+    }
+
+    private static CsrGraph pack(int n, int[] offsets, int m, int[] targets, double[] weights, DoubleSource xs, DoubleSource ys,
+                                 ByteBuffer idTable, ByteBuffer labelTable, boolean directed, double minWeight,
+                                 double coordinateScale, boolean direct) {
+        int idBytes = idTable.remaining();
+        int labelBytes = labelTable != null ? labelTable.remaining() : 0;
+        long size = layoutSize(n, m, idBytes, labelBytes);
+        if (size > Integer.MAX_VALUE - 8) throw new IllegalArgumentException("Graph çok büyük: " + m + " yay");
+
+        // Off the heap: a resident graph costs the collector a few small objects, whatever its size.
+        // Derived graphs stay on it, so their memory goes back as soon as they are unreachable
+        ByteBuffer d = (direct ? ByteBuffer.allocateDirect((int) size) : ByteBuffer.allocate((int) size)).order(ByteOrder.LITTLE_ENDIAN);
+        d.putInt(0, MAGIC);
+        d.putInt(4, FORMAT_VERSION);
+        d.putInt(8, directed ? FLAG_DIRECTED : 0);
+        d.putInt(12, n);
+        d.putInt(16, m);
+        d.putInt(20, idBytes);
+        d.putDouble(24, minWeight);
+        d.putDouble(32, coordinateScale);
+        d.putInt(40, labelBytes);
+
+        int at = HEADER_BYTES;
+        section(d, at, 4 * (n + 1)).asIntBuffer().put(offsets, 0, n + 1);
+        at += align(4L * (n + 1));
+        section(d, at, 4 * m).asIntBuffer().put(targets, 0, m);
+        at += align(4L * m);
+        section(d, at, 8 * m).asDoubleBuffer().put(weights, 0, m);
+        at += 8 * m;
+        xs.copyTo(section(d, at, 8 * n).asDoubleBuffer());
+        at += 8 * n;
+        ys.copyTo(section(d, at, 8 * n).asDoubleBuffer());
+        at += 8 * n;
+        d.put(at, idTable, idTable.position(), idBytes);
+        at += align(idBytes);
+        if (labelTable != null) d.put(at, labelTable, labelTable.position(), labelBytes);
+        return new CsrGraph(d);
+    }
+
+    // Byte size of the layout; every section starts on an 8-byte boundary
+    private static long layoutSize(long n, long m, long idBytes, long labelBytes) {
+        return HEADER_BYTES + align(4 * (n + 1)) + align(4 * m) + 8 * m + 16 * n + align(idBytes) + align(labelBytes);
+    }
+
+    private static long align(long bytes) {
+        return (bytes + 7) & ~7L;
+    }
+
+    private static ByteBuffer section(ByteBuffer d, long at, long length) {
+        return d.slice((int) at, (int) length).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    private interface DoubleSource {
+        void copyTo(DoubleBuffer out);
+    }
+
+    /**
+     * Incremental builder. Vertices are interned by node id; edges naming
+     * unknown ids add those vertices on the fly.
+     */
+    public static final class Builder {
+        private String[] ids;
+        private String[] labels;
+        private double[] xs;
+        private double[] ys;
+        private final Map<String, Integer> index;
+        private final CsrGraph vertices;
+        private int n;
+
+        private int[] from;
+        private int[] to;
+        private double[] w;
+        private int m;
+        private boolean directed;
+        // Merge parallel arcs into one with the lightest weight
+        private boolean simple;
+        private double minWeight = Double.POSITIVE_INFINITY;
+        private double coordinateScale = 1.0;
+
+        public Builder(int expectedVertices, int expectedEdges) {
+            int cap = Math.max(expectedVertices, 4);
+            ids = new String[cap];
+            labels = new String[cap];
+            xs = new double[cap];
+            ys = new double[cap];
+            index = new HashMap<>(cap * 2);
+            vertices = null;
+            int arcCap = Math.max(expectedEdges * 2, 8);
+            from = new int[arcCap];
+            to = new int[arcCap];
+            w = new double[arcCap];
+        }
+
+        // New arcs over the vertices of an existing graph, whose id table and positions are reused as is
+        private Builder(CsrGraph vertices) {
+            this.vertices = vertices;
+            this.index = null;
+            this.n = vertices.vertexCount;
+            this.coordinateScale = vertices.coordinateScale;
+            int arcCap = Math.max(vertices.arcCount * 2, 8);
+            from = new int[arcCap];
+            to = new int[arcCap];
+            w = new double[arcCap];
+        }
+
+        public int addVertex(String nodeId, double x, double y) {
+            return addVertex(nodeId, null, x, y);
+        }
+
+        public int addVertex(String nodeId, String label, double x, double y) {
+            Integer existing = index.get(nodeId);
+            if (existing != null) {
+                xs[existing] = x;
+                ys[existing] = y;
+                if (label != null) labels[existing] = label;
+                return existing;
+            }
+            if (n == ids.length) {
+                int cap = n * 2;
+                ids = Arrays.copyOf(ids, cap);
+                labels = Arrays.copyOf(labels, cap);
+                xs = Arrays.copyOf(xs, cap);
+                ys = Arrays.copyOf(ys, cap);
+            }
+            ids[n] = nodeId;
+            labels[n] = label;
+            xs[n] = x;
+            ys[n] = y;
+            index.put(nodeId, n);
+            return n++;
+        }
+
+        /** Adds a node row; missing coordinates become NaN. */
+        public void addNode(Node n) {
+            addVertex(n.getNodeId(), n.getLabel(),
+                    n.getPositionX() != null ? n.getPositionX() : Double.NaN,
+                    n.getPositionY() != null ? n.getPositionY() : Double.NaN);
+        }
+
+        /** Adds an edge row; rows missing an endpoint are skipped and a missing weight counts as 1. */
+        public void addEdge(Edge e) {
+            if (e.getFromNode() == null || e.getToNode() == null) return;
+            addEdge(e.getFromNode(), e.getToNode(), e.getWeight() != null ? e.getWeight() : 1.0,
+                    Boolean.TRUE.equals(e.getIsDirected()));
+        }
+
+        public void setCoordinateScale(double coordinateScale) {
+            this.coordinateScale = coordinateScale;
+        }
+
+        private int intern(String nodeId) {
+            Integer existing = index.get(nodeId);
+            return existing != null ? existing : addVertex(nodeId, Double.NaN, Double.NaN);
+        }
+
+        public void addEdge(String fromId, String toId, double weight, boolean isDirected) {
+            addArc(intern(fromId), intern(toId), weight, isDirected);
+        }
+
+        void addArc(int u, int v, double weight, boolean isDirected) {
+            push(u, v, weight);
+            if (isDirected) {
+                directed = true;
+            } else if (u != v) {
+                push(v, u, weight);
+            }
+            if (weight < minWeight) minWeight = weight;
+        }
+
+        private void push(int u, int v, double weight) {
+            if (m == from.length) {
+                int cap = m * 2;
+                from = Arrays.copyOf(from, cap);
+                to = Arrays.copyOf(to, cap);
+                w = Arrays.copyOf(w, cap);
+            }
+            from[m] = u;
+            to[m] = v;
+            w[m] = weight;
+            m++;
+        }
+
+        public CsrGraph build() {
+            // Two stable counting-sort passes (by target, then by source) leave
+            // every row sorted by target without a comparison sort.
+            int[] byTarget = countingOrder(to, null, m, n);
+            int[] order = countingOrder(from, byTarget, m, n);
+
+            int[] offsets = new int[n + 1];
+            for (int i = 0; i < m; i++) offsets[from[i] + 1]++;
+            for (int v = 0; v < n; v++) offsets[v + 1] += offsets[v];
+
+            int[] targets = new int[m];
+            double[] weights = new double[m];
+            for (int i = 0; i < m; i++) {
+                int arc = order[i];
+                targets[i] = to[arc];
+                weights[i] = w[arc];
+            }
+            int arcs = simple ? mergeParallel(n, offsets, targets, weights) : m;
+
+            if (vertices != null) {
+                return pack(n, offsets, arcs, targets, weights,
+                        out -> out.put(0, vertices.positionX, 0, n), out -> out.put(0, vertices.positionY, 0, n),
+                        vertices.nodeIds.buffer(), vertices.labels != null ? vertices.labels.buffer() : null,
+                        directed, minWeight, coordinateScale, false);
+            }
+            boolean hasLabels = false;
+            for (int v = 0; v < n && !hasLabels; v++) hasLabels = labels[v] != null;
+            return pack(n, offsets, arcs, targets, weights, out -> out.put(xs, 0, n), out -> out.put(ys, 0, n),
+                    StringTable.encode(ids, n, true), hasLabels ? StringTable.encode(labels, n, false) : null,
+                    directed, minWeight, coordinateScale, true);
+        }
+
+        // Rows are sorted by target, so parallel arcs sit next to each other; compacts in place, returns the arc count
+        private static int mergeParallel(int n, int[] offsets, int[] targets, double[] weights) {
+            int out = 0;
+            for (int v = 0; v < n; v++) {
+                int start = offsets[v], end = offsets[v + 1];
+                offsets[v] = out;
+                for (int a = start; a < end; a++) {
+                    if (out > offsets[v] && targets[out - 1] == targets[a]) {
+                        weights[out - 1] = Math.min(weights[out - 1], weights[a]);
+                    } else {
+                        targets[out] = targets[a];
+                        weights[out] = weights[a];
+                        out++;
+                    }
+                }
+            }
+            offsets[n] = out;
+            return out;
+        }
+
+        private static int[] countingOrder(int[] keys, int[] input, int m, int n) {
+            int[] count = new int[n + 1];
+            for (int i = 0; i < m; i++) count[keys[i] + 1]++;
+            for (int v = 0; v < n; v++) count[v + 1] += count[v];
+            int[] out = new int[m];
+            for (int i = 0; i < m; i++) {
+                int arc = input != null ? input[i] : i;
+                out[count[keys[arc]]++] = arc;
+            }
+            return out;
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.example.backend.algorithm;
+
+import java.util.Arrays;
+
+/**
+ * Single-source shortest paths with non-negative arc weights. An instance is a
+ * reusable workspace: distance, parent and heap arrays are allocated once and
+ * invalidated between runs with an epoch stamp instead of being refilled.
+ * Not thread-safe.
+ */
+public final class Dijkstra {
+
+    private double[] dist;
+    private int[] parent;
+    private int[] stamp;
+    private int epoch;
+    private final IndexedDaryHeap heap;
+    private int settledCount;
+
+    public Dijkstra(int capacity) {
+        dist = new double[capacity];
+        parent = new int[capacity];
+        stamp = new int[capacity];
+        heap = new IndexedDaryHeap(capacity);
+    }
+
+    /** Vertices settled by the last run; useful to compare search strategies. */
+    public int getSettledCount() { return settledCount; }
+
+    /** Shortest path to one target; the search stops as soon as the target is settled. */
+    public PathResult shortestPath(CsrGraph g, int source, int target) {
+        run(g, source, target);
+        if (stamp[target] != epoch || dist[target] == Double.POSITIVE_INFINITY) {
+            return new PathResult(new int[0], Double.POSITIVE_INFINITY);
+        }
+        int len = 1;
+        for (int v = target; v != source; v = parent[v]) len++;
+        int[] path = new int[len];
+        for (int v = target, i = len - 1; i >= 0; v = parent[v], i--) path[i] = v;
+        return new PathResult(path, dist[target]);
+    }
+
+    /** Full shortest-path tree from source, for answering several targets from one run. */
+    public ShortestPathTree tree(CsrGraph g, int source) {
+        run(g, source, -1);
+        int n = g.vertexCount();
+        double[] d = new double[n];
+        int[] p = new int[n];
+        for (int v = 0; v < n; v++) {
+            boolean seen = stamp[v] == epoch;
+            d[v] = seen ? dist[v] : Double.POSITIVE_INFINITY;
+            p[v] = seen ? parent[v] : -1;
+        }
+        return new ShortestPathTree(source, d, p);
+    }
+
+    /**
+     * Writes distances from source into out[offset .. offset + vertexCount);
+     * unreachable vertices get infinity. Allocation-free, for matrix builders.
+     */
+    public void distances(CsrGraph g, int source, double[] out, int offset) {
+        run(g, source, -1);
+        for (int v = 0, n = g.vertexCount(); v < n; v++) {
+            out[offset + v] = stamp[v] == epoch ? dist[v] : Double.POSITIVE_INFINITY;
+        }
+    }
+
+    private void run(CsrGraph g, int source, int target) {
+        if (g.minWeight() < 0) {
+            throw new IllegalArgumentException("Dijkstra requires non-negative edge weights");
+        }
+        ensureCapacity(g.vertexCount());
+        nextEpoch();
+        heap.clear();
+        settledCount = 0;
+
+        dist[source] = 0.0;
+        parent[source] = -1;
+        stamp[source] = epoch;
+        heap.insertOrDecrease(source, 0.0);
+        while (!heap.isEmpty()) {
+            int u = heap.pollMin();
+            double du = dist[u];
+            settledCount++;
+            if (u == target) break;
+            for (int a = g.arcStart(u), end = g.arcEnd(u); a < end; a++) {
+                int v = g.target(a);
+                double alt = du + g.weight(a);
+                // Settled vertices can never improve, so the stamp test alone is enough
+                if (stamp[v] != epoch) {
+                    stamp[v] = epoch;
+                } else if (alt >= dist[v]) {
+                    continue;
+                }
+                dist[v] = alt;
+                parent[v] = u;
+                heap.insertOrDecrease(v, alt);
+            }
+        }
+    }
+
+    private void ensureCapacity(int n) {
+        if (n <= dist.length) return;
+        dist = new double[n];
+        parent = new int[n];
+        stamp = new int[n];
+        epoch = 0;
+        heap.ensureCapacity(n);
+    }
+
+    private void nextEpoch() {
+        if (++epoch == Integer.MAX_VALUE) {
+            Arrays.fill(stamp, 0);
+            epoch = 1;
+        }
+    }
+}
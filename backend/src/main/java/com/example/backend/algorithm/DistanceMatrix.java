@@ -0,0 +1,28 @@
+package com.example.backend.algorithm;
+
+/** Dense all-pairs distance matrix stored row-major in one flat array. Unreachable pairs hold infinity. */
+public final class DistanceMatrix {
+
+    private final String[] nodeIds;
+    private final double[] distances;
+    private final String method;
+
+    DistanceMatrix(String[] nodeIds, double[] distances, String method) {
+        this.nodeIds = nodeIds;
+        this.distances = distances;
+        this.method = method;
+    }
+
+    public int size() { return nodeIds.length; }
+    public String nodeId(int v) { return nodeIds[v]; }
+    public String getMethod() { return method; }
+
+    public double get(int from, int to) {
+        return distances[from * nodeIds.length + to];
+    }
+
+    /** Approximate retained heap size, for cache accounting. */
+    public long estimatedBytes() {
+        return (long) distances.length * Double.BYTES + (long) nodeIds.length * 48L;
+    }
+}
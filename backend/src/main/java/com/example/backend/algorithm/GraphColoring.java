@@ -0,0 +1,252 @@
+package com.example.backend.algorithm;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * Vertex coloring heuristics. Every arc is treated as undirected. Neighbour
+ * color occupancy is tracked in {@code long[]} bitsets, so choosing a color
+ * costs O(degree) and a whole coloring runs in near O(V + E).
+ */
+public final class GraphColoring {
+
+    public enum Strategy {
+        LARGEST_FIRST, SMALLEST_LAST, DSATUR, JONES_PLASSMANN;
+
+        public static Strategy parse(String name) {
+            if (name == null || name.isBlank()) return LARGEST_FIRST;
+            switch (name.trim().toLowerCase().replace('-', '_')) {
+                case "greedy":
+                case "ordered_coloring":
+                case "largest_first":
+                    return LARGEST_FIRST;
+                case "smallest_last":
+                    return SMALLEST_LAST;
+                case "dsatur":
+                    return DSATUR;
+                case "jones_plassmann":
+                case "parallel":
+                    return JONES_PLASSMANN;
+                default:
+                    throw new IllegalArgumentException("Bilinmeyen boyama algoritması: " + name);
+            }
+        }
+    }
+
+    private GraphColoring() {}
+
+    /** Returns a color index per vertex; adjacent vertices never share an index. */
+    public static int[] color(CsrGraph graph, Strategy strategy, ForkJoinPool pool, long seed) {
+        CsrGraph g = graph.symmetric();
+        switch (strategy) {
+            case SMALLEST_LAST: return firstFit(g, smallestLastOrder(g));
+            case DSATUR: return dsatur(g);
+            case JONES_PLASSMANN: return jonesPlassmann(g, pool, seed);
+            default: return firstFit(g, largestFirstOrder(g));
+        }
+    }
+
+    /** Vertices by decreasing degree; ties keep index order. */
+    static int[] largestFirstOrder(CsrGraph g) {
+        int n = g.vertexCount();
+        int maxDegree = maxDegree(g);
+        int[] start = new int[maxDegree + 2];
+        for (int v = 0; v < n; v++) start[maxDegree - g.degree(v) + 1]++;
+        for (int d = 0; d <= maxDegree; d++) start[d + 1] += start[d];
+        int[] order = new int[n];
+        for (int v = 0; v < n; v++) order[start[maxDegree - g.degree(v)]++] = v;
+        return order;
+    }
+
+    /**
+     * Degeneracy order (Matula–Beck): repeatedly remove a minimum-degree vertex
+     * with a bucket queue, then color in reverse removal order.
+     */
+    static int[] smallestLastOrder(CsrGraph g) {
+        int n = g.vertexCount();
+        int maxDegree = maxDegree(g);
+        int[] degree = new int[n];
+        // Doubly linked bucket lists indexed by current degree
+        int[] head = new int[maxDegree + 1];
+        int[] next = new int[n];
+        int[] prev = new int[n];
+        Arrays.fill(head, -1);
+        for (int v = 0; v < n; v++) {
+            degree[v] = g.degree(v);
+            push(head, next, prev, degree[v], v);
+        }
+
+        boolean[] removed = new boolean[n];
+        int[] order = new int[n];
+        int min = 0;
+        for (int i = n - 1; i >= 0; i--) {
+            while (head[min] < 0) min++;
+            int v = head[min];
+            unlink(head, next, prev, min, v);
+            removed[v] = true;
+            order[i] = v;
+            for (int a = g.arcStart(v), end = g.arcEnd(v); a < end; a++) {
+                int u = g.target(a);
+                if (removed[u] || u == v) continue;
+                unlink(head, next, prev, degree[u], u);
+                push(head, next, prev, --degree[u], u);
+                if (degree[u] < min) min = degree[u];
+            }
+        }
+        return order;
+    }
+
+    private static void push(int[] head, int[] next, int[] prev, int bucket, int v) {
+        next[v] = head[bucket];
+        prev[v] = -1;
+        if (head[bucket] >= 0) prev[head[bucket]] = v;
+        head[bucket] = v;
+    }
+
+    private static void unlink(int[] head, int[] next, int[] prev, int bucket, int v) {
+        if (prev[v] >= 0) next[prev[v]] = next[v];
+        else head[bucket] = next[v];
+        if (next[v] >= 0) prev[next[v]] = prev[v];
+    }
+
+    static int[] firstFit(CsrGraph g, int[] order) {
+        int n = g.vertexCount();
+        int[] colors = new int[n];
+        Arrays.fill(colors, -1);
+        long[] used = new long[(maxDegree(g) + 1) / 64 + 1];
+        for (int v : order) colors[v] = smallestFreeColor(g, v, colors, used);
+        return colors;
+    }
+
+    /**
+     * Marks neighbour colors in the scratch bitset, picks the lowest clear bit,
+     * then clears only the words it touched so the bitset is ready for reuse.
+     */
+    private static int smallestFreeColor(CsrGraph g, int v, int[] colors, long[] used) {
+        int start = g.arcStart(v), end = g.arcEnd(v);
+        for (int a = start; a < end; a++) {
+            int c = colors[g.target(a)];
+            if (c >= 0 && (c >>> 6) < used.length) used[c >>> 6] |= 1L << c;
+        }
+        int color = 0;
+        for (int w = 0; w < used.length; w++) {
+            if (used[w] != -1L) {
+                color = (w << 6) + Long.numberOfTrailingZeros(~used[w]);
+                break;
+            }
+        }
+        for (int a = start; a < end; a++) {
+            int c = colors[g.target(a)];
+            if (c >= 0 && (c >>> 6) < used.length) used[c >>> 6] = 0L;
+        }
+        return color;
+    }
+
+    /**
+     * DSatur: always color the vertex seeing the most distinct neighbour colors,
+     * breaking ties by uncolored degree. Each vertex keeps a saturation bitset
+     * that grows only as far as the colors its neighbours actually use.
+     */
+    static int[] dsatur(CsrGraph g) {
+        int n = g.vertexCount();
+        int[] colors = new int[n];
+        Arrays.fill(colors, -1);
+        long[][] seen = new long[n][];
+        int[] saturation = new int[n];
+        int[] uncoloredDegree = new int[n];
+        double degreeSpan = maxDegree(g) + 1.0;
+
+        // Min-heap on -(saturation, degree), so the best candidate surfaces first
+        IndexedDaryHeap heap = new IndexedDaryHeap(n);
+        for (int v = 0; v < n; v++) {
+            uncoloredDegree[v] = g.degree(v);
+            heap.insertOrDecrease(v, -uncoloredDegree[v]);
+        }
+        long[] used = new long[(maxDegree(g) + 1) / 64 + 1];
+        while (!heap.isEmpty()) {
+            int v = heap.pollMin();
+            int c = smallestFreeColor(g, v, colors, used);
+            colors[v] = c;
+            for (int a = g.arcStart(v), end = g.arcEnd(v); a < end; a++) {
+                int u = g.target(a);
+                if (colors[u] >= 0 || u == v) continue;
+                uncoloredDegree[u]--;
+                long[] bits = seen[u];
+                int word = c >>> 6;
+                if (bits == null || word >= bits.length) {
+                    bits = bits == null ? new long[word + 1] : Arrays.copyOf(bits, word + 1);
+                    seen[u] = bits;
+                }
+                if ((bits[word] & (1L << c)) == 0) {
+                    bits[word] |= 1L << c;
+                    saturation[u]++;
+                }
+                // A saturation gain always lowers the key; a pure degree drop is ignored, leaving a slightly stale tie-break
+                heap.insertOrDecrease(u, -(saturation[u] * degreeSpan + uncoloredDegree[u]));
+            }
+        }
+        return colors;
+    }
+
+    /**
+     * Jones–Plassmann: in each round every uncolored vertex whose random
+     * priority beats all uncolored neighbours picks its first free color. Such
+     * vertices form an independent set, so a round runs fully in parallel.
+     */
+    static int[] jonesPlassmann(CsrGraph g, ForkJoinPool pool, long seed) {
+        int n = g.vertexCount();
+        long[] priority = new long[n];
+        for (int v = 0; v < n; v++) priority[v] = mix(seed + v);
+        int[] colors = new int[n];
+        Arrays.fill(colors, -1);
+        int words = (maxDegree(g) + 1) / 64 + 1;
+        ThreadLocal<long[]> scratch = ThreadLocal.withInitial(() -> new long[words]);
+
+        int[] remaining = new int[n];
+        for (int v = 0; v < n; v++) remaining[v] = v;
+        int count = n;
+        boolean[] chosen = new boolean[n];
+        while (count > 0) {
+            final int[] work = remaining;
+            final int size = count;
+            pool.submit(() -> IntStream.range(0, size).parallel().forEach(i -> {
+                int v = work[i];
+                chosen[v] = isLocalMaximum(g, v, colors, priority);
+            })).join();
+            pool.submit(() -> IntStream.range(0, size).parallel().forEach(i -> {
+                int v = work[i];
+                if (chosen[v]) colors[v] = smallestFreeColor(g, v, colors, scratch.get());
+            })).join();
+
+            int kept = 0;
+            for (int i = 0; i < size; i++) {
+                if (colors[work[i]] < 0) remaining[kept++] = work[i];
+            }
+            count = kept;
+        }
+        return colors;
+    }
+
+    private static boolean isLocalMaximum(CsrGraph g, int v, int[] colors, long[] priority) {
+        for (int a = g.arcStart(v), end = g.arcEnd(v); a < end; a++) {
+            int u = g.target(a);
+            if (u == v || colors[u] >= 0) continue;
+            if (priority[u] > priority[v] || (priority[u] == priority[v] && u > v)) return false;
+        }
+        return true;
+    }
+
+    // SplitMix64 finaliser: deterministic pseudo-random priority per vertex
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+
+    private static int maxDegree(CsrGraph g) {
+        int max = 0;
+        for (int v = 0; v < g.vertexCount(); v++) max = Math.max(max, g.degree(v));
+        return max;
+    }
+}
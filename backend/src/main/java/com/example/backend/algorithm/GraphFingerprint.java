@@ -0,0 +1,99 @@
+package com.example.backend.algorithm;
+
+import com.example.backend.entity.Edge;
+import com.example.backend.entity.Graph;
+import com.example.backend.entity.LegendEntry;
+import com.example.backend.entity.Node;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * SHA-256 over the parts of a graph that algorithms read: node ids and
+ * positions, edge endpoints, direction and weight, and the legend. Rows are
+ * sorted by id and undirected endpoints ordered, so two graphs with the same
+ * content hash alike no matter their database ids, edge ids or row order.
+ * Names, labels, colors and sizes are left out.
+ */
+public final class GraphFingerprint {
+
+    private static final Comparator<String[]> ROW_ORDER = (x, y) -> {
+        for (int i = 0; i < x.length; i++) {
+            int c = Objects.compare(x[i], y[i], Comparator.nullsFirst(Comparator.naturalOrder()));
+            if (c != 0) return c;
+        }
+        return 0;
+    };
+
+    private GraphFingerprint() {}
+
+    public static String of(Graph graph) {
+        MessageDigest md;
+        try {
+            md = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+
+        List<Node> nodes = new ArrayList<>(graph.getNodes());
+        nodes.sort(Comparator.comparing(Node::getNodeId, Comparator.nullsFirst(Comparator.naturalOrder())));
+        for (Node n : nodes) {
+            put(md, "n");
+            put(md, n.getNodeId());
+            put(md, Objects.toString(n.getPositionX()));
+            put(md, Objects.toString(n.getPositionY()));
+        }
+
+        List<String[]> edges = new ArrayList<>(graph.getEdges().size());
+        for (Edge e : graph.getEdges()) {
+            if (e.getFromNode() == null || e.getToNode() == null) continue;
+            boolean directed = Boolean.TRUE.equals(e.getIsDirected());
+            String a = e.getFromNode(), b = e.getToNode();
+            if (!directed && a.compareTo(b) > 0) {
+                String t = a;
+                a = b;
+                b = t;
+            }
+            double w = e.getWeight() != null ? e.getWeight() : 1.0;
+            edges.add(new String[] {a, b, directed ? "d" : "u", Double.toString(w)});
+        }
+        edges.sort(ROW_ORDER);
+        for (String[] row : edges) {
+            put(md, "e");
+            for (String s : row) put(md, s);
+        }
+
+        if (graph.isHasLegend()) {
+            List<String[]> legend = new ArrayList<>();
+            for (LegendEntry le : graph.getLegendEntries()) {
+                legend.add(new String[] {le.getName(), le.getColor(), Objects.toString(le.getCapacity()),
+                        Objects.toString(le.getDistance()), Objects.toString(le.getUnitDistance()),
+                        Objects.toString(le.getSize())});
+            }
+            legend.sort(ROW_ORDER);
+            for (String[] row : legend) {
+                put(md, "l");
+                for (String s : row) put(md, s);
+            }
+        }
+        return HexFormat.of().formatHex(md.digest());
+    }
+
+    // Length-prefixed so no id can run into its neighbour
+    private static void put(MessageDigest md, String s) {
+        if (s == null) {
+            md.update(new byte[] {-1, -1, -1, -1});
+            return;
+        }
+        byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+        int len = bytes.length;
+        md.update(new byte[] {(byte) (len >>> 24), (byte) (len >>> 16), (byte) (len >>> 8), (byte) len});
+        md.update(bytes);
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.backend.algorithm;
+
+import java.util.Arrays;
+
+/** Breadth- and depth-first search over a {@link CsrGraph}. Arcs are followed in their stored direction. */
+public final class GraphSearch {
+
+    private GraphSearch() {}
+
+    /** BFS from source; stops as soon as target is dequeued. Pass target -1 to visit the whole component. */
+    public static SearchResult bfs(CsrGraph g, int source, int target) {
+        int n = g.vertexCount();
+        int[] parent = new int[n];
+        Arrays.fill(parent, -1);
+        boolean[] seen = new boolean[n];
+        int[] queue = new int[n];
+        int head = 0, tail = 0;
+
+        queue[tail++] = source;
+        seen[source] = true;
+        while (head < tail) {
+            int u = queue[head++];
+            if (u == target) break;
+            for (int a = g.arcStart(u), end = g.arcEnd(u); a < end; a++) {
+                int v = g.target(a);
+                if (!seen[v]) {
+                    seen[v] = true;
+                    parent[v] = u;
+                    queue[tail++] = v;
+                }
+            }
+        }
+        // Everything dequeued so far is the visit order
+        return new SearchResult(Arrays.copyOf(queue, head), tracePath(parent, source, target, seen));
+    }
+
+    /**
+     * Iterative DFS from source. Neighbours are explored in ascending index
+     * order, matching the order the Python implementation produced.
+     */
+    public static SearchResult dfs(CsrGraph g, int source, int target) {
+        int n = g.vertexCount();
+        int[] parent = new int[n];
+        Arrays.fill(parent, -1);
+        boolean[] visited = new boolean[n];
+        int[] order = new int[n];
+        int visitedCount = 0;
+
+        // Stack of (vertex, parent) pairs; a vertex may be pushed more than once
+        int[] stack = new int[Math.max(16, n)];
+        int[] stackParent = new int[stack.length];
+        int top = 0;
+        stack[top] = source;
+        stackParent[top++] = -1;
+
+        boolean found = false;
+        while (top > 0) {
+            top--;
+            int u = stack[top];
+            if (visited[u]) continue;
+            visited[u] = true;
+            parent[u] = stackParent[top];
+            order[visitedCount++] = u;
+            if (u == target) {
+                found = true;
+                break;
+            }
+            int start = g.arcStart(u);
+            for (int a = g.arcEnd(u) - 1; a >= start; a--) {
+                int v = g.target(a);
+                if (visited[v]) continue;
+                if (top == stack.length) {
+                    stack = Arrays.copyOf(stack, top * 2);
+                    stackParent = Arrays.copyOf(stackParent, top * 2);
+                }
+                stack[top] = v;
+                stackParent[top++] = u;
+            }
+        }
+        int[] path = found ? tracePath(parent, source, target, visited) : new int[0];
+        return new SearchResult(Arrays.copyOf(order, visitedCount), path);
+    }
+
+    static int[] tracePath(int[] parent, int source, int target, boolean[] reached) {
+        if (target < 0 || !reached[target]) return new int[0];
+        int len = 1;
+        for (int v = target; v != source; v = parent[v]) len++;
+        int[] path = new int[len];
+        for (int v = target, i = len - 1; i >= 0; v = parent[v], i--) path[i] = v;
+        return path;
+    }
+}
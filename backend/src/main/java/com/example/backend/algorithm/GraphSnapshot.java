@@ -0,0 +1,55 @@
+package com.example.backend.algorithm;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Binary file form of a {@link CsrGraph}. The file is the graph's buffer
+ * byte for byte, little-endian, every section 8-byte aligned:
+ *
+ * <pre>
+ *  0  int    magic "CSRG"          24  double minWeight
+ *  4  int    format version        32  double coordinateScale
+ *  8  int    flags (1 = directed)  40  int    label table bytes (0 = none)
+ * 12  int    vertex count n        44  int    reserved
+ * 16  int    arc count m
+ * 20  int    node id table bytes
+ * 48  int[n + 1] row offsets, int[m] targets, double[m] weights,
+ *     double[n] x, double[n] y, node id table, label table
+ * </pre>
+ *
+ * String tables are laid out by {@link StringTable}. Opening maps the file
+ * read-only and reads it in place, so every graph opened from the same file
+ * shares the OS page cache instead of holding its own copy on the heap.
+ */
+public final class GraphSnapshot {
+
+    private GraphSnapshot() {}
+
+    public static void write(CsrGraph graph, Path file) throws IOException {
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer data = graph.data();
+            while (data.hasRemaining()) ch.write(data);
+        }
+    }
+
+    /**
+     * Maps the file and returns a graph reading straight from the mapping.
+     * The mapping outlives the channel and is released once the graph is
+     * garbage collected. Throws IllegalArgumentException on a foreign or
+     * truncated file.
+     */
+    public static CsrGraph open(Path file) throws IOException {
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = ch.size();
+            if (size > Integer.MAX_VALUE) throw new IllegalArgumentException("Graph snapshot çok büyük: " + file);
+            MappedByteBuffer mapped = ch.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            return CsrGraph.wrap(mapped);
+        }
+    }
+}
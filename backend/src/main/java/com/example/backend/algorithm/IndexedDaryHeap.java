@@ -0,0 +1,112 @@
+package com.example.backend.algorithm;
+
+import java.util.Arrays;
+
+/**
+ * Min-priority queue over vertex indices with decrease-key, laid out as a
+ * 4-ary implicit heap in primitive arrays. Instances are reusable: {@link #clear()}
+ * only touches the entries still queued.
+ */
+public final class IndexedDaryHeap {
+
+    private static final int ARITY = 4;
+
+    private int[] heap;
+    private int[] position;
+    private double[] keys;
+    private int size;
+
+    public IndexedDaryHeap(int capacity) {
+        heap = new int[capacity];
+        position = new int[capacity];
+        keys = new double[capacity];
+        Arrays.fill(position, -1);
+    }
+
+    public void ensureCapacity(int capacity) {
+        if (capacity <= position.length) return;
+        int old = position.length;
+        heap = Arrays.copyOf(heap, capacity);
+        keys = Arrays.copyOf(keys, capacity);
+        position = Arrays.copyOf(position, capacity);
+        Arrays.fill(position, old, capacity, -1);
+    }
+
+    public boolean isEmpty() { return size == 0; }
+    public int size() { return size; }
+    public boolean contains(int v) { return position[v] >= 0; }
+    public double key(int v) { return keys[v]; }
+    public double minKey() { return keys[heap[0]]; }
+
+    public void clear() {
+        for (int i = 0; i < size; i++) position[heap[i]] = -1;
+        size = 0;
+    }
+
+    /** Inserts v, or lowers its key when already queued with a larger one. */
+    public void insertOrDecrease(int v, double key) {
+        int i = position[v];
+        if (i < 0) {
+            i = size++;
+            heap[i] = v;
+            position[v] = i;
+        } else if (key >= keys[v]) {
+            return;
+        }
+        keys[v] = key;
+        siftUp(i);
+    }
+
+    public int pollMin() {
+        int min = heap[0];
+        position[min] = -1;
+        int last = heap[--size];
+        if (size > 0) {
+            heap[0] = last;
+            position[last] = 0;
+            siftDown(0);
+        }
+        return min;
+    }
+
+    private void siftUp(int i) {
+        int v = heap[i];
+        double k = keys[v];
+        while (i > 0) {
+            int parent = (i - 1) / ARITY;
+            int p = heap[parent];
+            if (keys[p] <= k) break;
+            heap[i] = p;
+            position[p] = i;
+            i = parent;
+        }
+        heap[i] = v;
+        position[v] = i;
+    }
+
+    private void siftDown(int i) {
+        int v = heap[i];
+        double k = keys[v];
+        while (true) {
+            int first = i * ARITY + 1;
+            if (first >= size) break;
+            int best = first;
+            double bestKey = keys[heap[first]];
+            int last = Math.min(first + ARITY, size);
+            for (int c = first + 1; c < last; c++) {
+                double ck = keys[heap[c]];
+                if (ck < bestKey) {
+                    best = c;
+                    bestKey = ck;
+                }
+            }
+            if (bestKey >= k) break;
+            int child = heap[best];
+            heap[i] = child;
+            position[child] = i;
+            i = best;
+        }
+        heap[i] = v;
+        position[v] = i;
+    }
+}
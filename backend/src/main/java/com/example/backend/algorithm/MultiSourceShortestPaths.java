@@ -0,0 +1,74 @@
+package com.example.backend.algorithm;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Runs one Dijkstra per source across a {@link ForkJoinPool}. Every worker
+ * thread keeps its own Dijkstra workspace, so steady-state
+ * runs allocate nothing per source.
+ */
+public final class MultiSourceShortestPaths {
+
+    @FunctionalInterface
+    private interface SourceAction {
+        void run(int sourceIndex, Workspace workspace);
+    }
+
+    private static final class Workspace {
+        final Dijkstra dijkstra = new Dijkstra(0);
+    }
+
+    private final ForkJoinPool pool;
+    private final ThreadLocal<Workspace> workspaces = ThreadLocal.withInitial(Workspace::new);
+
+    public MultiSourceShortestPaths(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    public ForkJoinPool getPool() { return pool; }
+
+    /** Dense sources.length x vertexCount matrix, row-major, written in place by the workers. */
+    public double[] matrix(CsrGraph g, int[] sources) {
+        int n = g.vertexCount();
+        long cells = (long) sources.length * n;
+        if (cells > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Distance matrix too large: " + cells + " cells");
+        }
+        double[] out = new double[(int) cells];
+        run(sources.length, (i, ws) -> ws.dijkstra.distances(g, sources[i], out, i * n));
+        return out;
+    }
+
+    private void run(int count, SourceAction action) {
+        if (count == 0) return;
+        // Several chunks per worker keeps the pool balanced when sources differ in cost
+        int grain = Math.max(1, count / (pool.getParallelism() * 8));
+        pool.invoke(new SourceTask(action, 0, count, grain));
+    }
+
+    private final class SourceTask extends RecursiveAction {
+        private final SourceAction action;
+        private final int from;
+        private final int to;
+        private final int grain;
+
+        SourceTask(SourceAction action, int from, int to, int grain) {
+            this.action = action;
+            this.from = from;
+            this.to = to;
+            this.grain = grain;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= grain) {
+                Workspace ws = workspaces.get();
+                for (int i = from; i < to; i++) action.run(i, ws);
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new SourceTask(action, from, mid, grain), new SourceTask(action, mid, to, grain));
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.backend.algorithm;
+
+/** A single source-target shortest path. An unreachable target has an empty path and infinite distance. */
+public final class PathResult {
+
+    private final int[] path;
+    private final double distance;
+
+    public PathResult(int[] path, double distance) {
+        this.path = path;
+        this.distance = distance;
+    }
+
+    public int[] getPath() { return path; }
+    public double getDistance() { return distance; }
+    public boolean isReachable() { return path.length > 0; }
+}
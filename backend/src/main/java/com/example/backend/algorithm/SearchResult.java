@@ -0,0 +1,17 @@
+package com.example.backend.algorithm;
+
+/** Outcome of a BFS/DFS run: visit order and, when the target was reached, the path to it. */
+public final class SearchResult {
+
+    private final int[] visitedOrder;
+    private final int[] path;
+
+    public SearchResult(int[] visitedOrder, int[] path) {
+        this.visitedOrder = visitedOrder;
+        this.path = path;
+    }
+
+    public int[] getVisitedOrder() { return visitedOrder; }
+    public int[] getPath() { return path; }
+    public boolean isFound() { return path.length > 0; }
+}
@@ -0,0 +1,30 @@
+package com.example.backend.algorithm;
+
+/** Distances and parent links from one source to every reachable vertex. */
+public final class ShortestPathTree {
+
+    private final int source;
+    private final double[] dist;
+    private final int[] parent;
+
+    ShortestPathTree(int source, double[] dist, int[] parent) {
+        this.source = source;
+        this.dist = dist;
+        this.parent = parent;
+    }
+
+    public int getSource() { return source; }
+
+    public double distanceTo(int v) { return dist[v]; }
+
+    public boolean reaches(int v) { return dist[v] != Double.POSITIVE_INFINITY; }
+
+    public PathResult pathTo(int target) {
+        if (!reaches(target)) return new PathResult(new int[0], Double.POSITIVE_INFINITY);
+        int len = 1;
+        for (int v = target; v != source; v = parent[v]) len++;
+        int[] path = new int[len];
+        for (int v = target, i = len - 1; i >= 0; v = parent[v], i--) path[i] = v;
+        return new PathResult(path, dist[target]);
+    }
+}
@@ -0,0 +1,135 @@
+package com.example.backend.algorithm;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * UTF-8 strings packed into one little-endian buffer: a small header, byte
+ * offsets, an optional open-addressing hash index and the bytes themselves.
+ * Reads and lookups work on the buffer in place, so a mapped table is never
+ * decoded as a whole. Null is stored as the empty string.
+ */
+final class StringTable {
+
+    private static final int HEADER_BYTES = 16;
+    private static final byte[] EMPTY = new byte[0];
+
+    private final ByteBuffer data;
+    private final int count;
+    private final int slots;
+    private final int offsetsAt;
+    private final int slotsAt;
+    private final int bytesAt;
+
+    private StringTable(ByteBuffer data) {
+        this.data = data;
+        this.count = data.getInt(0);
+        this.slots = data.getInt(4);
+        this.offsetsAt = HEADER_BYTES;
+        this.slotsAt = offsetsAt + 4 * (count + 1);
+        this.bytesAt = slotsAt + 4 * slots;
+    }
+
+    /** Reads a table laid out by {@link #encode}; the buffer is not copied. */
+    static StringTable wrap(ByteBuffer buffer) {
+        ByteBuffer d = buffer.slice().order(ByteOrder.LITTLE_ENDIAN);
+        if (d.capacity() < HEADER_BYTES) throw new IllegalArgumentException("Geçersiz string tablosu");
+        int count = d.getInt(0), slots = d.getInt(4), bytes = d.getInt(8);
+        if (count < 0 || slots < 0 || (slots & (slots - 1)) != 0 || bytes < 0
+                || HEADER_BYTES + 4L * (count + 1) + 4L * slots + bytes > d.capacity()) {
+            throw new IllegalArgumentException("Geçersiz string tablosu");
+        }
+        return new StringTable(d);
+    }
+
+    /** Packs the first {@code count} values; {@code indexed} adds the hash index used by {@link #indexOf}. */
+    static ByteBuffer encode(String[] values, int count, boolean indexed) {
+        byte[][] encoded = new byte[count][];
+        long total = 0;
+        for (int i = 0; i < count; i++) {
+            encoded[i] = values[i] != null ? values[i].getBytes(StandardCharsets.UTF_8) : EMPTY;
+            total += encoded[i].length;
+        }
+        int slots = indexed ? slotCount(count) : 0;
+        long size = HEADER_BYTES + 4L * (count + 1) + 4L * slots + total;
+        if (size > Integer.MAX_VALUE - 8) throw new IllegalArgumentException("Node id tablosu çok büyük");
+
+        ByteBuffer d = ByteBuffer.allocate((int) size).order(ByteOrder.LITTLE_ENDIAN);
+        d.putInt(0, count);
+        d.putInt(4, slots);
+        d.putInt(8, (int) total);
+        int offsetsAt = HEADER_BYTES;
+        int slotsAt = offsetsAt + 4 * (count + 1);
+        int bytesAt = slotsAt + 4 * slots;
+        int pos = 0;
+        for (int i = 0; i < count; i++) {
+            d.putInt(offsetsAt + 4 * i, pos);
+            d.put(bytesAt + pos, encoded[i]);
+            pos += encoded[i].length;
+        }
+        d.putInt(offsetsAt + 4 * count, pos);
+
+        // Slots hold index + 1 so that zero marks an empty slot
+        int mask = slots - 1;
+        for (int i = 0; i < count && indexed; i++) {
+            int s = hash(encoded[i]) & mask;
+            while (d.getInt(slotsAt + 4 * s) != 0) s = (s + 1) & mask;
+            d.putInt(slotsAt + 4 * s, i + 1);
+        }
+        return d;
+    }
+
+    int size() { return count; }
+
+    String get(int i) {
+        if (i < 0 || i >= count) throw new IndexOutOfBoundsException(i);
+        int start = data.getInt(offsetsAt + 4 * i);
+        byte[] b = new byte[data.getInt(offsetsAt + 4 * i + 4) - start];
+        data.get(bytesAt + start, b);
+        return new String(b, StandardCharsets.UTF_8);
+    }
+
+    /** Position of the value, or -1 when absent or the table has no index. */
+    int indexOf(String value) {
+        if (value == null || slots == 0) return -1;
+        byte[] key = value.getBytes(StandardCharsets.UTF_8);
+        int mask = slots - 1;
+        for (int s = hash(key) & mask; ; s = (s + 1) & mask) {
+            int entry = data.getInt(slotsAt + 4 * s);
+            if (entry == 0) return -1;
+            if (matches(entry - 1, key)) return entry - 1;
+        }
+    }
+
+    /** The packed table, for copying into a larger buffer. */
+    ByteBuffer buffer() {
+        return data.asReadOnlyBuffer().order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    private boolean matches(int i, byte[] key) {
+        int start = data.getInt(offsetsAt + 4 * i);
+        if (data.getInt(offsetsAt + 4 * i + 4) - start != key.length) return false;
+        for (int k = 0; k < key.length; k++) {
+            if (data.get(bytesAt + start + k) != key[k]) return false;
+        }
+        return true;
+    }
+
+    // At most half full, so probe runs stay short
+    private static int slotCount(int count) {
+        int slots = 2;
+        while (slots < 2L * count) slots <<= 1;
+        return slots;
+    }
+
+    // FNV-1a; part of the file format, so it must not change
+    private static int hash(byte[] bytes) {
+        int h = 0x811c9dc5;
+        for (byte b : bytes) {
+            h ^= b & 0xff;
+            h *= 0x01000193;
+        }
+        return h ^ (h >>> 16);
+    }
+}
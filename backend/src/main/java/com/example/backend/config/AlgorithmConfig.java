@@ -0,0 +1,56 @@
+package com.example.backend.config;
+
+import com.example.backend.algorithm.MultiSourceShortestPaths;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Configuration
+public class AlgorithmConfig {
+
+    // Dedicated pool so long all-pairs runs do not starve the JVM-wide common pool
+    @Bean(destroyMethod = "shutdown")
+    public ForkJoinPool algorithmPool(@Value("${app.algorithms.parallelism:0}") int parallelism) {
+        int threads = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        return new ForkJoinPool(threads);
+    }
+
+    @Bean
+    public MultiSourceShortestPaths multiSourceShortestPaths(ForkJoinPool algorithmPool) {
+        return new MultiSourceShortestPaths(algorithmPool);
+    }
+
+    // Runs submitted jobs off the request threads; the bounded queue rejects work instead of piling it up
+    @Bean(destroyMethod = "shutdownNow")
+    public ThreadPoolExecutor algorithmJobExecutor(@Value("${app.jobs.threads:0}") int threads,
+                                                   @Value("${app.jobs.queue-capacity:100}") int queueCapacity) {
+        int workers = threads > 0 ? threads : Math.max(2, Runtime.getRuntime().availableProcessors() / 2);
+        AtomicInteger sequence = new AtomicInteger();
+        ThreadFactory factory = r -> {
+            Thread t = new Thread(r, "algorithm-job-" + sequence.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        };
+        return new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), factory);
+    }
+
+    // Queue depth and active workers of both pools, to tell algorithm CPU saturation from a DB bottleneck
+    @Bean
+    public MeterBinder algorithmExecutorMetrics(ForkJoinPool algorithmPool, ThreadPoolExecutor algorithmJobExecutor) {
+        return registry -> {
+            new ExecutorServiceMetrics(algorithmPool, "algorithm-pool", Tags.empty()).bindTo(registry);
+            new ExecutorServiceMetrics(algorithmJobExecutor, "algorithm-jobs", Tags.empty()).bindTo(registry);
+        };
+    }
+}
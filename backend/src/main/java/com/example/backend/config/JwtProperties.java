@@ -9,6 +9,7 @@ public class JwtProperties {
     private String secret;
     private long accessTtlMs;
     private long refreshTtlMs;
+    private long verifiedCacheSize = 10000;
 
     public String getSecret() { return secret; }
     public void setSecret(String secret) { this.secret = secret; }
@@ -16,4 +17,6 @@ public class JwtProperties {
     public void setAccessTtlMs(long accessTtlMs) { this.accessTtlMs = accessTtlMs; }
     public long getRefreshTtlMs() { return refreshTtlMs; }
     public void setRefreshTtlMs(long refreshTtlMs) { this.refreshTtlMs = refreshTtlMs; }
+    public long getVerifiedCacheSize() { return verifiedCacheSize; }
+    public void setVerifiedCacheSize(long verifiedCacheSize) { this.verifiedCacheSize = verifiedCacheSize; }
 }
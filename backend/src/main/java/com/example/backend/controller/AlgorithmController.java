@@ -0,0 +1,320 @@
+package com.example.backend.controller;
+
+import com.example.backend.algorithm.CsrGraph;
+import com.example.backend.algorithm.DistanceMatrix;
+import com.example.backend.repository.GraphRepository;
+import com.example.backend.service.AlgorithmService;
+import com.example.backend.service.DistanceMatrixService;
+import com.example.backend.service.ForceLayoutService;
+import com.example.backend.service.LayoutPlanningService;
+import com.example.backend.service.VersionConflictException;
+import com.example.backend.security.AuthPrincipal;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+@RestController
+@RequestMapping("/api/graphs")
+public class AlgorithmController {
+
+    @Autowired
+    private GraphRepository graphRepository;
+
+    @Autowired
+    private AlgorithmService algorithmService;
+
+    @Autowired
+    private DistanceMatrixService distanceMatrixService;
+
+    @Autowired
+    private LayoutPlanningService layoutPlanningService;
+
+    @Autowired
+    private ForceLayoutService forceLayoutService;
+
+    public static class SearchRequest {
+        private String algorithm;
+        private String source;
+        private String target;
+
+        public String getAlgorithm() { return algorithm; }
+        public void setAlgorithm(String algorithm) { this.algorithm = algorithm; }
+        public String getSource() { return source; }
+        public void setSource(String source) { this.source = source; }
+        public String getTarget() { return target; }
+        public void setTarget(String target) { this.target = target; }
+    }
+
+    public static class ShortestPathRequest {
+        private String source;
+        private String target;
+        private List<String> targets;
+        private String mode;
+
+        public String getSource() { return source; }
+        public void setSource(String source) { this.source = source; }
+        public String getTarget() { return target; }
+        public void setTarget(String target) { this.target = target; }
+        public List<String> getTargets() { return targets; }
+        public void setTargets(List<String> targets) { this.targets = targets; }
+        public String getMode() { return mode; }
+        public void setMode(String mode) { this.mode = mode; }
+    }
+
+    public static class ColoringRequest {
+        private String algorithm;
+        private Boolean persist;
+        private Long seed;
+
+        public String getAlgorithm() { return algorithm; }
+        public void setAlgorithm(String algorithm) { this.algorithm = algorithm; }
+        public Boolean getPersist() { return persist; }
+        public void setPersist(Boolean persist) { this.persist = persist; }
+        public Long getSeed() { return seed; }
+        public void setSeed(Long seed) { this.seed = seed; }
+    }
+
+    public static class MultiSourceRequest {
+        private List<String> sources;
+        private String format;
+
+        public List<String> getSources() { return sources; }
+        public void setSources(List<String> sources) { this.sources = sources; }
+        public String getFormat() { return format; }
+        public void setFormat(String format) { this.format = format; }
+    }
+
+    public static class LayoutPlanningRequest {
+        private String mode;
+        private Long timeLimitMs;
+        private Boolean persist;
+        private Long seed;
+
+        public String getMode() { return mode; }
+        public void setMode(String mode) { this.mode = mode; }
+        public Long getTimeLimitMs() { return timeLimitMs; }
+        public void setTimeLimitMs(Long timeLimitMs) { this.timeLimitMs = timeLimitMs; }
+        public Boolean getPersist() { return persist; }
+        public void setPersist(Boolean persist) { this.persist = persist; }
+        public Long getSeed() { return seed; }
+        public void setSeed(Long seed) { this.seed = seed; }
+    }
+
+    public static class ForceLayoutRequest {
+        private Integer iterations;
+        private Double edgeLength;
+        private Double theta;
+        private Boolean refine;
+        private Boolean persist;
+        private Long seed;
+
+        public Integer getIterations() { return iterations; }
+        public void setIterations(Integer iterations) { this.iterations = iterations; }
+        public Double getEdgeLength() { return edgeLength; }
+        public void setEdgeLength(Double edgeLength) { this.edgeLength = edgeLength; }
+        public Double getTheta() { return theta; }
+        public void setTheta(Double theta) { this.theta = theta; }
+        public Boolean getRefine() { return refine; }
+        public void setRefine(Boolean refine) { this.refine = refine; }
+        public Boolean getPersist() { return persist; }
+        public void setPersist(Boolean persist) { this.persist = persist; }
+        public Long getSeed() { return seed; }
+        public void setSeed(Long seed) { this.seed = seed; }
+    }
+
+    @PostMapping("/{id}/search")
+    public ResponseEntity<?> search(
+            @RequestHeader(name = "Authorization", required = false) String authorization,
+            @RequestAttribute(name = AuthPrincipal.ATTRIBUTE, required = false) AuthPrincipal principal,
+            @PathVariable Long id,
+            @RequestBody SearchRequest request) {
+
+        ResponseEntity<?> denied = checkAccess(authorization, principal, id);
+        if (denied != null) return denied;
+
+        if (request.getSource() == null || request.getSource().isBlank()) {
+            return error(HttpStatus.BAD_REQUEST, "SOURCE_REQUIRED", "Başlangıç node'u zorunludur");
+        }
+        String algorithm = request.getAlgorithm() != null ? request.getAlgorithm() : "bfs";
+        try {
+            return ResponseEntity.ok(algorithmService.search(id, algorithm, request.getSource(), request.getTarget()));
+        } catch (IllegalArgumentException e) {
+            return error(HttpStatus.BAD_REQUEST, "INVALID_ALGORITHM_INPUT", e.getMessage());
+        }
+    }
+
+    @PostMapping("/{id}/shortest-path")
+    public ResponseEntity<?> shortestPath(
+            @RequestHeader(name = "Authorization", required = false) String authorization,
+            @RequestAttribute(name = AuthPrincipal.ATTRIBUTE, required = false) AuthPrincipal principal,
+            @PathVariable Long id,
+            @RequestBody ShortestPathRequest request) {
+
+        ResponseEntity<?> denied = checkAccess(authorization, principal, id);
+        if (denied != null) return denied;
+
+        if (request.getSource() == null || request.getSource().isBlank()) {
+            return error(HttpStatus.BAD_REQUEST, "SOURCE_REQUIRED", "Başlangıç node'u zorunludur");
+        }
+        // 'target' and 'targets' may be combined; no target at all returns the full distance map
+        List<String> targets = new ArrayList<>();
+        if (request.getTarget() != null && !request.getTarget().isBlank()) targets.add(request.getTarget());
+        if (request.getTargets() != null) targets.addAll(request.getTargets());
+        try {
+            return ResponseEntity.ok(algorithmService.shortestPath(id, request.getSource(), targets, request.getMode()));
+        } catch (IllegalArgumentException e) {
+            return error(HttpStatus.BAD_REQUEST, "INVALID_ALGORITHM_INPUT", e.getMessage());
+        }
+    }
+
+    @PostMapping("/{id}/coloring")
+    public ResponseEntity<?> coloring(
+            @RequestHeader(name = "Authorization", required = false) String authorization,
+            @RequestAttribute(name = AuthPrincipal.ATTRIBUTE, required = false) AuthPrincipal principal,
+            @PathVariable Long id,
+            @RequestBody(required = false) ColoringRequest request) {
+
+        ResponseEntity<?> denied = checkAccess(authorization, principal, id);
+        if (denied != null) return denied;
+
+        ColoringRequest req = request != null ? request : new ColoringRequest();
+        try {
+            long seed = req.getSeed() != null ? req.getSeed() : id;
+            return ResponseEntity.ok(algorithmService.color(id, req.getAlgorithm(), Boolean.TRUE.equals(req.getPersist()), seed));
+        } catch (IllegalArgumentException e) {
+            return error(HttpStatus.BAD_REQUEST, "INVALID_ALGORITHM_INPUT", e.getMessage());
+        }
+    }
+
+    // Distances from many sources at once; format "ndjson" streams one row per line
+    @PostMapping("/{id}/multi-source")
+    public ResponseEntity<?> multiSource(
+            @RequestHeader(name = "Authorization", required = false) String authorization,
+            @RequestAttribute(name = AuthPrincipal.ATTRIBUTE, required = false) AuthPrincipal principal,
+            @PathVariable Long id,
+            @RequestBody MultiSourceRequest request) {
+
+        ResponseEntity<?> denied = checkAccess(authorization, principal, id);
+        if (denied != null) return denied;
+
+        try {
+            if ("ndjson".equalsIgnoreCase(request.getFormat())) {
+                // The graph may have been deleted since the access check
+                Optional<CsrGraph> graph = algorithmService.loadGraph(id);
+                if (graph.isEmpty()) {
+                    return error(HttpStatus.NOT_FOUND, "GRAPH_NOT_FOUND", "Graph bulunamadı");
+                }
+                CsrGraph g = graph.get();
+                int[] sources = algorithmService.resolveSources(g, request.getSources());
+                StreamingResponseBody body = out -> algorithmService.streamDistanceRows(g, sources, out);
+                return ResponseEntity.ok()
+                        .contentType(MediaType.parseMediaType("application/x-ndjson"))
+                        .body(body);
+            }
+            return ResponseEntity.ok(algorithmService.distanceMatrix(id, request.getSources()));
+        } catch (IllegalArgumentException e) {
+            return error(HttpStatus.BAD_REQUEST, "INVALID_ALGORITHM_INPUT", e.getMessage());
+        }
+    }
+
+    // Places legend buildings to maximise residential nodes; mode "fast" skips the exact solve
+    @PostMapping("/{id}/layout-planning")
+    public ResponseEntity<?> layoutPlanning(
+            @RequestHeader(name = "Authorization", required = false) String authorization,
+            @RequestAttribute(name = AuthPrincipal.ATTRIBUTE, required = false) AuthPrincipal principal,
+            @PathVariable Long id,
+            @RequestBody(required = false) LayoutPlanningRequest request) {
+
+        ResponseEntity<?> denied = checkAccess(authorization, principal, id);
+        if (denied != null) return denied;
+
+        LayoutPlanningRequest req = request != null ? request : new LayoutPlanningRequest();
+        try {
+            long seed = req.getSeed() != null ? req.getSeed() : id;
+            return ResponseEntity.ok(layoutPlanningService.plan(id, req.getMode(), req.getTimeLimitMs(),
+                    Boolean.TRUE.equals(req.getPersist()), seed, null));
+        } catch (IllegalArgumentException e) {
+            return error(HttpStatus.BAD_REQUEST, "INVALID_ALGORITHM_INPUT", e.getMessage());
+        }
+    }
+
+    // Force-directed node placement; refine starts from the stored positions instead of a coarse layout
+    @PostMapping("/{id}/force-layout")
+    public ResponseEntity<?> forceLayout(
+            @RequestHeader(name = "Authorization", required = false) String authorization,
+            @RequestAttribute(name = AuthPrincipal.ATTRIBUTE, required = false) AuthPrincipal principal,
+            @PathVariable Long id,
+            @RequestBody(required = false) ForceLayoutRequest request) {
+
+        ResponseEntity<?> denied = checkAccess(authorization, principal, id);
+        if (denied != null) return denied;
+
+        ForceLayoutRequest req = request != null ? request : new ForceLayoutRequest();
+        try {
+            long seed = req.getSeed() != null ? req.getSeed() : id;
+            return ResponseEntity.ok(forceLayoutService.layout(id, req.getIterations(), req.getEdgeLength(), req.getTheta(),
+                    Boolean.TRUE.equals(req.getRefine()), Boolean.TRUE.equals(req.getPersist()), seed, null));
+        } catch (IllegalArgumentException e) {
+            return error(HttpStatus.BAD_REQUEST, "INVALID_ALGORITHM_INPUT", e.getMessage());
+        } catch (VersionConflictException e) {
+            return error(HttpStatus.CONFLICT, "VERSION_CONFLICT", e.getMessage());
+        }
+    }
+
+    @GetMapping("/{id}/distance-matrix")
+    public ResponseEntity<?> distanceMatrix(
+            @RequestHeader(name = "Authorization", required = false) String authorization,
+            @RequestAttribute(name = AuthPrincipal.ATTRIBUTE, required = false) AuthPrincipal principal,
+            @PathVariable Long id) {
+
+        ResponseEntity<?> denied = checkAccess(authorization, principal, id);
+        if (denied != null) return denied;
+
+        try {
+            Optional<DistanceMatrix> matrix = distanceMatrixService.getMatrix(id);
+            if (matrix.isEmpty()) {
+                return error(HttpStatus.NOT_FOUND, "GRAPH_NOT_FOUND", "Graph bulunamadı");
+            }
+            return ResponseEntity.ok(DistanceMatrixService.toBody(matrix.get()));
+        } catch (IllegalArgumentException e) {
+            return error(HttpStatus.BAD_REQUEST, "INVALID_ALGORITHM_INPUT", e.getMessage());
+        }
+    }
+
+    // Returns an error response when the caller may not run algorithms on the graph, null otherwise
+    private ResponseEntity<?> checkAccess(String authorization, AuthPrincipal principal, Long graphId) {
+        if (authorization == null || !authorization.startsWith("Bearer ")) {
+            return error(HttpStatus.UNAUTHORIZED, "NO_TOKEN", "Token bulunamadı");
+        }
+        if (principal == null) {
+            return error(HttpStatus.UNAUTHORIZED, "INVALID_TOKEN", "Token geçersiz veya süresi dolmuş");
+        }
+        Long userId = principal.getUserId();
+
+        Optional<Long> ownerId = graphRepository.findOwnerIdById(graphId);
+        if (ownerId.isEmpty()) {
+            return error(HttpStatus.NOT_FOUND, "GRAPH_NOT_FOUND", "Graph bulunamadı");
+        }
+        if (!ownerId.get().equals(userId)) {
+            return error(HttpStatus.FORBIDDEN, "ACCESS_DENIED", "Bu graph'a erişim yetkiniz yok");
+        }
+        return null;
+    }
+
+    private ResponseEntity<Map<String, Object>> error(HttpStatus status, String code, String message) {
+        Map<String, Object> res = new HashMap<>();
+        res.put("error", true);
+        res.put("code", code);
+        res.put("message", message);
+        return ResponseEntity.status(status).body(res);
+    }
+}
@@ -7,6 +7,8 @@ import com.example.backend.entity.User;
 import com.example.backend.repository.UserRepository;
 import com.example.backend.service.JwtService;
 import com.example.backend.service.MailService;
+import com.example.backend.service.UserCache;
+import com.example.backend.security.AuthPrincipal;
 import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -26,12 +28,15 @@ public class AuthController {
 	private final PasswordEncoder passwordEncoder;
 	private final JwtService jwtService;
 	private final MailService mailService;
+	private final UserCache userCache;
 
-	public AuthController(UserRepository userRepository, PasswordEncoder passwordEncoder, JwtService jwtService, MailService mailService) {
+	public AuthController(UserRepository userRepository, PasswordEncoder passwordEncoder, JwtService jwtService, MailService mailService,
+						  UserCache userCache) {
 		this.userRepository = userRepository;
 		this.passwordEncoder = passwordEncoder;
 		this.jwtService = jwtService;
 		this.mailService = mailService;
+		this.userCache = userCache;
 	}
 
 	@PostMapping("/login")
@@ -146,11 +151,11 @@ public class AuthController {
 			}
 
 			Long userId = Long.parseLong((String) claims.get("sub"));
-			Optional<User> userOpt = userRepository.findById(userId);
+			Optional<UserCache.CachedUser> userOpt = userCache.find(userId);
 			if (userOpt.isEmpty()) {
 				return error(HttpStatus.UNAUTHORIZED, "USER_NOT_FOUND", "Kullanıcı bulunamadı");
 			}
-			User user = userOpt.get();
+			UserCache.CachedUser user = userOpt.get();
 			/*
 			 Refresh akışı:
 			 - İstemci geçerli (typ=refresh) refresh token gönderir.
@@ -167,20 +172,15 @@ public class AuthController {
 	}
 
 	@GetMapping("/me")
-	public ResponseEntity<?> me(@RequestHeader(name = "Authorization", required = false) String authorization) {
+	public ResponseEntity<?> me(@RequestHeader(name = "Authorization", required = false) String authorization, @RequestAttribute(name = AuthPrincipal.ATTRIBUTE, required = false) AuthPrincipal principal) {
 		if (authorization == null || !authorization.startsWith("Bearer ")) {
 			return error(HttpStatus.UNAUTHORIZED, "NO_TOKEN", "Token bulunamadı");
 		}
-		String token = authorization.substring(7).trim();
+		if (principal == null) {
+			return error(HttpStatus.UNAUTHORIZED, "INVALID_TOKEN", "Token geçersiz veya süresi dolmuş");
+		}
 		try {
-			Map<String, Object> claims = jwtService.parseClaims(token);
-
-			// ✅ sub her zaman String bekleniyor
-			String sub = (String) claims.get("sub");
-			if (sub == null) {
-				return error(HttpStatus.UNAUTHORIZED, "INVALID_TOKEN", "sub claim eksik");
-			}
-			Long userId = Long.parseLong(sub);
+			Long userId = principal.getUserId();
 
 			Optional<User> userOpt = userRepository.findById(userId);
 			if (userOpt.isEmpty()) return error(HttpStatus.UNAUTHORIZED, "USER_NOT_FOUND", "Kullanıcı bulunamadı");
@@ -200,25 +200,20 @@ public class AuthController {
 	}
 
 	@GetMapping("/is-admin")
-	public ResponseEntity<?> isAdmin(@RequestHeader(name = "Authorization", required = false) String authorization) {
+	public ResponseEntity<?> isAdmin(@RequestHeader(name = "Authorization", required = false) String authorization, @RequestAttribute(name = AuthPrincipal.ATTRIBUTE, required = false) AuthPrincipal principal) {
 		if (authorization == null || !authorization.startsWith("Bearer ")) {
 			return error(HttpStatus.UNAUTHORIZED, "NO_TOKEN", "Token bulunamadı");
 		}
-		String token = authorization.substring(7).trim();
+		if (principal == null) {
+			return error(HttpStatus.UNAUTHORIZED, "INVALID_TOKEN", "Token geçersiz veya süresi dolmuş");
+		}
 		try {
-			Map<String, Object> claims = jwtService.parseClaims(token);
-
-			// ✅ sub her zaman String bekleniyor
-			String sub = (String) claims.get("sub");
-			if (sub == null) {
-				return error(HttpStatus.UNAUTHORIZED, "INVALID_TOKEN", "sub claim eksik");
-			}
-			Long userId = Long.parseLong(sub);
+			Long userId = principal.getUserId();
 
-			Optional<User> userOpt = userRepository.findById(userId);
+			Optional<UserCache.CachedUser> userOpt = userCache.find(userId);
 			if (userOpt.isEmpty()) return error(HttpStatus.UNAUTHORIZED, "USER_NOT_FOUND", "Kullanıcı bulunamadı");
 
-			User user = userOpt.get();
+			UserCache.CachedUser user = userOpt.get();
 			Map<String, Object> res = new HashMap<>();
 			res.put("isAdmin", user.isAdmin());
 			return ResponseEntity.ok(res);
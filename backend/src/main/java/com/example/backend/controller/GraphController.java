@@ -1,28 +1,57 @@
 package com.example.backend.controller;
 
+import com.example.backend.algorithm.GraphFingerprint;
 import com.example.backend.entity.Graph;
 import com.example.backend.entity.Node;
 import com.example.backend.entity.Edge;
 import com.example.backend.entity.User;
 import com.example.backend.entity.LegendEntry;
+import com.example.backend.generator.GraphGenerator;
+import com.example.backend.generator.GraphModel;
+import com.example.backend.job.AlgorithmJob;
+import com.example.backend.job.JobRejectedException;
+import com.example.backend.metrics.GraphMetrics;
+import com.example.backend.repository.GraphJdbcRepository;
 import com.example.backend.repository.GraphRepository;
+import com.example.backend.repository.GraphCursor;
+import com.example.backend.repository.GraphSummary;
 import com.example.backend.repository.UserRepository;
-import com.example.backend.service.JwtService;
+import com.example.backend.service.AlgorithmResultCache;
+import com.example.backend.service.DistanceMatrixService;
+import com.example.backend.service.GraphExportService;
+import com.example.backend.service.GraphGeneratorService;
+import com.example.backend.service.GraphImportService;
+import com.example.backend.service.GraphService;
+import com.example.backend.service.GraphSnapshotStore;
+import com.example.backend.service.UserCache;
+import com.example.backend.security.AuthPrincipal;
 import jakarta.validation.Valid;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.beans.factory.annotation.Value;
 
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.interceptor.TransactionAspectSupport;
+import java.util.ArrayList;
+import java.io.IOException;
+import java.net.URI;
 import java.util.LinkedHashMap;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.zip.GZIPOutputStream;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonAlias;
 
@@ -30,6 +59,8 @@ import com.fasterxml.jackson.annotation.JsonAlias;
 @RequestMapping("/api/graphs")
 public class GraphController {
 
+    private static final Logger log = LoggerFactory.getLogger(GraphController.class);
+
     @Autowired
     private GraphRepository graphRepository;
 
@@ -37,7 +68,34 @@ public class GraphController {
     private UserRepository userRepository;
 
     @Autowired
-    private JwtService jwtService;
+    private UserCache userCache;
+
+    @Autowired
+    private DistanceMatrixService distanceMatrixService;
+
+    @Autowired
+    private AlgorithmResultCache algorithmResultCache;
+
+    @Autowired
+    private GraphSnapshotStore graphSnapshotStore;
+
+    @Autowired
+    private GraphJdbcRepository graphJdbcRepository;
+
+    @Autowired
+    private GraphService graphService;
+
+    @Autowired
+    private GraphExportService graphExportService;
+
+    @Autowired
+    private GraphImportService graphImportService;
+
+    @Autowired
+    private GraphGeneratorService graphGeneratorService;
+
+    @Autowired
+    private GraphMetrics graphMetrics;
 
     @PersistenceContext
     private EntityManager entityManager;
@@ -52,6 +110,8 @@ public class GraphController {
         private List<LegendEntryDTO> legendEntries;
         // NEW: user id for internal key flow
         private Long userId;
+        // Version the client last loaded; when set, a newer graph rejects the update
+        private Long baseVersion;
 
         // Getters and setters
         public String getName() { return name; }
@@ -67,6 +127,8 @@ public class GraphController {
         // NEW: userId getter/setter
         public Long getUserId() { return userId; }
         public void setUserId(Long userId) { this.userId = userId; }
+        public Long getBaseVersion() { return baseVersion; }
+        public void setBaseVersion(Long baseVersion) { this.baseVersion = baseVersion; }
     }
 
     public static class NodeDTO {
@@ -151,16 +213,99 @@ public class GraphController {
         public void setSize(Double size) { this.size = size; }
     }
 
+    /**
+     * Partial update: nodes and edges are added or updated by their frontend
+     * id, with omitted fields left unchanged, and removed by id. The legend is
+     * replaced only when legend fields are present.
+     */
+    public static class PatchGraphRequest {
+        // Version the client last loaded; a newer graph rejects the patch
+        private Long baseVersion;
+        private String name;
+        private List<NodeDTO> nodes;
+        private List<String> removedNodes;
+        private List<EdgeDTO> edges;
+        private List<String> removedEdges;
+        private Boolean hasLegend;
+        private List<LegendEntryDTO> legendEntries;
+
+        public Long getBaseVersion() { return baseVersion; }
+        public void setBaseVersion(Long baseVersion) { this.baseVersion = baseVersion; }
+        public String getName() { return name; }
+        public void setName(String name) { this.name = name; }
+        public List<NodeDTO> getNodes() { return nodes; }
+        public void setNodes(List<NodeDTO> nodes) { this.nodes = nodes; }
+        public List<String> getRemovedNodes() { return removedNodes; }
+        public void setRemovedNodes(List<String> removedNodes) { this.removedNodes = removedNodes; }
+        public List<EdgeDTO> getEdges() { return edges; }
+        public void setEdges(List<EdgeDTO> edges) { this.edges = edges; }
+        public List<String> getRemovedEdges() { return removedEdges; }
+        public void setRemovedEdges(List<String> removedEdges) { this.removedEdges = removedEdges; }
+        public Boolean getHasLegend() { return hasLegend; }
+        public void setHasLegend(Boolean hasLegend) { this.hasLegend = hasLegend; }
+        public List<LegendEntryDTO> getLegendEntries() { return legendEntries; }
+        public void setLegendEntries(List<LegendEntryDTO> legendEntries) { this.legendEntries = legendEntries; }
+    }
+
+    /**
+     * Synthetic graph settings. Edges is the target count (edges per node
+     * times nodes for Barabási–Albert, ignored by grids); without a seed a
+     * random one is picked and reported. A format streams the graph as a
+     * file instead of saving it.
+     */
+    public static class GenerateGraphRequest {
+        private String model;
+        private Integer nodes;
+        private Long edges;
+        private Long seed;
+        private Boolean directed;
+        private Integer maxWeight;
+        private Integer communities;
+        private Double mixing;
+        private Boolean legend;
+        private String name;
+        private String format;
+
+        public String getModel() { return model; }
+        public void setModel(String model) { this.model = model; }
+        public Integer getNodes() { return nodes; }
+        public void setNodes(Integer nodes) { this.nodes = nodes; }
+        public Long getEdges() { return edges; }
+        public void setEdges(Long edges) { this.edges = edges; }
+        public Long getSeed() { return seed; }
+        public void setSeed(Long seed) { this.seed = seed; }
+        public Boolean getDirected() { return directed; }
+        public void setDirected(Boolean directed) { this.directed = directed; }
+        public Integer getMaxWeight() { return maxWeight; }
+        public void setMaxWeight(Integer maxWeight) { this.maxWeight = maxWeight; }
+        public Integer getCommunities() { return communities; }
+        public void setCommunities(Integer communities) { this.communities = communities; }
+        public Double getMixing() { return mixing; }
+        public void setMixing(Double mixing) { this.mixing = mixing; }
+        public Boolean getLegend() { return legend; }
+        public void setLegend(Boolean legend) { this.legend = legend; }
+        public String getName() { return name; }
+        public void setName(String name) { this.name = name; }
+        public String getFormat() { return format; }
+        public void setFormat(String format) { this.format = format; }
+    }
+
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 200;
+
     @Value("${app.internal.api-key:}")
     private String internalApiKey;
 
     @PostMapping("/save")
+    @Transactional
     public ResponseEntity<?> saveGraph(
             @RequestHeader(name = "Authorization", required = false) String authorization,
+            @RequestAttribute(name = AuthPrincipal.ATTRIBUTE, required = false) AuthPrincipal principal,
             @RequestHeader(name = "X-Internal-Api-Key", required = false) String internalKeyHeader,
             @RequestHeader(name = "X-Internal-User-Id", required = false) Long internalUserId,
             @Valid @RequestBody SaveGraphRequest request) {
 
+        long started = System.nanoTime();
         User user;
 
         // Resolve effective internal key: property or env fallback
@@ -179,30 +324,23 @@ public class GraphController {
                 return error(HttpStatus.BAD_REQUEST, "USER_ID_REQUIRED", "Internal request must provide a userId");
             }
 
-            Optional<User> userOpt = userRepository.findById(userId);
-            if (userOpt.isEmpty()) {
+            if (userCache.find(userId).isEmpty()) {
                 return error(HttpStatus.NOT_FOUND, "USER_NOT_FOUND", "Kullanıcı (ID'den) bulunamadı");
             }
-            user = userOpt.get();
+            user = userRepository.getReferenceById(userId);
 
         // Priority 2: Bearer token flow
         } else if (authorization != null && authorization.startsWith("Bearer ")) {
+            if (principal == null) {
+                return error(HttpStatus.UNAUTHORIZED, "INVALID_TOKEN", "Token geçersiz veya süresi dolmuş");
+            }
             try {
-                String token = authorization.substring(7).trim();
-                Map<String, Object> claims = jwtService.parseClaims(token);
-                Object subObj = claims.get("sub");
-                Long userId = (subObj instanceof String) ? Long.parseLong((String) subObj)
-                             : (subObj instanceof Number) ? ((Number) subObj).longValue()
-                             : null;
-                if (userId == null) {
-                    return error(HttpStatus.UNAUTHORIZED, "INVALID_TOKEN", "Token geçersiz (sub yok)");
-                }
+                Long userId = principal.getUserId();
 
-                Optional<User> userOpt = userRepository.findById(userId);
-                if (userOpt.isEmpty()) {
+                if (userCache.find(userId).isEmpty()) {
                     return error(HttpStatus.UNAUTHORIZED, "USER_NOT_FOUND", "Kullanıcı (Token'dan) bulunamadı");
                 }
-                user = userOpt.get();
+                user = userRepository.getReferenceById(userId);
             } catch (Exception e) {
                 return error(HttpStatus.UNAUTHORIZED, "INVALID_TOKEN", "Token geçersiz veya süresi dolmuş");
             }
@@ -221,48 +359,26 @@ public class GraphController {
             Graph graph = new Graph(request.getName(), user);
             
             // Save nodes
+            List<Node> nodes = new ArrayList<>();
             if (request.getNodes() != null) {
-                for (NodeDTO nodeDTO : request.getNodes()) {
-                    Node node = new Node(nodeDTO.getNodeId(), nodeDTO.getLabel(), graph);
-                    node.setSize(nodeDTO.getSize() != null ? nodeDTO.getSize() : 20);
-                    node.setColor(nodeDTO.getColor() != null ? nodeDTO.getColor() : "#1976d2");
-                    node.setPositionX(nodeDTO.getPositionX());
-                    node.setPositionY(nodeDTO.getPositionY());
-                    graph.getNodes().add(node);
-                }
+                for (NodeDTO nodeDTO : request.getNodes()) nodes.add(toNode(nodeDTO, graph));
             }
 
             // Save edges
+            List<Edge> edges = new ArrayList<>();
             if (request.getEdges() != null) {
-                for (EdgeDTO edgeDTO : request.getEdges()) {
-                    Edge edge = new Edge(edgeDTO.getEdgeId(), edgeDTO.getFromNode(), edgeDTO.getToNode(), graph);
-                    edge.setWeight(edgeDTO.getWeight() != null ? edgeDTO.getWeight() : 1.0);
-                    edge.setIsDirected(edgeDTO.getIsDirected() != null ? edgeDTO.getIsDirected() : false);
-                    edge.setShowWeight(edgeDTO.getShowWeight() != null ? edgeDTO.getShowWeight() : true);
-                    graph.getEdges().add(edge);
-                }
+                for (EdgeDTO edgeDTO : request.getEdges()) edges.add(toEdge(edgeDTO, graph));
             }
 
             // legend
             graph.setHasLegend(Boolean.TRUE.equals(request.getHasLegend()) && request.getLegendEntries() != null && !request.getLegendEntries().isEmpty());
-            if (graph.isHasLegend()) {
-                for (LegendEntryDTO dto : request.getLegendEntries()) {
-                    if (dto == null) continue;
-                    LegendEntry le = new LegendEntry();
-                    le.setGraph(graph);
-                    le.setName(dto.getName());
-                    le.setColor(dto.getColor());
-                    le.setCapacity(dto.getCapacity());
-                    le.setDistance(dto.getDistance());
-                    // ensure not-null for DB constraint
-                    Double unitDist = dto.getUnitDistance() != null ? dto.getUnitDistance() : 1.0;
-                    le.setUnitDistance(unitDist);
-                    le.setSize(dto.getSize());
-                    graph.getLegendEntries().add(le);
-                }
-            }
+            List<LegendEntry> legend = graph.isHasLegend() ? legendEntries(request.getLegendEntries()) : List.of();
 
+            // Only the graphs row goes through JPA; child rows are written in JDBC batches
             Graph savedGraph = graphRepository.save(graph);
+            graphJdbcRepository.insertContent(savedGraph.getId(), nodes, edges, legend);
+            graphService.graphsChanged(user.getId());
+            graphMetrics.record("save", nodes.size(), edges.size(), started);
 
             Map<String, Object> response = new HashMap<>();
             response.put("success", true);
@@ -273,28 +389,145 @@ public class GraphController {
             return ResponseEntity.ok(response);
 
         } catch (Exception e) {
+            TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
             // This is now a *real* server error, not an auth error
-            // You should log this error!
-            // log.error("Error saving graph for user {}: {}", user.getId(), e.getMessage(), e);
+            log.error("Saving graph failed for user {}", user.getId(), e);
             return error(HttpStatus.INTERNAL_SERVER_ERROR, "GRAPH_SAVE_FAILED", "Grafik kaydedilirken bir sunucu hatası oluştu: " + e.getMessage());
         }
     }
 
+    // Imports an edge list/CSV, GraphML or NDJSON file as a background job; poll /api/jobs/{jobId} for progress
+    @PostMapping(value = "/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<?> importGraph(
+            @RequestHeader(name = "Authorization", required = false) String authorization,
+            @RequestAttribute(name = AuthPrincipal.ATTRIBUTE, required = false) AuthPrincipal principal,
+            @RequestParam("file") MultipartFile file,
+            @RequestParam(name = "format", required = false) String format,
+            @RequestParam(name = "name", required = false) String name,
+            @RequestParam(name = "directed", defaultValue = "false") boolean directed) {
+
+        if (authorization == null || !authorization.startsWith("Bearer ")) {
+            return error(HttpStatus.UNAUTHORIZED, "NO_TOKEN", "Token bulunamadı");
+        }
+
+        if (principal == null) {
+            return error(HttpStatus.UNAUTHORIZED, "INVALID_TOKEN", "Token geçersiz veya süresi dolmuş");
+        }
+        Long userId = principal.getUserId();
+        if (file.isEmpty()) {
+            return error(HttpStatus.BAD_REQUEST, "EMPTY_FILE", "Dosya boş");
+        }
+
+        try {
+            AlgorithmJob job = graphImportService.submit(userId, file, format, name, directed);
+            return ResponseEntity.accepted().location(URI.create("/api/jobs/" + job.getId())).body(job.toMap());
+        } catch (IllegalArgumentException e) {
+            return error(HttpStatus.BAD_REQUEST, "UNSUPPORTED_FORMAT", e.getMessage());
+        } catch (JobRejectedException e) {
+            return error(HttpStatus.TOO_MANY_REQUESTS, e.getCode(), e.getMessage());
+        } catch (IOException e) {
+            return error(HttpStatus.INTERNAL_SERVER_ERROR, "UPLOAD_FAILED", "Dosya alınamadı: " + e.getMessage());
+        }
+    }
+
+    // Saves a synthetic graph as a background job, or streams it as "ndjson"/"edgelist" when a format is given
+    @PostMapping("/generate")
+    public ResponseEntity<?> generateGraph(
+            @RequestHeader(name = "Authorization", required = false) String authorization,
+            @RequestAttribute(name = AuthPrincipal.ATTRIBUTE, required = false) AuthPrincipal principal,
+            @RequestHeader(name = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            @RequestBody GenerateGraphRequest request) {
+
+        if (authorization == null || !authorization.startsWith("Bearer ")) {
+            return error(HttpStatus.UNAUTHORIZED, "NO_TOKEN", "Token bulunamadı");
+        }
+
+        if (principal == null) {
+            return error(HttpStatus.UNAUTHORIZED, "INVALID_TOKEN", "Token geçersiz veya süresi dolmuş");
+        }
+        Long userId = principal.getUserId();
+
+        GraphModel model = GraphModel.parse(request.getModel());
+        if (model == null) {
+            return error(HttpStatus.BAD_REQUEST, "INVALID_MODEL",
+                    "Desteklenen modeller: erdos-renyi, grid, barabasi-albert, geometric, planted-partition");
+        }
+        String format = request.getFormat() != null ? request.getFormat().trim().toLowerCase() : "";
+        if (!format.isEmpty() && !"ndjson".equals(format) && !"edgelist".equals(format)) {
+            return error(HttpStatus.BAD_REQUEST, "INVALID_FORMAT", "Desteklenen formatlar: ndjson, edgelist");
+        }
+
+        GraphGenerator generator;
+        try {
+            long seed = request.getSeed() != null ? request.getSeed() : ThreadLocalRandom.current().nextLong();
+            generator = new GraphGenerator(model, request.getNodes() != null ? request.getNodes() : 0,
+                    request.getEdges() != null ? request.getEdges() : 0, seed);
+            generator.setDirected(Boolean.TRUE.equals(request.getDirected()));
+            generator.setLegend(Boolean.TRUE.equals(request.getLegend()));
+            if (request.getMaxWeight() != null) generator.setMaxWeight(request.getMaxWeight());
+            if (request.getCommunities() != null) generator.setCommunities(request.getCommunities());
+            if (request.getMixing() != null) generator.setMixing(request.getMixing());
+            graphGeneratorService.check(generator);
+        } catch (IllegalArgumentException e) {
+            return error(HttpStatus.BAD_REQUEST, "INVALID_GENERATOR", e.getMessage());
+        }
+
+        if (format.isEmpty()) {
+            try {
+                AlgorithmJob job = graphGeneratorService.submit(userId, generator, request.getName());
+                return ResponseEntity.accepted().location(URI.create("/api/jobs/" + job.getId())).body(job.toMap());
+            } catch (JobRejectedException e) {
+                return error(HttpStatus.TOO_MANY_REQUESTS, e.getCode(), e.getMessage());
+            }
+        }
+
+        boolean ndjson = "ndjson".equals(format);
+        boolean gzip = acceptEncoding != null && acceptEncoding.toLowerCase().contains("gzip");
+        StreamingResponseBody body = out -> {
+            if (gzip) {
+                GZIPOutputStream zipped = new GZIPOutputStream(out, 64 * 1024);
+                graphGeneratorService.write(generator, request.getName(), zipped, ndjson);
+                zipped.finish();
+            } else {
+                graphGeneratorService.write(generator, request.getName(), out, ndjson);
+            }
+        };
+
+        String file = model.name().toLowerCase() + "-" + generator.getNodes() + "-" + generator.getSeed() + (ndjson ? ".ndjson" : ".edges");
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(ndjson ? MediaType.parseMediaType("application/x-ndjson") : MediaType.TEXT_PLAIN)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + file + "\"")
+                .header("X-Generator-Seed", String.valueOf(generator.getSeed()))
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        return response.body(body);
+    }
+
     @GetMapping("/user")
     public ResponseEntity<?> getUserGraphs(
             @RequestHeader(name = "Authorization", required = false) String authorization,
+            @RequestAttribute(name = AuthPrincipal.ATTRIBUTE, required = false) AuthPrincipal principal,
             @RequestParam(name = "range", required = false) String range,
             @RequestParam(name = "page", required = false) Integer page,
-            @RequestParam(name = "size", required = false) Integer size) {
+            @RequestParam(name = "size", required = false) Integer size,
+            @RequestParam(name = "cursor", required = false) String cursor,
+            @RequestParam(name = "limit", required = false) Integer pageLimit) {
 
+        long started = System.nanoTime();
         if (authorization == null || !authorization.startsWith("Bearer ")) {
             return error(HttpStatus.UNAUTHORIZED, "NO_TOKEN", "Token bulunamadı");
         }
 
-        String token = authorization.substring(7).trim();
+        if (principal == null) {
+            return error(HttpStatus.UNAUTHORIZED, "INVALID_TOKEN", "Token geçersiz veya süresi dolmuş");
+        }
         try {
-            Map<String, Object> claims = jwtService.parseClaims(token);
-            Long userId = Long.parseLong((String) claims.get("sub"));
+            Long userId = principal.getUserId();
+
+            // Cursor paging: preferred, cost does not grow with depth
+            if (cursor != null || pageLimit != null) {
+                return summaryPage(userId, cursor, pageLimit);
+            }
 
             // parse pagination
             boolean paginate = false;
@@ -329,23 +562,22 @@ public class GraphController {
 
             if (!paginate) {
                 // backward compatibility: return full list
-                List<Graph> graphs = graphRepository.findByUserIdOrderByUpdatedAtDesc(userId);
+                List<GraphSummary> graphs = graphRepository.findSummariesByUserId(userId);
+                recordList(graphs, started);
                 return ResponseEntity.ok(graphs);
             }
 
-            // total count
-            Long total = entityManager.createQuery(
-                            "SELECT COUNT(g) FROM Graph g WHERE g.user.id = :uid", Long.class)
-                    .setParameter("uid", userId)
-                    .getSingleResult();
+            // total count (cached briefly)
+            long total = graphService.countGraphs(userId);
 
             // paged items
-            List<Graph> items = entityManager.createQuery(
-                            "SELECT g FROM Graph g WHERE g.user.id = :uid ORDER BY g.updatedAt DESC", Graph.class)
+            List<GraphSummary> items = entityManager.createQuery(
+                            GraphRepository.SUMMARY_SELECT + "WHERE g.user.id = :uid ORDER BY g.updatedAt DESC", GraphSummary.class)
                     .setParameter("uid", userId)
                     .setFirstResult(offset)
                     .setMaxResults(limit)
                     .getResultList();
+            recordList(items, started);
 
             Map<String, Object> res = new HashMap<>();
             res.put("items", items);
@@ -358,7 +590,7 @@ public class GraphController {
             return ResponseEntity.ok(res);
 
         } catch (Exception e) {
-            e.printStackTrace();
+            log.error("Listing graphs failed", e);
             return error(HttpStatus.UNAUTHORIZED, "INVALID_TOKEN", "Token geçersiz veya süresi dolmuş: " + e.getMessage());
         }
     }
@@ -366,63 +598,130 @@ public class GraphController {
     @GetMapping("/{id}")
     public ResponseEntity<?> getGraph(
             @RequestHeader(name = "Authorization", required = false) String authorization,
+            @RequestAttribute(name = AuthPrincipal.ATTRIBUTE, required = false) AuthPrincipal principal,
             @PathVariable Long id) {
 
+        long started = System.nanoTime();
         if (authorization == null || !authorization.startsWith("Bearer ")) {
             return error(HttpStatus.UNAUTHORIZED, "NO_TOKEN", "Token bulunamadı");
         }
 
-        String token = authorization.substring(7).trim();
+        if (principal == null) {
+            return error(HttpStatus.UNAUTHORIZED, "INVALID_TOKEN", "Token geçersiz veya süresi dolmuş");
+        }
         try {
-            Map<String, Object> claims = jwtService.parseClaims(token);
-            Long userId = Long.parseLong((String) claims.get("sub"));
-            
-            Optional<Graph> graphOpt = graphRepository.findById(id);
-            if (graphOpt.isEmpty()) {
+            Long userId = principal.getUserId();
+
+            // Owner column first, so foreign or missing graphs never load their content
+            Optional<Long> ownerId = graphRepository.findOwnerIdById(id);
+            if (ownerId.isEmpty()) {
                 return error(HttpStatus.NOT_FOUND, "GRAPH_NOT_FOUND", "Graph bulunamadı");
             }
-
-            Graph graph = graphOpt.get();
-            
-            // Check if user owns this graph
-            if (!graph.getUser().getId().equals(userId)) {
+            if (!ownerId.get().equals(userId)) {
                 return error(HttpStatus.FORBIDDEN, "ACCESS_DENIED", "Bu graph'a erişim yetkiniz yok");
             }
 
+            Optional<Graph> graphOpt = graphService.getGraphWithContent(id);
+            if (graphOpt.isEmpty()) {
+                return error(HttpStatus.NOT_FOUND, "GRAPH_NOT_FOUND", "Graph bulunamadı");
+            }
+            Graph graph = graphOpt.get();
+            graphMetrics.record("get", graph.getNodes().size(), graph.getEdges().size(), started);
             return ResponseEntity.ok(graph);
 
         } catch (Exception e) {
+            log.error("Loading graph {} failed", id, e);
+            return error(HttpStatus.UNAUTHORIZED, "INVALID_TOKEN", "Token geçersiz veya süresi dolmuş");
+        }
+    }
+
+    // Streams the graph from database cursors; format "ndjson" writes one record per line, gzipped when the client accepts it
+    @GetMapping("/{id}/export")
+    public ResponseEntity<?> exportGraph(
+            @RequestHeader(name = "Authorization", required = false) String authorization,
+            @RequestAttribute(name = AuthPrincipal.ATTRIBUTE, required = false) AuthPrincipal principal,
+            @RequestHeader(name = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            @PathVariable Long id,
+            @RequestParam(name = "format", defaultValue = "json") String format) {
+
+        if (authorization == null || !authorization.startsWith("Bearer ")) {
+            return error(HttpStatus.UNAUTHORIZED, "NO_TOKEN", "Token bulunamadı");
+        }
+
+        if (principal == null) {
             return error(HttpStatus.UNAUTHORIZED, "INVALID_TOKEN", "Token geçersiz veya süresi dolmuş");
         }
+        Long userId = principal.getUserId();
+
+        Optional<Long> ownerId = graphRepository.findOwnerIdById(id);
+        if (ownerId.isEmpty()) {
+            return error(HttpStatus.NOT_FOUND, "GRAPH_NOT_FOUND", "Graph bulunamadı");
+        }
+        if (!ownerId.get().equals(userId)) {
+            return error(HttpStatus.FORBIDDEN, "ACCESS_DENIED", "Bu graph'a erişim yetkiniz yok");
+        }
+        if (!"json".equalsIgnoreCase(format) && !"ndjson".equalsIgnoreCase(format)) {
+            return error(HttpStatus.BAD_REQUEST, "INVALID_FORMAT", "Desteklenen formatlar: json, ndjson");
+        }
+
+        if (!graphExportService.tryAcquire()) {
+            return error(HttpStatus.TOO_MANY_REQUESTS, "TOO_MANY_EXPORTS", "Şu anda çok fazla dışa aktarma sürüyor, lütfen daha sonra tekrar deneyin");
+        }
+        boolean ndjson = "ndjson".equalsIgnoreCase(format);
+        boolean gzip = acceptEncoding != null && acceptEncoding.toLowerCase().contains("gzip");
+        StreamingResponseBody body = out -> {
+            try {
+                if (gzip) {
+                    GZIPOutputStream zipped = new GZIPOutputStream(out, 64 * 1024);
+                    graphExportService.write(id, zipped, ndjson);
+                    zipped.finish();
+                } else {
+                    graphExportService.write(id, out, ndjson);
+                }
+            } finally {
+                graphExportService.release();
+            }
+        };
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(ndjson ? MediaType.parseMediaType("application/x-ndjson") : MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"graph-" + id + (ndjson ? ".ndjson" : ".json") + "\"")
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        return response.body(body);
     }
 
     @DeleteMapping("/{id}")
     public ResponseEntity<?> deleteGraph(
             @RequestHeader(name = "Authorization", required = false) String authorization,
+            @RequestAttribute(name = AuthPrincipal.ATTRIBUTE, required = false) AuthPrincipal principal,
             @PathVariable Long id) {
 
         if (authorization == null || !authorization.startsWith("Bearer ")) {
             return error(HttpStatus.UNAUTHORIZED, "NO_TOKEN", "Token bulunamadı");
         }
 
-        String token = authorization.substring(7).trim();
+        if (principal == null) {
+            return error(HttpStatus.UNAUTHORIZED, "INVALID_TOKEN", "Token geçersiz veya süresi dolmuş");
+        }
         try {
-            Map<String, Object> claims = jwtService.parseClaims(token);
-            Long userId = Long.parseLong((String) claims.get("sub"));
+            Long userId = principal.getUserId();
             
-            Optional<Graph> graphOpt = graphRepository.findById(id);
-            if (graphOpt.isEmpty()) {
+            Optional<Long> ownerId = graphRepository.findOwnerIdById(id);
+            if (ownerId.isEmpty()) {
                 return error(HttpStatus.NOT_FOUND, "GRAPH_NOT_FOUND", "Graph bulunamadı");
             }
 
-            Graph graph = graphOpt.get();
-            
             // Check if user owns this graph
-            if (!graph.getUser().getId().equals(userId)) {
+            if (!ownerId.get().equals(userId)) {
                 return error(HttpStatus.FORBIDDEN, "ACCESS_DENIED", "Bu graph'ı silme yetkiniz yok");
             }
 
-            graphRepository.delete(graph);
+            graphRepository.deleteById(id);
+            distanceMatrixService.invalidate(id);
+            algorithmResultCache.forget(id);
+            graphSnapshotStore.forget(id);
+            graphService.graphsChanged(userId);
 
             Map<String, Object> response = new HashMap<>();
             response.put("success", true);
@@ -431,71 +730,78 @@ public class GraphController {
             return ResponseEntity.ok(response);
 
         } catch (Exception e) {
+            log.error("Deleting graph {} failed", id, e);
             return error(HttpStatus.UNAUTHORIZED, "INVALID_TOKEN", "Token geçersiz veya süresi dolmuş");
         }
     }
 
     @GetMapping("/all")
     public ResponseEntity<?> getAllGraphs(
-            @RequestHeader(name = "Authorization", required = false) String authorization) {
+            @RequestHeader(name = "Authorization", required = false) String authorization,
+            @RequestAttribute(name = AuthPrincipal.ATTRIBUTE, required = false) AuthPrincipal principal,
+            @RequestParam(name = "cursor", required = false) String cursor,
+            @RequestParam(name = "limit", required = false) Integer limit) {
 
         if (authorization == null || !authorization.startsWith("Bearer ")) {
             return error(HttpStatus.UNAUTHORIZED, "NO_TOKEN", "Token bulunamadı");
         }
 
-        String token = authorization.substring(7).trim();
-        try {
-            Map<String, Object> claims = jwtService.parseClaims(token);
-            // Token geçerliliğini kontrol et, ancak user ID'ye göre filtreleme yapma
-            
-            List<Graph> graphs = graphRepository.findAllOrderByUpdatedAtDesc();
-            
-            return ResponseEntity.ok(graphs);
-
-        } catch (Exception e) {
+        // Token geçerliliğini kontrol et, ancak user ID'ye göre filtreleme yapma
+        if (principal == null) {
             return error(HttpStatus.UNAUTHORIZED, "INVALID_TOKEN", "Token geçersiz veya süresi dolmuş");
         }
+        return summaryPage(null, cursor, limit);
     }
 
     @DeleteMapping("/bulk")
     public ResponseEntity<?> deleteMultipleGraphs(
             @RequestHeader(name = "Authorization", required = false) String authorization,
+            @RequestAttribute(name = AuthPrincipal.ATTRIBUTE, required = false) AuthPrincipal principal,
             @RequestBody List<Long> graphIds) {
 
         if (authorization == null || !authorization.startsWith("Bearer ")) {
             return error(HttpStatus.UNAUTHORIZED, "NO_TOKEN", "Token bulunamadı");
         }
 
-        String token = authorization.substring(7).trim();
+        if (principal == null) {
+            return error(HttpStatus.UNAUTHORIZED, "INVALID_TOKEN", "Token geçersiz veya süresi dolmuş");
+        }
         try {
-            Map<String, Object> claims = jwtService.parseClaims(token);
-            Long userId = Long.parseLong((String) claims.get("sub"));
+            Long userId = principal.getUserId();
             
             if (graphIds == null || graphIds.isEmpty()) {
                 return error(HttpStatus.BAD_REQUEST, "EMPTY_LIST", "Silinecek graph listesi boş");
             }
             
-            List<Graph> graphsToDelete = graphRepository.findAllById(graphIds);
+            List<Long> idsToDelete = new ArrayList<>();
             
             // Check if user owns all graphs
-            for (Graph graph : graphsToDelete) {
-                if (!graph.getUser().getId().equals(userId)) {
+            for (Object[] row : graphRepository.findOwnerIdsByIdIn(graphIds)) {
+                Long graphId = (Long) row[0];
+                if (!userId.equals(row[1])) {
                     return error(HttpStatus.FORBIDDEN, "ACCESS_DENIED", 
-                               "Graph ID " + graph.getId() + " için silme yetkiniz yok");
+                               "Graph ID " + graphId + " için silme yetkiniz yok");
                 }
+                idsToDelete.add(graphId);
             }
             
-            graphRepository.deleteAll(graphsToDelete);
+            graphRepository.deleteAllById(idsToDelete);
+            idsToDelete.forEach(graphId -> {
+                distanceMatrixService.invalidate(graphId);
+                algorithmResultCache.forget(graphId);
+                graphSnapshotStore.forget(graphId);
+            });
+            graphService.graphsChanged(userId);
 
             Map<String, Object> response = new HashMap<>();
             response.put("success", true);
-            response.put("message", graphsToDelete.size() + " adet graph başarıyla silindi");
-            response.put("deletedCount", graphsToDelete.size());
+            response.put("message", idsToDelete.size() + " adet graph başarıyla silindi");
+            response.put("deletedCount", idsToDelete.size());
 
             return ResponseEntity.ok(response);
 
         } catch (Exception e) {
-            e.printStackTrace();
+            log.error("Deleting graphs {} failed", graphIds, e);
             return error(HttpStatus.UNAUTHORIZED, "INVALID_TOKEN", "Token geçersiz veya süresi dolmuş: " + e.getMessage());
         }
     }
@@ -504,139 +810,279 @@ public class GraphController {
     @Transactional
     public ResponseEntity<?> updateGraph(
             @RequestHeader(name = "Authorization", required = false) String authorization,
+            @RequestAttribute(name = AuthPrincipal.ATTRIBUTE, required = false) AuthPrincipal principal,
             @PathVariable Long id,
             @Valid @RequestBody SaveGraphRequest request) {
 
+        long started = System.nanoTime();
         if (authorization == null || !authorization.startsWith("Bearer ")) {
             return error(HttpStatus.UNAUTHORIZED, "NO_TOKEN", "Token bulunamadı");
         }
 
-        String token = authorization.substring(7).trim();
+        if (principal == null) {
+            return error(HttpStatus.UNAUTHORIZED, "INVALID_TOKEN", "Token geçersiz veya süresi dolmuş");
+        }
         try {
-            Map<String, Object> claims = jwtService.parseClaims(token);
-            Long userId = Long.parseLong((String) claims.get("sub"));
-            
-            Optional<Graph> graphOpt = graphRepository.findById(id);
-            if (graphOpt.isEmpty()) {
+            Long userId = principal.getUserId();
+
+            Optional<Long> ownerId = graphRepository.findOwnerIdById(id);
+            if (ownerId.isEmpty()) {
                 return error(HttpStatus.NOT_FOUND, "GRAPH_NOT_FOUND", "Graph bulunamadı");
             }
-
-            Graph graph = graphOpt.get();
-            
-            // Check if user owns this graph
-            if (!graph.getUser().getId().equals(userId)) {
+            if (!ownerId.get().equals(userId)) {
                 return error(HttpStatus.FORBIDDEN, "ACCESS_DENIED", "Bu graph'ı güncelleme yetkiniz yok");
             }
 
-            // Update graph name
-            graph.setName(request.getName());
-
-            // 1) Hard-delete existing edges and nodes to avoid duplicates
-            if (graph.getEdges() != null) {
-                var itE = graph.getEdges().iterator();
-                while (itE.hasNext()) {
-                    Edge e = itE.next();
-                    itE.remove();
-                    entityManager.remove(e);
-                }
+            // Bumped in SQL like a patch, so concurrent writers never share a version; the row stays locked
+            // until commit, which also makes the content read below the content being replaced
+            Optional<Long> version = graphJdbcRepository.bumpVersion(id, request.getBaseVersion(), request.getName());
+            if (version.isEmpty()) {
+                return error(HttpStatus.CONFLICT, "VERSION_CONFLICT", "Graph başka bir istekle değiştirildi, lütfen yeniden yükleyin");
             }
-            if (graph.getNodes() != null) {
-                var itN = graph.getNodes().iterator();
-                while (itN.hasNext()) {
-                    Node n = itN.next();
-                    itN.remove();
-                    entityManager.remove(n);
-                }
-            }
-            entityManager.flush(); // ensure deletes are executed before inserts
 
-            // 2) Dedupe incoming nodes by nodeId (fallback label)
-            Map<String, NodeDTO> uniqueNodes = new LinkedHashMap<>();
-            if (request.getNodes() != null) {
-                for (NodeDTO nodeDTO : request.getNodes()) {
-                    String key = nodeDTO.getNodeId() != null ? nodeDTO.getNodeId() :
-                                 (nodeDTO.getLabel() != null ? nodeDTO.getLabel() : "");
-                    if (!key.isEmpty()) uniqueNodes.put(key, nodeDTO); // keep last occurrence
-                }
-            }
+            Graph graph = graphRepository.findById(id).orElseThrow();
+            String oldFingerprint = GraphFingerprint.of(graph);
+            // Rows are rebuilt into a detached copy and written with set-based JDBC below
+            entityManager.detach(graph);
+            Graph content = new Graph(graph.getName(), graph.getUser());
 
-            // 3) Re-add nodes
-            for (NodeDTO nodeDTO : uniqueNodes.values()) {
-                Node node = new Node(nodeDTO.getNodeId(), nodeDTO.getLabel(), graph);
-                node.setSize(nodeDTO.getSize() != null ? nodeDTO.getSize() : 20);
-                node.setColor(nodeDTO.getColor() != null ? nodeDTO.getColor() : "#1976d2");
-                node.setPositionX(nodeDTO.getPositionX());
-                node.setPositionY(nodeDTO.getPositionY());
-                graph.getNodes().add(node);
+            // 1) Dedupe incoming nodes by nodeId (fallback label), then re-add them
+            for (NodeDTO nodeDTO : dedupeNodes(request.getNodes()).values()) {
+                content.getNodes().add(toNode(nodeDTO, content));
             }
 
-            // 4) Dedupe incoming edges by (from,to,directed)
-            Map<String, EdgeDTO> uniqueEdges = new LinkedHashMap<>();
-            if (request.getEdges() != null) {
-                for (EdgeDTO edgeDTO : request.getEdges()) {
-                    boolean directed = edgeDTO.getIsDirected() != null ? edgeDTO.getIsDirected() : false;
-                    String from = edgeDTO.getFromNode();
-                    String to = edgeDTO.getToNode();
-                    if (from == null || to == null) continue;
-                    String key = directed ? (from + "->" + to)
-                                          : (from.compareTo(to) <= 0 ? from + "::" + to : to + "::" + from);
-                    uniqueEdges.put(key, edgeDTO); // keep last occurrence
-                }
+            // 2) Dedupe incoming edges by (from,to,directed), then re-add them
+            for (EdgeDTO edgeDTO : dedupeEdges(request.getEdges()).values()) {
+                content.getEdges().add(toEdge(edgeDTO, content));
             }
 
-            // 5) Re-add edges
-            for (EdgeDTO edgeDTO : uniqueEdges.values()) {
-                Edge edge = new Edge(edgeDTO.getEdgeId(), edgeDTO.getFromNode(), edgeDTO.getToNode(), graph);
-                edge.setWeight(edgeDTO.getWeight() != null ? edgeDTO.getWeight() : 1.0);
-                edge.setIsDirected(edgeDTO.getIsDirected() != null ? edgeDTO.getIsDirected() : false);
-                edge.setShowWeight(edgeDTO.getShowWeight() != null ? edgeDTO.getShowWeight() : true);
-                graph.getEdges().add(edge);
+            boolean hasLegend = Boolean.TRUE.equals(request.getHasLegend()) && request.getLegendEntries() != null && !request.getLegendEntries().isEmpty();
+            content.setHasLegend(hasLegend);
+            if (hasLegend) content.getLegendEntries().addAll(legendEntries(request.getLegendEntries()));
+
+            // 3) Replace the child rows; the legend call also sets the graph's has_legend flag
+            graphJdbcRepository.replaceContent(id, content.getNodes(), content.getEdges(), List.of());
+            graphJdbcRepository.replaceLegend(id, hasLegend, content.getLegendEntries());
+            distanceMatrixService.invalidate(id);
+            algorithmResultCache.contentUpdated(id, oldFingerprint, GraphFingerprint.of(content));
+            graphMetrics.record("update", content.getNodes().size(), content.getEdges().size(), started);
+
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", true);
+            response.put("message", "Graph başarıyla güncellendi");
+            response.put("graphId", id);
+            response.put("graphName", graph.getName());
+            response.put("version", version.get());
+
+            return ResponseEntity.ok(response);
+
+        } catch (Exception e) {
+            TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
+            log.error("Updating graph {} failed", id, e);
+            return error(HttpStatus.UNAUTHORIZED, "INVALID_TOKEN", "Token geçersiz veya süresi dolmuş: " + e.getMessage());
+        }
+    }
+
+    // Applies the changed rows only, as targeted UPDATE/INSERT/DELETE statements, instead of rewriting the graph
+    @PatchMapping("/{id}")
+    @Transactional
+    public ResponseEntity<?> patchGraph(
+            @RequestHeader(name = "Authorization", required = false) String authorization,
+            @RequestAttribute(name = AuthPrincipal.ATTRIBUTE, required = false) AuthPrincipal principal,
+            @PathVariable Long id,
+            @RequestBody PatchGraphRequest request) {
+
+        long started = System.nanoTime();
+        if (authorization == null || !authorization.startsWith("Bearer ")) {
+            return error(HttpStatus.UNAUTHORIZED, "NO_TOKEN", "Token bulunamadı");
+        }
+
+        if (principal == null) {
+            return error(HttpStatus.UNAUTHORIZED, "INVALID_TOKEN", "Token geçersiz veya süresi dolmuş");
+        }
+        Long userId = principal.getUserId();
+
+        Optional<Long> ownerId = graphRepository.findOwnerIdById(id);
+        if (ownerId.isEmpty()) {
+            return error(HttpStatus.NOT_FOUND, "GRAPH_NOT_FOUND", "Graph bulunamadı");
+        }
+        if (!ownerId.get().equals(userId)) {
+            return error(HttpStatus.FORBIDDEN, "ACCESS_DENIED", "Bu graph'ı güncelleme yetkiniz yok");
+        }
+
+        try {
+            String name = request.getName() != null && !request.getName().isBlank() ? request.getName() : null;
+            Optional<Long> version = graphJdbcRepository.bumpVersion(id, request.getBaseVersion(), name);
+            if (version.isEmpty()) {
+                return error(HttpStatus.CONFLICT, "VERSION_CONFLICT", "Graph başka bir istekle değiştirildi, lütfen yeniden yükleyin");
             }
 
-            // legend: hard-delete then re-add
-            if (graph.getLegendEntries() != null) {
-                var itL = graph.getLegendEntries().iterator();
-                while (itL.hasNext()) {
-                    LegendEntry le = itL.next();
-                    itL.remove();
-                    entityManager.remove(le);
+            int removedEdges = request.getRemovedEdges() != null ? graphJdbcRepository.deleteEdges(id, request.getRemovedEdges()) : 0;
+            int removedNodes = request.getRemovedNodes() != null ? graphJdbcRepository.deleteNodes(id, request.getRemovedNodes()) : 0;
+
+            // Last occurrence wins, as in a full update
+            Map<String, Node> nodes = new LinkedHashMap<>();
+            if (request.getNodes() != null) {
+                for (NodeDTO dto : request.getNodes()) {
+                    if (dto == null || dto.getNodeId() == null) continue;
+                    Node node = new Node(dto.getNodeId(), dto.getLabel(), null);
+                    node.setSize(dto.getSize());
+                    node.setColor(dto.getColor());
+                    node.setPositionX(dto.getPositionX());
+                    node.setPositionY(dto.getPositionY());
+                    nodes.put(dto.getNodeId(), node);
                 }
             }
-            entityManager.flush();
-
-            boolean hasLegend = Boolean.TRUE.equals(request.getHasLegend()) && request.getLegendEntries() != null && !request.getLegendEntries().isEmpty();
-            graph.setHasLegend(hasLegend);
-            if (hasLegend) {
-                for (LegendEntryDTO dto : request.getLegendEntries()) {
-                    if (dto == null) continue;
-                    LegendEntry le = new LegendEntry();
-                    le.setGraph(graph);
-                    le.setName(dto.getName());
-                    le.setColor(dto.getColor());
-                    le.setCapacity(dto.getCapacity());
-                    le.setDistance(dto.getDistance());
-                    // ensure not-null for DB constraint
-                    Double unitDist = dto.getUnitDistance() != null ? dto.getUnitDistance() : 1.0;
-                    le.setUnitDistance(unitDist);
-                    le.setSize(dto.getSize());
-                    graph.getLegendEntries().add(le);
+            Map<String, Edge> edges = new LinkedHashMap<>();
+            if (request.getEdges() != null) {
+                for (EdgeDTO dto : request.getEdges()) {
+                    if (dto == null || dto.getEdgeId() == null) continue;
+                    Edge edge = new Edge(dto.getEdgeId(), dto.getFromNode(), dto.getToNode(), null);
+                    edge.setWeight(dto.getWeight());
+                    edge.setIsDirected(dto.getIsDirected());
+                    edge.setShowWeight(dto.getShowWeight());
+                    edges.put(dto.getEdgeId(), edge);
                 }
             }
+            int addedNodes = graphJdbcRepository.upsertNodes(id, new ArrayList<>(nodes.values()));
+            int addedEdges = graphJdbcRepository.upsertEdges(id, new ArrayList<>(edges.values()));
 
-            Graph updatedGraph = graphRepository.save(graph);
+            if (request.getHasLegend() != null || request.getLegendEntries() != null) {
+                List<LegendEntry> legend = request.getLegendEntries() != null ? legendEntries(request.getLegendEntries()) : List.of();
+                boolean hasLegend = !Boolean.FALSE.equals(request.getHasLegend()) && !legend.isEmpty();
+                graphJdbcRepository.replaceLegend(id, hasLegend, legend);
+            }
+
+            distanceMatrixService.invalidate(id);
+            algorithmResultCache.forget(id);
+            graphMetrics.record("patch", nodes.size(), edges.size(), started);
 
             Map<String, Object> response = new HashMap<>();
             response.put("success", true);
             response.put("message", "Graph başarıyla güncellendi");
-            response.put("graphId", updatedGraph.getId());
-            response.put("graphName", updatedGraph.getName());
-
+            response.put("graphId", id);
+            response.put("version", version.get());
+            response.put("nodesAdded", addedNodes);
+            response.put("nodesUpdated", nodes.size() - addedNodes);
+            response.put("nodesRemoved", removedNodes);
+            response.put("edgesAdded", addedEdges);
+            response.put("edgesUpdated", edges.size() - addedEdges);
+            response.put("edgesRemoved", removedEdges);
             return ResponseEntity.ok(response);
 
+        } catch (IllegalArgumentException e) {
+            TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
+            return error(HttpStatus.BAD_REQUEST, "INVALID_PATCH", e.getMessage());
         } catch (Exception e) {
-            e.printStackTrace();
-            return error(HttpStatus.UNAUTHORIZED, "INVALID_TOKEN", "Token geçersiz veya süresi dolmuş: " + e.getMessage());
+            TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
+            log.error("Patching graph {} failed", id, e);
+            return error(HttpStatus.INTERNAL_SERVER_ERROR, "GRAPH_SAVE_FAILED", "Graph güncellenirken bir sunucu hatası oluştu: " + e.getMessage());
+        }
+    }
+
+    // Keyset page of summaries with an opaque nextCursor (null on the last page) and a cached total
+    private ResponseEntity<?> summaryPage(Long userId, String cursor, Integer limit) {
+        long started = System.nanoTime();
+        int size = limit != null ? limit : DEFAULT_PAGE_SIZE;
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            return error(HttpStatus.BAD_REQUEST, "INVALID_PAGING", "Limit 1 ile " + MAX_PAGE_SIZE + " arasında olmalıdır");
+        }
+        GraphCursor after = null;
+        if (cursor != null && !cursor.isBlank()) {
+            try {
+                after = GraphCursor.decode(cursor);
+            } catch (IllegalArgumentException e) {
+                return error(HttpStatus.BAD_REQUEST, "INVALID_CURSOR", "Geçersiz cursor");
+            }
+        }
+
+        List<GraphSummary> items = graphService.findSummaryPage(userId, after, size);
+        String nextCursor = null;
+        if (items.size() > size) {
+            items = items.subList(0, size);
+            nextCursor = GraphCursor.after(items.get(size - 1)).encode();
+        }
+        recordList(items, started);
+
+        Map<String, Object> res = new HashMap<>();
+        res.put("items", items);
+        res.put("nextCursor", nextCursor);
+        res.put("limit", size);
+        res.put("total", graphService.countGraphs(userId));
+        return ResponseEntity.ok(res);
+    }
+
+    // Lists are bucketed by the total size of the listed graphs
+    private void recordList(List<GraphSummary> items, long started) {
+        long nodes = 0;
+        long edges = 0;
+        for (GraphSummary s : items) {
+            nodes += s.getNodeCount();
+            edges += s.getEdgeCount();
+        }
+        graphMetrics.record("list", nodes, edges, started);
+    }
+
+    static Node toNode(NodeDTO dto, Graph graph) {
+        Node node = new Node(dto.getNodeId(), dto.getLabel(), graph);
+        node.setSize(dto.getSize() != null ? dto.getSize() : 20);
+        node.setColor(dto.getColor() != null ? dto.getColor() : "#1976d2");
+        node.setPositionX(dto.getPositionX());
+        node.setPositionY(dto.getPositionY());
+        return node;
+    }
+
+    static Edge toEdge(EdgeDTO dto, Graph graph) {
+        Edge edge = new Edge(dto.getEdgeId(), dto.getFromNode(), dto.getToNode(), graph);
+        edge.setWeight(dto.getWeight() != null ? dto.getWeight() : 1.0);
+        edge.setIsDirected(dto.getIsDirected() != null ? dto.getIsDirected() : false);
+        edge.setShowWeight(dto.getShowWeight() != null ? dto.getShowWeight() : true);
+        return edge;
+    }
+
+    // Keyed by nodeId, falling back to the label; the last occurrence wins and nodes without either are dropped
+    static Map<String, NodeDTO> dedupeNodes(List<NodeDTO> dtos) {
+        Map<String, NodeDTO> unique = new LinkedHashMap<>();
+        if (dtos == null) return unique;
+        for (NodeDTO dto : dtos) {
+            String key = dto.getNodeId() != null ? dto.getNodeId() :
+                         (dto.getLabel() != null ? dto.getLabel() : "");
+            if (!key.isEmpty()) unique.put(key, dto);
+        }
+        return unique;
+    }
+
+    // Keyed by (from,to) for directed and by the unordered pair for undirected edges; the last occurrence wins
+    static Map<String, EdgeDTO> dedupeEdges(List<EdgeDTO> dtos) {
+        Map<String, EdgeDTO> unique = new LinkedHashMap<>();
+        if (dtos == null) return unique;
+        for (EdgeDTO dto : dtos) {
+            boolean directed = dto.getIsDirected() != null ? dto.getIsDirected() : false;
+            String from = dto.getFromNode();
+            String to = dto.getToNode();
+            if (from == null || to == null) continue;
+            String key = directed ? (from + "->" + to)
+                                  : (from.compareTo(to) <= 0 ? from + "::" + to : to + "::" + from);
+            unique.put(key, dto);
+        }
+        return unique;
+    }
+
+    private static List<LegendEntry> legendEntries(List<LegendEntryDTO> dtos) {
+        List<LegendEntry> entries = new ArrayList<>();
+        for (LegendEntryDTO dto : dtos) {
+            if (dto == null) continue;
+            LegendEntry le = new LegendEntry();
+            le.setName(dto.getName());
+            le.setColor(dto.getColor());
+            le.setCapacity(dto.getCapacity());
+            le.setDistance(dto.getDistance());
+            // ensure not-null for DB constraint
+            le.setUnitDistance(dto.getUnitDistance() != null ? dto.getUnitDistance() : 1.0);
+            le.setSize(dto.getSize());
+            entries.add(le);
         }
+        return entries;
     }
 
     private ResponseEntity<Map<String, Object>> error(HttpStatus status, String code, String message) {
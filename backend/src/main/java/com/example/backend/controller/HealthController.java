@@ -1,5 +1,8 @@
 package com.example.backend.controller;
 
+import com.example.backend.service.AlgorithmResultCache;
+import com.example.backend.service.GraphSnapshotStore;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -14,6 +17,12 @@ import java.util.Map;
 @RequestMapping("/health")
 public class HealthController {
 
+    @Autowired
+    private AlgorithmResultCache algorithmResultCache;
+
+    @Autowired
+    private GraphSnapshotStore graphSnapshotStore;
+
     @GetMapping
     public ResponseEntity<Map<String, Object>> health() {
         Map<String, Object> res = new HashMap<>();
@@ -28,4 +37,16 @@ public class HealthController {
         }
         return ResponseEntity.ok(res);
     }
+
+    // Hit/miss counters and size of the algorithm result cache
+    @GetMapping("/algorithm-cache")
+    public ResponseEntity<Map<String, Object>> algorithmCache() {
+        return ResponseEntity.ok(algorithmResultCache.stats());
+    }
+
+    // Open algorithm graphs and off-heap (direct/mapped) memory in use
+    @GetMapping("/graph-snapshots")
+    public ResponseEntity<Map<String, Object>> graphSnapshots() {
+        return ResponseEntity.ok(graphSnapshotStore.stats());
+    }
 }
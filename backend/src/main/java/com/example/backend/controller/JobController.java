@@ -0,0 +1,151 @@
+package com.example.backend.controller;
+
+import com.example.backend.job.AlgorithmJob;
+import com.example.backend.job.JobRejectedException;
+import com.example.backend.repository.GraphRepository;
+import com.example.backend.service.AlgorithmJobService;
+import com.example.backend.security.AuthPrincipal;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.net.URI;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+
+@RestController
+@RequestMapping("/api/jobs")
+public class JobController {
+
+    @Autowired
+    private GraphRepository graphRepository;
+
+    @Autowired
+    private AlgorithmJobService algorithmJobService;
+
+    public static class JobRequest {
+        private Long graphId;
+        private String algorithm;
+        private Map<String, Object> params;
+
+        public Long getGraphId() { return graphId; }
+        public void setGraphId(Long graphId) { this.graphId = graphId; }
+        public String getAlgorithm() { return algorithm; }
+        public void setAlgorithm(String algorithm) { this.algorithm = algorithm; }
+        public Map<String, Object> getParams() { return params; }
+        public void setParams(Map<String, Object> params) { this.params = params; }
+    }
+
+    // Queues an algorithm run; an identical finished run is returned straight away with its result
+    @PostMapping
+    public ResponseEntity<?> submit(
+            @RequestHeader(name = "Authorization", required = false) String authorization,
+            @RequestAttribute(name = AuthPrincipal.ATTRIBUTE, required = false) AuthPrincipal principal,
+            @RequestBody JobRequest request) {
+
+        if (authorization == null || !authorization.startsWith("Bearer ")) {
+            return error(HttpStatus.UNAUTHORIZED, "NO_TOKEN", "Token bulunamadı");
+        }
+        Long userId = principal != null ? principal.getUserId() : null;
+        if (userId == null) {
+            return error(HttpStatus.UNAUTHORIZED, "INVALID_TOKEN", "Token geçersiz veya süresi dolmuş");
+        }
+        if (request.getGraphId() == null) {
+            return error(HttpStatus.BAD_REQUEST, "GRAPH_ID_REQUIRED", "Graph id zorunludur");
+        }
+        Optional<Long> ownerId = graphRepository.findOwnerIdById(request.getGraphId());
+        if (ownerId.isEmpty()) {
+            return error(HttpStatus.NOT_FOUND, "GRAPH_NOT_FOUND", "Graph bulunamadı");
+        }
+        if (!ownerId.get().equals(userId)) {
+            return error(HttpStatus.FORBIDDEN, "ACCESS_DENIED", "Bu graph'a erişim yetkiniz yok");
+        }
+
+        try {
+            AlgorithmJob job = algorithmJobService.submit(userId, request.getGraphId(), request.getAlgorithm(), request.getParams());
+            HttpStatus status = job.getStatus() == AlgorithmJob.Status.SUCCEEDED ? HttpStatus.OK : HttpStatus.ACCEPTED;
+            return ResponseEntity.status(status).location(URI.create("/api/jobs/" + job.getId())).body(job.toMap());
+        } catch (JobRejectedException e) {
+            return error(HttpStatus.TOO_MANY_REQUESTS, e.getCode(), e.getMessage());
+        } catch (IllegalArgumentException e) {
+            return error(HttpStatus.BAD_REQUEST, "INVALID_ALGORITHM_INPUT", e.getMessage());
+        } catch (NoSuchElementException e) {
+            return error(HttpStatus.NOT_FOUND, "GRAPH_NOT_FOUND", "Graph bulunamadı");
+        }
+    }
+
+    @GetMapping("/{jobId}")
+    public ResponseEntity<?> status(
+            @RequestHeader(name = "Authorization", required = false) String authorization,
+            @RequestAttribute(name = AuthPrincipal.ATTRIBUTE, required = false) AuthPrincipal principal,
+            @PathVariable String jobId) {
+
+        if (authorization == null || !authorization.startsWith("Bearer ")) {
+            return error(HttpStatus.UNAUTHORIZED, "NO_TOKEN", "Token bulunamadı");
+        }
+        Long userId = principal != null ? principal.getUserId() : null;
+        if (userId == null) {
+            return error(HttpStatus.UNAUTHORIZED, "INVALID_TOKEN", "Token geçersiz veya süresi dolmuş");
+        }
+        Optional<AlgorithmJob> job = algorithmJobService.find(jobId, userId);
+        if (job.isEmpty()) {
+            return error(HttpStatus.NOT_FOUND, "JOB_NOT_FOUND", "İş bulunamadı");
+        }
+        return ResponseEntity.ok(job.get().toMap());
+    }
+
+    // Server-Sent Events: a "status" event on every change and "partial" for intermediate results
+    @GetMapping("/{jobId}/events")
+    public ResponseEntity<?> events(
+            @RequestHeader(name = "Authorization", required = false) String authorization,
+            @RequestAttribute(name = AuthPrincipal.ATTRIBUTE, required = false) AuthPrincipal principal,
+            @PathVariable String jobId) {
+
+        if (authorization == null || !authorization.startsWith("Bearer ")) {
+            return error(HttpStatus.UNAUTHORIZED, "NO_TOKEN", "Token bulunamadı");
+        }
+        Long userId = principal != null ? principal.getUserId() : null;
+        if (userId == null) {
+            return error(HttpStatus.UNAUTHORIZED, "INVALID_TOKEN", "Token geçersiz veya süresi dolmuş");
+        }
+        Optional<AlgorithmJob> job = algorithmJobService.find(jobId, userId);
+        if (job.isEmpty()) {
+            return error(HttpStatus.NOT_FOUND, "JOB_NOT_FOUND", "İş bulunamadı");
+        }
+        return ResponseEntity.ok(algorithmJobService.subscribe(job.get()));
+    }
+
+    @DeleteMapping("/{jobId}")
+    public ResponseEntity<?> cancel(
+            @RequestHeader(name = "Authorization", required = false) String authorization,
+            @RequestAttribute(name = AuthPrincipal.ATTRIBUTE, required = false) AuthPrincipal principal,
+            @PathVariable String jobId) {
+
+        if (authorization == null || !authorization.startsWith("Bearer ")) {
+            return error(HttpStatus.UNAUTHORIZED, "NO_TOKEN", "Token bulunamadı");
+        }
+        Long userId = principal != null ? principal.getUserId() : null;
+        if (userId == null) {
+            return error(HttpStatus.UNAUTHORIZED, "INVALID_TOKEN", "Token geçersiz veya süresi dolmuş");
+        }
+        Optional<AlgorithmJob> job = algorithmJobService.find(jobId, userId);
+        if (job.isEmpty()) {
+            return error(HttpStatus.NOT_FOUND, "JOB_NOT_FOUND", "İş bulunamadı");
+        }
+        if (!algorithmJobService.cancel(job.get())) {
+            return error(HttpStatus.CONFLICT, "JOB_FINISHED", "İş zaten tamamlandı");
+        }
+        return ResponseEntity.ok(job.get().toMap());
+    }
+
+    private ResponseEntity<Map<String, Object>> error(HttpStatus status, String code, String message) {
+        Map<String, Object> res = new HashMap<>();
+        res.put("error", true);
+        res.put("code", code);
+        res.put("message", message);
+        return ResponseEntity.status(status).body(res);
+    }
+}
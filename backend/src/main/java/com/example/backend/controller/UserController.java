@@ -4,7 +4,8 @@ import com.example.backend.dto.NameUpdateRequest;
 import com.example.backend.dto.UserCreateRequest;
 import com.example.backend.entity.User;
 import com.example.backend.repository.UserRepository;
-import com.example.backend.service.JwtService;
+import com.example.backend.security.AuthPrincipal;
+import com.example.backend.service.UserCache;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
@@ -25,15 +26,16 @@ import java.util.stream.Collectors;
 public class UserController {
 
     private final PasswordEncoder passwordEncoder;
-    private final JwtService jwtService;
 
     @Autowired
     private UserRepository userRepository;
 
-    public UserController(UserRepository userRepository, PasswordEncoder passwordEncoder, JwtService jwtService) {
+    @Autowired
+    private UserCache userCache;
+
+    public UserController(UserRepository userRepository, PasswordEncoder passwordEncoder) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
-        this.jwtService = jwtService;
     }
 
     @PostMapping("/create-user") // Create user
@@ -62,6 +64,7 @@ public class UserController {
         User u = opt.get();
         u.setFirstName(body.getValue());
         userRepository.save(u);
+        userCache.evict(id);
         return ResponseEntity.ok(u);
     }
 
@@ -74,23 +77,26 @@ public class UserController {
         User u = opt.get();
         u.setLastName(body.getValue());
         userRepository.save(u);
+        userCache.evict(id);
         return ResponseEntity.ok(u);
     }
 
     // List users (no password exposure) - paginated and excluding admins
     @GetMapping("/users")
     public ResponseEntity<?> listUsers(@RequestHeader(name = "Authorization", required = false) String authorization,
+                                       @RequestAttribute(name = AuthPrincipal.ATTRIBUTE, required = false) AuthPrincipal principal,
                                        @RequestParam(value = "page", defaultValue = "0") int page,
                                        @RequestParam(value = "size", defaultValue = "10") int size) {
         // auth check
         if (authorization == null || !authorization.startsWith("Bearer ")) {
             return error(HttpStatus.UNAUTHORIZED, "NO_TOKEN", "Token bulunamadı");
         }
-        String token = authorization.substring(7).trim();
+        if (principal == null) {
+            return error(HttpStatus.UNAUTHORIZED, "INVALID_TOKEN", "Token geçersiz veya süresi dolmuş");
+        }
         try {
-            Map<String, Object> claims = jwtService.parseClaims(token);
-            Long userId = Long.parseLong((String) claims.get("sub"));
-            Optional<User> userOpt = userRepository.findById(userId);
+            Long userId = principal.getUserId();
+            Optional<UserCache.CachedUser> userOpt = userCache.find(userId);
             if (userOpt.isEmpty()) return error(HttpStatus.UNAUTHORIZED, "USER_NOT_FOUND", "Kullanıcı bulunamadı");
             if (!userOpt.get().isAdmin()) return error(HttpStatus.FORBIDDEN, "NOT_ADMIN", "Yetersiz yetki");
         } catch (Exception e) {
@@ -122,15 +128,16 @@ public class UserController {
 
     // Delete user
     @DeleteMapping("/delete-user/{id}")
-    public ResponseEntity<?> deleteUser(@RequestHeader(name = "Authorization", required = false) String authorization, @PathVariable Long id) {
+    public ResponseEntity<?> deleteUser(@RequestHeader(name = "Authorization", required = false) String authorization, @RequestAttribute(name = AuthPrincipal.ATTRIBUTE, required = false) AuthPrincipal principal, @PathVariable Long id) {
         if (authorization == null || !authorization.startsWith("Bearer ")) {
             return error(HttpStatus.UNAUTHORIZED, "NO_TOKEN", "Token bulunamadı");
         }
-        String token = authorization.substring(7).trim();
+        if (principal == null) {
+            return error(HttpStatus.UNAUTHORIZED, "INVALID_TOKEN", "Token geçersiz veya süresi dolmuş");
+        }
         try {
-            Map<String, Object> claims = jwtService.parseClaims(token);
-            Long userId = Long.parseLong((String) claims.get("sub"));
-            Optional<User> userOpt = userRepository.findById(userId);
+            Long userId = principal.getUserId();
+            Optional<UserCache.CachedUser> userOpt = userCache.find(userId);
             if (userOpt.isEmpty()) return error(HttpStatus.UNAUTHORIZED, "USER_NOT_FOUND", "Kullanıcı bulunamadı");
             if (!userOpt.get().isAdmin()) return error(HttpStatus.FORBIDDEN, "NOT_ADMIN", "Yetersiz yetki");
         } catch (Exception e) {
@@ -140,20 +147,22 @@ public class UserController {
             return ResponseEntity.notFound().build();
         }
         userRepository.deleteById(id);
+        userCache.evict(id);
         return ResponseEntity.noContent().build();
     }
 
     // Toggle disable/enable user
     @PutMapping("/set/{id}/disable")
-    public ResponseEntity<?> setDisabled(@RequestHeader(name = "Authorization", required = false) String authorization, @PathVariable Long id, @RequestBody Map<String, Object> body) {
+    public ResponseEntity<?> setDisabled(@RequestHeader(name = "Authorization", required = false) String authorization, @RequestAttribute(name = AuthPrincipal.ATTRIBUTE, required = false) AuthPrincipal principal, @PathVariable Long id, @RequestBody Map<String, Object> body) {
         if (authorization == null || !authorization.startsWith("Bearer ")) {
             return error(HttpStatus.UNAUTHORIZED, "NO_TOKEN", "Token bulunamadı");
         }
-        String token = authorization.substring(7).trim();
+        if (principal == null) {
+            return error(HttpStatus.UNAUTHORIZED, "INVALID_TOKEN", "Token geçersiz veya süresi dolmuş");
+        }
         try {
-            Map<String, Object> claims = jwtService.parseClaims(token);
-            Long userId = Long.parseLong((String) claims.get("sub"));
-            Optional<User> userOpt = userRepository.findById(userId);
+            Long userId = principal.getUserId();
+            Optional<UserCache.CachedUser> userOpt = userCache.find(userId);
             if (userOpt.isEmpty()) return error(HttpStatus.UNAUTHORIZED, "USER_NOT_FOUND", "Kullanıcı bulunamadı");
             if (!userOpt.get().isAdmin()) return error(HttpStatus.FORBIDDEN, "NOT_ADMIN", "Yetersiz yetki");
         } catch (Exception e) {
@@ -168,6 +177,7 @@ public class UserController {
         else if (val instanceof String) disabled = Boolean.parseBoolean((String) val);
         u.setDisabled(disabled);
         userRepository.save(u);
+        userCache.evict(id);
         Map<String, Object> resp = new HashMap<>();
         resp.put("id", u.getId());
         resp.put("disabled", u.isDisabled());
@@ -178,15 +188,17 @@ public class UserController {
     @PostMapping("/users/me/preferences")
     public ResponseEntity<?> updateMyPreferences(
             @RequestHeader(name = "Authorization", required = false) String authorization,
+            @RequestAttribute(name = AuthPrincipal.ATTRIBUTE, required = false) AuthPrincipal principal,
             @RequestBody Map<String, Object> body
     ) {
         if (authorization == null || !authorization.startsWith("Bearer ")) {
             return error(HttpStatus.UNAUTHORIZED, "NO_TOKEN", "Token bulunamadı");
         }
-        String token = authorization.substring(7).trim();
+        if (principal == null) {
+            return error(HttpStatus.UNAUTHORIZED, "INVALID_TOKEN", "Token geçersiz veya süresi dolmuş");
+        }
         try {
-            Map<String, Object> claims = jwtService.parseClaims(token);
-            Long userId = Long.parseLong((String) claims.get("sub"));
+            Long userId = principal.getUserId();
             Optional<User> opt = userRepository.findById(userId);
             if (opt.isEmpty()) return error(HttpStatus.UNAUTHORIZED, "USER_NOT_FOUND", "Kullanıcı bulunamadı");
 
@@ -198,6 +210,7 @@ public class UserController {
 
             u.setNotificationsEnabled(enabled);
             userRepository.save(u);
+            userCache.evict(userId);
 
             Map<String, Object> res = new HashMap<>();
             res.put("notificationsEnabled", u.isNotificationsEnabled());
@@ -4,7 +4,7 @@ import jakarta.persistence.*;
 import com.fasterxml.jackson.annotation.JsonBackReference;
 
 @Entity
-@Table(name = "edges")
+@Table(name = "edges", indexes = @Index(name = "idx_edges_graph_edge", columnList = "graph_id, edge_id"))
 public class Edge {
 
     @Id
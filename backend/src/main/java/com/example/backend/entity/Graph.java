@@ -8,7 +8,10 @@ import java.util.List;
 import java.util.ArrayList;
 
 @Entity
-@Table(name = "graphs")
+@Table(name = "graphs", indexes = {
+        @Index(name = "idx_graphs_user_updated_id", columnList = "user_id, updated_at DESC, id DESC"),
+        @Index(name = "idx_graphs_updated_id", columnList = "updated_at DESC, id DESC")
+})
 public class Graph {
 
     @Id
@@ -23,15 +26,16 @@ public class Graph {
     @JsonBackReference
     private User user;
 
-    @OneToMany(mappedBy = "graph", cascade = CascadeType.ALL, fetch = FetchType.EAGER)
+    // Children load on demand; GraphService.getGraphWithContent fetches them for the full body
+    @OneToMany(mappedBy = "graph", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     @JsonManagedReference
     private List<Node> nodes = new ArrayList<>();
 
-    @OneToMany(mappedBy = "graph", cascade = CascadeType.ALL, fetch = FetchType.EAGER)
+    @OneToMany(mappedBy = "graph", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     @JsonManagedReference
     private List<Edge> edges = new ArrayList<>();
 
-    @OneToMany(mappedBy = "graph", cascade = CascadeType.ALL, fetch = FetchType.EAGER, orphanRemoval = true)
+    @OneToMany(mappedBy = "graph", cascade = CascadeType.ALL, fetch = FetchType.LAZY, orphanRemoval = true)
     @JsonManagedReference
     private List<LegendEntry> legendEntries = new ArrayList<>();
 
@@ -44,6 +48,10 @@ public class Graph {
     @Column(name = "has_legend")
     private Boolean hasLegend = false;
 
+    // Bumped on every content change; caches and PATCH clients compare against it
+    @Column(name = "version")
+    private Long version = 0L;
+
     public Graph() {}
 
     public Graph(String name, User user) {
@@ -89,4 +97,7 @@ public class Graph {
 
     public boolean isHasLegend() { return Boolean.TRUE.equals(hasLegend); }
     public void setHasLegend(Boolean hasLegend) { this.hasLegend = hasLegend; }
+
+    public long getVersion() { return version != null ? version : 0L; }
+    public void setVersion(Long version) { this.version = version; }
 }
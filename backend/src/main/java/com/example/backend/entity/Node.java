@@ -4,7 +4,7 @@ import jakarta.persistence.*;
 import com.fasterxml.jackson.annotation.JsonBackReference;
 
 @Entity
-@Table(name = "nodes")
+@Table(name = "nodes", indexes = @Index(name = "idx_nodes_graph_node", columnList = "graph_id, node_id"))
 public class Node {
 
     @Id
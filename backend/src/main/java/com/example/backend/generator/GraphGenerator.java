@@ -0,0 +1,383 @@
+package com.example.backend.generator;
+
+import com.example.backend.algorithm.ColorPalette;
+import com.example.backend.entity.Edge;
+import com.example.backend.entity.LegendEntry;
+import com.example.backend.entity.Node;
+import com.example.backend.importer.GraphSink;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Seeded random graphs for benchmarks and stress tests. The same settings
+ * and seed always give the same records in the same order: legend entries,
+ * every node, then the edges, so a sink can write them in batches without
+ * holding the graph. Every model runs in time linear in nodes plus edges.
+ *
+ * <ul>
+ * <li>Erdős–Rényi: every pair is an edge with the probability that gives the requested count on average.</li>
+ * <li>Grid: a square lattice joined to right and lower neighbours; the edge count follows from the nodes.</li>
+ * <li>Barabási–Albert: every new node attaches to edges/nodes earlier nodes picked by degree.</li>
+ * <li>Geometric: nodes scattered over a square and joined when closer than the radius giving the requested count on average.</li>
+ * <li>Planted partition: nodes split into communities, with a mixing share of the edges running between them.</li>
+ * </ul>
+ *
+ * Grid and geometric nodes have positions and their edges weigh their length,
+ * so A* has a valid heuristic; the other models leave positions empty and
+ * draw integer weights up to maxWeight. Directed graphs orient every pair at
+ * random, except Barabási–Albert, where new nodes point at older ones.
+ */
+public class GraphGenerator {
+
+    /** Distance between grid neighbours and mean spacing of geometric nodes, in canvas units. */
+    public static final double SPACING = 60;
+    public static final int MAX_COMMUNITIES = 1000;
+
+    // Larger skips only happen at probabilities so small that the rest of the range is empty anyway
+    private static final long SKIP_CAP = 1L << 60;
+
+    private final GraphModel model;
+    private final int nodes;
+    private final long edges;
+    private final long seed;
+    private boolean directed;
+    private int maxWeight = 1;
+    private int communities = 4;
+    private double mixing = 0.1;
+    private boolean legend;
+
+    public GraphGenerator(GraphModel model, int nodes, long edges, long seed) {
+        if (model == null) throw new IllegalArgumentException("Model belirtilmeli");
+        if (nodes < 1) throw new IllegalArgumentException("Düğüm sayısı en az 1 olmalı");
+        if (edges < 0) throw new IllegalArgumentException("Kenar sayısı negatif olamaz");
+        this.model = model;
+        this.nodes = nodes;
+        this.edges = edges;
+        this.seed = seed;
+    }
+
+    public GraphModel getModel() { return model; }
+    public int getNodes() { return nodes; }
+    public long getEdges() { return edges; }
+    public long getSeed() { return seed; }
+    public boolean isDirected() { return directed; }
+    public int getMaxWeight() { return maxWeight; }
+    public int getCommunities() { return communities; }
+    public double getMixing() { return mixing; }
+    public boolean isLegend() { return legend; }
+
+    public void setDirected(boolean directed) { this.directed = directed; }
+
+    public void setMaxWeight(int maxWeight) {
+        if (maxWeight < 1) throw new IllegalArgumentException("En büyük ağırlık en az 1 olmalı");
+        this.maxWeight = maxWeight;
+    }
+
+    public void setCommunities(int communities) {
+        if (communities < 1 || communities > MAX_COMMUNITIES) {
+            throw new IllegalArgumentException("Topluluk sayısı 1 ile " + MAX_COMMUNITIES + " arasında olmalı");
+        }
+        this.communities = communities;
+    }
+
+    public void setMixing(double mixing) {
+        if (!(mixing >= 0 && mixing <= 1)) throw new IllegalArgumentException("Karışım oranı 0 ile 1 arasında olmalı");
+        this.mixing = mixing;
+    }
+
+    /** Adds one legend entry per community (one for the other models) and colors nodes to match. */
+    public void setLegend(boolean legend) { this.legend = legend; }
+
+    /** Rejects settings the model cannot produce; generate() checks again. */
+    public void check() {
+        switch (model) {
+            case BARABASI_ALBERT:
+                int m = attachments();
+                if (edges > 0 && m >= nodes) throw new IllegalArgumentException("Barabási–Albert için düğüm sayısı, düğüm başına kenar sayısından büyük olmalı");
+                if (2L * m * (nodes - m) > Integer.MAX_VALUE - 8) throw new IllegalArgumentException("Kenar sayısı çok büyük");
+                break;
+            case PLANTED_PARTITION:
+                if (communities > nodes) throw new IllegalArgumentException("Topluluk sayısı düğüm sayısını aşamaz");
+                // fall through
+            case ERDOS_RENYI:
+            case GEOMETRIC:
+                if (edges > pairs(nodes)) throw new IllegalArgumentException(nodes + " düğümle en fazla " + pairs(nodes) + " kenar olabilir");
+                break;
+            default:
+                break;
+        }
+    }
+
+    /** Edge count the model produces exactly (grid, Barabási–Albert) or on average (the others). */
+    public long expectedEdges() {
+        switch (model) {
+            case GRID:
+                int cols = gridColumns();
+                return (nodes - (nodes + cols - 1L) / cols) + Math.max(0, nodes - cols);
+            case BARABASI_ALBERT:
+                long m = attachments();
+                return m * (nodes - m);
+            default:
+                return edges;
+        }
+    }
+
+    public void generate(GraphSink sink) {
+        check();
+        Emitter out = new Emitter(sink, new SplittableRandom(seed));
+        int groups = model == GraphModel.PLANTED_PARTITION ? communities : 1;
+        if (legend) {
+            for (int c = 0; c < groups; c++) {
+                LegendEntry le = new LegendEntry();
+                le.setName(groups > 1 ? "Topluluk " + (c + 1) : model.getTitle());
+                le.setColor(ColorPalette.colorFor(c));
+                // Canvas coordinates are in weight units
+                le.setUnitDistance(1.0);
+                sink.legend(le);
+            }
+        }
+        switch (model) {
+            case ERDOS_RENYI:
+                out.nodes(null, null);
+                if (edges > 0) triangle(out, 0, nodes, (double) edges / pairs(nodes));
+                break;
+            case GRID:
+                grid(out);
+                break;
+            case BARABASI_ALBERT:
+                out.nodes(null, null);
+                barabasiAlbert(out);
+                break;
+            case GEOMETRIC:
+                geometric(out);
+                break;
+            case PLANTED_PARTITION:
+                plantedPartition(out);
+                break;
+        }
+    }
+
+    private void grid(Emitter out) {
+        int cols = gridColumns();
+        double[] xs = new double[nodes];
+        double[] ys = new double[nodes];
+        for (int v = 0; v < nodes; v++) {
+            xs[v] = (v % cols) * SPACING;
+            ys[v] = (v / cols) * SPACING;
+        }
+        out.nodes(xs, ys);
+        for (int v = 0; v < nodes; v++) {
+            if ((v + 1) % cols != 0 && v + 1 < nodes) out.edge(v, v + 1, SPACING, false);
+            if (v + cols < nodes) out.edge(v, v + cols, SPACING, false);
+        }
+    }
+
+    // Targets are drawn from a list holding every node once per incident edge, so picks follow degree
+    private void barabasiAlbert(Emitter out) {
+        int m = attachments();
+        if (m == 0) return;
+        int[] repeated = new int[2 * m * (nodes - m)];
+        int[] targets = new int[m];
+        for (int i = 0; i < m; i++) targets[i] = i;
+        int[] pickedFor = new int[nodes];
+        Arrays.fill(pickedFor, -1);
+        int size = 0;
+        for (int source = m; source < nodes; source++) {
+            for (int t : targets) {
+                out.edge(source, t, out.weight(), true);
+                repeated[size++] = t;
+                repeated[size++] = source;
+            }
+            for (int i = 0; i < m && source + 1 < nodes; ) {
+                int t = repeated[out.rnd.nextInt(size)];
+                if (pickedFor[t] != source) {
+                    pickedFor[t] = source;
+                    targets[i++] = t;
+                }
+            }
+        }
+    }
+
+    // Points are bucketed into cells at least one radius wide, so each point only checks its 3x3 neighbourhood
+    private void geometric(Emitter out) {
+        double side = Math.sqrt(nodes) * SPACING;
+        double[] xs = new double[nodes];
+        double[] ys = new double[nodes];
+        for (int v = 0; v < nodes; v++) {
+            xs[v] = out.rnd.nextDouble() * side;
+            ys[v] = out.rnd.nextDouble() * side;
+        }
+        out.nodes(xs, ys);
+        if (edges == 0) return;
+
+        double radius = side * relativeRadius((double) edges / pairs(nodes));
+        int cells = (int) Math.max(1, Math.min(Math.floor(side / radius), Math.ceil(Math.sqrt(nodes))));
+        double cellSize = side / cells;
+        int[] cellOf = new int[nodes];
+        int[] start = new int[cells * cells + 1];
+        for (int v = 0; v < nodes; v++) {
+            int cx = Math.min(cells - 1, (int) (xs[v] / cellSize));
+            int cy = Math.min(cells - 1, (int) (ys[v] / cellSize));
+            cellOf[v] = cy * cells + cx;
+            start[cellOf[v] + 1]++;
+        }
+        for (int c = 0; c < cells * cells; c++) start[c + 1] += start[c];
+        int[] members = new int[nodes];
+        int[] fill = Arrays.copyOf(start, start.length);
+        for (int v = 0; v < nodes; v++) members[fill[cellOf[v]]++] = v;
+
+        double r2 = radius * radius;
+        for (int u = 0; u < nodes; u++) {
+            int cx = cellOf[u] % cells;
+            int cy = cellOf[u] / cells;
+            for (int y = Math.max(0, cy - 1); y <= Math.min(cells - 1, cy + 1); y++) {
+                for (int x = Math.max(0, cx - 1); x <= Math.min(cells - 1, cx + 1); x++) {
+                    int c = y * cells + x;
+                    for (int i = start[c]; i < start[c + 1]; i++) {
+                        int v = members[i];
+                        if (v <= u) continue;
+                        double dx = xs[u] - xs[v], dy = ys[u] - ys[v];
+                        double d2 = dx * dx + dy * dy;
+                        // Rounded up so weights never undercut the straight-line distance
+                        if (d2 <= r2) out.edge(u, v, Math.ceil(Math.sqrt(d2) * 100) / 100, false);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Radius, as a share of the square's side, at which two uniform points are
+     * within reach with probability p: the disc area minus what falls outside
+     * the square, pi r^2 - 8/3 r^3 + 1/2 r^4 for r up to 1, solved by bisection.
+     */
+    static double relativeRadius(double p) {
+        if (p >= Math.PI - 8.0 / 3 + 0.5) return Math.sqrt(2);
+        double lo = 0, hi = 1;
+        for (int i = 0; i < 60; i++) {
+            double r = (lo + hi) / 2;
+            double reach = Math.PI * r * r - 8.0 / 3 * r * r * r + 0.5 * r * r * r * r;
+            if (reach < p) lo = r;
+            else hi = r;
+        }
+        return hi;
+    }
+
+    private void plantedPartition(Emitter out) {
+        int k = communities;
+        int[] from = new int[k + 1];
+        for (int c = 0; c <= k; c++) from[c] = (int) ((long) nodes * c / k);
+        out.nodes(null, null, from);
+        if (edges == 0) return;
+
+        long intra = 0;
+        for (int c = 0; c < k; c++) intra += pairs(from[c + 1] - from[c]);
+        long inter = pairs(nodes) - intra;
+        double pIn = intra > 0 ? Math.min(1.0, edges * (1 - mixing) / intra) : 0;
+        double pOut = inter > 0 ? Math.min(1.0, edges * mixing / inter) : 0;
+        if (pIn > 0) {
+            for (int c = 0; c < k; c++) triangle(out, from[c], from[c + 1] - from[c], pIn);
+        }
+        if (pOut > 0) {
+            for (int a = 0; a < k; a++) {
+                for (int b = a + 1; b < k; b++) {
+                    rectangle(out, from[a], from[a + 1] - from[a], from[b], from[b + 1] - from[b], pOut);
+                }
+            }
+        }
+    }
+
+    // Each pair (v, w), w < v, of the block with probability p; geometric skips jump over absent pairs
+    private static void triangle(Emitter out, int from, int size, double p) {
+        if (p <= 0 || size < 2) return;
+        double logQ = Math.log1p(-Math.min(1.0, p));
+        int v = 1;
+        long w = -1;
+        while (v < size) {
+            w += 1 + out.skip(logQ);
+            while (w >= v && v < size) {
+                w -= v;
+                v++;
+            }
+            if (v < size) out.edge(from + v, from + (int) w, out.weight(), false);
+        }
+    }
+
+    // Each pair between two blocks with probability p
+    private static void rectangle(Emitter out, int fromA, int sizeA, int fromB, int sizeB, double p) {
+        if (p <= 0 || sizeA == 0 || sizeB == 0) return;
+        double logQ = Math.log1p(-Math.min(1.0, p));
+        long total = (long) sizeA * sizeB;
+        for (long t = out.skip(logQ); t < total; t += 1 + out.skip(logQ)) {
+            out.edge(fromA + (int) (t / sizeB), fromB + (int) (t % sizeB), out.weight(), false);
+        }
+    }
+
+    private int attachments() {
+        return edges == 0 ? 0 : (int) Math.max(1, Math.min(Integer.MAX_VALUE, Math.round((double) edges / nodes)));
+    }
+
+    private int gridColumns() {
+        return (int) Math.ceil(Math.sqrt(nodes));
+    }
+
+    private static long pairs(long n) {
+        return n * (n - 1) / 2;
+    }
+
+    /** Turns indices into records for the sink; ids are "n0", "n1", … and "e1", "e2", …. */
+    private final class Emitter {
+        final GraphSink sink;
+        final SplittableRandom rnd;
+        long edgeCount;
+
+        Emitter(GraphSink sink, SplittableRandom rnd) {
+            this.sink = sink;
+            this.rnd = rnd;
+        }
+
+        void nodes(double[] xs, double[] ys) {
+            nodes(xs, ys, new int[] {0, nodes});
+        }
+
+        // Group c holds nodes from[c] until from[c + 1]
+        void nodes(double[] xs, double[] ys, int[] from) {
+            boolean colored = legend || from.length > 2;
+            for (int c = 0; c + 1 < from.length; c++) {
+                String color = ColorPalette.colorFor(c);
+                for (int v = from[c]; v < from[c + 1]; v++) {
+                    Node node = new Node("n" + v, "n" + v, null);
+                    if (colored) node.setColor(color);
+                    if (xs != null) {
+                        node.setPositionX(xs[v]);
+                        node.setPositionY(ys[v]);
+                    }
+                    sink.node(node);
+                }
+            }
+        }
+
+        void edge(int u, int v, double weight, boolean keepOrder) {
+            if (directed && !keepOrder && rnd.nextBoolean()) {
+                int t = u;
+                u = v;
+                v = t;
+            }
+            Edge e = new Edge("e" + (++edgeCount), "n" + u, "n" + v, null);
+            e.setWeight(weight);
+            e.setIsDirected(directed);
+            sink.edge(e);
+        }
+
+        double weight() {
+            return maxWeight > 1 ? 1 + rnd.nextInt(maxWeight) : 1.0;
+        }
+
+        // Failures before the next success of a trial with log(1 - p) = logQ
+        long skip(double logQ) {
+            double s = Math.floor(Math.log(1 - rnd.nextDouble()) / logQ);
+            return s < SKIP_CAP ? (long) s : SKIP_CAP;
+        }
+    }
+}
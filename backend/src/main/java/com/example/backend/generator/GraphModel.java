@@ -0,0 +1,34 @@
+package com.example.backend.generator;
+
+import java.util.Locale;
+
+/** Random graph models the {@link GraphGenerator} can produce. */
+public enum GraphModel {
+    ERDOS_RENYI("Erdős–Rényi"),
+    GRID("Izgara"),
+    BARABASI_ALBERT("Barabási–Albert"),
+    GEOMETRIC("Rastgele geometrik"),
+    PLANTED_PARTITION("Topluluklu");
+
+    private final String title;
+
+    GraphModel(String title) {
+        this.title = title;
+    }
+
+    /** Display name, used for default graph names and legend entries. */
+    public String getTitle() { return title; }
+
+    /** Model by name, ignoring case, dashes and the usual short names; null when unknown. */
+    public static GraphModel parse(String name) {
+        if (name == null || name.isBlank()) return null;
+        switch (name.trim().toLowerCase(Locale.ROOT).replace('-', '_')) {
+            case "erdos_renyi": case "er": case "gnp": case "random": return ERDOS_RENYI;
+            case "grid": case "lattice": return GRID;
+            case "barabasi_albert": case "ba": case "scale_free": return BARABASI_ALBERT;
+            case "geometric": case "random_geometric": case "rgg": return GEOMETRIC;
+            case "planted_partition": case "sbm": case "communities": return PLANTED_PARTITION;
+            default: return null;
+        }
+    }
+}
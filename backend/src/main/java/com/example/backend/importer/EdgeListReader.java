@@ -0,0 +1,69 @@
+package com.example.backend.importer;
+
+import com.example.backend.entity.Edge;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.regex.Pattern;
+
+/**
+ * Plain edge lists: one "from to [weight]" per line, separated by whitespace,
+ * commas, tabs or semicolons. Lines starting with '#' or '%' are comments and
+ * a first line naming its columns (source/target, from/to) is skipped.
+ */
+public class EdgeListReader implements GraphFileReader {
+
+    private static final Pattern SEPARATOR = Pattern.compile("[\\s,;]+");
+
+    private final boolean directed;
+
+    public EdgeListReader(boolean directed) {
+        this.directed = directed;
+    }
+
+    @Override
+    public long read(InputStream in, GraphSink sink) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), 64 * 1024);
+        long skipped = 0;
+        boolean first = true;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            line = line.strip();
+            if (line.isEmpty() || line.charAt(0) == '#' || line.charAt(0) == '%') continue;
+            String[] cols = SEPARATOR.split(line);
+            if (first) {
+                first = false;
+                if (isHeader(cols)) continue;
+            }
+            if (cols.length < 2) {
+                skipped++;
+                continue;
+            }
+            Edge e = new Edge(null, unquote(cols[0]), unquote(cols[1]), null);
+            e.setIsDirected(directed);
+            if (cols.length > 2) {
+                try {
+                    e.setWeight(Double.parseDouble(unquote(cols[2])));
+                } catch (NumberFormatException ex) {
+                    skipped++;
+                    continue;
+                }
+            }
+            sink.edge(e);
+        }
+        return skipped;
+    }
+
+    private static boolean isHeader(String[] cols) {
+        if (cols.length < 2) return false;
+        String a = unquote(cols[0]).toLowerCase();
+        return a.equals("source") || a.equals("from") || a.equals("src") || a.equals("node1");
+    }
+
+    private static String unquote(String s) {
+        return s.length() >= 2 && s.charAt(0) == '"' && s.charAt(s.length() - 1) == '"' ? s.substring(1, s.length() - 1) : s;
+    }
+}
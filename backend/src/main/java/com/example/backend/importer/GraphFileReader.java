@@ -0,0 +1,11 @@
+package com.example.backend.importer;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/** Incremental parser for one import format: reads the stream once, front to back. */
+public interface GraphFileReader {
+
+    /** Returns the number of records that were skipped as malformed. */
+    long read(InputStream in, GraphSink sink) throws IOException;
+}
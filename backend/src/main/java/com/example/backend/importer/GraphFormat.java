@@ -0,0 +1,39 @@
+package com.example.backend.importer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.util.Locale;
+
+/** Supported import formats and their usual file extensions. */
+public enum GraphFormat {
+    EDGELIST, GRAPHML, NDJSON;
+
+    /** Format by explicit name, else by file extension (ignoring a trailing .gz); null when unknown. */
+    public static GraphFormat detect(String name, String filename) {
+        if (name != null && !name.isBlank()) {
+            switch (name.trim().toLowerCase(Locale.ROOT)) {
+                case "edgelist": case "csv": case "tsv": return EDGELIST;
+                case "graphml": return GRAPHML;
+                case "ndjson": case "jsonl": return NDJSON;
+                default: return null;
+            }
+        }
+        if (filename == null) return null;
+        String f = filename.toLowerCase(Locale.ROOT);
+        if (f.endsWith(".gz")) f = f.substring(0, f.length() - 3);
+        if (f.endsWith(".graphml") || f.endsWith(".xml")) return GRAPHML;
+        if (f.endsWith(".ndjson") || f.endsWith(".jsonl")) return NDJSON;
+        if (f.endsWith(".csv") || f.endsWith(".tsv") || f.endsWith(".txt") || f.endsWith(".edges") || f.endsWith(".el")) {
+            return EDGELIST;
+        }
+        return null;
+    }
+
+    public GraphFileReader reader(boolean directed, ObjectMapper objectMapper) {
+        switch (this) {
+            case GRAPHML: return new GraphMlReader(directed);
+            case NDJSON: return new NdjsonGraphReader(objectMapper);
+            default: return new EdgeListReader(directed);
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package com.example.backend.importer;
+
+import com.example.backend.entity.Edge;
+import com.example.backend.entity.Node;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * GraphML through a StAX pull parser, so the document is never held in memory.
+ * Node data keys named label/name, x, y, color and size and the edge key
+ * weight are mapped; other keys are ignored. Nested graphs are flattened.
+ * DTDs and external entities are disabled.
+ */
+public class GraphMlReader implements GraphFileReader {
+
+    private final boolean directed;
+
+    public GraphMlReader(boolean directed) {
+        this.directed = directed;
+    }
+
+    @Override
+    public long read(InputStream in, GraphSink sink) throws IOException {
+        XMLInputFactory factory = XMLInputFactory.newFactory();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+
+        long skipped = 0;
+        XMLStreamReader r = null;
+        try {
+            r = factory.createXMLStreamReader(in);
+            Map<String, String> keyNames = new HashMap<>();
+            Deque<Node> nodes = new ArrayDeque<>();
+            boolean edgeDefault = directed;
+            boolean graphSeen = false;
+            Edge edge = null;
+            String dataKey = null;
+            StringBuilder text = new StringBuilder();
+
+            while (r.hasNext()) {
+                int event = r.next();
+                if (event == XMLStreamConstants.START_ELEMENT) {
+                    switch (r.getLocalName()) {
+                        case "key":
+                            String name = r.getAttributeValue(null, "attr.name");
+                            keyNames.put(r.getAttributeValue(null, "id"), name != null ? name.toLowerCase(Locale.ROOT) : "");
+                            break;
+                        case "graph":
+                            if (!graphSeen) {
+                                graphSeen = true;
+                                String def = r.getAttributeValue(null, "edgedefault");
+                                if (def != null) edgeDefault = "directed".equalsIgnoreCase(def);
+                            }
+                            break;
+                        case "node":
+                            String id = r.getAttributeValue(null, "id");
+                            nodes.push(new Node(id, id, null));
+                            break;
+                        case "edge":
+                            edge = new Edge(r.getAttributeValue(null, "id"), r.getAttributeValue(null, "source"),
+                                    r.getAttributeValue(null, "target"), null);
+                            String d = r.getAttributeValue(null, "directed");
+                            edge.setIsDirected(d != null ? Boolean.parseBoolean(d) : edgeDefault);
+                            break;
+                        case "data":
+                            dataKey = r.getAttributeValue(null, "key");
+                            text.setLength(0);
+                            break;
+                        default:
+                            break;
+                    }
+                } else if (event == XMLStreamConstants.CHARACTERS || event == XMLStreamConstants.CDATA) {
+                    if (dataKey != null) text.append(r.getText());
+                } else if (event == XMLStreamConstants.END_ELEMENT) {
+                    switch (r.getLocalName()) {
+                        case "data":
+                            String key = keyNames.getOrDefault(dataKey, dataKey);
+                            String value = text.toString().strip();
+                            boolean ok = edge != null ? applyEdge(edge, key, value)
+                                    : nodes.isEmpty() || applyNode(nodes.peek(), key, value);
+                            if (!ok) skipped++;
+                            dataKey = null;
+                            break;
+                        case "node":
+                            Node n = nodes.pop();
+                            if (n.getNodeId() == null) skipped++;
+                            else sink.node(n);
+                            break;
+                        case "edge":
+                            if (edge.getFromNode() == null || edge.getToNode() == null) skipped++;
+                            else sink.edge(edge);
+                            edge = null;
+                            break;
+                        default:
+                            break;
+                    }
+                }
+            }
+        } catch (XMLStreamException e) {
+            throw new IllegalArgumentException("Geçersiz GraphML: " + e.getMessage());
+        } finally {
+            if (r != null) {
+                try {
+                    r.close();
+                } catch (XMLStreamException ignored) {
+                    // nothing left to release
+                }
+            }
+        }
+        return skipped;
+    }
+
+    // False when a known key has a value that does not parse
+    private static boolean applyNode(Node n, String key, String value) {
+        try {
+            switch (key) {
+                case "label": case "name": n.setLabel(value); break;
+                case "x": n.setPositionX(Double.parseDouble(value)); break;
+                case "y": n.setPositionY(Double.parseDouble(value)); break;
+                case "color": n.setColor(value); break;
+                case "size": n.setSize((int) Math.round(Double.parseDouble(value))); break;
+                default: break;
+            }
+            return true;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    private static boolean applyEdge(Edge e, String key, String value) {
+        if (!"weight".equals(key)) return true;
+        try {
+            e.setWeight(Double.parseDouble(value));
+            return true;
+        } catch (NumberFormatException ex) {
+            return false;
+        }
+    }
+}
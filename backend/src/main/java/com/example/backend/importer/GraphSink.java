@@ -0,0 +1,22 @@
+package com.example.backend.importer;
+
+import com.example.backend.entity.Edge;
+import com.example.backend.entity.LegendEntry;
+import com.example.backend.entity.Node;
+
+/**
+ * Receives graph records as a reader parses them, one at a time. Records are
+ * transient row holders that are not attached to any graph yet.
+ */
+public interface GraphSink {
+
+    /** Graph-level attributes; readers call it before any node or edge when the file has them. */
+    void graph(String name);
+
+    void legend(LegendEntry entry);
+
+    void node(Node node);
+
+    /** An edge may name nodes that are not declared (yet); the sink creates the ones that never are. */
+    void edge(Edge edge);
+}
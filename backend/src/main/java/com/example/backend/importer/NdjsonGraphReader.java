@@ -0,0 +1,112 @@
+package com.example.backend.importer;
+
+import com.example.backend.entity.Edge;
+import com.example.backend.entity.LegendEntry;
+import com.example.backend.entity.Node;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * One JSON object per line, as written by the NDJSON export: records typed
+ * "graph", "legend", "node" or "edge". Untyped records count as edges when
+ * they have endpoints and as nodes otherwise; short field names (id, source,
+ * target, x, y, directed) are accepted as well.
+ */
+public class NdjsonGraphReader implements GraphFileReader {
+
+    private final ObjectMapper objectMapper;
+
+    public NdjsonGraphReader(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public long read(InputStream in, GraphSink sink) throws IOException {
+        long skipped = 0;
+        try (MappingIterator<JsonNode> it = objectMapper.readerFor(JsonNode.class).readValues(in)) {
+            while (it.hasNextValue()) {
+                JsonNode rec = it.nextValue();
+                if (!rec.isObject()) {
+                    skipped++;
+                    continue;
+                }
+                String type = text(rec, "type");
+                if (type == null) type = rec.hasNonNull("fromNode") || rec.hasNonNull("source") ? "edge" : "node";
+                switch (type) {
+                    case "graph":
+                        sink.graph(text(rec, "name"));
+                        break;
+                    case "legend":
+                        LegendEntry le = new LegendEntry();
+                        le.setName(text(rec, "name"));
+                        le.setColor(text(rec, "color"));
+                        le.setCapacity(number(rec, "capacity"));
+                        le.setDistance(number(rec, "distance"));
+                        Double unit = number(rec, "unitDistance");
+                        le.setUnitDistance(unit != null ? unit : number(rec, "diameter"));
+                        le.setSize(number(rec, "size"));
+                        sink.legend(le);
+                        break;
+                    case "node": {
+                        String id = first(rec, "nodeId", "id");
+                        if (id == null) {
+                            skipped++;
+                            break;
+                        }
+                        Node n = new Node(id, first(rec, "label", "name"), null);
+                        if (n.getLabel() == null) n.setLabel(id);
+                        Double size = number(rec, "size");
+                        if (size != null) n.setSize((int) Math.round(size));
+                        if (rec.hasNonNull("color")) n.setColor(text(rec, "color"));
+                        n.setPositionX(rec.hasNonNull("positionX") ? number(rec, "positionX") : number(rec, "x"));
+                        n.setPositionY(rec.hasNonNull("positionY") ? number(rec, "positionY") : number(rec, "y"));
+                        sink.node(n);
+                        break;
+                    }
+                    case "edge": {
+                        Edge e = new Edge(first(rec, "edgeId", "id"), first(rec, "fromNode", "source", "from"),
+                                first(rec, "toNode", "target", "to"), null);
+                        if (e.getFromNode() == null || e.getToNode() == null) {
+                            skipped++;
+                            break;
+                        }
+                        Double weight = number(rec, "weight");
+                        if (weight != null) e.setWeight(weight);
+                        e.setIsDirected(rec.path("isDirected").asBoolean(rec.path("directed").asBoolean(false)));
+                        e.setShowWeight(rec.path("showWeight").asBoolean(true));
+                        sink.edge(e);
+                        break;
+                    }
+                    default:
+                        skipped++;
+                }
+            }
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Geçersiz NDJSON: " + e.getOriginalMessage());
+        }
+        return skipped;
+    }
+
+    private static String text(JsonNode rec, String field) {
+        JsonNode v = rec.get(field);
+        return v != null && !v.isNull() ? v.asText() : null;
+    }
+
+    private static String first(JsonNode rec, String... fields) {
+        for (String f : fields) {
+            String v = text(rec, f);
+            if (v != null) return v;
+        }
+        return null;
+    }
+
+    private static Double number(JsonNode rec, String field) {
+        JsonNode v = rec.get(field);
+        return v != null && v.isNumber() ? v.doubleValue() : null;
+    }
+}
@@ -0,0 +1,152 @@
+package com.example.backend.job;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Future;
+
+/**
+ * One queued algorithm run. State changes go through the synchronized
+ * methods so pollers and event subscribers always see a consistent snapshot.
+ */
+public class AlgorithmJob {
+
+    public enum Status {
+        QUEUED, RUNNING, SUCCEEDED, FAILED, CANCELLED;
+
+        public boolean isFinished() {
+            return this == SUCCEEDED || this == FAILED || this == CANCELLED;
+        }
+    }
+
+    private final String id;
+    private final Long userId;
+    private final Long graphId;
+    private final String algorithm;
+    private final Map<String, Object> params;
+    private final String cacheKey;
+    private final Instant createdAt = Instant.now();
+
+    private Status status = Status.QUEUED;
+    private double progress;
+    private String message;
+    private Object partialResult;
+    private Object result;
+    private String errorCode;
+    private String errorMessage;
+    private Instant startedAt;
+    private Instant finishedAt;
+
+    private Future<?> future;
+    private Runnable cleanup;
+    private final List<SseEmitter> emitters = new CopyOnWriteArrayList<>();
+
+    public AlgorithmJob(String id, Long userId, Long graphId, String algorithm, Map<String, Object> params,
+                        String cacheKey) {
+        this.id = id;
+        this.userId = userId;
+        this.graphId = graphId;
+        this.algorithm = algorithm;
+        this.params = params;
+        this.cacheKey = cacheKey;
+    }
+
+    public String getId() { return id; }
+    public Long getUserId() { return userId; }
+    public Long getGraphId() { return graphId; }
+    public String getAlgorithm() { return algorithm; }
+    public Map<String, Object> getParams() { return params; }
+    public String getCacheKey() { return cacheKey; }
+
+    public synchronized Status getStatus() { return status; }
+    public synchronized Object getResult() { return result; }
+    public synchronized Instant getFinishedAt() { return finishedAt; }
+
+    public synchronized Future<?> getFuture() { return future; }
+    public synchronized void setFuture(Future<?> future) { this.future = future; }
+
+    public List<SseEmitter> getEmitters() { return emitters; }
+
+    /** Registers work to release resources (e.g. a spooled upload) once the job will not run or has run. */
+    public synchronized void setCleanup(Runnable cleanup) { this.cleanup = cleanup; }
+
+    /** Runs the cleanup at most once. */
+    public void cleanup() {
+        Runnable r;
+        synchronized (this) {
+            r = cleanup;
+            cleanup = null;
+        }
+        if (r != null) r.run();
+    }
+
+    /** Moves a queued job to running; false when it was cancelled first. */
+    public synchronized boolean start() {
+        if (status != Status.QUEUED) return false;
+        status = Status.RUNNING;
+        startedAt = Instant.now();
+        return true;
+    }
+
+    public synchronized void progress(double progress, String message, Object partialResult) {
+        if (status.isFinished()) return;
+        this.progress = progress;
+        this.message = message;
+        if (partialResult != null) this.partialResult = partialResult;
+    }
+
+    public synchronized boolean succeed(Object result) {
+        if (status.isFinished()) return false;
+        this.result = result;
+        this.partialResult = null;
+        this.progress = 1.0;
+        this.message = null;
+        finish(Status.SUCCEEDED);
+        return true;
+    }
+
+    public synchronized boolean fail(String code, String message) {
+        if (status.isFinished()) return false;
+        this.errorCode = code;
+        this.errorMessage = message;
+        finish(Status.FAILED);
+        return true;
+    }
+
+    public synchronized boolean cancel() {
+        if (status.isFinished()) return false;
+        finish(Status.CANCELLED);
+        return true;
+    }
+
+    private void finish(Status finalStatus) {
+        status = finalStatus;
+        finishedAt = Instant.now();
+    }
+
+    /** Snapshot for polling and events; the result is only attached once finished. */
+    public synchronized Map<String, Object> toMap() {
+        Map<String, Object> res = new HashMap<>();
+        res.put("jobId", id);
+        res.put("graphId", graphId);
+        res.put("algorithm", algorithm);
+        res.put("params", params);
+        res.put("status", status.name().toLowerCase());
+        res.put("progress", progress);
+        res.put("message", message);
+        res.put("createdAt", createdAt.toString());
+        res.put("startedAt", startedAt != null ? startedAt.toString() : null);
+        res.put("finishedAt", finishedAt != null ? finishedAt.toString() : null);
+        if (partialResult != null) res.put("partialResult", partialResult);
+        if (status == Status.SUCCEEDED) res.put("result", result);
+        if (status == Status.FAILED) {
+            res.put("errorCode", errorCode);
+            res.put("errorMessage", errorMessage);
+        }
+        return res;
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.backend.job;
+
+/** Thrown by a job task to fail with its own error code; {@link #getCode()} is the API error code. */
+public class JobFailedException extends RuntimeException {
+
+    private final String code;
+
+    public JobFailedException(String code, String message) {
+        super(message);
+        this.code = code;
+    }
+
+    public String getCode() { return code; }
+}
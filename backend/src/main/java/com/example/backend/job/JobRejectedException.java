@@ -0,0 +1,14 @@
+package com.example.backend.job;
+
+/** Thrown when a job cannot be accepted right now; {@link #getCode()} is the API error code. */
+public class JobRejectedException extends RuntimeException {
+
+    private final String code;
+
+    public JobRejectedException(String code, String message) {
+        super(message);
+        this.code = code;
+    }
+
+    public String getCode() { return code; }
+}
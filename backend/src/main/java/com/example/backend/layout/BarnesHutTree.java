@@ -0,0 +1,193 @@
+package com.example.backend.layout;
+
+import java.util.Arrays;
+
+/**
+ * Quadtree over weighted points for the Barnes–Hut approximation. Cells live
+ * in flat arrays that are reused between builds; each keeps the mass and
+ * mass-weighted coordinate sums of the points below it, so a cell that looks
+ * small from a point acts on it as one body at its centre of mass. After a
+ * build the tree is read-only and may be queried from many threads.
+ */
+final class BarnesHutTree {
+
+    // Below this cells are narrower than double precision can tell apart; points share the leaf
+    private static final int MAX_DEPTH = 48;
+    private static final int EMPTY = -1;
+    private static final int SHARED = -2;
+    static final int STACK_SIZE = 3 * MAX_DEPTH + 8;
+
+    private int cells;
+    private int[] firstChild;
+    private int[] body;
+    private double[] centerX;
+    private double[] centerY;
+    private double[] half;
+    private double[] mass;
+    private double[] sumX;
+    private double[] sumY;
+
+    BarnesHutTree(int points) {
+        allocate(Math.max(16, 2 * points + 1));
+    }
+
+    void build(int n, double[] x, double[] y, double[] m) {
+        double minX = Double.POSITIVE_INFINITY, minY = Double.POSITIVE_INFINITY;
+        double maxX = Double.NEGATIVE_INFINITY, maxY = Double.NEGATIVE_INFINITY;
+        for (int v = 0; v < n; v++) {
+            minX = Math.min(minX, x[v]);
+            maxX = Math.max(maxX, x[v]);
+            minY = Math.min(minY, y[v]);
+            maxY = Math.max(maxY, y[v]);
+        }
+        double side = n > 0 ? Math.max(maxX - minX, maxY - minY) : 0;
+        // Slightly wider than the points, so the largest coordinates still fall inside the root
+        double h = side > 0 ? side * 0.5 * (1 + 1e-9) + 1e-9 : 1;
+        cells = 0;
+        newCell(n > 0 ? (minX + maxX) / 2 : 0, n > 0 ? (minY + maxY) / 2 : 0, h);
+        for (int v = 0; v < n; v++) insert(v, x, y, m[v]);
+    }
+
+    double totalMass() { return mass[0]; }
+    double centerOfMassX() { return mass[0] > 0 ? sumX[0] / mass[0] : centerX[0]; }
+    double centerOfMassY() { return mass[0] > 0 ? sumY[0] / mass[0] : centerY[0]; }
+
+    /**
+     * Adds to {@code out} the repulsion on point v at (px, py) with mass mv:
+     * {@code strength * m / d} per body of mass m at distance d, pointing
+     * away from it. Cells of width w at distance d are opened unless
+     * {@code w / d < theta}, or when they contain the point itself.
+     */
+    void repulsion(int v, double px, double py, double mv, double theta, double strength, int[] stack, double[] out) {
+        double theta2 = theta * theta;
+        double fx = 0, fy = 0;
+        int top = 0;
+        stack[top++] = 0;
+        while (top > 0) {
+            int c = stack[--top];
+            double m = mass[c];
+            if (m <= 0) continue;
+            double sx = sumX[c], sy = sumY[c];
+            if (firstChild[c] < 0) {
+                if (body[c] == v) continue;
+                if (body[c] == SHARED && inside(c, px, py)) {
+                    m -= mv;
+                    sx -= mv * px;
+                    sy -= mv * py;
+                    if (m <= 1e-9) continue;
+                }
+            } else {
+                double dx = px - sx / m, dy = py - sy / m;
+                double w = 2 * half[c];
+                if (inside(c, px, py) || w * w >= theta2 * (dx * dx + dy * dy)) {
+                    int child = firstChild[c];
+                    for (int q = 0; q < 4; q++) stack[top++] = child + q;
+                    continue;
+                }
+            }
+            double dx = px - sx / m, dy = py - sy / m;
+            double d2 = dx * dx + dy * dy;
+            if (d2 < 1e-18) {
+                // Coincident points are pushed apart in a direction fixed by the index
+                dx = Math.cos(v) * 1e-3;
+                dy = Math.sin(v) * 1e-3;
+                d2 = 1e-6;
+            }
+            double f = strength * m / d2;
+            fx += dx * f;
+            fy += dy * f;
+        }
+        out[0] += fx;
+        out[1] += fy;
+    }
+
+    private void insert(int v, double[] x, double[] y, double m) {
+        double px = x[v], py = y[v];
+        int c = 0;
+        int depth = 0;
+        while (true) {
+            if (firstChild[c] >= 0) {
+                add(c, px, py, m);
+                c = firstChild[c] + quadrant(c, px, py);
+                depth++;
+                continue;
+            }
+            if (body[c] == EMPTY) {
+                add(c, px, py, m);
+                body[c] = v;
+                return;
+            }
+            if (depth >= MAX_DEPTH) {
+                add(c, px, py, m);
+                body[c] = SHARED;
+                return;
+            }
+            // Split the leaf and move its body down; the loop then descends with v
+            int b = body[c];
+            double h = half[c] / 2;
+            int child = newCell(centerX[c] - h, centerY[c] - h, h);
+            newCell(centerX[c] + h, centerY[c] - h, h);
+            newCell(centerX[c] - h, centerY[c] + h, h);
+            newCell(centerX[c] + h, centerY[c] + h, h);
+            firstChild[c] = child;
+            body[c] = EMPTY;
+            int q = child + quadrant(c, x[b], y[b]);
+            body[q] = b;
+            mass[q] = mass[c];
+            sumX[q] = sumX[c];
+            sumY[q] = sumY[c];
+        }
+    }
+
+    private void add(int c, double px, double py, double m) {
+        mass[c] += m;
+        sumX[c] += m * px;
+        sumY[c] += m * py;
+    }
+
+    // Child order: (-x, -y), (+x, -y), (-x, +y), (+x, +y); points on a centre line go to the + side
+    private int quadrant(int c, double px, double py) {
+        return (px >= centerX[c] ? 1 : 0) + (py >= centerY[c] ? 2 : 0);
+    }
+
+    private boolean inside(int c, double px, double py) {
+        double h = half[c];
+        return px >= centerX[c] - h && px < centerX[c] + h && py >= centerY[c] - h && py < centerY[c] + h;
+    }
+
+    private int newCell(double cx, double cy, double h) {
+        if (cells == firstChild.length) allocate(cells + (cells >> 1));
+        int c = cells++;
+        firstChild[c] = -1;
+        body[c] = EMPTY;
+        centerX[c] = cx;
+        centerY[c] = cy;
+        half[c] = h;
+        mass[c] = 0;
+        sumX[c] = 0;
+        sumY[c] = 0;
+        return c;
+    }
+
+    private void allocate(int capacity) {
+        if (firstChild == null) {
+            firstChild = new int[capacity];
+            body = new int[capacity];
+            centerX = new double[capacity];
+            centerY = new double[capacity];
+            half = new double[capacity];
+            mass = new double[capacity];
+            sumX = new double[capacity];
+            sumY = new double[capacity];
+            return;
+        }
+        firstChild = Arrays.copyOf(firstChild, capacity);
+        body = Arrays.copyOf(body, capacity);
+        centerX = Arrays.copyOf(centerX, capacity);
+        centerY = Arrays.copyOf(centerY, capacity);
+        half = Arrays.copyOf(half, capacity);
+        mass = Arrays.copyOf(mass, capacity);
+        sumX = Arrays.copyOf(sumX, capacity);
+        sumY = Arrays.copyOf(sumY, capacity);
+    }
+}
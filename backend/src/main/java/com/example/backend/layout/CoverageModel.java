@@ -0,0 +1,292 @@
+package com.example.backend.layout;
+
+import com.example.backend.algorithm.CsrGraph;
+import com.example.backend.algorithm.DistanceMatrix;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Layout-planning instance: every legend type must be reachable from each
+ * residential node, and buildings may not overlap residents or each other.
+ * A candidate is one placement of one type on a connected node set of the
+ * type's size and diameter. Only nonzero structure is stored, so the
+ * solvers can generate constraints row by row without a dense matrix.
+ */
+public final class CoverageModel {
+
+    private final int nodeCount;
+    private final List<CoverageType> types;
+
+    private final int[] candidateType;
+    private final int[] memberStart;
+    private final int[] members;
+    private final int[] coverStart;
+    private final int[] covers;
+
+    // node -> candidates occupying it
+    private final int[] containStart;
+    private final int[] containing;
+    // (type, node) -> candidates of that type covering the node
+    private final int[] coveredByStart;
+    private final int[] coveredBy;
+
+    private final boolean truncated;
+
+    private CoverageModel(int nodeCount, List<CoverageType> types, int[] candidateType, int[] memberStart,
+                          int[] members, int[] coverStart, int[] covers, boolean truncated) {
+        this.nodeCount = nodeCount;
+        this.types = types;
+        this.candidateType = candidateType;
+        this.memberStart = memberStart;
+        this.members = members;
+        this.coverStart = coverStart;
+        this.covers = covers;
+        this.truncated = truncated;
+
+        int c = candidateType.length;
+        containStart = new int[nodeCount + 1];
+        for (int i = 0; i < members.length; i++) containStart[members[i] + 1]++;
+        for (int v = 0; v < nodeCount; v++) containStart[v + 1] += containStart[v];
+        containing = new int[members.length];
+        int[] fill = Arrays.copyOf(containStart, nodeCount);
+        for (int k = 0; k < c; k++) {
+            for (int i = memberStart[k]; i < memberStart[k + 1]; i++) containing[fill[members[i]]++] = k;
+        }
+
+        int rows = types.size() * nodeCount;
+        coveredByStart = new int[rows + 1];
+        for (int k = 0; k < c; k++) {
+            int base = candidateType[k] * nodeCount;
+            for (int i = coverStart[k]; i < coverStart[k + 1]; i++) coveredByStart[base + covers[i] + 1]++;
+        }
+        for (int r = 0; r < rows; r++) coveredByStart[r + 1] += coveredByStart[r];
+        coveredBy = new int[covers.length];
+        fill = Arrays.copyOf(coveredByStart, rows);
+        for (int k = 0; k < c; k++) {
+            int base = candidateType[k] * nodeCount;
+            for (int i = coverStart[k]; i < coverStart[k + 1]; i++) coveredBy[fill[base + covers[i]]++] = k;
+        }
+    }
+
+    /**
+     * Enumerates candidate placements. Node sets are grown with the ESU scheme
+     * so each connected set is produced once, and a branch is cut as soon as
+     * a new node breaks the type's diameter. At most {@code maxCandidatesPerType}
+     * placements are kept per type; {@link #isTruncated()} reports when that
+     * cap was hit.
+     */
+    public static CoverageModel build(CsrGraph graph, DistanceMatrix distances, List<CoverageType> types,
+                                      int maxCandidatesPerType) {
+        CsrGraph g = graph.symmetric();
+        int n = g.vertexCount();
+        // Graph and matrix are loaded separately, so match them by node id
+        int[] row = new int[n];
+        Arrays.fill(row, -1);
+        for (int i = 0; i < distances.size(); i++) {
+            int v = g.indexOf(distances.nodeId(i));
+            if (v >= 0) row[v] = i;
+        }
+        Distances d = (u, v) -> {
+            if (u == v) return 0.0;
+            int a = row[u], b = row[v];
+            return a < 0 || b < 0 ? Double.POSITIVE_INFINITY : distances.get(a, b);
+        };
+
+        Enumerator e = new Enumerator(g, d, maxCandidatesPerType);
+        for (int t = 0; t < types.size(); t++) e.enumerate(t, types.get(t));
+
+        return new CoverageModel(n, List.copyOf(types), e.type.toArray(), e.memberStart.toArray(),
+                e.members.toArray(), e.coverStart.toArray(), e.covers.toArray(), e.truncated);
+    }
+
+    public int nodeCount() { return nodeCount; }
+    public int typeCount() { return types.size(); }
+    public CoverageType type(int t) { return types.get(t); }
+    public int candidateCount() { return candidateType.length; }
+    public int candidateType(int c) { return candidateType[c]; }
+
+    public int memberStart(int c) { return memberStart[c]; }
+    public int memberEnd(int c) { return memberStart[c + 1]; }
+    public int member(int i) { return members[i]; }
+
+    /** Nodes within the type's service distance of candidate {@code c}, excluding its own nodes. */
+    public int coverStart(int c) { return coverStart[c]; }
+    public int coverEnd(int c) { return coverStart[c + 1]; }
+    public int covered(int i) { return covers[i]; }
+
+    public int containStart(int v) { return containStart[v]; }
+    public int containEnd(int v) { return containStart[v + 1]; }
+    public int containing(int i) { return containing[i]; }
+
+    public int coveredByStart(int t, int v) { return coveredByStart[t * nodeCount + v]; }
+    public int coveredByEnd(int t, int v) { return coveredByStart[t * nodeCount + v + 1]; }
+    public int coveredBy(int i) { return coveredBy[i]; }
+
+    public boolean isTruncated() { return truncated; }
+
+    /** Nonzero coefficients of the exact model, for sizing time limits and responses. */
+    public long nonZeros() {
+        return (long) members.length + nodeCount + covers.length + (long) nodeCount * types.size();
+    }
+
+    /**
+     * Derives residents from a set of placed candidates: a free node is
+     * residential when every type covers it.
+     */
+    public CoverageSolution evaluate(int[] chosen, String method, boolean optimal) {
+        int[] owner = new int[nodeCount];
+        Arrays.fill(owner, -1);
+        for (int c : chosen) {
+            for (int i = memberStart[c]; i < memberStart[c + 1]; i++) {
+                if (owner[members[i]] >= 0) {
+                    throw new IllegalStateException("Overlapping placements on node " + members[i]);
+                }
+                owner[members[i]] = c;
+            }
+        }
+        int[] coveredTypes = new int[nodeCount];
+        boolean[] seen = new boolean[types.size() * nodeCount];
+        for (int c : chosen) {
+            int base = candidateType[c] * nodeCount;
+            for (int i = coverStart[c]; i < coverStart[c + 1]; i++) {
+                int v = covers[i];
+                if (!seen[base + v]) {
+                    seen[base + v] = true;
+                    coveredTypes[v]++;
+                }
+            }
+        }
+        boolean[] resident = new boolean[nodeCount];
+        int residents = 0;
+        for (int v = 0; v < nodeCount; v++) {
+            if (owner[v] < 0 && coveredTypes[v] == types.size()) {
+                resident[v] = true;
+                residents++;
+            }
+        }
+        return new CoverageSolution(chosen.clone(), owner, resident, residents, method, optimal);
+    }
+
+    private interface Distances {
+        double get(int u, int v);
+    }
+
+    private static final class Enumerator {
+        final CsrGraph g;
+        final Distances d;
+        final int cap;
+        final int n;
+
+        final IntList type = new IntList();
+        final IntList memberStart = new IntList();
+        final IntList members = new IntList();
+        final IntList coverStart = new IntList();
+        final IntList covers = new IntList();
+        boolean truncated;
+
+        // Count of current set members equal or adjacent to a node; zero means outside N[S]
+        final int[] mark;
+        int count;
+
+        Enumerator(CsrGraph g, Distances d, int cap) {
+            this.g = g;
+            this.d = d;
+            this.cap = cap;
+            this.n = g.vertexCount();
+            this.mark = new int[n];
+            memberStart.add(0);
+            coverStart.add(0);
+        }
+
+        void enumerate(int t, CoverageType ct) {
+            count = 0;
+            int k = ct.getSize();
+            double diameter = ct.getDiameter() > 0 ? ct.getDiameter() : Double.POSITIVE_INFINITY;
+            int[] set = new int[k];
+            for (int root = 0; root < n && count < cap; root++) {
+                set[0] = root;
+                if (k == 1) {
+                    emit(t, ct, set);
+                    continue;
+                }
+                IntList ext = new IntList();
+                for (int a = g.arcStart(root); a < g.arcEnd(root); a++) {
+                    int w = g.target(a);
+                    if (w > root && (ext.size == 0 || ext.data[ext.size - 1] != w)) ext.add(w);
+                }
+                touch(root, 1);
+                extend(t, ct, set, 1, ext.toArray(), ext.size, root, diameter);
+                touch(root, -1);
+            }
+            if (count >= cap) truncated = true;
+        }
+
+        private void extend(int t, CoverageType ct, int[] set, int depth, int[] ext, int extLen, int root,
+                            double diameter) {
+            if (depth == set.length) {
+                emit(t, ct, set);
+                return;
+            }
+            while (extLen > 0 && count < cap) {
+                int w = ext[--extLen];
+                boolean fits = true;
+                for (int i = 0; i < depth && fits; i++) {
+                    fits = Math.max(d.get(set[i], w), d.get(w, set[i])) <= diameter;
+                }
+                if (!fits) continue;
+
+                int[] next = Arrays.copyOf(ext, extLen + g.degree(w));
+                int nextLen = extLen;
+                int last = -1;
+                for (int a = g.arcStart(w); a < g.arcEnd(w); a++) {
+                    int u = g.target(a);
+                    if (u > root && u != last && mark[u] == 0) next[nextLen++] = u;
+                    last = u;
+                }
+                set[depth] = w;
+                touch(w, 1);
+                extend(t, ct, set, depth + 1, next, nextLen, root, diameter);
+                touch(w, -1);
+            }
+        }
+
+        private void touch(int v, int delta) {
+            mark[v] += delta;
+            for (int a = g.arcStart(v); a < g.arcEnd(v); a++) mark[g.target(a)] += delta;
+        }
+
+        private void emit(int t, CoverageType ct, int[] set) {
+            type.add(t);
+            for (int m : set) members.add(m);
+            memberStart.add(members.size);
+            double reach = ct.getDistance();
+            for (int v = 0; v < n; v++) {
+                boolean inside = false;
+                double best = Double.POSITIVE_INFINITY;
+                for (int m : set) {
+                    if (m == v) {
+                        inside = true;
+                        break;
+                    }
+                    best = Math.min(best, d.get(m, v));
+                }
+                if (!inside && best <= reach) covers.add(v);
+            }
+            coverStart.add(covers.size);
+            count++;
+        }
+    }
+
+    private static final class IntList {
+        int[] data = new int[16];
+        int size;
+
+        void add(int value) {
+            if (size == data.length) data = Arrays.copyOf(data, size * 2);
+            data[size++] = value;
+        }
+
+        int[] toArray() { return Arrays.copyOf(data, size); }
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.backend.layout;
+
+/** Placed buildings and the residential nodes they make valid. */
+public final class CoverageSolution {
+
+    private final int[] chosen;
+    private final int[] owner;
+    private final boolean[] resident;
+    private final int residents;
+    private final String method;
+    private final boolean optimal;
+
+    CoverageSolution(int[] chosen, int[] owner, boolean[] resident, int residents, String method, boolean optimal) {
+        this.chosen = chosen;
+        this.owner = owner;
+        this.resident = resident;
+        this.residents = residents;
+        this.method = method;
+        this.optimal = optimal;
+    }
+
+    /** Candidate indices of the placed buildings. */
+    public int[] getChosen() { return chosen.clone(); }
+
+    /** Candidate occupying node {@code v}, or -1 when the node holds no building. */
+    public int owner(int v) { return owner[v]; }
+
+    public boolean isResident(int v) { return resident[v]; }
+    public int getResidents() { return residents; }
+    public String getMethod() { return method; }
+
+    /** True when the exact solver proved no plan has more residents. */
+    public boolean isOptimal() { return optimal; }
+}
@@ -0,0 +1,40 @@
+package com.example.backend.layout;
+
+import com.example.backend.entity.LegendEntry;
+
+/**
+ * One building type of a layout plan, taken from a legend entry: a building
+ * occupies {@code size} connected nodes whose pairwise distance is at most
+ * {@code diameter}, and serves every node within {@code distance} of it.
+ */
+public final class CoverageType {
+
+    private final String name;
+    private final String color;
+    private final double distance;
+    private final double diameter;
+    private final int size;
+
+    public CoverageType(String name, String color, double distance, double diameter, int size) {
+        this.name = name;
+        this.color = color;
+        this.distance = distance;
+        this.diameter = diameter;
+        this.size = Math.max(size, 1);
+    }
+
+    public static CoverageType from(LegendEntry entry) {
+        return new CoverageType(entry.getName(), entry.getColor(),
+                entry.getDistance() != null ? entry.getDistance() : 0.0,
+                entry.getUnitDistance() != null ? entry.getUnitDistance() : 0.0,
+                entry.getSize() != null ? (int) Math.round(entry.getSize()) : 1);
+    }
+
+    public String getName() { return name; }
+    public String getColor() { return color; }
+    public double getDistance() { return distance; }
+    public int getSize() { return size; }
+
+    /** Maximum distance between two nodes of one building; non-positive means unlimited. */
+    public double getDiameter() { return diameter; }
+}
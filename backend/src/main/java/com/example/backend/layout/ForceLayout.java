@@ -0,0 +1,339 @@
+package com.example.backend.layout;
+
+import com.example.backend.algorithm.CsrGraph;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.DoubleConsumer;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+
+/**
+ * Fruchterman–Reingold force-directed layout with Walshaw's multilevel
+ * start: the graph is coarsened by merging matched neighbours until it is
+ * small, the coarsest graph is laid out from random positions, and every
+ * finer level starts from its parent's position. Repulsion comes from a
+ * {@link BarnesHutTree}, so an iteration costs O(n log n + m), and the
+ * forces on each vertex are summed in parallel. Arcs count as undirected and
+ * weights are ignored; a weak pull towards the centre keeps disconnected
+ * parts together. Deterministic for a seed and pool-independent.
+ */
+public final class ForceLayout {
+
+    public static final double DEFAULT_EDGE_LENGTH = 60;
+    public static final int DEFAULT_ITERATIONS = 50;
+
+    private static final int COARSEST_SIZE = 32;
+    // Coarsening stops once a round merges too few vertices, e.g. around a star's hub
+    private static final double MAX_LEVEL_RATIO = 0.9;
+    // Ideal edge length grows by this factor per coarser level (Walshaw's sqrt(7/4))
+    private static final double LEVEL_SCALE = Math.sqrt(7.0 / 4.0);
+    private static final int SMALL_GRAPH = 1000;
+    private static final int SMALL_GRAPH_ITERATIONS = 300;
+    // Walshaw's repulsion constant; weaker repulsion keeps large meshes from ballooning at their rims
+    private static final double REPULSION = 0.2;
+    private static final double GRAVITY = 0.1;
+    private static final int PARALLEL_THRESHOLD = 2048;
+
+    private final long seed;
+    private int iterations = DEFAULT_ITERATIONS;
+    private double edgeLength = DEFAULT_EDGE_LENGTH;
+    private double theta = 1.0;
+    private boolean refine;
+    private DoubleConsumer progress;
+
+    public ForceLayout(long seed) {
+        this.seed = seed;
+    }
+
+    /** Iterations per level; a small coarsest graph gets more, since they are cheap there. */
+    public void setIterations(int iterations) {
+        if (iterations < 1) throw new IllegalArgumentException("İterasyon sayısı en az 1 olmalı");
+        this.iterations = iterations;
+    }
+
+    /** Ideal edge length in canvas units. */
+    public void setEdgeLength(double edgeLength) {
+        if (!(edgeLength > 0)) throw new IllegalArgumentException("Kenar uzunluğu pozitif olmalı");
+        this.edgeLength = edgeLength;
+    }
+
+    /** Barnes–Hut opening angle: 0 computes every pair exactly, larger is faster and coarser. */
+    public void setTheta(double theta) {
+        if (!(theta >= 0 && theta <= 2)) throw new IllegalArgumentException("Theta 0 ile 2 arasında olmalı");
+        this.theta = theta;
+    }
+
+    /** Starts from the graph's own positions, when every node has one, instead of the multilevel start. */
+    public void setRefine(boolean refine) { this.refine = refine; }
+
+    /** Receives the finished share of the work, between 0 and 1. */
+    public void setProgress(DoubleConsumer progress) { this.progress = progress; }
+
+    public ForceLayoutResult run(CsrGraph graph, ForkJoinPool pool) {
+        int n = graph.vertexCount();
+        List<Level> levels = new ArrayList<>();
+        levels.add(Level.of(graph.symmetric()));
+        SplittableRandom rnd = new SplittableRandom(seed);
+
+        boolean fromPositions = refine && n > 0 && graph.hasPositions();
+        if (!fromPositions) {
+            Level last = levels.get(0);
+            while (last.n > COARSEST_SIZE) {
+                Level coarse = last.coarsen(rnd);
+                if (coarse == null) break;
+                levels.add(coarse);
+                last = coarse;
+            }
+        }
+
+        int top = levels.size() - 1;
+        int[] levelIterations = new int[levels.size()];
+        long work = 0;
+        for (int l = 0; l <= top; l++) {
+            Level level = levels.get(l);
+            levelIterations[l] = !fromPositions && l == top && level.n <= SMALL_GRAPH
+                    ? Math.max(iterations, SMALL_GRAPH_ITERATIONS) : iterations;
+            work += (long) levelIterations[l] * Math.max(1, level.n);
+        }
+        Progress tracker = new Progress(work);
+
+        double[] px = null, py = null;
+        int total = 0;
+        for (int l = top; l >= 0; l--) {
+            Level level = levels.get(l);
+            double k = edgeLength * Math.pow(LEVEL_SCALE, l);
+            double[] lx, ly;
+            double start;
+            if (fromPositions) {
+                lx = new double[n];
+                ly = new double[n];
+                for (int v = 0; v < n; v++) {
+                    lx[v] = graph.positionX(v);
+                    ly[v] = graph.positionY(v);
+                }
+                start = k;
+            } else if (l == top) {
+                // Random start over a square with room for every input vertex
+                double side = edgeLength * Math.sqrt(Math.max(1, n));
+                lx = new double[level.n];
+                ly = new double[level.n];
+                for (int v = 0; v < level.n; v++) {
+                    lx[v] = rnd.nextDouble() * side;
+                    ly[v] = rnd.nextDouble() * side;
+                }
+                start = side / 10;
+            } else {
+                // Merged vertices start at their parent, spread a little so they separate
+                int[] parent = level.parent;
+                lx = new double[level.n];
+                ly = new double[level.n];
+                for (int v = 0; v < level.n; v++) {
+                    lx[v] = px[parent[v]] + (rnd.nextDouble() - 0.5) * k * 0.1;
+                    ly[v] = py[parent[v]] + (rnd.nextDouble() - 0.5) * k * 0.1;
+                }
+                start = k;
+            }
+            simulate(level, lx, ly, k, levelIterations[l], start, n, pool, tracker);
+            total += levelIterations[l];
+            px = lx;
+            py = ly;
+        }
+        double[] x = px, y = py;
+
+        // Global repulsion spreads large graphs beyond the ideal length, so the shape is kept and the
+        // scale set from the mean edge length; then shifted into positive coordinates with a one-edge margin
+        Level finest = levels.get(0);
+        double length = 0;
+        long edges = 0;
+        for (int v = 0; v < n; v++) {
+            for (int a = finest.offsets[v]; a < finest.offsets[v + 1]; a++) {
+                int u = finest.targets[a];
+                if (u == v) continue;
+                length += Math.hypot(x[u] - x[v], y[u] - y[v]);
+                edges++;
+            }
+        }
+        double scale = edges > 0 && length > 0 ? edgeLength * edges / length : 1;
+        double minX = Double.POSITIVE_INFINITY, minY = Double.POSITIVE_INFINITY;
+        for (int v = 0; v < n; v++) {
+            minX = Math.min(minX, x[v]);
+            minY = Math.min(minY, y[v]);
+        }
+        for (int v = 0; v < n; v++) {
+            x[v] = (x[v] - minX) * scale + edgeLength;
+            y[v] = (y[v] - minY) * scale + edgeLength;
+        }
+        return new ForceLayoutResult(x, y, levels.size(), total);
+    }
+
+    private void simulate(Level level, double[] x, double[] y, double k, int iters, double start, int inputVertices,
+                          ForkJoinPool pool, Progress tracker) {
+        int n = level.n;
+        if (n == 0) return;
+        double[] fx = new double[n];
+        double[] fy = new double[n];
+        BarnesHutTree tree = new BarnesHutTree(n);
+        double k2 = REPULSION * k * k;
+        // Scaled so the pull at the rim of an evenly spread layout stays a fraction of one edge's force
+        double gravity = GRAVITY / Math.sqrt(Math.max(1, inputVertices));
+        ThreadLocal<int[]> stacks = ThreadLocal.withInitial(() -> new int[BarnesHutTree.STACK_SIZE]);
+        ThreadLocal<double[]> forces = ThreadLocal.withInitial(() -> new double[2]);
+
+        for (int i = 0; i < iters; i++) {
+            if (Thread.currentThread().isInterrupted()) throw new CancellationException("Yerleşim iptal edildi");
+            tree.build(n, x, y, level.mass);
+            double cx = tree.centerOfMassX(), cy = tree.centerOfMassY();
+            forEach(pool, n, v -> {
+                double vx = x[v], vy = y[v];
+                double[] f = forces.get();
+                f[0] = 0;
+                f[1] = 0;
+                tree.repulsion(v, vx, vy, level.mass[v], theta, k2, stacks.get(), f);
+                for (int a = level.offsets[v], end = level.offsets[v + 1]; a < end; a++) {
+                    int u = level.targets[a];
+                    if (u == v) continue;
+                    double dx = x[u] - vx, dy = y[u] - vy;
+                    double d = Math.sqrt(dx * dx + dy * dy);
+                    f[0] += dx * d / k;
+                    f[1] += dy * d / k;
+                }
+                fx[v] = f[0] + gravity * level.mass[v] * (cx - vx);
+                fy[v] = f[1] + gravity * level.mass[v] * (cy - vy);
+            });
+            // Each move is capped by a temperature that cools linearly to zero
+            double t = start * (1 - (double) i / iters);
+            forEach(pool, n, v -> {
+                double len = Math.sqrt(fx[v] * fx[v] + fy[v] * fy[v]);
+                if (len > 0) {
+                    double s = Math.min(len, t) / len;
+                    x[v] += fx[v] * s;
+                    y[v] += fy[v] * s;
+                }
+            });
+            tracker.advance(n);
+        }
+    }
+
+    private static void forEach(ForkJoinPool pool, int n, IntConsumer body) {
+        if (pool == null || n < PARALLEL_THRESHOLD) {
+            for (int v = 0; v < n; v++) body.accept(v);
+            return;
+        }
+        pool.submit(() -> IntStream.range(0, n).parallel().forEach(body)).join();
+    }
+
+    /** One graph of the hierarchy as plain adjacency arrays with a mass per vertex. */
+    private static final class Level {
+        final int n;
+        final int[] offsets;
+        final int[] targets;
+        final double[] mass;
+        // Vertex of the next coarser level each vertex was merged into; set once that level exists
+        int[] parent;
+
+        Level(int n, int[] offsets, int[] targets, double[] mass) {
+            this.n = n;
+            this.offsets = offsets;
+            this.targets = targets;
+            this.mass = mass;
+        }
+
+        static Level of(CsrGraph g) {
+            int n = g.vertexCount();
+            int[] offsets = new int[n + 1];
+            int[] targets = new int[g.arcCount()];
+            for (int v = 0; v < n; v++) {
+                offsets[v + 1] = g.arcEnd(v);
+                for (int a = g.arcStart(v); a < g.arcEnd(v); a++) targets[a] = g.target(a);
+            }
+            double[] mass = new double[n];
+            Arrays.fill(mass, 1.0);
+            return new Level(n, offsets, targets, mass);
+        }
+
+        /**
+         * Merges every vertex, in random order, with its lightest unmatched
+         * neighbour, which keeps coarse masses even. Returns null when the
+         * level would barely shrink.
+         */
+        Level coarsen(SplittableRandom rnd) {
+            int[] order = new int[n];
+            for (int v = 0; v < n; v++) order[v] = v;
+            for (int i = n - 1; i > 0; i--) {
+                int j = rnd.nextInt(i + 1);
+                int t = order[i];
+                order[i] = order[j];
+                order[j] = t;
+            }
+            int[] map = new int[n];
+            Arrays.fill(map, -1);
+            int coarse = 0;
+            for (int v : order) {
+                if (map[v] >= 0) continue;
+                int best = -1;
+                for (int a = offsets[v]; a < offsets[v + 1]; a++) {
+                    int u = targets[a];
+                    if (u != v && map[u] < 0 && (best < 0 || mass[u] < mass[best])) best = u;
+                }
+                map[v] = coarse;
+                if (best >= 0) map[best] = coarse;
+                coarse++;
+            }
+            if (coarse > n * MAX_LEVEL_RATIO) return null;
+
+            // Members of each coarse vertex, then their arcs mapped up with duplicates and loops dropped
+            int[] memberStart = new int[coarse + 1];
+            for (int v = 0; v < n; v++) memberStart[map[v] + 1]++;
+            for (int c = 0; c < coarse; c++) memberStart[c + 1] += memberStart[c];
+            int[] members = new int[n];
+            int[] fill = Arrays.copyOf(memberStart, coarse);
+            for (int v = 0; v < n; v++) members[fill[map[v]]++] = v;
+
+            double[] coarseMass = new double[coarse];
+            int[] coarseOffsets = new int[coarse + 1];
+            int[] coarseTargets = new int[targets.length];
+            int[] seen = new int[coarse];
+            Arrays.fill(seen, -1);
+            int arcs = 0;
+            for (int c = 0; c < coarse; c++) {
+                for (int i = memberStart[c]; i < memberStart[c + 1]; i++) {
+                    int v = members[i];
+                    coarseMass[c] += mass[v];
+                    for (int a = offsets[v]; a < offsets[v + 1]; a++) {
+                        int u = map[targets[a]];
+                        if (u == c || seen[u] == c) continue;
+                        seen[u] = c;
+                        coarseTargets[arcs++] = u;
+                    }
+                }
+                coarseOffsets[c + 1] = arcs;
+            }
+            parent = map;
+            return new Level(coarse, coarseOffsets, Arrays.copyOf(coarseTargets, arcs), coarseMass);
+        }
+    }
+
+    // Reports the finished share at most every percent of the total work
+    private final class Progress {
+        private final long total;
+        private long done;
+        private long reported;
+
+        Progress(long total) {
+            this.total = Math.max(1, total);
+        }
+
+        void advance(long units) {
+            done += units;
+            if (progress != null && (done - reported) * 100 >= total) {
+                reported = done;
+                progress.accept(Math.min(1.0, (double) done / total));
+            }
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.backend.layout;
+
+/** Coordinates per vertex index from a {@link ForceLayout} run. */
+public final class ForceLayoutResult {
+
+    private final double[] x;
+    private final double[] y;
+    private final int levels;
+    private final int iterations;
+
+    ForceLayoutResult(double[] x, double[] y, int levels, int iterations) {
+        this.x = x;
+        this.y = y;
+        this.levels = levels;
+        this.iterations = iterations;
+    }
+
+    public double x(int v) { return x[v]; }
+    public double y(int v) { return y[v]; }
+    public int vertexCount() { return x.length; }
+
+    /** Graphs laid out, the input included; 1 when the run refined existing positions. */
+    public int getLevels() { return levels; }
+
+    /** Iterations summed over all levels. */
+    public int getIterations() { return iterations; }
+}
@@ -0,0 +1,169 @@
+package com.example.backend.layout;
+
+import com.example.backend.algorithm.IndexedDaryHeap;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Fast heuristic for {@link CoverageModel}: a lazy greedy construction
+ * followed by large-neighbourhood search that tears out a random fifth of the
+ * buildings and rebuilds greedily, keeping the result when it is no worse.
+ * Its answer is a valid plan within milliseconds and doubles as the exact
+ * solver's incumbent. Not thread-safe.
+ */
+public final class GreedyCoverageSolver {
+
+    private final CoverageModel model;
+    private final int n;
+    private final int types;
+    private final SplittableRandom random;
+
+    private final int[] owner;
+    private final int[] coverCount;
+    private final int[] missing;
+    private int residents;
+
+    private int[] chosen = new int[16];
+    private int chosenCount;
+
+    private final IndexedDaryHeap heap;
+    private final int[] evaluatedAt;
+    private final boolean[] tabu;
+    private int version;
+
+    public GreedyCoverageSolver(CoverageModel model, long seed) {
+        this.model = model;
+        this.n = model.nodeCount();
+        this.types = model.typeCount();
+        this.random = new SplittableRandom(seed);
+        this.owner = new int[n];
+        this.coverCount = new int[types * n];
+        this.missing = new int[n];
+        int c = model.candidateCount();
+        this.heap = new IndexedDaryHeap(c);
+        this.evaluatedAt = new int[c];
+        this.tabu = new boolean[c];
+    }
+
+    /** Builds a plan, then improves it until {@code budgetMillis} has elapsed. */
+    public CoverageSolution solve(long budgetMillis) {
+        long deadline = System.nanoTime() + budgetMillis * 1_000_000L;
+        reset();
+        construct();
+        int[] best = Arrays.copyOf(chosen, chosenCount);
+        int bestResidents = residents;
+
+        while (chosenCount > 0 && System.nanoTime() < deadline) {
+            int destroy = Math.max(1, chosenCount / 5);
+            for (int i = 0; i < destroy; i++) {
+                int k = random.nextInt(chosenCount);
+                int c = chosen[k];
+                chosen[k] = chosen[--chosenCount];
+                remove(c);
+                tabu[c] = true;
+            }
+            construct();
+            Arrays.fill(tabu, false);
+
+            if (residents >= bestResidents) {
+                best = Arrays.copyOf(chosen, chosenCount);
+                bestResidents = residents;
+            } else {
+                reset();
+                for (int c : best) add(c);
+            }
+        }
+        return model.evaluate(best, "greedy", false);
+    }
+
+    private void reset() {
+        Arrays.fill(owner, -1);
+        Arrays.fill(coverCount, 0);
+        Arrays.fill(missing, types);
+        residents = types == 0 ? n : 0;
+        chosenCount = 0;
+    }
+
+    // Lazy greedy: a popped score is recomputed and only accepted while it still beats the next stale one
+    private void construct() {
+        heap.clear();
+        version++;
+        for (int c = 0; c < model.candidateCount(); c++) {
+            if (tabu[c]) continue;
+            double s = score(c);
+            if (s > 0) {
+                heap.insertOrDecrease(c, -s);
+                evaluatedAt[c] = version;
+            }
+        }
+        while (!heap.isEmpty()) {
+            int c = heap.pollMin();
+            if (evaluatedAt[c] != version) {
+                double s = score(c);
+                evaluatedAt[c] = version;
+                if (s <= 0) continue;
+                if (!heap.isEmpty() && s < -heap.minKey()) {
+                    heap.insertOrDecrease(c, -s);
+                    continue;
+                }
+            }
+            add(c);
+            version++;
+        }
+    }
+
+    /**
+     * Change in potential from placing {@code c}: one point per free node
+     * gaining this type, {@code types} more when that completes its coverage,
+     * minus what the occupied nodes had already collected.
+     */
+    private double score(int c) {
+        for (int i = model.memberStart(c); i < model.memberEnd(c); i++) {
+            if (owner[model.member(i)] >= 0) return Double.NEGATIVE_INFINITY;
+        }
+        int base = model.candidateType(c) * n;
+        double gain = 0;
+        for (int i = model.coverStart(c); i < model.coverEnd(c); i++) {
+            int v = model.covered(i);
+            if (owner[v] < 0 && coverCount[base + v] == 0) {
+                gain += 1;
+                if (missing[v] == 1) gain += types;
+            }
+        }
+        for (int i = model.memberStart(c); i < model.memberEnd(c); i++) {
+            int m = model.member(i);
+            gain -= types - missing[m];
+            if (missing[m] == 0) gain -= types;
+        }
+        return gain;
+    }
+
+    private void add(int c) {
+        for (int i = model.memberStart(c); i < model.memberEnd(c); i++) {
+            int m = model.member(i);
+            owner[m] = c;
+            if (missing[m] == 0) residents--;
+        }
+        int base = model.candidateType(c) * n;
+        for (int i = model.coverStart(c); i < model.coverEnd(c); i++) {
+            int v = model.covered(i);
+            if (coverCount[base + v]++ == 0 && --missing[v] == 0 && owner[v] < 0) residents++;
+        }
+        if (chosenCount == chosen.length) chosen = Arrays.copyOf(chosen, chosenCount * 2);
+        chosen[chosenCount++] = c;
+    }
+
+    private void remove(int c) {
+        int base = model.candidateType(c) * n;
+        for (int i = model.coverStart(c); i < model.coverEnd(c); i++) {
+            int v = model.covered(i);
+            if (--coverCount[base + v] == 0 && missing[v]++ == 0 && owner[v] < 0) residents--;
+        }
+        for (int i = model.memberStart(c); i < model.memberEnd(c); i++) {
+            int m = model.member(i);
+            owner[m] = -1;
+            if (missing[m] == 0) residents++;
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.backend.layout;
+
+import org.ojalgo.optimisation.Expression;
+import org.ojalgo.optimisation.ExpressionsBasedModel;
+import org.ojalgo.optimisation.Optimisation;
+import org.ojalgo.optimisation.Variable;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+
+/**
+ * Exact solve of {@link CoverageModel} with ojAlgo's branch-and-bound, the
+ * same formulation the PuLP scripts hand to CBC:
+ * <pre>
+ *   max  sum_j y_j
+ *   s.t. sum_{c occupies j} x_c + y_j &lt;= 1          for every node j
+ *        sum_{c of type t covers j} x_c - y_j &gt;= 0    for every node j and type t
+ * </pre>
+ * Rows are emitted only for nonzero coefficients. The greedy plan seeds the
+ * search and bounds the objective from below, so a time-limited run returns
+ * the best plan found so far and never anything worse than the warm start.
+ */
+public final class MipCoverageSolver {
+
+    private final CoverageModel model;
+
+    public MipCoverageSolver(CoverageModel model) {
+        this.model = model;
+    }
+
+    public CoverageSolution solve(CoverageSolution warmStart, long timeLimitMillis) {
+        int n = model.nodeCount();
+        int candidates = model.candidateCount();
+
+        ExpressionsBasedModel mip = new ExpressionsBasedModel();
+        mip.options.time_abort = timeLimitMillis;
+        mip.options.time_suffice = timeLimitMillis;
+
+        Variable[] x = new Variable[candidates];
+        for (int c = 0; c < candidates; c++) {
+            x[c] = mip.addVariable("x" + c).binary();
+        }
+        Variable[] y = new Variable[n];
+        for (int v = 0; v < n; v++) {
+            y[v] = mip.addVariable("y" + v).binary().weight(1);
+        }
+        if (warmStart != null) {
+            for (int c : warmStart.getChosen()) x[c].setValue(BigDecimal.ONE);
+            for (int v = 0; v < n; v++) y[v].setValue(warmStart.isResident(v) ? BigDecimal.ONE : BigDecimal.ZERO);
+            for (int c = 0; c < candidates; c++) {
+                if (x[c].getValue() == null) x[c].setValue(BigDecimal.ZERO);
+            }
+        }
+
+        for (int v = 0; v < n; v++) {
+            if (model.containEnd(v) == model.containStart(v)) continue; // y_j <= 1 already holds
+            Expression assign = mip.addExpression("assign" + v).upper(1);
+            assign.set(y[v], 1);
+            for (int i = model.containStart(v); i < model.containEnd(v); i++) {
+                assign.set(x[model.containing(i)], 1);
+            }
+        }
+        for (int t = 0; t < model.typeCount(); t++) {
+            for (int v = 0; v < n; v++) {
+                if (model.coveredByEnd(t, v) == model.coveredByStart(t, v)) {
+                    y[v].upper(0); // no placement of this type can reach the node
+                    continue;
+                }
+                Expression cover = mip.addExpression("cover" + t + "_" + v).lower(0);
+                cover.set(y[v], -1);
+                for (int i = model.coveredByStart(t, v); i < model.coveredByEnd(t, v); i++) {
+                    cover.set(x[model.coveredBy(i)], 1);
+                }
+            }
+        }
+        if (warmStart != null && warmStart.getResidents() > 0) {
+            Expression incumbent = mip.addExpression("incumbent").lower(warmStart.getResidents());
+            for (Variable v : y) incumbent.set(v, 1);
+        }
+
+        Optimisation.Result result = mip.maximise();
+        if (!result.getState().isFeasible()) {
+            return warmStart;
+        }
+        int count = 0;
+        int[] chosen = new int[candidates];
+        for (int c = 0; c < candidates; c++) {
+            if (result.doubleValue(c) > 0.5) chosen[count++] = c;
+        }
+        CoverageSolution solution;
+        try {
+            solution = model.evaluate(Arrays.copyOf(chosen, count), "mip", result.getState().isOptimal());
+        } catch (IllegalStateException e) {
+            return warmStart; // numerically fractional result
+        }
+        return warmStart != null && solution.getResidents() < warmStart.getResidents() ? warmStart : solution;
+    }
+}
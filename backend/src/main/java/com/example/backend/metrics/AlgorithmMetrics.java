@@ -0,0 +1,66 @@
+package com.example.backend.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.function.Supplier;
+
+/**
+ * Per-algorithm run time ({@code algorithm.runs}, tagged by outcome) and heap
+ * allocated while running ({@code algorithm.allocated}). Allocation is read
+ * from the calling thread only, so for parallel algorithms it covers the
+ * coordinating work and result building, not what the pool workers allocate.
+ */
+@Component
+public class AlgorithmMetrics {
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private static final com.sun.management.ThreadMXBean THREADS = allocationCounter();
+
+    public <T> T record(String algorithm, Supplier<T> run) {
+        long allocated = allocatedBytes();
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "error";
+        try {
+            T result = run.get();
+            outcome = "success";
+            return result;
+        } finally {
+            sample.stop(Timer.builder("algorithm.runs")
+                    .description("Algorithm computation time; answers served from cache are not counted")
+                    .tag("algorithm", algorithm)
+                    .tag("outcome", outcome)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry));
+            if (allocated >= 0) {
+                DistributionSummary.builder("algorithm.allocated")
+                        .description("Heap allocated by the calling thread during the run")
+                        .baseUnit("bytes")
+                        .tag("algorithm", algorithm)
+                        .register(meterRegistry)
+                        .record(allocatedBytes() - allocated);
+            }
+        }
+    }
+
+    private static long allocatedBytes() {
+        return THREADS != null ? THREADS.getCurrentThreadAllocatedBytes() : -1;
+    }
+
+    // Null on JVMs without per-thread allocation accounting
+    private static com.sun.management.ThreadMXBean allocationCounter() {
+        ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean sun && sun.isThreadAllocatedMemorySupported()) {
+            sun.setThreadAllocatedMemoryEnabled(true);
+            return sun;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.backend.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of graph reads and writes as the {@code graph.operations} timer,
+ * tagged by operation and by node and edge count buckets so slow requests
+ * can be told apart from large graphs.
+ */
+@Component
+public class GraphMetrics {
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    /** Records the time since {@code startNanos} (a {@link System#nanoTime()} value). */
+    public void record(String operation, long nodes, long edges, long startNanos) {
+        Timer.builder("graph.operations")
+                .description("Graph save, update, list and get handling time")
+                .tag("operation", operation)
+                .tag("nodes", bucket(nodes))
+                .tag("edges", bucket(edges))
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    // Decades keep the tag set small enough for a time series per combination
+    static String bucket(long count) {
+        if (count < 100) return "0-99";
+        if (count < 1_000) return "100-999";
+        if (count < 10_000) return "1k-10k";
+        if (count < 100_000) return "10k-100k";
+        return "100k+";
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.backend.repository;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Position in a graph listing ordered by (updatedAt DESC, id DESC). Clients
+ * only see the opaque encoded form and hand it back for the next page.
+ */
+public final class GraphCursor {
+
+    private final LocalDateTime updatedAt;
+    private final Long id;
+
+    public GraphCursor(LocalDateTime updatedAt, Long id) {
+        this.updatedAt = updatedAt;
+        this.id = id;
+    }
+
+    public static GraphCursor after(GraphSummary last) {
+        return new GraphCursor(last.getUpdatedAt(), last.getId());
+    }
+
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public Long getId() { return id; }
+
+    public String encode() {
+        String raw = updatedAt + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static GraphCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int sep = raw.lastIndexOf('|');
+            if (sep < 0) throw new IllegalArgumentException("Geçersiz cursor");
+            return new GraphCursor(LocalDateTime.parse(raw.substring(0, sep)), Long.parseLong(raw.substring(sep + 1)));
+        } catch (DateTimeParseException | NumberFormatException e) {
+            throw new IllegalArgumentException("Geçersiz cursor");
+        }
+    }
+}
@@ -0,0 +1,297 @@
+package com.example.backend.repository;
+
+import com.example.backend.entity.Edge;
+import com.example.backend.entity.LegendEntry;
+import com.example.backend.entity.Node;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * Set-based writes that bypass the JPA entity lifecycle, for bulk changes
+ * where loading and dirty-checking every Node would dominate.
+ */
+@Repository
+public class GraphJdbcRepository {
+
+    private static final int BATCH_SIZE = 1000;
+    private static final int CURSOR_FETCH_SIZE = 2000;
+
+    private final JdbcTemplate jdbcTemplate;
+    // Same data source, but result sets are pulled in fetch-size chunks instead of all at once
+    private final JdbcTemplate cursorTemplate;
+
+    public GraphJdbcRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.cursorTemplate = new JdbcTemplate(jdbcTemplate.getDataSource());
+        this.cursorTemplate.setFetchSize(CURSOR_FETCH_SIZE);
+    }
+
+    /** Sets node colors by frontend node id in JDBC batches; returns the number of rows sent. */
+    @Transactional
+    public int updateNodeColors(Long graphId, Map<String, String> colorsByNodeId) {
+        List<Object[]> rows = new ArrayList<>(colorsByNodeId.size());
+        colorsByNodeId.forEach((nodeId, color) -> rows.add(new Object[]{color, graphId, nodeId}));
+        jdbcTemplate.batchUpdate("UPDATE nodes SET color = ? WHERE graph_id = ? AND node_id = ?", rows, BATCH_SIZE,
+                (ps, row) -> {
+                    ps.setString(1, (String) row[0]);
+                    ps.setLong(2, (Long) row[1]);
+                    ps.setString(3, (String) row[2]);
+                });
+        return rows.size();
+    }
+
+    /** Sets node positions by frontend node id, as [x, y] pairs, in JDBC batches; returns the number of rows sent. */
+    @Transactional
+    public int updateNodePositions(Long graphId, Map<String, ? extends List<Double>> positionsByNodeId) {
+        List<Object[]> rows = new ArrayList<>(positionsByNodeId.size());
+        positionsByNodeId.forEach((nodeId, p) -> rows.add(new Object[]{p.get(0), p.get(1), graphId, nodeId}));
+        jdbcTemplate.batchUpdate("UPDATE nodes SET position_x = ?, position_y = ? WHERE graph_id = ? AND node_id = ?", rows, BATCH_SIZE,
+                (ps, row) -> {
+                    ps.setDouble(1, (Double) row[0]);
+                    ps.setDouble(2, (Double) row[1]);
+                    ps.setLong(3, (Long) row[2]);
+                    ps.setString(4, (String) row[3]);
+                });
+        return rows.size();
+    }
+
+    /**
+     * Moves the graph to its next version and renames it when a name is given.
+     * With an expected version the bump only happens while the graph is still
+     * at that version. Returns the new version, or empty when the graph is
+     * missing or has moved on. The updated row stays locked until commit, so
+     * concurrent patches of one graph apply one after the other.
+     */
+    @Transactional
+    public Optional<Long> bumpVersion(Long graphId, Long expectedVersion, String name) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        int updated = expectedVersion == null
+                ? jdbcTemplate.update("UPDATE graphs SET version = COALESCE(version, 0) + 1, updated_at = ?, name = COALESCE(?, name) "
+                        + "WHERE id = ?", now, name, graphId)
+                : jdbcTemplate.update("UPDATE graphs SET version = COALESCE(version, 0) + 1, updated_at = ?, name = COALESCE(?, name) "
+                        + "WHERE id = ? AND COALESCE(version, 0) = ?", now, name, graphId, expectedVersion);
+        if (updated == 0) return Optional.empty();
+        return Optional.ofNullable(jdbcTemplate.queryForObject("SELECT version FROM graphs WHERE id = ?", Long.class, graphId));
+    }
+
+    /** Changes the frontend id of one edge. */
+    public void renameEdge(Long graphId, String edgeId, String newEdgeId) {
+        jdbcTemplate.update("UPDATE edges SET edge_id = ? WHERE graph_id = ? AND edge_id = ?", newEdgeId, graphId, edgeId);
+    }
+
+    /** Deletes edges by frontend edge id; returns the number of ids sent. */
+    @Transactional
+    public int deleteEdges(Long graphId, Collection<String> edgeIds) {
+        jdbcTemplate.batchUpdate("DELETE FROM edges WHERE graph_id = ? AND edge_id = ?", edgeIds, BATCH_SIZE,
+                (ps, edgeId) -> {
+                    ps.setLong(1, graphId);
+                    ps.setString(2, edgeId);
+                });
+        return edgeIds.size();
+    }
+
+    /** Deletes nodes by frontend node id together with their incident edges; returns the number of ids sent. */
+    @Transactional
+    public int deleteNodes(Long graphId, Collection<String> nodeIds) {
+        jdbcTemplate.batchUpdate("DELETE FROM edges WHERE graph_id = ? AND (from_node = ? OR to_node = ?)", nodeIds, BATCH_SIZE,
+                (ps, nodeId) -> {
+                    ps.setLong(1, graphId);
+                    ps.setString(2, nodeId);
+                    ps.setString(3, nodeId);
+                });
+        jdbcTemplate.batchUpdate("DELETE FROM nodes WHERE graph_id = ? AND node_id = ?", nodeIds, BATCH_SIZE,
+                (ps, nodeId) -> {
+                    ps.setLong(1, graphId);
+                    ps.setString(2, nodeId);
+                });
+        return nodeIds.size();
+    }
+
+    /**
+     * Updates nodes by frontend node id, leaving null fields unchanged, and
+     * inserts the ones that do not exist yet with the usual defaults. Returns
+     * the number of inserted nodes.
+     */
+    @Transactional
+    public int upsertNodes(Long graphId, List<Node> nodes) {
+        int[][] counts = jdbcTemplate.batchUpdate(
+                "UPDATE nodes SET label = COALESCE(?, label), size = COALESCE(?, size), color = COALESCE(?, color), "
+                        + "position_x = COALESCE(?, position_x), position_y = COALESCE(?, position_y) "
+                        + "WHERE graph_id = ? AND node_id = ?", nodes, BATCH_SIZE,
+                (ps, n) -> {
+                    ps.setObject(1, n.getLabel(), Types.VARCHAR);
+                    ps.setObject(2, n.getSize(), Types.INTEGER);
+                    ps.setObject(3, n.getColor(), Types.VARCHAR);
+                    ps.setObject(4, n.getPositionX(), Types.DOUBLE);
+                    ps.setObject(5, n.getPositionY(), Types.DOUBLE);
+                    ps.setLong(6, graphId);
+                    ps.setString(7, n.getNodeId());
+                });
+        List<Node> missing = missing(nodes, counts);
+        insertNodes(graphId, missing);
+        return missing.size();
+    }
+
+    /**
+     * Updates edges by frontend edge id, leaving null fields unchanged, and
+     * inserts the ones that do not exist yet. Returns the number of inserted
+     * edges; a new edge without both endpoints is rejected.
+     */
+    @Transactional
+    public int upsertEdges(Long graphId, List<Edge> edges) {
+        int[][] counts = jdbcTemplate.batchUpdate(
+                "UPDATE edges SET from_node = COALESCE(?, from_node), to_node = COALESCE(?, to_node), weight = COALESCE(?, weight), "
+                        + "is_directed = COALESCE(?, is_directed), show_weight = COALESCE(?, show_weight) "
+                        + "WHERE graph_id = ? AND edge_id = ?", edges, BATCH_SIZE,
+                (ps, e) -> {
+                    ps.setObject(1, e.getFromNode(), Types.VARCHAR);
+                    ps.setObject(2, e.getToNode(), Types.VARCHAR);
+                    ps.setObject(3, e.getWeight(), Types.DOUBLE);
+                    ps.setObject(4, e.getIsDirected(), Types.BOOLEAN);
+                    ps.setObject(5, e.getShowWeight(), Types.BOOLEAN);
+                    ps.setLong(6, graphId);
+                    ps.setString(7, e.getEdgeId());
+                });
+        List<Edge> missing = missing(edges, counts);
+        for (Edge e : missing) {
+            if (e.getFromNode() == null || e.getToNode() == null) {
+                throw new IllegalArgumentException("Yeni kenar için fromNode ve toNode zorunludur: " + e.getEdgeId());
+            }
+        }
+        insertEdges(graphId, missing);
+        return missing.size();
+    }
+
+    /** Replaces the legend rows and the has_legend flag. */
+    @Transactional
+    public void replaceLegend(Long graphId, boolean hasLegend, List<LegendEntry> entries) {
+        jdbcTemplate.update("DELETE FROM legend_entries WHERE graph_id = ?", graphId);
+        jdbcTemplate.update("UPDATE graphs SET has_legend = ? WHERE id = ?", hasLegend, graphId);
+        if (hasLegend) insertLegend(graphId, entries);
+    }
+
+    /**
+     * Replaces all nodes, edges and legend rows of a graph with three set-based
+     * deletes and batched inserts. The graph row itself is left to the caller.
+     */
+    @Transactional
+    public void replaceContent(Long graphId, List<Node> nodes, List<Edge> edges, List<LegendEntry> legend) {
+        jdbcTemplate.update("DELETE FROM edges WHERE graph_id = ?", graphId);
+        jdbcTemplate.update("DELETE FROM nodes WHERE graph_id = ?", graphId);
+        jdbcTemplate.update("DELETE FROM legend_entries WHERE graph_id = ?", graphId);
+        insertContent(graphId, nodes, edges, legend);
+    }
+
+    /**
+     * Inserts the rows of a graph whose graphs row already exists. Rows go out
+     * in JDBC batches; with the driver's reWriteBatchedInserts each batch
+     * becomes a few multi-row INSERTs instead of one round trip per row.
+     */
+    @Transactional
+    public void insertContent(Long graphId, List<Node> nodes, List<Edge> edges, List<LegendEntry> legend) {
+        insertNodes(graphId, nodes);
+        insertEdges(graphId, edges);
+        insertLegend(graphId, legend);
+    }
+
+    /** Appends nodes in batches, applying the same defaults as a save request. */
+    @Transactional
+    public void insertNodes(Long graphId, List<Node> nodes) {
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO nodes (graph_id, node_id, label, size, color, position_x, position_y) VALUES (?, ?, ?, ?, ?, ?, ?)",
+                nodes, BATCH_SIZE,
+                (ps, n) -> {
+                    ps.setLong(1, graphId);
+                    ps.setString(2, n.getNodeId());
+                    ps.setString(3, n.getLabel() != null ? n.getLabel() : n.getNodeId());
+                    ps.setInt(4, n.getSize() != null ? n.getSize() : 20);
+                    ps.setString(5, n.getColor() != null ? n.getColor() : "#1976d2");
+                    ps.setObject(6, n.getPositionX(), Types.DOUBLE);
+                    ps.setObject(7, n.getPositionY(), Types.DOUBLE);
+                });
+    }
+
+    @Transactional
+    public void insertEdges(Long graphId, List<Edge> edges) {
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO edges (graph_id, edge_id, from_node, to_node, weight, is_directed, show_weight) VALUES (?, ?, ?, ?, ?, ?, ?)",
+                edges, BATCH_SIZE,
+                (ps, e) -> {
+                    ps.setLong(1, graphId);
+                    ps.setString(2, e.getEdgeId());
+                    ps.setString(3, e.getFromNode());
+                    ps.setString(4, e.getToNode());
+                    ps.setDouble(5, e.getWeight() != null ? e.getWeight() : 1.0);
+                    ps.setBoolean(6, Boolean.TRUE.equals(e.getIsDirected()));
+                    ps.setBoolean(7, e.getShowWeight() == null || e.getShowWeight());
+                });
+    }
+
+    private void insertLegend(Long graphId, List<LegendEntry> entries) {
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO legend_entries (graph_id, name, color, capacity, distance, unit_distance, size) VALUES (?, ?, ?, ?, ?, ?, ?)",
+                entries, BATCH_SIZE,
+                (ps, le) -> {
+                    ps.setLong(1, graphId);
+                    ps.setString(2, le.getName());
+                    ps.setString(3, le.getColor());
+                    ps.setObject(4, le.getCapacity(), Types.DOUBLE);
+                    ps.setObject(5, le.getDistance(), Types.DOUBLE);
+                    ps.setObject(6, le.getUnitDistance() != null ? le.getUnitDistance() : 1.0, Types.DOUBLE);
+                    ps.setObject(7, le.getSize(), Types.DOUBLE);
+                });
+    }
+
+    /**
+     * Passes the graph's nodes to the action one row at a time, in insertion
+     * order, from a forward-only cursor. Postgres only honours the fetch size
+     * inside a transaction, so callers must hold one open.
+     */
+    public void forEachNode(Long graphId, Consumer<Node> action) {
+        cursorTemplate.query("SELECT node_id, label, size, color, position_x, position_y FROM nodes WHERE graph_id = ? ORDER BY id",
+                rs -> {
+                    Node n = new Node(rs.getString(1), rs.getString(2), null);
+                    n.setSize(rs.getObject(3, Integer.class));
+                    n.setColor(rs.getString(4));
+                    n.setPositionX(rs.getObject(5, Double.class));
+                    n.setPositionY(rs.getObject(6, Double.class));
+                    action.accept(n);
+                }, graphId);
+    }
+
+    /** Edge counterpart of {@link #forEachNode}. */
+    public void forEachEdge(Long graphId, Consumer<Edge> action) {
+        cursorTemplate.query("SELECT edge_id, from_node, to_node, weight, is_directed, show_weight FROM edges WHERE graph_id = ? ORDER BY id",
+                rs -> {
+                    Edge e = new Edge(rs.getString(1), rs.getString(2), rs.getString(3), null);
+                    e.setWeight(rs.getObject(4, Double.class));
+                    e.setIsDirected(rs.getObject(5, Boolean.class));
+                    e.setShowWeight(rs.getObject(6, Boolean.class));
+                    action.accept(e);
+                }, graphId);
+    }
+
+    // Rows whose UPDATE matched nothing; drivers that cannot report counts never return 0
+    private static <T> List<T> missing(List<T> rows, int[][] counts) {
+        List<T> out = new ArrayList<>();
+        int i = 0;
+        for (int[] batch : counts) {
+            for (int count : batch) {
+                if (count == 0) out.add(rows.get(i));
+                i++;
+            }
+        }
+        return out;
+    }
+}
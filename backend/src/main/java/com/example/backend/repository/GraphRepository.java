@@ -1,17 +1,65 @@
 package com.example.backend.repository;
 
 import com.example.backend.entity.Graph;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface GraphRepository extends JpaRepository<Graph, Long> {
+
+    // Listing projection; counts come from correlated subqueries so no child rows are read
+    String SUMMARY_SELECT = "SELECT new com.example.backend.repository.GraphSummary(g.id, g.name, "
+            + "(SELECT COUNT(n) FROM Node n WHERE n.graph = g), (SELECT COUNT(e) FROM Edge e WHERE e.graph = g), "
+            + "g.createdAt, g.updatedAt, g.hasLegend, COALESCE(g.version, 0L)) FROM Graph g ";
     
     List<Graph> findByUserIdOrderByUpdatedAtDesc(Long userId);
     
     @Query("SELECT g FROM Graph g ORDER BY g.updatedAt DESC")
     List<Graph> findAllOrderByUpdatedAtDesc();
+
+    @Query(SUMMARY_SELECT + "WHERE g.user.id = :userId ORDER BY g.updatedAt DESC")
+    List<GraphSummary> findSummariesByUserId(@Param("userId") Long userId);
+
+    // Keyset pages over (updatedAt, id): each page seeks straight to its first row instead of skipping an offset
+    @Query(SUMMARY_SELECT + "WHERE g.user.id = :userId ORDER BY g.updatedAt DESC, g.id DESC")
+    List<GraphSummary> findSummaryPageByUserId(@Param("userId") Long userId, Pageable page);
+
+    @Query(SUMMARY_SELECT + "WHERE g.user.id = :userId AND (g.updatedAt < :updatedAt OR (g.updatedAt = :updatedAt AND g.id < :id)) "
+            + "ORDER BY g.updatedAt DESC, g.id DESC")
+    List<GraphSummary> findSummaryPageByUserIdAfter(@Param("userId") Long userId, @Param("updatedAt") LocalDateTime updatedAt,
+                                                    @Param("id") Long id, Pageable page);
+
+    @Query(SUMMARY_SELECT + "ORDER BY g.updatedAt DESC, g.id DESC")
+    List<GraphSummary> findSummaryPage(Pageable page);
+
+    @Query(SUMMARY_SELECT + "WHERE g.updatedAt < :updatedAt OR (g.updatedAt = :updatedAt AND g.id < :id) "
+            + "ORDER BY g.updatedAt DESC, g.id DESC")
+    List<GraphSummary> findSummaryPageAfter(@Param("updatedAt") LocalDateTime updatedAt, @Param("id") Long id, Pageable page);
+
+    long countByUserId(Long userId);
+
+    // Nodes come with the graph row; edges and legend are initialised by separate queries (see GraphService)
+    @EntityGraph(attributePaths = "nodes")
+    @Query("SELECT g FROM Graph g WHERE g.id = :id")
+    Optional<Graph> findWithNodesById(@Param("id") Long id);
+
+    // Rows written before the version column existed count as version 0
+    @Query("SELECT COALESCE(g.version, 0L) FROM Graph g WHERE g.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    @Query("SELECT g.user.id FROM Graph g WHERE g.id = :id")
+    Optional<Long> findOwnerIdById(@Param("id") Long id);
+
+    // Rows of (graph id, owner id); ids without a graph are left out
+    @Query("SELECT g.id, g.user.id FROM Graph g WHERE g.id IN :ids")
+    List<Object[]> findOwnerIdsByIdIn(@Param("ids") Collection<Long> ids);
 }
@@ -0,0 +1,37 @@
+package com.example.backend.repository;
+
+import java.time.LocalDateTime;
+
+/** Listing row for a graph: counts instead of the node and edge bodies. */
+public class GraphSummary {
+
+    private final Long id;
+    private final String name;
+    private final long nodeCount;
+    private final long edgeCount;
+    private final LocalDateTime createdAt;
+    private final LocalDateTime updatedAt;
+    private final boolean hasLegend;
+    private final long version;
+
+    public GraphSummary(Long id, String name, Long nodeCount, Long edgeCount, LocalDateTime createdAt,
+                        LocalDateTime updatedAt, Boolean hasLegend, Long version) {
+        this.id = id;
+        this.name = name;
+        this.nodeCount = nodeCount != null ? nodeCount : 0;
+        this.edgeCount = edgeCount != null ? edgeCount : 0;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+        this.hasLegend = Boolean.TRUE.equals(hasLegend);
+        this.version = version != null ? version : 0;
+    }
+
+    public Long getId() { return id; }
+    public String getName() { return name; }
+    public long getNodeCount() { return nodeCount; }
+    public long getEdgeCount() { return edgeCount; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public boolean isHasLegend() { return hasLegend; }
+    public long getVersion() { return version; }
+}
@@ -0,0 +1,30 @@
+package com.example.backend.security;
+
+import java.time.Instant;
+
+/**
+ * Caller identity taken from a verified bearer token. {@link JwtAuthFilter}
+ * stores it on the request under {@link #ATTRIBUTE}; controllers read it
+ * with {@code @RequestAttribute} instead of parsing the token again.
+ */
+public final class AuthPrincipal {
+
+    public static final String ATTRIBUTE = "com.example.backend.security.AuthPrincipal";
+
+    private final Long userId;
+    private final String email;
+    private final String tokenType;
+    private final Instant expiresAt;
+
+    public AuthPrincipal(Long userId, String email, String tokenType, Instant expiresAt) {
+        this.userId = userId;
+        this.email = email;
+        this.tokenType = tokenType;
+        this.expiresAt = expiresAt;
+    }
+
+    public Long getUserId() { return userId; }
+    public String getEmail() { return email; }
+    public String getTokenType() { return tokenType; }
+    public Instant getExpiresAt() { return expiresAt; }
+}
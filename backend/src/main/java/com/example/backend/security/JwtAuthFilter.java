@@ -0,0 +1,36 @@
+package com.example.backend.security;
+
+import com.example.backend.service.JwtService;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Verifies the bearer token once per request and puts the resulting
+ * {@link AuthPrincipal} on the request. Requests are never rejected here:
+ * endpoints still decide whether they need a caller and answer NO_TOKEN or
+ * INVALID_TOKEN themselves when the attribute is missing.
+ */
+@Component
+public class JwtAuthFilter extends OncePerRequestFilter {
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String authorization = request.getHeader("Authorization");
+        if (authorization != null && authorization.startsWith("Bearer ")) {
+            jwtService.verify(authorization.substring(7).trim())
+                    .ifPresent(principal -> request.setAttribute(AuthPrincipal.ATTRIBUTE, principal));
+        }
+        chain.doFilter(request, response);
+    }
+}
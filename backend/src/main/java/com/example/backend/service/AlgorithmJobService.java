@@ -0,0 +1,393 @@
+package com.example.backend.service;
+
+import com.example.backend.job.AlgorithmJob;
+import com.example.backend.job.JobFailedException;
+import com.example.backend.job.JobRejectedException;
+import com.example.backend.repository.GraphRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.Scheduler;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Runs algorithm requests as background jobs on a bounded executor. Jobs are
+ * keyed by graph, graph version, algorithm and parameters: resubmitting an
+ * identical request returns the job already queued, running or finished
+ * instead of computing again.
+ */
+@Service
+public class AlgorithmJobService {
+
+    public static final Set<String> ALGORITHMS = Set.of(
+            "search", "shortest-path", "coloring", "multi-source", "distance-matrix", "layout-planning",
+            "force-layout");
+
+    @Autowired
+    private GraphRepository graphRepository;
+
+    @Autowired
+    private AlgorithmService algorithmService;
+
+    @Autowired
+    private DistanceMatrixService distanceMatrixService;
+
+    @Autowired
+    private LayoutPlanningService layoutPlanningService;
+
+    @Autowired
+    private ForceLayoutService forceLayoutService;
+
+    @Autowired
+    private ThreadPoolExecutor algorithmJobExecutor;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${app.jobs.max-per-user:2}")
+    private int maxActivePerUser;
+
+    @Value("${app.jobs.result-cache-size:64}")
+    private int resultCacheSize;
+
+    @Value("${app.jobs.retention-minutes:30}")
+    private long retentionMinutes;
+
+    @Value("${app.jobs.results-max-mb:128}")
+    private long resultsMaxMb;
+
+    @Value("${app.jobs.sse-timeout-ms:300000}")
+    private long sseTimeoutMs;
+
+    // Unfinished jobs weigh nothing and never expire; finished ones are weighed by their result,
+    // expire after the retention time and are evicted early once results exceed the byte budget
+    private Cache<String, AlgorithmJob> jobs;
+    // Latest job per cache key, least recently used first
+    private final LinkedHashMap<String, AlgorithmJob> byKey = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<Long, Integer> activeByUser = new HashMap<>();
+
+    @PostConstruct
+    void init() {
+        long retentionNanos = TimeUnit.MINUTES.toNanos(retentionMinutes);
+        jobs = Caffeine.newBuilder()
+                .maximumWeight(resultsMaxMb * 1024L * 1024L)
+                .weigher((String id, AlgorithmJob job) -> job.getStatus().isFinished()
+                        ? (int) Math.min(Integer.MAX_VALUE, 1024 + AlgorithmResultCache.estimateBytes(job.getResult())) : 0)
+                .expireAfter(new Expiry<String, AlgorithmJob>() {
+                    @Override
+                    public long expireAfterCreate(String id, AlgorithmJob job, long now) {
+                        return job.getStatus().isFinished() ? retentionNanos : Long.MAX_VALUE;
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String id, AlgorithmJob job, long now, long current) {
+                        return expireAfterCreate(id, job, now);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String id, AlgorithmJob job, long now, long current) {
+                        return current;
+                    }
+                })
+                // Expired results are dropped on time even when no request touches the cache
+                .scheduler(Scheduler.systemScheduler())
+                .removalListener((String id, AlgorithmJob job, RemovalCause cause) -> {
+                    if (job != null && cause.wasEvicted() && job.getCacheKey() != null) {
+                        synchronized (this) {
+                            byKey.remove(job.getCacheKey(), job);
+                        }
+                    }
+                })
+                .build();
+    }
+
+    public AlgorithmJob submit(Long userId, Long graphId, String algorithm, Map<String, Object> params) {
+        String name = algorithm != null ? algorithm.trim().toLowerCase() : "";
+        if (!ALGORITHMS.contains(name)) {
+            throw new IllegalArgumentException("Bilinmeyen algoritma: " + algorithm);
+        }
+        Map<String, Object> p = params != null ? params : Map.of();
+        Long version = graphRepository.findVersionById(graphId)
+                .orElseThrow(() -> new NoSuchElementException("Graph bulunamadı"));
+        String key = cacheKey(graphId, version, name, p);
+        return enqueue(userId, graphId, name, p, key, job -> {
+            Object result = execute(job);
+            boolean current = graphRepository.findVersionById(graphId).map(v -> v.equals(version)).orElse(false);
+            if (!current) {
+                // The graph changed mid-run; keep the result for this job but never serve it again
+                synchronized (this) {
+                    byKey.remove(job.getCacheKey(), job);
+                }
+            }
+            return result;
+        }, null);
+    }
+
+    /**
+     * Queues a one-off task that is not tied to an existing graph, such as an
+     * import. It counts against the user's active jobs but is never reused
+     * for another submission. The task reports progress on the job it gets;
+     * cleanup runs once the task has run or will never run.
+     */
+    public AlgorithmJob submitTask(Long userId, String name, Map<String, Object> params, Function<AlgorithmJob, Object> task,
+                                   Runnable cleanup) {
+        return enqueue(userId, null, name, params != null ? params : Map.of(), null, task, cleanup);
+    }
+
+    /** Re-publishes the job state to event subscribers, e.g. after a task reported progress. */
+    public void publishProgress(AlgorithmJob job) {
+        publish(job, "status");
+    }
+
+    // A null key marks a task that is never shared between submissions
+    private synchronized AlgorithmJob enqueue(Long userId, Long graphId, String name, Map<String, Object> p,
+                                              String key, Function<AlgorithmJob, Object> task, Runnable cleanup) {
+        AlgorithmJob existing = key != null ? byKey.get(key) : null;
+        if (existing != null) {
+            AlgorithmJob.Status s = existing.getStatus();
+            if (s != AlgorithmJob.Status.FAILED && s != AlgorithmJob.Status.CANCELLED) return existing;
+        }
+
+        int active = activeByUser.getOrDefault(userId, 0);
+        if (active >= maxActivePerUser) {
+            if (cleanup != null) cleanup.run();
+            throw new JobRejectedException("TOO_MANY_JOBS", "Aynı anda en fazla " + maxActivePerUser + " iş çalıştırabilirsiniz");
+        }
+
+        AlgorithmJob job = new AlgorithmJob(UUID.randomUUID().toString(), userId, graphId, name, p, key);
+        job.setCleanup(cleanup);
+        activeByUser.put(userId, active + 1);
+        jobs.put(job.getId(), job);
+        if (key != null) remember(key, job);
+        try {
+            job.setFuture(algorithmJobExecutor.submit(() -> run(job, task)));
+        } catch (RejectedExecutionException e) {
+            jobs.invalidate(job.getId());
+            if (key != null) byKey.remove(key, job);
+            release(job);
+            job.cleanup();
+            throw new JobRejectedException("QUEUE_FULL", "İş kuyruğu dolu, lütfen daha sonra tekrar deneyin");
+        }
+        return job;
+    }
+
+    /** Returns the job when it exists and belongs to the user. */
+    public Optional<AlgorithmJob> find(String jobId, Long userId) {
+        AlgorithmJob job = jobs.getIfPresent(jobId);
+        return job != null && job.getUserId().equals(userId) ? Optional.of(job) : Optional.empty();
+    }
+
+    /**
+     * Cancels a job. A queued job is dropped from the executor; a running one
+     * is interrupted and its eventual result discarded.
+     */
+    public boolean cancel(AlgorithmJob job) {
+        if (!job.cancel()) return false;
+        Future<?> future = job.getFuture();
+        if (future != null) {
+            // Only a task still sitting in the queue can be removed; run() releases the slot otherwise
+            if (algorithmJobExecutor.remove((Runnable) future)) {
+                release(job);
+                job.cleanup();
+            }
+            future.cancel(true);
+        }
+        finished(job);
+        if (job.getCacheKey() != null) {
+            synchronized (this) {
+                byKey.remove(job.getCacheKey(), job);
+            }
+        }
+        publish(job, "status");
+        return true;
+    }
+
+    /** Opens an event stream: one "status" event per change, "partial" for intermediate results. */
+    public SseEmitter subscribe(AlgorithmJob job) {
+        SseEmitter emitter = new SseEmitter(sseTimeoutMs);
+        emitter.onCompletion(() -> job.getEmitters().remove(emitter));
+        emitter.onTimeout(() -> job.getEmitters().remove(emitter));
+        emitter.onError(e -> job.getEmitters().remove(emitter));
+        job.getEmitters().add(emitter);
+        publish(job, "status");
+        return emitter;
+    }
+
+    private void run(AlgorithmJob job, Function<AlgorithmJob, Object> task) {
+        try {
+            if (!job.start()) return;
+            publish(job, "status");
+            job.succeed(task.apply(job));
+        } catch (JobFailedException e) {
+            job.fail(e.getCode(), e.getMessage());
+        } catch (VersionConflictException e) {
+            job.fail("VERSION_CONFLICT", e.getMessage());
+        } catch (IllegalArgumentException e) {
+            job.fail("INVALID_ALGORITHM_INPUT", e.getMessage());
+        } catch (NoSuchElementException e) {
+            job.fail("GRAPH_NOT_FOUND", "Graph bulunamadı");
+        } catch (RuntimeException e) {
+            job.fail("JOB_FAILED", e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName());
+        } finally {
+            release(job);
+            job.cleanup();
+            finished(job);
+            publish(job, "status");
+        }
+    }
+
+    // Re-inserts a finished job so its result is weighed and its retention starts
+    private void finished(AlgorithmJob job) {
+        jobs.asMap().replace(job.getId(), job);
+    }
+
+    private Object execute(AlgorithmJob job) {
+        Long graphId = job.getGraphId();
+        Map<String, Object> p = job.getParams();
+        switch (job.getAlgorithm()) {
+            case "distance-matrix":
+                return DistanceMatrixService.toBody(distanceMatrixService.getMatrix(graphId).orElseThrow());
+            case "layout-planning":
+                return layoutPlanningService.plan(graphId, string(p, "mode"), longValue(p, "timeLimitMs"),
+                        Boolean.TRUE.equals(bool(p, "persist")), Objects.requireNonNullElse(longValue(p, "seed"), graphId),
+                        plan -> {
+                            job.progress(0.5, "greedy", plan);
+                            publish(job, "partial");
+                        });
+            case "force-layout": {
+                Long iterations = longValue(p, "iterations");
+                return forceLayoutService.layout(graphId, iterations != null ? (int) Math.min(iterations, Integer.MAX_VALUE) : null,
+                        doubleValue(p, "edgeLength"), doubleValue(p, "theta"), Boolean.TRUE.equals(bool(p, "refine")),
+                        Boolean.TRUE.equals(bool(p, "persist")), Objects.requireNonNullElse(longValue(p, "seed"), graphId),
+                        fraction -> {
+                            job.progress(fraction, "force-layout", null);
+                            publish(job, "status");
+                        });
+            }
+            case "search":
+                return algorithmService.search(graphId, Objects.requireNonNullElse(string(p, "algorithm"), "bfs"),
+                        string(p, "source"), string(p, "target"));
+            case "shortest-path": {
+                List<String> targets = new ArrayList<>();
+                String target = string(p, "target");
+                if (target != null && !target.isBlank()) targets.add(target);
+                targets.addAll(strings(p, "targets"));
+                return algorithmService.shortestPath(graphId, string(p, "source"), targets, string(p, "mode"));
+            }
+            case "coloring":
+                return algorithmService.color(graphId, string(p, "algorithm"), Boolean.TRUE.equals(bool(p, "persist")),
+                        Objects.requireNonNullElse(longValue(p, "seed"), graphId));
+            case "multi-source":
+                return algorithmService.distanceMatrix(graphId, strings(p, "sources"));
+            default:
+                throw new IllegalArgumentException("Bilinmeyen algoritma: " + job.getAlgorithm());
+        }
+    }
+
+    private void publish(AlgorithmJob job, String event) {
+        Map<String, Object> snapshot = job.toMap();
+        boolean finished = job.getStatus().isFinished();
+        for (SseEmitter emitter : job.getEmitters()) {
+            try {
+                emitter.send(SseEmitter.event().name(event).data(snapshot));
+                if (finished) emitter.complete();
+            } catch (IOException | IllegalStateException e) {
+                job.getEmitters().remove(emitter);
+            }
+        }
+    }
+
+    private synchronized void release(AlgorithmJob job) {
+        activeByUser.computeIfPresent(job.getUserId(), (user, n) -> n > 1 ? n - 1 : null);
+    }
+
+    private void remember(String key, AlgorithmJob job) {
+        byKey.put(key, job);
+        Iterator<AlgorithmJob> it = byKey.values().iterator();
+        while (byKey.size() > resultCacheSize && it.hasNext()) {
+            AlgorithmJob eldest = it.next();
+            if (eldest.getStatus().isFinished()) it.remove();
+        }
+    }
+
+    private String cacheKey(Long graphId, Long version, String algorithm, Map<String, Object> params) {
+        try {
+            return graphId + "@" + version + ":" + algorithm + ":" + objectMapper.writeValueAsString(new TreeMap<>(params));
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Geçersiz parametreler");
+        }
+    }
+
+    private static String string(Map<String, Object> p, String key) {
+        Object v = p.get(key);
+        return v != null ? v.toString() : null;
+    }
+
+    private static Boolean bool(Map<String, Object> p, String key) {
+        Object v = p.get(key);
+        if (v instanceof Boolean) return (Boolean) v;
+        if (v instanceof String) return Boolean.parseBoolean((String) v);
+        return null;
+    }
+
+    private static Long longValue(Map<String, Object> p, String key) {
+        Object v = p.get(key);
+        if (v instanceof Number) return ((Number) v).longValue();
+        if (v instanceof String && !((String) v).isBlank()) {
+            try {
+                return Long.parseLong(((String) v).trim());
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Geçersiz sayı: " + key);
+            }
+        }
+        return null;
+    }
+
+    private static Double doubleValue(Map<String, Object> p, String key) {
+        Object v = p.get(key);
+        if (v instanceof Number) return ((Number) v).doubleValue();
+        if (v instanceof String && !((String) v).isBlank()) {
+            try {
+                return Double.parseDouble(((String) v).trim());
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Geçersiz sayı: " + key);
+            }
+        }
+        return null;
+    }
+
+    private static List<String> strings(Map<String, Object> p, String key) {
+        List<String> out = new ArrayList<>();
+        Object v = p.get(key);
+        if (v instanceof List) {
+            for (Object o : (List<?>) v) if (o != null) out.add(o.toString());
+        }
+        return out;
+    }
+}
@@ -0,0 +1,250 @@
+package com.example.backend.service;
+
+import com.example.backend.algorithm.CsrGraph;
+import com.example.backend.algorithm.GraphFingerprint;
+import com.example.backend.metrics.AlgorithmMetrics;
+import com.example.backend.repository.GraphRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Algorithm responses cached by graph content rather than graph id: the key
+ * is the {@link GraphFingerprint} plus algorithm name and canonical
+ * parameters, so copies and re-saves of a graph share entries. Eviction is
+ * Caffeine's W-TinyLFU bounded by the estimated size of the cached bodies.
+ */
+@Service
+public class AlgorithmResultCache {
+
+    @Autowired
+    private GraphRepository graphRepository;
+
+    @Autowired
+    private GraphSnapshotStore graphSnapshotStore;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private AlgorithmMetrics algorithmMetrics;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.algorithms.result-cache.max-mb:64}")
+    private long maxMb;
+
+    private Cache<String, Map<String, Object>> results;
+    private TransactionTemplate repeatableRead;
+
+    private static final class Fingerprint {
+        final long version;
+        final String hash;
+
+        Fingerprint(long version, String hash) {
+            this.version = version;
+            this.hash = hash;
+        }
+    }
+
+    // Hash per graph id, reused while the graph's version is unchanged
+    private final Map<Long, Fingerprint> fingerprints = new ConcurrentHashMap<>();
+    // Runs in progress per key, so concurrent misses wait for one computation instead of repeating it.
+    // Not Caffeine's get(key, loader): a long run would hold the map bin, and loaders may use this cache.
+    private final Map<String, CompletableFuture<Map<String, Object>>> inFlight = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    void init() {
+        results = Caffeine.newBuilder()
+                .maximumWeight(maxMb * 1024L * 1024L)
+                .weigher((String key, Map<String, Object> body) -> (int) Math.min(Integer.MAX_VALUE, 2L * key.length() + estimateBytes(body)))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, results, "algorithm-results");
+        repeatableRead = new TransactionTemplate(transactionManager);
+        repeatableRead.setReadOnly(true);
+        repeatableRead.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+    }
+
+    /** Computes a body on the graph snapshot whose content the cache key names. */
+    @FunctionalInterface
+    public interface Compute {
+        Map<String, Object> apply(CsrGraph graph, long version);
+    }
+
+    /**
+     * Thrown by a computation whose side data (e.g. a distance matrix) is no
+     * longer available for the pinned version; the lookup starts over.
+     */
+    public static class GraphChangedException extends RuntimeException {
+        public GraphChangedException() {
+            super("Graph güncellendi");
+        }
+    }
+
+    /**
+     * Returns the cached body for this graph content, algorithm and parameters,
+     * computing and storing it on a miss. The computation gets the snapshot of
+     * the fingerprinted version, and the body is only stored when the graph is
+     * still on that version afterwards. Concurrent misses on one key share a
+     * single computation. Callers get their own copy of the top-level map and
+     * may add fields to it.
+     */
+    public Map<String, Object> get(Long graphId, String algorithm, Map<String, Object> params, Compute compute) {
+        String suffix = ":" + algorithm + ":" + canonical(params);
+        while (true) {
+            Fingerprint fp = currentFingerprint(graphId);
+            String key = fp.hash + suffix;
+            Map<String, Object> body = results.getIfPresent(key);
+            if (body != null) return new HashMap<>(body);
+
+            CompletableFuture<Map<String, Object>> mine = new CompletableFuture<>();
+            CompletableFuture<Map<String, Object>> running = inFlight.putIfAbsent(key, mine);
+            if (running == null) {
+                try {
+                    // A run may have finished between the lookup and claiming the key
+                    body = results.getIfPresent(key);
+                    if (body == null) {
+                        Optional<CsrGraph> graph = graphSnapshotStore.load(graphId, fp.version);
+                        if (graph.isEmpty()) {
+                            // Saved again since the fingerprint; waiters start over as well
+                            mine.cancel(false);
+                            continue;
+                        }
+                        body = algorithmMetrics.record(algorithm, () -> compute.apply(graph.get(), fp.version));
+                        if (graphRepository.findVersionById(graphId).filter(v -> v == fp.version).isPresent()) {
+                            results.put(key, body);
+                        }
+                    }
+                    mine.complete(body);
+                    return new HashMap<>(body);
+                } catch (GraphChangedException e) {
+                    mine.cancel(false);
+                } catch (RuntimeException | Error e) {
+                    mine.completeExceptionally(e);
+                    throw e;
+                } finally {
+                    inFlight.remove(key, mine);
+                }
+                continue;
+            }
+            try {
+                return new HashMap<>(running.get());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new CancellationException("İşlem iptal edildi");
+            } catch (CancellationException e) {
+                // The computing caller was cancelled or the graph moved on; this one still wants a result
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof RuntimeException) throw (RuntimeException) cause;
+                if (cause instanceof Error) throw (Error) cause;
+                throw new IllegalStateException(cause);
+            }
+        }
+    }
+
+    /** Content hash of the graph, loading it only when its version moved. */
+    public String fingerprint(Long graphId) {
+        return currentFingerprint(graphId).hash;
+    }
+
+    private Fingerprint currentFingerprint(Long graphId) {
+        Optional<Long> version = graphRepository.findVersionById(graphId);
+        if (version.isEmpty()) throw new NoSuchElementException("Graph bulunamadı");
+        Fingerprint known = fingerprints.get(graphId);
+        if (known != null && known.version == version.get()) return known;
+
+        // Version and hash from the same read, so the pair always describes one save
+        Fingerprint fresh = repeatableRead.execute(status -> graphRepository.findById(graphId)
+                .map(g -> new Fingerprint(g.getVersion(), GraphFingerprint.of(g)))
+                .orElse(null));
+        if (fresh == null) throw new NoSuchElementException("Graph bulunamadı");
+        fingerprints.put(graphId, fresh);
+        return fresh;
+    }
+
+    /**
+     * Called after a graph update. When the content hash moved, entries of the
+     * old content are dropped; a rename or other cosmetic save keeps them.
+     */
+    public void contentUpdated(Long graphId, String oldHash, String newHash) {
+        forget(graphId);
+        if (oldHash != null && !oldHash.equals(newHash)) {
+            String prefix = oldHash + ":";
+            results.asMap().keySet().removeIf(k -> k.startsWith(prefix));
+        }
+    }
+
+    /** Forgets the graph's hash, e.g. after deletion; content entries stay for other copies. */
+    public void forget(Long graphId) {
+        fingerprints.remove(graphId);
+    }
+
+    public Map<String, Object> stats() {
+        CacheStats s = results.stats();
+        Map<String, Object> res = new HashMap<>();
+        res.put("hits", s.hitCount());
+        res.put("misses", s.missCount());
+        res.put("hitRate", s.hitRate());
+        res.put("evictions", s.evictionCount());
+        res.put("entries", results.estimatedSize());
+        res.put("weightBytes", results.policy().eviction().map(e -> e.weightedSize().orElse(0L)).orElse(0L));
+        res.put("maxBytes", maxMb * 1024L * 1024L);
+        return res;
+    }
+
+    private String canonical(Map<String, Object> params) {
+        try {
+            return objectMapper.writeValueAsString(params != null ? new TreeMap<>(params) : Map.of());
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Geçersiz parametreler");
+        }
+    }
+
+    // Rough retained size of a JSON-like body: maps, lists, strings and boxed numbers
+    static long estimateBytes(Object value) {
+        if (value == null) return 8;
+        if (value instanceof String) return 40 + 2L * ((String) value).length();
+        if (value instanceof DistanceRows) return ((DistanceRows) value).estimatedBytes();
+        if (value instanceof Map) {
+            long size = 48;
+            for (Map.Entry<?, ?> e : ((Map<?, ?>) value).entrySet()) {
+                size += 32 + estimateBytes(e.getKey()) + estimateBytes(e.getValue());
+            }
+            return size;
+        }
+        if (value instanceof Collection) {
+            long size = 40;
+            for (Object o : (Collection<?>) value) size += 8 + estimateBytes(o);
+            return size;
+        }
+        return 24;
+    }
+}
@@ -0,0 +1,372 @@
+package com.example.backend.service;
+
+import com.example.backend.algorithm.AStar;
+import com.example.backend.algorithm.BidirectionalDijkstra;
+import com.example.backend.algorithm.ColorPalette;
+import com.example.backend.algorithm.CsrGraph;
+import com.example.backend.algorithm.Dijkstra;
+import com.example.backend.algorithm.GraphSearch;
+import com.example.backend.algorithm.GraphColoring;
+import com.example.backend.algorithm.MultiSourceShortestPaths;
+import com.example.backend.algorithm.PathResult;
+import com.example.backend.algorithm.SearchResult;
+import com.example.backend.algorithm.ShortestPathTree;
+import com.example.backend.repository.GraphJdbcRepository;
+import com.example.backend.repository.GraphRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ForkJoinTask;
+
+@Service
+public class AlgorithmService {
+
+    // Cells per batch of streamed distance rows (8 MB of doubles)
+    private static final long STREAM_BATCH_CELLS = 1L << 20;
+
+    @Autowired
+    private GraphRepository graphRepository;
+
+    @Autowired
+    private GraphJdbcRepository graphJdbcRepository;
+
+    @Autowired
+    private MultiSourceShortestPaths multiSourceShortestPaths;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private AlgorithmResultCache resultCache;
+
+    @Autowired
+    private GraphSnapshotStore graphSnapshotStore;
+
+    @Value("${app.algorithms.multi-source.max-cells:20000000}")
+    private long maxMatrixCells;
+
+    // Search workspaces, grown to the largest graph they have seen; one idle per CPU is enough
+    private final int idleWorkspaces = Runtime.getRuntime().availableProcessors();
+    private final WorkspacePool<Dijkstra> dijkstra = new WorkspacePool<>(() -> new Dijkstra(0), idleWorkspaces);
+    private final WorkspacePool<AStar> astar = new WorkspacePool<>(() -> new AStar(0), idleWorkspaces);
+    private final WorkspacePool<BidirectionalDijkstra> bidirectional = new WorkspacePool<>(() -> new BidirectionalDijkstra(0), idleWorkspaces);
+
+    /** The graph's current version, mapped from its snapshot file. */
+    public Optional<CsrGraph> loadGraph(Long graphId) {
+        return graphSnapshotStore.load(graphId);
+    }
+
+    /** The graph at exactly this version; empty once it has moved on or was deleted. */
+    public Optional<CsrGraph> loadGraph(Long graphId, long version) {
+        return graphSnapshotStore.load(graphId, version);
+    }
+
+
+    /** Cached by graph content; the graph is only loaded on a miss. */
+    public Map<String, Object> search(Long graphId, String algorithm, String sourceId, String targetId) {
+        Map<String, Object> params = new HashMap<>();
+        params.put("algorithm", algorithm != null ? algorithm.toLowerCase() : null);
+        params.put("source", sourceId);
+        params.put("target", targetId);
+        return resultCache.get(graphId, "search", params,
+                (g, version) -> search(g, algorithm, sourceId, targetId));
+    }
+
+    /** Cached by graph content; the graph is only loaded on a miss. */
+    public Map<String, Object> shortestPath(Long graphId, String sourceId, List<String> targetIds, String mode) {
+        Map<String, Object> params = new HashMap<>();
+        params.put("source", sourceId);
+        params.put("targets", targetIds);
+        params.put("mode", mode != null ? mode.toLowerCase() : "auto");
+        return resultCache.get(graphId, "shortest-path", params,
+                (g, version) -> shortestPath(g, sourceId, targetIds, mode));
+    }
+
+    /** Cached by graph content; the graph is only loaded on a miss. */
+    public Map<String, Object> distanceMatrix(Long graphId, List<String> sourceIds) {
+        Map<String, Object> params = new HashMap<>();
+        params.put("sources", sourceIds != null ? sourceIds : List.of());
+        return resultCache.get(graphId, "multi-source", params,
+                (g, version) -> distanceMatrix(g, resolveSources(g, sourceIds)));
+    }
+
+    public Map<String, Object> search(CsrGraph g, String algorithm, String sourceId, String targetId) {
+        int source = requireVertex(g, sourceId);
+        int target = targetId != null && !targetId.isBlank() ? requireVertex(g, targetId) : -1;
+
+        SearchResult result;
+        if ("bfs".equalsIgnoreCase(algorithm)) {
+            result = GraphSearch.bfs(g, source, target);
+        } else if ("dfs".equalsIgnoreCase(algorithm)) {
+            result = GraphSearch.dfs(g, source, target);
+        } else {
+            throw new IllegalArgumentException("Bilinmeyen arama algoritması: " + algorithm);
+        }
+
+        Map<String, Object> res = new HashMap<>();
+        res.put("algorithm", algorithm.toLowerCase());
+        res.put("visitedOrder", toIds(g, result.getVisitedOrder()));
+        res.put("path", toIds(g, result.getPath()));
+        res.put("found", result.isFound());
+        return res;
+    }
+
+    /**
+     * Shortest paths from one source. A single target is answered by one of the
+     * point-to-point modes ("auto", "dijkstra", "astar", "bidirectional");
+     * several targets share one full shortest-path tree.
+     */
+    public Map<String, Object> shortestPath(CsrGraph g, String sourceId, List<String> targetIds, String mode) {
+        int source = requireVertex(g, sourceId);
+        int[] targets = new int[targetIds.size()];
+        for (int i = 0; i < targets.length; i++) targets[i] = requireVertex(g, targetIds.get(i));
+
+        Map<String, Object> res = new HashMap<>();
+        res.put("source", sourceId);
+        if (targets.length == 1) {
+            res.putAll(pointToPoint(g, source, targets[0], mode));
+            res.put("target", targetIds.get(0));
+            return res;
+        }
+
+        Dijkstra search = dijkstra.acquire();
+        ShortestPathTree tree;
+        try {
+            tree = search.tree(g, source);
+            res.put("settled", search.getSettledCount());
+        } finally {
+            dijkstra.release(search);
+        }
+        res.put("algorithm", "dijkstra");
+        if (targets.length == 0) {
+            Map<String, Object> distances = new LinkedHashMap<>();
+            for (int v = 0; v < g.vertexCount(); v++) {
+                if (tree.reaches(v)) distances.put(g.nodeId(v), tree.distanceTo(v));
+            }
+            res.put("distances", distances);
+            return res;
+        }
+        List<Map<String, Object>> results = new ArrayList<>(targets.length);
+        for (int i = 0; i < targets.length; i++) {
+            Map<String, Object> item = pathBody(g, tree.pathTo(targets[i]));
+            item.put("target", targetIds.get(i));
+            results.add(item);
+        }
+        res.put("results", results);
+        return res;
+    }
+
+    private Map<String, Object> pointToPoint(CsrGraph g, int source, int target, String mode) {
+        String m = mode != null ? mode.toLowerCase() : "auto";
+        double scale = g.geometricScale();
+        if ("auto".equals(m)) {
+            // Positions are a valid heuristic only when no edge is shorter than its scaled straight line
+            m = scale > 0 && scale >= g.coordinateScale() ? "astar" : "bidirectional";
+        }
+
+        PathResult path;
+        int settled;
+        switch (m) {
+            case "dijkstra": {
+                Dijkstra search = dijkstra.acquire();
+                try {
+                    path = search.shortestPath(g, source, target);
+                    settled = search.getSettledCount();
+                } finally {
+                    dijkstra.release(search);
+                }
+                break;
+            }
+            case "astar": {
+                if (!g.hasPositions()) {
+                    throw new IllegalArgumentException("A* için tüm node'ların konumu olmalı");
+                }
+                AStar search = astar.acquire();
+                try {
+                    path = search.shortestPath(g, source, target, Math.min(scale, g.coordinateScale()));
+                    settled = search.getSettledCount();
+                } finally {
+                    astar.release(search);
+                }
+                break;
+            }
+            case "bidirectional": {
+                BidirectionalDijkstra search = bidirectional.acquire();
+                try {
+                    path = search.shortestPath(g, source, target);
+                    settled = search.getSettledCount();
+                } finally {
+                    bidirectional.release(search);
+                }
+                break;
+            }
+            default:
+                throw new IllegalArgumentException("Bilinmeyen yol bulma modu: " + mode);
+        }
+
+        Map<String, Object> body = pathBody(g, path);
+        body.put("algorithm", m);
+        body.put("settled", settled);
+        return body;
+    }
+
+    static Map<String, Object> pathBody(CsrGraph g, PathResult path) {
+        List<String> nodes = toIds(g, path.getPath());
+        List<List<String>> edges = new ArrayList<>();
+        for (int i = 0; i + 1 < nodes.size(); i++) edges.add(List.of(nodes.get(i), nodes.get(i + 1)));
+
+        Map<String, Object> body = new HashMap<>();
+        body.put("path", nodes);
+        body.put("pathEdges", edges);
+        body.put("distance", path.isReachable() ? path.getDistance() : null);
+        body.put("reachable", path.isReachable());
+        return body;
+    }
+
+    /** Vertex indices for the given node ids; null or empty means every vertex. */
+    public int[] resolveSources(CsrGraph g, List<String> sourceIds) {
+        if (sourceIds == null || sourceIds.isEmpty()) {
+            int[] all = new int[g.vertexCount()];
+            for (int v = 0; v < all.length; v++) all[v] = v;
+            return all;
+        }
+        int[] sources = new int[sourceIds.size()];
+        for (int i = 0; i < sources.length; i++) sources[i] = requireVertex(g, sourceIds.get(i));
+        return sources;
+    }
+
+    public Map<String, Object> distanceMatrix(CsrGraph g, int[] sources) {
+        int n = g.vertexCount();
+        if ((long) sources.length * n > maxMatrixCells) {
+            throw new IllegalArgumentException("Mesafe matrisi çok büyük; satır akışı (ndjson) kullanın");
+        }
+        double[] matrix = multiSourceShortestPaths.matrix(g, sources);
+
+        List<String> sourceIds = new ArrayList<>(sources.length);
+        for (int source : sources) sourceIds.add(g.nodeId(source));
+        List<String> nodeIds = new ArrayList<>(n);
+        for (int v = 0; v < n; v++) nodeIds.add(g.nodeId(v));
+
+        Map<String, Object> res = new HashMap<>();
+        res.put("sources", sourceIds);
+        res.put("nodeIds", nodeIds);
+        res.put("distances", DistanceRows.of(matrix, sources.length, n));
+        return res;
+    }
+
+    /**
+     * Writes one NDJSON line per source, in source order:
+     * {"source": id, "distances": {nodeId: distance, ...}}; unreachable nodes are omitted.
+     * Rows are computed on the pool in batches while this thread writes the
+     * previous batch, so pool workers never wait on a slow client and at most
+     * two batches are held at once.
+     */
+    public void streamDistanceRows(CsrGraph g, int[] sources, OutputStream out) throws IOException {
+        int n = g.vertexCount();
+        int batch = (int) Math.max(1, Math.min(sources.length, STREAM_BATCH_CELLS / Math.max(1, n)));
+        JsonGenerator gen = objectMapper.getFactory().createGenerator(out);
+        gen.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        gen.setRootValueSeparator(null); // lines are terminated explicitly below
+        ForkJoinTask<double[]> next = sources.length > 0 ? rowBatch(g, sources, 0, batch) : null;
+        try {
+            for (int from = 0; from < sources.length; from += batch) {
+                double[] rows = next.join();
+                int to = Math.min(from + batch, sources.length);
+                next = to < sources.length ? rowBatch(g, sources, to, Math.min(to + batch, sources.length)) : null;
+                for (int i = from; i < to; i++) {
+                    int offset = (i - from) * n;
+                    gen.writeStartObject();
+                    gen.writeStringField("source", g.nodeId(sources[i]));
+                    gen.writeObjectFieldStart("distances");
+                    for (int v = 0; v < n; v++) {
+                        double d = rows[offset + v];
+                        if (d != Double.POSITIVE_INFINITY) gen.writeNumberField(g.nodeId(v), d);
+                    }
+                    gen.writeEndObject();
+                    gen.writeEndObject();
+                    gen.writeRaw('\n');
+                }
+                gen.flush();
+            }
+        } finally {
+            if (next != null) next.cancel(true);
+            gen.close();
+        }
+    }
+
+    private ForkJoinTask<double[]> rowBatch(CsrGraph g, int[] sources, int from, int to) {
+        int[] slice = Arrays.copyOfRange(sources, from, to);
+        return multiSourceShortestPaths.getPool().submit(() -> multiSourceShortestPaths.matrix(g, slice));
+    }
+
+    /**
+     * Colors the graph with the given strategy. With persist set, the colors are
+     * written back to Node.color in one batched update.
+     */
+    public Map<String, Object> color(Long graphId, CsrGraph g, String algorithm, boolean persist, long seed) {
+        GraphColoring.Strategy strategy = GraphColoring.Strategy.parse(algorithm);
+        return persistColors(graphId, coloringBody(g, strategy, seed), persist);
+    }
+
+    /** As above, cached by graph content; a cache hit is still persisted when asked. */
+    public Map<String, Object> color(Long graphId, String algorithm, boolean persist, long seed) {
+        GraphColoring.Strategy strategy = GraphColoring.Strategy.parse(algorithm);
+        Map<String, Object> params = new HashMap<>();
+        params.put("strategy", strategy.name());
+        params.put("seed", seed);
+        Map<String, Object> body = resultCache.get(graphId, "coloring", params,
+                (g, version) -> coloringBody(g, strategy, seed));
+        return persistColors(graphId, body, persist);
+    }
+
+    private Map<String, Object> coloringBody(CsrGraph g, GraphColoring.Strategy strategy, long seed) {
+        int[] colors = GraphColoring.color(g, strategy, multiSourceShortestPaths.getPool(), seed);
+        Map<String, String> colorMap = new LinkedHashMap<>();
+        int colorCount = 0;
+        for (int v = 0; v < colors.length; v++) {
+            colorMap.put(g.nodeId(v), ColorPalette.colorFor(colors[v]));
+            colorCount = Math.max(colorCount, colors[v] + 1);
+        }
+
+        Map<String, Object> res = new HashMap<>();
+        res.put("algorithm", strategy.name().toLowerCase());
+        res.put("colors", colorMap);
+        res.put("colorCount", colorCount);
+        return res;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> persistColors(Long graphId, Map<String, Object> body, boolean persist) {
+        if (persist) {
+            graphJdbcRepository.updateNodeColors(graphId, (Map<String, String>) body.get("colors"));
+        }
+        body.put("persisted", persist);
+        return body;
+    }
+
+    static int requireVertex(CsrGraph g, String nodeId) {
+        int v = g.indexOf(nodeId);
+        if (v < 0) {
+            throw new IllegalArgumentException("Node bulunamadı: " + nodeId);
+        }
+        return v;
+    }
+
+    static List<String> toIds(CsrGraph g, int[] vertices) {
+        List<String> ids = new ArrayList<>(vertices.length);
+        for (int v : vertices) ids.add(g.nodeId(v));
+        return ids;
+    }
+}
@@ -0,0 +1,209 @@
+package com.example.backend.service;
+
+import com.example.backend.algorithm.AllPairsShortestPaths;
+import com.example.backend.algorithm.CsrGraph;
+import com.example.backend.algorithm.DistanceMatrix;
+import com.example.backend.algorithm.MultiSourceShortestPaths;
+import com.example.backend.metrics.AlgorithmMetrics;
+import com.example.backend.repository.GraphRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Caches one all-pairs distance matrix per graph version, so layout planning
+ * and matrix queries do not rerun Floyd–Warshall on every call. Entries are
+ * dropped explicitly when a graph is updated or deleted, and evicted least
+ * recently used once the byte budget is exceeded.
+ */
+@Service
+public class DistanceMatrixService {
+
+    @Autowired
+    private GraphRepository graphRepository;
+
+    @Autowired
+    private AlgorithmService algorithmService;
+
+    @Autowired
+    private MultiSourceShortestPaths multiSourceShortestPaths;
+
+    @Autowired
+    private AlgorithmMetrics algorithmMetrics;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.algorithms.all-pairs.max-nodes:4000}")
+    private int maxNodes;
+
+    @Value("${app.algorithms.all-pairs.cache-max-mb:256}")
+    private long cacheMaxMb;
+
+    private static final class CachedMatrix {
+        final Long version;
+        final DistanceMatrix matrix;
+
+        CachedMatrix(Long version, DistanceMatrix matrix) {
+            this.version = version;
+            this.matrix = matrix;
+        }
+    }
+
+    // Access-ordered so iteration starts at the least recently used entry
+    private final LinkedHashMap<Long, CachedMatrix> cache = new LinkedHashMap<>(16, 0.75f, true);
+    private long cachedBytes;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    // Serialises computation per graph so concurrent callers share one run. A lock rather than a
+    // monitor: the graph load blocks on JDBC, which would pin a virtual thread inside synchronized.
+    private final Map<Long, ReentrantLock> computeLocks = new ConcurrentHashMap<>();
+
+    // Same meter names as the Caffeine caches, so hit ratios are queried alike
+    @PostConstruct
+    void init() {
+        FunctionCounter.builder("cache.gets", hits, AtomicLong::get).tag("cache", "distance-matrices").tag("result", "hit")
+                .register(meterRegistry);
+        FunctionCounter.builder("cache.gets", misses, AtomicLong::get).tag("cache", "distance-matrices").tag("result", "miss")
+                .register(meterRegistry);
+        Gauge.builder("cache.size", this, DistanceMatrixService::entryCount).tag("cache", "distance-matrices")
+                .register(meterRegistry);
+        Gauge.builder("cache.weight", this, DistanceMatrixService::byteCount).tag("cache", "distance-matrices")
+                .baseUnit("bytes").register(meterRegistry);
+    }
+
+    /** Matrix of the graph's current version, or empty when the graph does not exist. */
+    public Optional<DistanceMatrix> getMatrix(Long graphId) {
+        while (true) {
+            Optional<Long> version = graphRepository.findVersionById(graphId);
+            if (version.isEmpty()) return Optional.empty();
+            Optional<DistanceMatrix> matrix = getMatrix(graphId, version.get());
+            if (matrix.isPresent()) return matrix;
+            // Updated or deleted since the version was read; the next read tells which
+        }
+    }
+
+    /**
+     * Matrix of the graph at exactly this version, or empty when the graph
+     * has moved on to another version or does not exist. Entries are only
+     * stored under the version their graph was loaded at.
+     */
+    public Optional<DistanceMatrix> getMatrix(Long graphId, long version) {
+        DistanceMatrix hit = lookup(graphId, version);
+        if (hit != null) {
+            hits.incrementAndGet();
+            return Optional.of(hit);
+        }
+
+        ReentrantLock lock = computeLocks.computeIfAbsent(graphId, k -> new ReentrantLock());
+        lock.lock();
+        try {
+            // Waiters for a run that just finished share its result
+            hit = lookup(graphId, version);
+            if (hit != null) {
+                hits.incrementAndGet();
+                return Optional.of(hit);
+            }
+            misses.incrementAndGet();
+
+            Optional<CsrGraph> graph = algorithmService.loadGraph(graphId, version);
+            if (graph.isEmpty()) return Optional.empty();
+            if (graph.get().vertexCount() > maxNodes) {
+                throw new IllegalArgumentException("Mesafe matrisi en fazla " + maxNodes + " node için hesaplanabilir");
+            }
+            DistanceMatrix matrix = algorithmMetrics.record("all-pairs",
+                    () -> AllPairsShortestPaths.compute(graph.get(), multiSourceShortestPaths));
+            store(graphId, new CachedMatrix(version, matrix));
+            return Optional.of(matrix);
+        } finally {
+            lock.unlock();
+            computeLocks.remove(graphId, lock);
+        }
+    }
+
+    /** Response body with node ids and rows; unreachable pairs become null. */
+    public static Map<String, Object> toBody(DistanceMatrix matrix) {
+        int n = matrix.size();
+        List<String> nodeIds = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) nodeIds.add(matrix.nodeId(i));
+        Map<String, Object> res = new HashMap<>();
+        res.put("method", matrix.getMethod());
+        res.put("nodeIds", nodeIds);
+        res.put("distances", new DistanceRows(n, n, matrix::get));
+        return res;
+    }
+
+    public void invalidate(Long graphId) {
+        evict(graphId);
+        // Evict again after commit so a reader racing the update cannot re-cache the old graph
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict(graphId);
+                }
+            });
+        }
+    }
+
+    private void evict(Long graphId) {
+        synchronized (cache) {
+            CachedMatrix removed = cache.remove(graphId);
+            if (removed != null) cachedBytes -= removed.matrix.estimatedBytes();
+        }
+    }
+
+    private double entryCount() {
+        synchronized (cache) {
+            return cache.size();
+        }
+    }
+
+    private double byteCount() {
+        synchronized (cache) {
+            return cachedBytes;
+        }
+    }
+
+    private DistanceMatrix lookup(Long graphId, Long version) {
+        synchronized (cache) {
+            CachedMatrix entry = cache.get(graphId);
+            return entry != null && Objects.equals(entry.version, version) ? entry.matrix : null;
+        }
+    }
+
+    private void store(Long graphId, CachedMatrix entry) {
+        long budget = cacheMaxMb * 1024L * 1024L;
+        synchronized (cache) {
+            CachedMatrix old = cache.put(graphId, entry);
+            if (old != null) cachedBytes -= old.matrix.estimatedBytes();
+            cachedBytes += entry.matrix.estimatedBytes();
+            Iterator<Map.Entry<Long, CachedMatrix>> it = cache.entrySet().iterator();
+            while (cachedBytes > budget && it.hasNext()) {
+                Map.Entry<Long, CachedMatrix> eldest = it.next();
+                if (eldest.getKey().equals(graphId)) continue;
+                cachedBytes -= eldest.getValue().matrix.estimatedBytes();
+                it.remove();
+            }
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.backend.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonSerializable;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+
+import java.io.IOException;
+
+/**
+ * Distance rows of a response body, serialized as a JSON array of arrays
+ * straight from primitive doubles; unreachable pairs are written as null.
+ * Large matrices would otherwise box every cell into a List of Doubles
+ * before the response is written.
+ */
+final class DistanceRows extends JsonSerializable.Base {
+
+    @FunctionalInterface
+    interface Cells {
+        double get(int row, int column);
+    }
+
+    private final int rows;
+    private final int columns;
+    private final Cells cells;
+
+    DistanceRows(int rows, int columns, Cells cells) {
+        this.rows = rows;
+        this.columns = columns;
+        this.cells = cells;
+    }
+
+    /** Rows over a flat row-major array. */
+    static DistanceRows of(double[] values, int rows, int columns) {
+        return new DistanceRows(rows, columns, (i, j) -> values[i * columns + j]);
+    }
+
+    /** Approximate retained size of the backing values, for cache accounting. */
+    long estimatedBytes() {
+        return 32 + (long) rows * columns * Double.BYTES;
+    }
+
+    @Override
+    public void serialize(JsonGenerator gen, SerializerProvider provider) throws IOException {
+        gen.writeStartArray();
+        for (int i = 0; i < rows; i++) {
+            gen.writeStartArray();
+            for (int j = 0; j < columns; j++) {
+                double d = cells.get(i, j);
+                if (d == Double.POSITIVE_INFINITY) gen.writeNull();
+                else gen.writeNumber(d);
+            }
+            gen.writeEndArray();
+        }
+        gen.writeEndArray();
+    }
+
+    @Override
+    public void serializeWithType(JsonGenerator gen, SerializerProvider provider, TypeSerializer typeSer) throws IOException {
+        // Bodies are plain maps; no type ids are written for them
+        serialize(gen, provider);
+    }
+}
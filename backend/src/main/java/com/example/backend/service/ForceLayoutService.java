@@ -0,0 +1,111 @@
+package com.example.backend.service;
+
+import com.example.backend.algorithm.CsrGraph;
+import com.example.backend.algorithm.MultiSourceShortestPaths;
+import com.example.backend.layout.ForceLayout;
+import com.example.backend.layout.ForceLayoutResult;
+import com.example.backend.repository.GraphJdbcRepository;
+import com.example.backend.repository.GraphRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.DoubleConsumer;
+
+/**
+ * Server-side node placement with {@link ForceLayout}. Results are cached by
+ * graph content like other algorithm responses; persisting writes every
+ * position in one batched update and moves the graph to its next version,
+ * since positions feed the A* heuristic of later runs. A graph that changed
+ * after the layout started is left alone with a {@link VersionConflictException}.
+ */
+@Service
+public class ForceLayoutService {
+
+    @Autowired
+    private AlgorithmResultCache resultCache;
+
+    @Autowired
+    private GraphRepository graphRepository;
+
+    @Autowired
+    private GraphJdbcRepository graphJdbcRepository;
+
+    @Autowired
+    private DistanceMatrixService distanceMatrixService;
+
+    @Autowired
+    private MultiSourceShortestPaths multiSourceShortestPaths;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${app.algorithms.force-layout.max-iterations:500}")
+    private int maxIterations;
+
+    /**
+     * Lays the graph out and returns "positions" as nodeId to [x, y]. Null
+     * settings take the layout's defaults; {@code progress}, when given,
+     * receives the finished share on a miss.
+     */
+    public Map<String, Object> layout(Long graphId, Integer iterations, Double edgeLength, Double theta, boolean refine,
+                                      boolean persist, long seed, DoubleConsumer progress) {
+        ForceLayout layout = new ForceLayout(seed);
+        if (iterations != null) {
+            if (iterations > maxIterations) {
+                throw new IllegalArgumentException("İterasyon sayısı en fazla " + maxIterations + " olabilir");
+            }
+            layout.setIterations(iterations);
+        }
+        if (edgeLength != null) layout.setEdgeLength(edgeLength);
+        if (theta != null) layout.setTheta(theta);
+        layout.setRefine(refine);
+        layout.setProgress(progress);
+
+        Map<String, Object> params = new HashMap<>();
+        params.put("iterations", iterations);
+        params.put("edgeLength", edgeLength);
+        params.put("theta", theta);
+        params.put("refine", refine);
+        params.put("seed", seed);
+        // Read before the layout, so any later change to the graph makes the persist below conflict
+        Long loadedVersion = persist ? graphRepository.findVersionById(graphId).orElseThrow() : null;
+        Map<String, Object> body = resultCache.get(graphId, "force-layout", params,
+                (g, version) -> layoutBody(g, layout.run(g, multiSourceShortestPaths.getPool())));
+        if (persist) {
+            @SuppressWarnings("unchecked")
+            Map<String, List<Double>> positions = (Map<String, List<Double>>) body.get("positions");
+            TransactionTemplate tx = new TransactionTemplate(transactionManager);
+            Long version = tx.execute(status -> {
+                // The bump locks the row first, so no other write lands between the check and the positions
+                Long next = graphJdbcRepository.bumpVersion(graphId, loadedVersion, null).orElseThrow(VersionConflictException::new);
+                graphJdbcRepository.updateNodePositions(graphId, positions);
+                return next;
+            });
+            // The loaded graph and matrix carry the old positions
+            distanceMatrixService.invalidate(graphId);
+            resultCache.forget(graphId);
+            body.put("version", version);
+        }
+        body.put("persisted", persist);
+        return body;
+    }
+
+    private static Map<String, Object> layoutBody(CsrGraph g, ForceLayoutResult result) {
+        Map<String, List<Double>> positions = new LinkedHashMap<>();
+        for (int v = 0; v < g.vertexCount(); v++) {
+            positions.put(g.nodeId(v), List.of(result.x(v), result.y(v)));
+        }
+        Map<String, Object> res = new HashMap<>();
+        res.put("positions", positions);
+        res.put("levels", result.getLevels());
+        res.put("iterations", result.getIterations());
+        return res;
+    }
+}
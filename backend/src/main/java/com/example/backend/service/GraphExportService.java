@@ -0,0 +1,272 @@
+package com.example.backend.service;
+
+import com.example.backend.entity.Edge;
+import com.example.backend.entity.Graph;
+import com.example.backend.entity.LegendEntry;
+import com.example.backend.entity.Node;
+import com.example.backend.importer.GraphSink;
+import com.example.backend.repository.GraphJdbcRepository;
+import com.example.backend.repository.GraphRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.NoSuchElementException;
+import java.util.concurrent.Semaphore;
+import java.util.function.Consumer;
+
+/**
+ * Writes a graph to a stream straight from database cursors, so memory use
+ * does not depend on the graph size. The JSON document has the shape of a
+ * save request and can be imported again as is; NDJSON writes a "graph"
+ * header followed by one "legend", "node" or "edge" record per line.
+ * Stored graphs are spooled to a temporary file first, so the snapshot
+ * transaction ends before the client downloads; {@link #tryAcquire()}
+ * bounds how many exports run at once. Records that are not stored, such
+ * as generated graphs, can be written the same way as NDJSON or as a plain
+ * edge list.
+ */
+@Service
+public class GraphExportService {
+
+    @Autowired
+    private GraphRepository graphRepository;
+
+    @Autowired
+    private GraphJdbcRepository graphJdbcRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${app.export.max-concurrent:4}")
+    private int maxConcurrent;
+
+    private TransactionTemplate snapshot;
+
+    private Semaphore running;
+
+    @PostConstruct
+    void init() {
+        running = new Semaphore(maxConcurrent);
+        // One snapshot for all reads, so nodes and edges match even while the graph is being edited
+        snapshot = new TransactionTemplate(transactionManager);
+        snapshot.setReadOnly(true);
+        snapshot.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+    }
+
+    /** Takes an export slot, or returns false when all are in use; pair with {@link #release()}. */
+    public boolean tryAcquire() {
+        return running.tryAcquire();
+    }
+
+    public void release() {
+        running.release();
+    }
+
+    public void write(Long graphId, OutputStream out, boolean ndjson) throws IOException {
+        Path spooled = Files.createTempFile("graph-export-", ndjson ? ".ndjson" : ".json");
+        try {
+            try (OutputStream file = new BufferedOutputStream(Files.newOutputStream(spooled), 64 * 1024)) {
+                writeSnapshot(graphId, file, ndjson);
+            }
+            // The connection is back in the pool; a slow client now only holds the file
+            Files.copy(spooled, out);
+        } finally {
+            Files.deleteIfExists(spooled);
+        }
+    }
+
+    private void writeSnapshot(Long graphId, OutputStream out, boolean ndjson) throws IOException {
+        JsonGenerator gen = objectMapper.getFactory().createGenerator(out);
+        gen.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        gen.setRootValueSeparator(null); // NDJSON lines are terminated explicitly
+        try {
+            snapshot.executeWithoutResult(status -> {
+                Graph graph = graphRepository.findById(graphId).orElseThrow(() -> new NoSuchElementException("Graph bulunamadı"));
+                try {
+                    if (ndjson) writeLines(gen, graph);
+                    else writeDocument(gen, graph);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } finally {
+            gen.close();
+        }
+    }
+
+    /**
+     * Writes the records a source hands to its sink as they arrive: NDJSON
+     * with a "graph" header, or an edge list with a header line, which keeps
+     * edges and weights only.
+     */
+    public void write(String name, Consumer<GraphSink> source, OutputStream out, boolean ndjson) throws IOException {
+        try {
+            if (ndjson) {
+                JsonGenerator gen = objectMapper.getFactory().createGenerator(out);
+                gen.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+                gen.setRootValueSeparator(null);
+                try {
+                    record(gen, "graph", () -> gen.writeStringField("name", name));
+                    source.accept(new LineSink(gen));
+                } finally {
+                    gen.close();
+                }
+            } else {
+                Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+                writer.write("source target weight\n");
+                source.accept(new EdgeListSink(writer));
+                writer.flush();
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static final class LineSink implements GraphSink {
+        private final JsonGenerator gen;
+
+        LineSink(JsonGenerator gen) {
+            this.gen = gen;
+        }
+
+        @Override public void graph(String name) {}
+        @Override public void legend(LegendEntry entry) { record(gen, "legend", () -> writeLegend(gen, entry)); }
+        @Override public void node(Node node) { record(gen, "node", () -> writeNode(gen, node)); }
+        @Override public void edge(Edge edge) { record(gen, "edge", () -> writeEdge(gen, edge)); }
+    }
+
+    private static final class EdgeListSink implements GraphSink {
+        private final Writer writer;
+
+        EdgeListSink(Writer writer) {
+            this.writer = writer;
+        }
+
+        @Override public void graph(String name) {}
+        @Override public void legend(LegendEntry entry) {}
+        @Override public void node(Node node) {}
+
+        @Override
+        public void edge(Edge edge) {
+            try {
+                writer.write(edge.getFromNode());
+                writer.write(' ');
+                writer.write(edge.getToNode());
+                writer.write(' ');
+                writer.write(edge.getWeight() != null ? edge.getWeight().toString() : "1.0");
+                writer.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    private void writeDocument(JsonGenerator gen, Graph graph) throws IOException {
+        gen.writeStartObject();
+        writeHeader(gen, graph);
+        gen.writeArrayFieldStart("legendEntries");
+        for (LegendEntry le : graph.getLegendEntries()) {
+            gen.writeStartObject();
+            writeLegend(gen, le);
+            gen.writeEndObject();
+        }
+        gen.writeEndArray();
+
+        gen.writeArrayFieldStart("nodes");
+        graphJdbcRepository.forEachNode(graph.getId(), n -> record(gen, null, () -> writeNode(gen, n)));
+        gen.writeEndArray();
+
+        gen.writeArrayFieldStart("edges");
+        graphJdbcRepository.forEachEdge(graph.getId(), e -> record(gen, null, () -> writeEdge(gen, e)));
+        gen.writeEndArray();
+        gen.writeEndObject();
+    }
+
+    private void writeLines(JsonGenerator gen, Graph graph) throws IOException {
+        record(gen, "graph", () -> writeHeader(gen, graph));
+        for (LegendEntry le : graph.getLegendEntries()) record(gen, "legend", () -> writeLegend(gen, le));
+        graphJdbcRepository.forEachNode(graph.getId(), n -> record(gen, "node", () -> writeNode(gen, n)));
+        graphJdbcRepository.forEachEdge(graph.getId(), e -> record(gen, "edge", () -> writeEdge(gen, e)));
+    }
+
+    private interface Fields {
+        void write() throws IOException;
+    }
+
+    // One object: a typed NDJSON line when type is set, an array element otherwise
+    private static void record(JsonGenerator gen, String type, Fields fields) {
+        try {
+            gen.writeStartObject();
+            if (type != null) gen.writeStringField("type", type);
+            fields.write();
+            gen.writeEndObject();
+            if (type != null) gen.writeRaw('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void writeHeader(JsonGenerator gen, Graph graph) throws IOException {
+        gen.writeNumberField("id", graph.getId());
+        gen.writeStringField("name", graph.getName());
+        gen.writeNumberField("version", graph.getVersion());
+        gen.writeStringField("updatedAt", graph.getUpdatedAt() != null ? graph.getUpdatedAt().toString() : null);
+        gen.writeBooleanField("hasLegend", graph.isHasLegend());
+    }
+
+    private static void writeLegend(JsonGenerator gen, LegendEntry le) throws IOException {
+        gen.writeStringField("name", le.getName());
+        gen.writeStringField("color", le.getColor());
+        number(gen, "capacity", le.getCapacity());
+        number(gen, "distance", le.getDistance());
+        number(gen, "unitDistance", le.getUnitDistance());
+        number(gen, "size", le.getSize());
+    }
+
+    private static void writeNode(JsonGenerator gen, Node n) throws IOException {
+        gen.writeStringField("nodeId", n.getNodeId());
+        gen.writeStringField("label", n.getLabel());
+        number(gen, "size", n.getSize());
+        gen.writeStringField("color", n.getColor());
+        number(gen, "positionX", n.getPositionX());
+        number(gen, "positionY", n.getPositionY());
+    }
+
+    private static void writeEdge(JsonGenerator gen, Edge e) throws IOException {
+        gen.writeStringField("edgeId", e.getEdgeId());
+        gen.writeStringField("fromNode", e.getFromNode());
+        gen.writeStringField("toNode", e.getToNode());
+        number(gen, "weight", e.getWeight());
+        gen.writeBooleanField("isDirected", Boolean.TRUE.equals(e.getIsDirected()));
+        gen.writeBooleanField("showWeight", !Boolean.FALSE.equals(e.getShowWeight()));
+    }
+
+    private static void number(JsonGenerator gen, String name, Number value) throws IOException {
+        gen.writeFieldName(name);
+        if (value == null) gen.writeNull();
+        else if (value instanceof Integer) gen.writeNumber(value.intValue());
+        else gen.writeNumber(value.doubleValue());
+    }
+}
@@ -0,0 +1,210 @@
+package com.example.backend.service;
+
+import com.example.backend.entity.Edge;
+import com.example.backend.entity.Graph;
+import com.example.backend.entity.LegendEntry;
+import com.example.backend.entity.Node;
+import com.example.backend.generator.GraphGenerator;
+import com.example.backend.importer.GraphSink;
+import com.example.backend.job.AlgorithmJob;
+import com.example.backend.repository.GraphJdbcRepository;
+import com.example.backend.repository.GraphRepository;
+import com.example.backend.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+
+/**
+ * Synthetic graphs from a {@link GraphGenerator}: saved by a background job
+ * that writes JDBC batches as records are generated, like an import, or
+ * streamed out as a file without touching the database.
+ */
+@Service
+public class GraphGeneratorService {
+
+    private static final int BATCH_SIZE = 5000;
+    private static final long PROGRESS_INTERVAL_MS = 500;
+
+    @Autowired
+    private GraphRepository graphRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private GraphJdbcRepository graphJdbcRepository;
+
+    @Autowired
+    private GraphService graphService;
+
+    @Autowired
+    private GraphExportService graphExportService;
+
+    @Autowired
+    private AlgorithmJobService algorithmJobService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${app.generator.max-nodes:2000000}")
+    private int maxNodes;
+
+    @Value("${app.generator.max-edges:10000000}")
+    private long maxEdges;
+
+    /** Rejects graphs over the configured size limits or settings the model cannot produce. */
+    public void check(GraphGenerator generator) {
+        if (generator.getNodes() > maxNodes) {
+            throw new IllegalArgumentException("En fazla " + maxNodes + " düğüm üretilebilir");
+        }
+        if (generator.expectedEdges() > maxEdges) {
+            throw new IllegalArgumentException("En fazla " + maxEdges + " kenar üretilebilir");
+        }
+        generator.check();
+    }
+
+    public String defaultName(GraphGenerator generator) {
+        return generator.getModel().getTitle() + " " + generator.getNodes() + " düğüm (tohum " + generator.getSeed() + ")";
+    }
+
+    /** Queues the generation; the job result names the new graph. */
+    public AlgorithmJob submit(Long userId, GraphGenerator generator, String name) {
+        check(generator);
+        String graphName = name != null && !name.isBlank() ? name.trim() : defaultName(generator);
+        Map<String, Object> params = describe(generator);
+        return algorithmJobService.submitTask(userId, "generate", params,
+                job -> persist(job, userId, generator, graphName), null);
+    }
+
+    /** Streams the graph as NDJSON (importable again) or as an edge list. */
+    public void write(GraphGenerator generator, String name, OutputStream out, boolean ndjson) throws IOException {
+        check(generator);
+        graphExportService.write(name != null && !name.isBlank() ? name.trim() : defaultName(generator),
+                generator::generate, out, ndjson);
+    }
+
+    public static Map<String, Object> describe(GraphGenerator generator) {
+        Map<String, Object> params = new HashMap<>();
+        params.put("model", generator.getModel().name().toLowerCase());
+        params.put("nodes", generator.getNodes());
+        params.put("edges", generator.getEdges());
+        params.put("expectedEdges", generator.expectedEdges());
+        params.put("seed", generator.getSeed());
+        params.put("directed", generator.isDirected());
+        params.put("maxWeight", generator.getMaxWeight());
+        params.put("communities", generator.getCommunities());
+        params.put("mixing", generator.getMixing());
+        params.put("legend", generator.isLegend());
+        return params;
+    }
+
+    private Map<String, Object> persist(AlgorithmJob job, Long userId, GraphGenerator generator, String name) {
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        Map<String, Object> result = tx.execute(status -> {
+            Long graphId = graphRepository.save(new Graph(name, userRepository.getReferenceById(userId))).getId();
+            PersistSink sink = new PersistSink(job, graphId, generator.getNodes() + generator.expectedEdges());
+            generator.generate(sink);
+            return sink.finish(name);
+        });
+        graphService.graphsChanged(userId);
+        result.put("seed", generator.getSeed());
+        return result;
+    }
+
+    /** Buffers records into batches; generators declare every node before its edges. */
+    private class PersistSink implements GraphSink {
+
+        private final AlgorithmJob job;
+        private final Long graphId;
+        private final long expectedRecords;
+        private final List<Node> nodeBatch = new ArrayList<>(BATCH_SIZE);
+        private final List<Edge> edgeBatch = new ArrayList<>(BATCH_SIZE);
+        private final List<LegendEntry> legend = new ArrayList<>();
+        private long nodes;
+        private long edges;
+        private long lastProgress;
+
+        PersistSink(AlgorithmJob job, Long graphId, long expectedRecords) {
+            this.job = job;
+            this.graphId = graphId;
+            this.expectedRecords = expectedRecords;
+        }
+
+        @Override
+        public void graph(String name) {}
+
+        @Override
+        public void legend(LegendEntry entry) {
+            legend.add(entry);
+        }
+
+        @Override
+        public void node(Node node) {
+            nodeBatch.add(node);
+            if (nodeBatch.size() >= BATCH_SIZE) flushNodes();
+        }
+
+        @Override
+        public void edge(Edge edge) {
+            flushNodes();
+            edgeBatch.add(edge);
+            if (edgeBatch.size() >= BATCH_SIZE) flushEdges();
+        }
+
+        Map<String, Object> finish(String name) {
+            flushNodes();
+            flushEdges();
+            if (!legend.isEmpty()) graphJdbcRepository.replaceLegend(graphId, true, legend);
+
+            Map<String, Object> res = new HashMap<>();
+            res.put("graphId", graphId);
+            res.put("graphName", name);
+            res.put("nodes", nodes);
+            res.put("edges", edges);
+            return res;
+        }
+
+        private void flushNodes() {
+            if (nodeBatch.isEmpty()) return;
+            checkCancelled();
+            graphJdbcRepository.insertNodes(graphId, nodeBatch);
+            nodes += nodeBatch.size();
+            nodeBatch.clear();
+            reportProgress();
+        }
+
+        private void flushEdges() {
+            if (edgeBatch.isEmpty()) return;
+            checkCancelled();
+            graphJdbcRepository.insertEdges(graphId, edgeBatch);
+            edges += edgeBatch.size();
+            edgeBatch.clear();
+            reportProgress();
+        }
+
+        private void checkCancelled() {
+            if (Thread.currentThread().isInterrupted() || job.getStatus() == AlgorithmJob.Status.CANCELLED) {
+                throw new CancellationException("Üretim iptal edildi");
+            }
+        }
+
+        private void reportProgress() {
+            long now = System.currentTimeMillis();
+            if (now - lastProgress < PROGRESS_INTERVAL_MS) return;
+            lastProgress = now;
+            double fraction = expectedRecords > 0 ? Math.min(0.99, (double) (nodes + edges) / expectedRecords) : 0;
+            job.progress(fraction, nodes + " düğüm, " + edges + " kenar yazıldı", null);
+            algorithmJobService.publishProgress(job);
+        }
+    }
+}
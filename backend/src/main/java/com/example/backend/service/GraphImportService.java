@@ -0,0 +1,370 @@
+package com.example.backend.service;
+
+import com.example.backend.entity.Edge;
+import com.example.backend.entity.Graph;
+import com.example.backend.entity.LegendEntry;
+import com.example.backend.entity.Node;
+import com.example.backend.importer.GraphFormat;
+import com.example.backend.importer.GraphSink;
+import com.example.backend.job.AlgorithmJob;
+import com.example.backend.job.JobFailedException;
+import com.example.backend.repository.GraphJdbcRepository;
+import com.example.backend.repository.GraphRepository;
+import com.example.backend.repository.UserRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.BufferedInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.ZipException;
+
+/**
+ * Imports graph files as background jobs. The upload is spooled to a
+ * temporary file, then parsed incrementally while rows go to the database in
+ * JDBC batches, all in one transaction. Node ids are interned into an int
+ * dictionary, so duplicate nodes and undeclared edge endpoints are resolved
+ * without keeping any rows in memory.
+ */
+@Service
+public class GraphImportService {
+
+    private static final int BATCH_SIZE = 5000;
+    private static final int DENSE_EDGE_NUMBERS = 1 << 26;
+    private static final long PROGRESS_INTERVAL_MS = 500;
+    private static final String DEFAULT_NAME = "İçe aktarılan graph";
+
+    @Autowired
+    private GraphRepository graphRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private GraphJdbcRepository graphJdbcRepository;
+
+    @Autowired
+    private GraphService graphService;
+
+    @Autowired
+    private AlgorithmJobService algorithmJobService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    /**
+     * Spools the upload and queues its import. Format is taken from the
+     * format name or else the file extension; a trailing .gz is decompressed.
+     */
+    public AlgorithmJob submit(Long userId, MultipartFile file, String format, String name, boolean directed) throws IOException {
+        String filename = file.getOriginalFilename();
+        GraphFormat graphFormat = GraphFormat.detect(format, filename);
+        if (graphFormat == null) {
+            throw new IllegalArgumentException("Desteklenmeyen dosya formatı; edgelist, csv, graphml veya ndjson kullanın");
+        }
+        boolean gzip = filename != null && filename.toLowerCase().endsWith(".gz");
+        boolean explicitName = name != null && !name.isBlank();
+        String graphName = explicitName ? name.trim() : baseName(filename);
+
+        Path spooled = Files.createTempFile("graph-import-", ".upload");
+        try {
+            file.transferTo(spooled);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(spooled);
+            throw e;
+        }
+
+        Map<String, Object> params = new HashMap<>();
+        params.put("format", graphFormat.name().toLowerCase());
+        params.put("fileName", filename);
+        params.put("bytes", file.getSize());
+        params.put("directed", directed);
+        return algorithmJobService.submitTask(userId, "import", params,
+                job -> importFile(job, userId, spooled, graphFormat, gzip, graphName, explicitName, directed),
+                () -> {
+                    try {
+                        Files.deleteIfExists(spooled);
+                    } catch (IOException ignored) {
+                        // temp directory is cleaned by the OS eventually
+                    }
+                });
+    }
+
+    private Map<String, Object> importFile(AlgorithmJob job, Long userId, Path file, GraphFormat format, boolean gzip,
+                                           String name, boolean explicitName, boolean directed) {
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        Map<String, Object> result;
+        try {
+            result = tx.execute(status -> {
+                try (CountingInputStream counted = new CountingInputStream(new BufferedInputStream(Files.newInputStream(file), 64 * 1024))) {
+                    InputStream in = gzip ? new GZIPInputStream(counted, 64 * 1024) : counted;
+                    ImportSink sink = new ImportSink(job, userId, name, explicitName, counted, Files.size(file));
+                    long skipped = format.reader(directed, objectMapper).read(in, sink);
+                    return sink.finish(skipped);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (IllegalArgumentException e) {
+            // Readers reject malformed files this way; it is the file, not an algorithm input, that is wrong
+            throw new JobFailedException("INVALID_IMPORT_FILE", e.getMessage());
+        } catch (UncheckedIOException e) {
+            if (e.getCause() instanceof ZipException) {
+                throw new JobFailedException("INVALID_IMPORT_FILE", "Geçersiz gzip dosyası: " + e.getCause().getMessage());
+            }
+            throw e;
+        }
+        graphService.graphsChanged(userId);
+        return result;
+    }
+
+    private static String baseName(String filename) {
+        if (filename == null || filename.isBlank()) return DEFAULT_NAME;
+        String base = filename.replaceAll("^.*[/\\\\]", "");
+        if (base.toLowerCase().endsWith(".gz")) base = base.substring(0, base.length() - 3);
+        int dot = base.lastIndexOf('.');
+        if (dot > 0) base = base.substring(0, dot);
+        return base.isBlank() ? DEFAULT_NAME : base;
+    }
+
+    // N of an edge id in the "eN" form given to edges without one, or -1
+    static int generatedNumber(String edgeId) {
+        int length = edgeId.length();
+        if (length < 2 || length > 11 || edgeId.charAt(0) != 'e' || edgeId.charAt(1) == '0') return -1;
+        long n = 0;
+        for (int i = 1; i < length; i++) {
+            char c = edgeId.charAt(i);
+            if (c < '0' || c > '9') return -1;
+            n = n * 10 + (c - '0');
+        }
+        return n <= Integer.MAX_VALUE ? (int) n : -1;
+    }
+
+    /** Buffers records into batches and keeps the node id dictionary. */
+    private class ImportSink implements GraphSink {
+
+        private final AlgorithmJob job;
+        private final Long userId;
+        private final boolean explicitName;
+        private final CountingInputStream counted;
+        private final long totalBytes;
+        private String name;
+
+        private Long graphId;
+        private final Map<String, Integer> ids = new HashMap<>();
+        private final List<String> idNames = new ArrayList<>();
+        private final BitSet declared = new BitSet();
+        private final List<Node> nodeBatch = new ArrayList<>(BATCH_SIZE);
+        private final List<Edge> edgeBatch = new ArrayList<>(BATCH_SIZE);
+        private final List<LegendEntry> legend = new ArrayList<>();
+        // Numbers of "eN" edge ids used by the file; the BitSet stays small for any realistic file
+        private final BitSet takenEdgeNumbers = new BitSet();
+        private final Set<Integer> sparseEdgeNumbers = new HashSet<>();
+        private int nextEdgeNumber = 1;
+        private long nodes;
+        private long edges;
+        private long duplicates;
+        private long lastProgress;
+
+        ImportSink(AlgorithmJob job, Long userId, String name, boolean explicitName, CountingInputStream counted, long totalBytes) {
+            this.job = job;
+            this.userId = userId;
+            this.name = name;
+            this.explicitName = explicitName;
+            this.counted = counted;
+            this.totalBytes = totalBytes;
+        }
+
+        @Override
+        public void graph(String name) {
+            if (!explicitName && graphId == null && name != null && !name.isBlank()) this.name = name;
+        }
+
+        @Override
+        public void legend(LegendEntry entry) {
+            legend.add(entry);
+        }
+
+        @Override
+        public void node(Node node) {
+            int id = intern(node.getNodeId());
+            if (declared.get(id)) {
+                duplicates++;
+                return;
+            }
+            declared.set(id);
+            nodeBatch.add(node);
+            if (nodeBatch.size() >= BATCH_SIZE) flushNodes();
+        }
+
+        @Override
+        public void edge(Edge edge) {
+            intern(edge.getFromNode());
+            intern(edge.getToNode());
+            if (edge.getEdgeId() == null) {
+                edge.setEdgeId(nextEdgeId());
+            } else {
+                int number = generatedNumber(edge.getEdgeId());
+                if (number > 0) {
+                    // The file names an id that was already handed out; the unnamed edge gives it up
+                    if (number < nextEdgeNumber && !isTaken(number)) renameGenerated(edge.getEdgeId());
+                    take(number);
+                }
+            }
+            edgeBatch.add(edge);
+            if (edgeBatch.size() >= BATCH_SIZE) flushEdges();
+        }
+
+        // Ids for edges without one: "e1", "e2", ... skipping the ones the file uses itself
+        private String nextEdgeId() {
+            while (isTaken(nextEdgeNumber)) nextEdgeNumber++;
+            return "e" + nextEdgeNumber++;
+        }
+
+        private boolean isTaken(int number) {
+            return number < DENSE_EDGE_NUMBERS ? takenEdgeNumbers.get(number) : sparseEdgeNumbers.contains(number);
+        }
+
+        private void take(int number) {
+            if (number < DENSE_EDGE_NUMBERS) takenEdgeNumbers.set(number);
+            else sparseEdgeNumbers.add(number);
+        }
+
+        private void renameGenerated(String edgeId) {
+            String renamed = nextEdgeId();
+            for (Edge e : edgeBatch) {
+                if (edgeId.equals(e.getEdgeId())) {
+                    e.setEdgeId(renamed);
+                    return;
+                }
+            }
+            graphJdbcRepository.renameEdge(graphId, edgeId, renamed);
+        }
+
+        Map<String, Object> finish(long skipped) {
+            flushNodes();
+            flushEdges();
+            // Endpoints that were never declared become plain nodes
+            for (int i = declared.nextClearBit(0); i < idNames.size(); i = declared.nextClearBit(i + 1)) {
+                nodeBatch.add(new Node(idNames.get(i), idNames.get(i), null));
+                if (nodeBatch.size() >= BATCH_SIZE) flushNodes();
+            }
+            flushNodes();
+            graphId();
+            if (!legend.isEmpty()) graphJdbcRepository.replaceLegend(graphId, true, legend);
+
+            Map<String, Object> res = new HashMap<>();
+            res.put("graphId", graphId);
+            res.put("graphName", name);
+            res.put("nodes", nodes);
+            res.put("edges", edges);
+            res.put("duplicateNodes", duplicates);
+            res.put("skipped", skipped);
+            return res;
+        }
+
+        private int intern(String nodeId) {
+            Integer id = ids.get(nodeId);
+            if (id == null) {
+                id = idNames.size();
+                ids.put(nodeId, id);
+                idNames.add(nodeId);
+            }
+            return id;
+        }
+
+        // The graphs row is created on the first write, once an NDJSON header had its chance to name it
+        private Long graphId() {
+            if (graphId == null) {
+                Graph graph = new Graph(name != null ? name : DEFAULT_NAME, userRepository.getReferenceById(userId));
+                graphId = graphRepository.save(graph).getId();
+            }
+            return graphId;
+        }
+
+        private void flushNodes() {
+            if (nodeBatch.isEmpty()) return;
+            checkCancelled();
+            graphJdbcRepository.insertNodes(graphId(), nodeBatch);
+            nodes += nodeBatch.size();
+            nodeBatch.clear();
+            reportProgress();
+        }
+
+        private void flushEdges() {
+            if (edgeBatch.isEmpty()) return;
+            checkCancelled();
+            graphJdbcRepository.insertEdges(graphId(), edgeBatch);
+            edges += edgeBatch.size();
+            edgeBatch.clear();
+            reportProgress();
+        }
+
+        private void checkCancelled() {
+            if (Thread.currentThread().isInterrupted() || job.getStatus() == AlgorithmJob.Status.CANCELLED) {
+                throw new CancellationException("İçe aktarma iptal edildi");
+            }
+        }
+
+        private void reportProgress() {
+            long now = System.currentTimeMillis();
+            if (now - lastProgress < PROGRESS_INTERVAL_MS) return;
+            lastProgress = now;
+            double fraction = totalBytes > 0 ? Math.min(0.99, (double) counted.getCount() / totalBytes) : 0;
+            job.progress(fraction, nodes + " düğüm, " + edges + " kenar yazıldı", null);
+            algorithmJobService.publishProgress(job);
+        }
+    }
+
+    // Bytes read from the spooled file, compressed or not, for progress reporting
+    private static final class CountingInputStream extends FilterInputStream {
+        private volatile long count;
+
+        CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        long getCount() { return count; }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) count++;
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = super.read(b, off, len);
+            if (n > 0) count += n;
+            return n;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(n);
+            count += skipped;
+            return skipped;
+        }
+    }
+}
@@ -3,12 +3,26 @@ package com.example.backend.service;
 import com.example.backend.entity.Graph;
 import com.example.backend.entity.Node;
 import com.example.backend.entity.Edge;
-import com.example.backend.entity.User;
+import com.example.backend.repository.GraphJdbcRepository;
 import com.example.backend.repository.GraphRepository;
 import com.example.backend.repository.UserRepository;
+import com.example.backend.repository.GraphCursor;
+import com.example.backend.repository.GraphSummary;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import org.hibernate.Hibernate;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -22,17 +36,37 @@ public class GraphService {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private UserCache userCache;
+
+    @Autowired
+    private GraphJdbcRepository graphJdbcRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    // Listing totals per "user:<id>" and "all"; short-lived so exact counts are not re-scanned on every page
+    private final Cache<String, Long> graphCounts = Caffeine.newBuilder()
+            .expireAfterWrite(Duration.ofSeconds(30))
+            .maximumSize(10_000)
+            .recordStats()
+            .build();
+
+    @PostConstruct
+    void init() {
+        CaffeineCacheMetrics.monitor(meterRegistry, graphCounts, "graph-counts");
+    }
+
     @Transactional
     public Graph saveGraph(String name, List<Map<String, Object>> nodes, List<Map<String, Object>> edges, Long userId) {
-        Optional<User> userOpt = userRepository.findById(userId);
-        if (!userOpt.isPresent()) {
+        if (userCache.find(userId).isEmpty()) {
             throw new RuntimeException("User not found");
         }
 
-        User user = userOpt.get();
-        Graph graph = new Graph(name, user);
+        Graph graph = new Graph(name, userRepository.getReferenceById(userId));
 
         // Save nodes
+        List<Node> nodeRows = new ArrayList<>(nodes.size());
         for (Map<String, Object> nodeData : nodes) {
             Node node = new Node();
             node.setNodeId((String) nodeData.get("id"));
@@ -42,10 +76,11 @@ public class GraphService {
             node.setPositionX((Double) nodeData.get("x"));
             node.setPositionY((Double) nodeData.get("y"));
             node.setGraph(graph);
-            graph.getNodes().add(node);
+            nodeRows.add(node);
         }
 
         // Save edges
+        List<Edge> edgeRows = new ArrayList<>(edges.size());
         for (Map<String, Object> edgeData : edges) {
             Edge edge = new Edge();
             edge.setEdgeId((String) edgeData.get("id"));
@@ -55,10 +90,14 @@ public class GraphService {
             edge.setIsDirected((Boolean) edgeData.getOrDefault("directed", false));
             edge.setShowWeight((Boolean) edgeData.getOrDefault("showWeight", true));
             edge.setGraph(graph);
-            graph.getEdges().add(edge);
+            edgeRows.add(edge);
         }
 
-        return graphRepository.save(graph);
+        // Child rows bypass the entity lifecycle so they can be batched
+        Graph saved = graphRepository.save(graph);
+        graphJdbcRepository.insertContent(saved.getId(), nodeRows, edgeRows, List.of());
+        graphsChanged(userId);
+        return saved;
     }
 
     public List<Graph> getUserGraphs(Long userId) {
@@ -69,6 +108,71 @@ public class GraphService {
         return graphRepository.findById(id);
     }
 
+    /**
+     * One listing page after the cursor (first page when null), newest first.
+     * A null user lists every graph. One extra row is read so the caller can
+     * tell whether another page follows.
+     */
+    @Transactional(readOnly = true)
+    public List<GraphSummary> findSummaryPage(Long userId, GraphCursor after, int limit) {
+        Pageable page = PageRequest.of(0, limit + 1);
+        if (userId == null) {
+            return after == null ? graphRepository.findSummaryPage(page)
+                    : graphRepository.findSummaryPageAfter(after.getUpdatedAt(), after.getId(), page);
+        }
+        return after == null ? graphRepository.findSummaryPageByUserId(userId, page)
+                : graphRepository.findSummaryPageByUserIdAfter(userId, after.getUpdatedAt(), after.getId(), page);
+    }
+
+    /** Number of graphs of the user, or of all users when null; may lag writes by a few seconds. */
+    public long countGraphs(Long userId) {
+        String key = userId == null ? "all" : "user:" + userId;
+        // Not get(key, loader): the loader would run the query inside the map's lock, pinning a virtual thread
+        Long count = graphCounts.getIfPresent(key);
+        if (count == null) {
+            count = userId == null ? graphRepository.count() : graphRepository.countByUserId(userId);
+            graphCounts.put(key, count);
+        }
+        return count;
+    }
+
+    /**
+     * Drops the cached counts once the caller's transaction commits; a count
+     * read before then would re-cache the old number until it expires.
+     */
+    public void graphsChanged(Long userId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidateCounts(userId);
+                }
+            });
+        } else {
+            invalidateCounts(userId);
+        }
+    }
+
+    private void invalidateCounts(Long userId) {
+        graphCounts.invalidate("all");
+        if (userId != null) graphCounts.invalidate("user:" + userId);
+    }
+
+    /**
+     * Graph with nodes, edges and legend loaded, for the full graph body. One
+     * query per collection: fetching the three lists in one join would
+     * multiply their rows.
+     */
+    @Transactional(readOnly = true)
+    public Optional<Graph> getGraphWithContent(Long id) {
+        Optional<Graph> graph = graphRepository.findWithNodesById(id);
+        graph.ifPresent(g -> {
+            Hibernate.initialize(g.getEdges());
+            Hibernate.initialize(g.getLegendEntries());
+        });
+        return graph;
+    }
+
     public void deleteGraph(Long id) {
         graphRepository.deleteById(id);
     }
@@ -0,0 +1,212 @@
+package com.example.backend.service;
+
+import com.example.backend.algorithm.CsrGraph;
+import com.example.backend.algorithm.GraphSnapshot;
+import com.example.backend.repository.GraphJdbcRepository;
+import com.example.backend.repository.GraphRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.lang.management.BufferPoolMXBean;
+import java.lang.management.ManagementFactory;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Algorithm graphs kept as {@link GraphSnapshot} files, one per graph
+ * version. The first run after a change loads the graph through JPA and
+ * writes the file; later runs map it, and concurrent runs on the same
+ * version share one mapped graph.
+ */
+@Service
+public class GraphSnapshotStore {
+
+    @Autowired
+    private GraphRepository graphRepository;
+
+    @Autowired
+    private GraphJdbcRepository graphJdbcRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.algorithms.snapshot-dir:}")
+    private String directory;
+
+    @Value("${app.algorithms.snapshot-open-max:256}")
+    private int openMax;
+
+    private Path root;
+    private TransactionTemplate snapshot;
+
+    // Mapped graphs by "graphId@version"; dropping one only releases the mapping
+    private Cache<String, CsrGraph> open;
+
+    // One loader per key; a lock rather than the cache's own get(key, loader), which would hold a
+    // map monitor across JDBC and file I/O and pin a virtual thread
+    private final Map<String, ReentrantLock> loading = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    void init() throws IOException {
+        root = directory.isBlank()
+                ? Path.of(System.getProperty("java.io.tmpdir"), "algo-net-snapshots")
+                : Path.of(directory);
+        Files.createDirectories(root);
+        // Ids and versions start over with a fresh database, so files from an earlier run are not trusted
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(root, "{graph,tmp}-*")) {
+            for (Path file : files) Files.deleteIfExists(file);
+        }
+        open = Caffeine.newBuilder()
+                .maximumSize(openMax)
+                .expireAfterAccess(Duration.ofMinutes(30))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, open, "graph-snapshots");
+        snapshot = new TransactionTemplate(transactionManager);
+        snapshot.setReadOnly(true);
+        snapshot.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+    }
+
+    /** The graph at its current version, or empty when it does not exist. */
+    public Optional<CsrGraph> load(Long graphId) {
+        while (true) {
+            Optional<Long> version = graphRepository.findVersionById(graphId);
+            if (version.isEmpty()) return Optional.empty();
+            Optional<CsrGraph> graph = load(graphId, version.get());
+            if (graph.isPresent()) return graph;
+            // Updated or deleted since the version was read; the next read tells which
+        }
+    }
+
+    /**
+     * The graph at exactly this version, or empty when the graph has moved on
+     * to another version or does not exist.
+     */
+    public Optional<CsrGraph> load(Long graphId, long version) {
+        String key = graphId + "@" + version;
+        CsrGraph graph = open.getIfPresent(key);
+        if (graph != null) return Optional.of(graph);
+
+        ReentrantLock lock = loading.computeIfAbsent(key, k -> new ReentrantLock());
+        lock.lock();
+        try {
+            graph = open.getIfPresent(key);
+            if (graph == null) {
+                graph = openOrWrite(graphId, version);
+                if (graph != null) open.put(key, graph);
+            }
+            return Optional.ofNullable(graph);
+        } finally {
+            lock.unlock();
+            loading.remove(key, lock);
+        }
+    }
+
+    /** Drops the graph's snapshots, e.g. after deletion. */
+    public void forget(Long graphId) {
+        String prefix = graphId + "@";
+        open.asMap().keySet().removeIf(k -> k.startsWith(prefix));
+        removeFiles(graphId, -1);
+    }
+
+    /** Open graphs and the JVM's direct and mapped buffer pools, which hold graph data off the heap. */
+    public Map<String, Object> stats() {
+        Map<String, Object> res = new HashMap<>();
+        long bytes = 0;
+        for (CsrGraph g : open.asMap().values()) bytes += g.byteSize();
+        res.put("openGraphs", open.estimatedSize());
+        res.put("openBytes", bytes);
+        for (BufferPoolMXBean pool : ManagementFactory.getPlatformMXBeans(BufferPoolMXBean.class)) {
+            res.put(pool.getName() + "Bytes", pool.getMemoryUsed());
+        }
+        res.put("heapUsedBytes", ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed());
+        return res;
+    }
+
+    // Null when the row is gone or no longer at this version
+    private CsrGraph openOrWrite(Long graphId, long version) {
+        Path file = fileFor(graphId, version);
+        if (Files.exists(file)) {
+            try {
+                return GraphSnapshot.open(file);
+            } catch (IOException | IllegalArgumentException e) {
+                deleteQuietly(file);
+            }
+        }
+
+        // The row may have moved on since the version was read; the file is named after what was loaded,
+        // so the caller's next attempt maps it. Rows come straight from JDBC cursors so no entity lists
+        // are held while the graph is built.
+        long[] loaded = {version};
+        CsrGraph graph = snapshot.execute(status -> graphRepository.findById(graphId).map(g -> {
+            loaded[0] = g.getVersion();
+            CsrGraph.Builder b = new CsrGraph.Builder(0, 0);
+            graphJdbcRepository.forEachNode(graphId, b::addNode);
+            graphJdbcRepository.forEachEdge(graphId, b::addEdge);
+            b.setCoordinateScale(CsrGraph.coordinateScale(g));
+            return b.build();
+        }).orElse(null));
+        if (graph == null) return null;
+
+        Path target = fileFor(graphId, loaded[0]);
+        try {
+            Path tmp = Files.createTempFile(root, "tmp-" + graphId + "-", ".csr");
+            try {
+                GraphSnapshot.write(graph, tmp);
+                Files.move(tmp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } finally {
+                Files.deleteIfExists(tmp);
+            }
+            removeFiles(graphId, loaded[0]);
+            graph = GraphSnapshot.open(target);
+        } catch (IOException e) {
+            // A full or read-only disk costs the mapping, not the run
+        }
+        return loaded[0] == version ? graph : null;
+    }
+
+    // Deletes the graph's files other than the given version (-1 for all); open mappings stay readable
+    private void removeFiles(Long graphId, long keepVersion) {
+        String keep = fileFor(graphId, keepVersion).getFileName().toString();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(root, "graph-" + graphId + "-*")) {
+            for (Path file : files) {
+                if (!file.getFileName().toString().equals(keep)) deleteQuietly(file);
+            }
+        } catch (IOException e) {
+            // Leftovers are cleared on the next start
+        }
+    }
+
+    private Path fileFor(Long graphId, long version) {
+        return root.resolve("graph-" + graphId + "-v" + version + ".csr");
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            // Retried on the next write or start
+        }
+    }
+}
@@ -1,24 +1,60 @@
 package com.example.backend.service;
 
 import com.example.backend.config.JwtProperties;
+import com.example.backend.security.AuthPrincipal;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import org.springframework.stereotype.Service;
 
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import javax.crypto.SecretKey;
+import java.time.Duration;
 import java.time.Instant;
 import java.util.Date;
 import java.util.Map;
+import java.util.Optional;
 
 @Service
 public class JwtService {
     private final JwtProperties props;
     private final SecretKey key;
+    // Parsers are immutable and thread-safe, so one serves every request
+    private final JwtParser parser;
+    // Verified tokens by SHA-256 digest, each kept until its own expiry
+    private final Cache<ByteBuffer, AuthPrincipal> verified;
 
-    public JwtService(JwtProperties props) {
+    private static final ThreadLocal<MessageDigest> SHA256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    });
+
+    public JwtService(JwtProperties props, MeterRegistry meterRegistry) {
         this.props = props;
     this.key = Keys.hmacShaKeyFor(props.getSecret().getBytes(StandardCharsets.UTF_8));
+        this.parser = Jwts.parser().verifyWith(key).build();
+        this.verified = Caffeine.newBuilder()
+                .maximumSize(props.getVerifiedCacheSize())
+                .expireAfter(Expiry.creating((ByteBuffer digest, AuthPrincipal p) -> {
+                    Duration left = Duration.between(Instant.now(), p.getExpiresAt());
+                    return left.isNegative() ? Duration.ZERO : left;
+                }))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, verified, "jwt-verified");
     }
 
     public String generateAccessToken(Long userId, String email) {
@@ -49,10 +85,28 @@ public class JwtService {
     }
 
     public Map<String, Object> parseClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(key)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        return parser.parseSignedClaims(token).getPayload();
+    }
+
+    /**
+     * Principal of a valid token, empty when it is malformed, forged, expired
+     * or has no numeric subject. Valid tokens are remembered by digest until
+     * they expire, so repeat requests skip parsing and the HMAC check.
+     */
+    public Optional<AuthPrincipal> verify(String token) {
+        ByteBuffer digest = ByteBuffer.wrap(SHA256.get().digest(token.getBytes(StandardCharsets.US_ASCII)));
+        AuthPrincipal known = verified.getIfPresent(digest);
+        if (known != null) return Optional.of(known);
+        try {
+            Claims claims = parser.parseSignedClaims(token).getPayload();
+            Date exp = claims.getExpiration();
+            if (claims.getSubject() == null || exp == null) return Optional.empty();
+            AuthPrincipal principal = new AuthPrincipal(Long.parseLong(claims.getSubject()),
+                    claims.get("email", String.class), claims.get("typ", String.class), exp.toInstant());
+            verified.put(digest, principal);
+            return Optional.of(principal);
+        } catch (JwtException | IllegalArgumentException e) {
+            return Optional.empty();
+        }
     }
 }
@@ -0,0 +1,184 @@
+package com.example.backend.service;
+
+import com.example.backend.algorithm.CsrGraph;
+import com.example.backend.algorithm.DistanceMatrix;
+import com.example.backend.entity.LegendEntry;
+import com.example.backend.layout.CoverageModel;
+import com.example.backend.layout.CoverageSolution;
+import com.example.backend.layout.CoverageType;
+import com.example.backend.layout.GreedyCoverageSolver;
+import com.example.backend.layout.MipCoverageSolver;
+import com.example.backend.repository.GraphJdbcRepository;
+import com.example.backend.repository.GraphRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Layout planning over a graph's legend: places buildings of the legend
+ * types so that as many remaining nodes as possible are residential, i.e.
+ * within service distance of every type. Replaces the PuLP/CBC scripts of
+ * the Python service; the model is built from the cached distance matrix
+ * and solved in-process.
+ */
+@Service
+public class LayoutPlanningService {
+
+    public static final String RESIDENT_COLOR = "#ffffff";
+
+    @Autowired
+    private GraphRepository graphRepository;
+
+    @Autowired
+    private GraphJdbcRepository graphJdbcRepository;
+
+    @Autowired
+    private DistanceMatrixService distanceMatrixService;
+
+    @Autowired
+    private AlgorithmResultCache resultCache;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${app.algorithms.layout.max-candidates:50000}")
+    private int maxCandidates;
+
+    @Value("${app.algorithms.layout.greedy-budget-ms:50}")
+    private long greedyBudgetMs;
+
+    @Value("${app.algorithms.layout.time-limit-ms:10000}")
+    private long maxTimeLimitMs;
+
+    @Transactional(readOnly = true)
+    public List<CoverageType> loadTypes(Long graphId) {
+        List<CoverageType> types = new ArrayList<>();
+        graphRepository.findById(graphId).ifPresent(graph -> {
+            for (LegendEntry le : graph.getLegendEntries()) types.add(CoverageType.from(le));
+        });
+        return types;
+    }
+
+    public Map<String, Object> plan(Long graphId, CsrGraph g, long version, List<CoverageType> types, String mode,
+                                    Long timeLimitMs, boolean persist, long seed) {
+        return plan(graphId, g, version, types, mode, timeLimitMs, persist, seed, null);
+    }
+
+    /**
+     * Cached by graph content, which includes the legend; graph and legend are
+     * only loaded on a miss. A cache hit is still persisted when asked.
+     */
+    public Map<String, Object> plan(Long graphId, String mode, Long timeLimitMs, boolean persist, long seed,
+                                    Consumer<Map<String, Object>> onGreedyPlan) {
+        parseMode(mode);
+        Map<String, Object> params = new HashMap<>();
+        params.put("mode", mode != null ? mode.trim().toLowerCase() : "exact");
+        params.put("timeLimitMs", timeLimitMs);
+        params.put("seed", seed);
+        Map<String, Object> body = resultCache.get(graphId, "layout-planning", params, (g, version) -> {
+            // loadTypes' @Transactional is bypassed on a self-call, so open the transaction here
+            TransactionTemplate tx = new TransactionTemplate(transactionManager);
+            tx.setReadOnly(true);
+            List<CoverageType> types = tx.execute(status -> loadTypes(graphId));
+            Map<String, Object> res = plan(graphId, g, version, types, mode, timeLimitMs, false, seed, onGreedyPlan);
+            res.remove("persisted");
+            return res;
+        });
+        if (persist) {
+            @SuppressWarnings("unchecked")
+            Map<String, String> colors = (Map<String, String>) body.get("colors");
+            graphJdbcRepository.updateNodeColors(graphId, colors);
+        }
+        body.put("persisted", persist);
+        return body;
+    }
+
+    /**
+     * Mode "fast" returns the greedy plan; "exact" (default) continues with
+     * the MIP solver for up to {@code timeLimitMs} and reports whether the
+     * plan was proven optimal. When given, {@code onGreedyPlan} receives the
+     * greedy plan before the exact solve starts. {@code g} must be the graph
+     * at {@code version}, the version the distance matrix is taken from.
+     */
+    public Map<String, Object> plan(Long graphId, CsrGraph g, long version, List<CoverageType> types, String mode,
+                                    Long timeLimitMs, boolean persist, long seed,
+                                    Consumer<Map<String, Object>> onGreedyPlan) {
+        boolean exact = parseMode(mode);
+        if (types.isEmpty()) {
+            throw new IllegalArgumentException("Yerleşim planı için en az bir lejant girdisi gereklidir");
+        }
+        DistanceMatrix distances = distanceMatrixService.getMatrix(graphId, version)
+                .orElseThrow(AlgorithmResultCache.GraphChangedException::new);
+
+        long started = System.nanoTime();
+        CoverageModel model = CoverageModel.build(g, distances, types, maxCandidates);
+        CoverageSolution greedy = new GreedyCoverageSolver(model, seed).solve(greedyBudgetMs);
+        CoverageSolution best = greedy;
+        if (exact) {
+            if (onGreedyPlan != null) {
+                onGreedyPlan.accept(planBody(g, model, greedy, greedy, started));
+            }
+            long limit = timeLimitMs != null && timeLimitMs > 0 ? Math.min(timeLimitMs, maxTimeLimitMs) : maxTimeLimitMs;
+            best = new MipCoverageSolver(model).solve(greedy, limit);
+        }
+        Map<String, Object> res = planBody(g, model, best, greedy, started);
+        if (persist) {
+            @SuppressWarnings("unchecked")
+            Map<String, String> colors = (Map<String, String>) res.get("colors");
+            graphJdbcRepository.updateNodeColors(graphId, colors);
+        }
+        res.put("persisted", persist);
+        return res;
+    }
+
+    private static Map<String, Object> planBody(CsrGraph g, CoverageModel model, CoverageSolution plan,
+                                                CoverageSolution greedy, long started) {
+        Map<String, String> colors = new LinkedHashMap<>();
+        List<Map<String, Object>> buildings = new ArrayList<>();
+        for (int c : plan.getChosen()) {
+            CoverageType type = model.type(model.candidateType(c));
+            List<String> nodes = new ArrayList<>();
+            for (int i = model.memberStart(c); i < model.memberEnd(c); i++) {
+                String nodeId = g.nodeId(model.member(i));
+                nodes.add(nodeId);
+                colors.put(nodeId, type.getColor());
+            }
+            Map<String, Object> building = new HashMap<>();
+            building.put("type", type.getName());
+            building.put("color", type.getColor());
+            building.put("nodes", nodes);
+            buildings.add(building);
+        }
+        for (int v = 0; v < g.vertexCount(); v++) {
+            if (plan.isResident(v)) colors.put(g.nodeId(v), RESIDENT_COLOR);
+        }
+
+        Map<String, Object> res = new HashMap<>();
+        res.put("method", plan.getMethod());
+        res.put("optimal", plan.isOptimal());
+        res.put("residents", plan.getResidents());
+        res.put("greedyResidents", greedy.getResidents());
+        res.put("buildings", buildings);
+        res.put("colors", colors);
+        res.put("candidates", model.candidateCount());
+        res.put("truncated", model.isTruncated());
+        res.put("elapsedMs", (System.nanoTime() - started) / 1_000_000L);
+        return res;
+    }
+
+    private static boolean parseMode(String mode) {
+        if (mode == null || mode.isBlank() || "exact".equalsIgnoreCase(mode.trim())) return true;
+        if ("fast".equalsIgnoreCase(mode.trim())) return false;
+        throw new IllegalArgumentException("Bilinmeyen yerleşim modu: " + mode);
+    }
+}
@@ -2,6 +2,7 @@ package com.example.backend.service;
 
 import org.springframework.mail.SimpleMailMessage;
 import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 
 @Service
@@ -12,6 +13,8 @@ public class MailService {
         this.mailSender = mailSender;
     }
 
+    /** Sent on the task executor so the request does not wait on the SMTP round trip. */
+    @Async
     public void sendResetCode(String to, String code) {
         SimpleMailMessage msg = new SimpleMailMessage();
         msg.setTo(to);
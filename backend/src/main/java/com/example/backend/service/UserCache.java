@@ -0,0 +1,98 @@
+package com.example.backend.service;
+
+import com.example.backend.entity.User;
+import com.example.backend.repository.UserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Read-through cache of the user fields that authorization checks read on
+ * every request. Entries expire after a short TTL; code that changes a user
+ * also evicts it, so admin and disabled flags apply on the next request.
+ * Unknown ids are not cached.
+ */
+@Service
+public class UserCache {
+
+    public static final class CachedUser {
+        private final Long id;
+        private final String email;
+        private final boolean admin;
+        private final boolean disabled;
+
+        CachedUser(User user) {
+            this.id = user.getId();
+            this.email = user.getEmail();
+            this.admin = user.isAdmin();
+            this.disabled = user.isDisabled();
+        }
+
+        public Long getId() { return id; }
+        public String getEmail() { return email; }
+        public boolean isAdmin() { return admin; }
+        public boolean isDisabled() { return disabled; }
+    }
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.users.cache-ttl-seconds:60}")
+    private long ttlSeconds;
+
+    @Value("${app.users.cache-size:10000}")
+    private long maxSize;
+
+    private Cache<Long, CachedUser> users;
+
+    private static final int EVICTION_STRIPES = 64;
+    // Evict count per id stripe; a load that overlapped an evict leaves its row uncached
+    private final AtomicLongArray evictions = new AtomicLongArray(EVICTION_STRIPES);
+
+    @PostConstruct
+    void init() {
+        users = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, users, "users");
+    }
+
+    public Optional<CachedUser> find(Long userId) {
+        if (userId == null) return Optional.empty();
+        CachedUser user = users.getIfPresent(userId);
+        if (user != null) return Optional.of(user);
+
+        // Not get(key, loader): the loader would run the query inside the map's lock, pinning a virtual thread
+        int stripe = stripe(userId);
+        long generation = evictions.get(stripe);
+        Optional<CachedUser> loaded = userRepository.findById(userId).map(CachedUser::new);
+        // Check and put share the entry's lock, so an evict lands either before the check or after the put
+        loaded.ifPresent(u -> users.asMap().compute(userId,
+                (id, current) -> evictions.get(stripe) == generation ? u : current));
+        return loaded;
+    }
+
+    public void evict(Long userId) {
+        if (userId == null) return;
+        evictions.incrementAndGet(stripe(userId));
+        users.invalidate(userId);
+    }
+
+    private static int stripe(Long userId) {
+        return Long.hashCode(userId) & (EVICTION_STRIPES - 1);
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.backend.service;
+
+/** Thrown when a write based on one graph version finds the graph already at another. */
+public class VersionConflictException extends RuntimeException {
+
+    public VersionConflictException() {
+        super("Graph başka bir istekle değiştirildi, lütfen yeniden yükleyin");
+    }
+}
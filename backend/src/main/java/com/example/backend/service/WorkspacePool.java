@@ -0,0 +1,40 @@
+package com.example.backend.service;
+
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Idle search workspaces shared by request threads. A ThreadLocal would
+ * build a fresh one for every request once requests run on virtual threads,
+ * which live for a single request; pooled workspaces keep the arrays they
+ * grew. The most recently returned one is handed out first, and at most
+ * {@code maxIdle} are kept.
+ */
+final class WorkspacePool<T> {
+
+    private final Supplier<T> factory;
+    private final int maxIdle;
+    private final ConcurrentLinkedDeque<T> idle = new ConcurrentLinkedDeque<>();
+    private final AtomicInteger idleCount = new AtomicInteger();
+
+    WorkspacePool(Supplier<T> factory, int maxIdle) {
+        this.factory = factory;
+        this.maxIdle = maxIdle;
+    }
+
+    T acquire() {
+        T workspace = idle.pollFirst();
+        if (workspace == null) return factory.get();
+        idleCount.decrementAndGet();
+        return workspace;
+    }
+
+    void release(T workspace) {
+        if (idleCount.incrementAndGet() <= maxIdle) {
+            idle.offerFirst(workspace);
+        } else {
+            idleCount.decrementAndGet();
+        }
+    }
+}
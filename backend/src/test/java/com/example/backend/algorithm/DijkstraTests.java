@@ -0,0 +1,117 @@
+package com.example.backend.algorithm;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DijkstraTests {
+
+	@Test
+	void matchesBellmanFordOnRandomMixedGraphs() {
+		Random rnd = new Random(42);
+		Dijkstra dijkstra = new Dijkstra(0);
+		for (int round = 0; round < 20; round++) {
+			int n = 5 + rnd.nextInt(60);
+			CsrGraph.Builder b = new CsrGraph.Builder(n, n * 3);
+			for (int v = 0; v < n; v++) b.addVertex("n" + v, Double.NaN, Double.NaN);
+			int[][] edges = new int[n * 3][];
+			double[] weights = new double[edges.length];
+			boolean[] directed = new boolean[edges.length];
+			for (int i = 0; i < edges.length; i++) {
+				edges[i] = new int[]{rnd.nextInt(n), rnd.nextInt(n)};
+				weights[i] = rnd.nextInt(20);
+				directed[i] = rnd.nextBoolean();
+				b.addEdge("n" + edges[i][0], "n" + edges[i][1], weights[i], directed[i]);
+			}
+			CsrGraph g = b.build();
+
+			int source = rnd.nextInt(n);
+			double[] expected = bellmanFord(n, edges, weights, directed, source);
+			ShortestPathTree tree = dijkstra.tree(g, source);
+			for (int t = 0; t < n; t++) {
+				assertEquals(expected[t], tree.distanceTo(t), 1e-9);
+				PathResult early = dijkstra.shortestPath(g, source, t);
+				assertEquals(expected[t], early.getDistance(), 1e-9);
+				assertEquals(tree.reaches(t), early.isReachable());
+			}
+		}
+	}
+
+	@Test
+	void astarAndBidirectionalAgreeWithDijkstraOnGeometricGraphs() {
+		Random rnd = new Random(7);
+		int n = 300;
+		CsrGraph.Builder b = new CsrGraph.Builder(n, n * 4);
+		double[] x = new double[n], y = new double[n];
+		for (int v = 0; v < n; v++) {
+			x[v] = rnd.nextDouble() * 1000;
+			y[v] = rnd.nextDouble() * 1000;
+			b.addVertex("n" + v, x[v], y[v]);
+		}
+		for (int i = 0; i < n * 4; i++) {
+			int u = rnd.nextInt(n), v = rnd.nextInt(n);
+			double len = Math.hypot(x[u] - x[v], y[u] - y[v]);
+			b.addEdge("n" + u, "n" + v, len * (1 + rnd.nextDouble()), rnd.nextInt(4) == 0);
+		}
+		CsrGraph g = b.build();
+		assertTrue(g.geometricScale() >= 1.0);
+
+		Dijkstra dijkstra = new Dijkstra(n);
+		AStar astar = new AStar(n);
+		BidirectionalDijkstra bidirectional = new BidirectionalDijkstra(n);
+		for (int q = 0; q < 50; q++) {
+			int s = rnd.nextInt(n), t = rnd.nextInt(n);
+			PathResult expected = dijkstra.shortestPath(g, s, t);
+			PathResult viaAStar = astar.shortestPath(g, s, t, 1.0);
+			PathResult viaBidirectional = bidirectional.shortestPath(g, s, t);
+			assertEquals(expected.getDistance(), viaAStar.getDistance(), 1e-6);
+			assertEquals(expected.getDistance(), viaBidirectional.getDistance(), 1e-6);
+			assertEquals(expected.getDistance(), pathLength(g, viaBidirectional.getPath()), 1e-6);
+		}
+	}
+
+	@Test
+	void directedEdgesAreNotTraversedBackwards() {
+		CsrGraph.Builder b = new CsrGraph.Builder(3, 2);
+		b.addEdge("a", "b", 1.0, true);
+		b.addEdge("b", "c", 1.0, false);
+		CsrGraph g = b.build();
+		Dijkstra dijkstra = new Dijkstra(g.vertexCount());
+
+		assertArrayEquals(new int[]{0, 1, 2}, dijkstra.shortestPath(g, 0, 2).getPath());
+		assertFalse(dijkstra.shortestPath(g, 2, 0).isReachable());
+	}
+
+	private static double pathLength(CsrGraph g, int[] path) {
+		if (path.length == 0) return Double.POSITIVE_INFINITY;
+		double total = 0;
+		for (int i = 0; i + 1 < path.length; i++) {
+			double best = Double.POSITIVE_INFINITY;
+			for (int a = g.arcStart(path[i]); a < g.arcEnd(path[i]); a++) {
+				if (g.target(a) == path[i + 1]) best = Math.min(best, g.weight(a));
+			}
+			total += best;
+		}
+		return total;
+	}
+
+	private static double[] bellmanFord(int n, int[][] edges, double[] w, boolean[] directed, int source) {
+		double[] d = new double[n];
+		Arrays.fill(d, Double.POSITIVE_INFINITY);
+		d[source] = 0;
+		for (int round = 0; round < n; round++) {
+			for (int i = 0; i < edges.length; i++) {
+				int u = edges[i][0], v = edges[i][1];
+				if (d[u] + w[i] < d[v]) d[v] = d[u] + w[i];
+				if (!directed[i] && d[v] + w[i] < d[u]) d[u] = d[v] + w[i];
+			}
+		}
+		return d;
+	}
+}
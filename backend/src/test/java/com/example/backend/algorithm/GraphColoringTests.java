@@ -0,0 +1,83 @@
+package com.example.backend.algorithm;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GraphColoringTests {
+
+	@Test
+	void everyStrategyProducesAProperColoring() {
+		Random rnd = new Random(3);
+		int n = 2000;
+		CsrGraph.Builder b = new CsrGraph.Builder(n, n * 8);
+		for (int v = 0; v < n; v++) b.addVertex("n" + v, Double.NaN, Double.NaN);
+		for (int i = 0; i < n * 8; i++) {
+			b.addEdge("n" + rnd.nextInt(n), "n" + rnd.nextInt(n), 1.0, rnd.nextInt(5) == 0);
+		}
+		CsrGraph g = b.build();
+		CsrGraph sym = g.symmetric();
+
+		for (GraphColoring.Strategy strategy : GraphColoring.Strategy.values()) {
+			int[] colors = GraphColoring.color(g, strategy, ForkJoinPool.commonPool(), 11L);
+			for (int v = 0; v < n; v++) {
+				assertTrue(colors[v] >= 0, strategy + " left a vertex uncolored");
+				for (int a = sym.arcStart(v); a < sym.arcEnd(v); a++) {
+					int u = sym.target(a);
+					if (u != v) assertNotEquals(colors[v], colors[u], strategy + " gave neighbours one color");
+				}
+			}
+		}
+	}
+
+	@Test
+	void symmetricGraphListsEachNeighbourOnce() {
+		CsrGraph.Builder b = new CsrGraph.Builder(3, 4);
+		b.addEdge("a", "b", 2.0, false);
+		b.addEdge("b", "c", 1.0, true);
+		b.addEdge("a", "b", 1.5, true);
+		b.addEdge("c", "b", 3.0, true);
+		CsrGraph sym = b.build().symmetric();
+		int a = sym.indexOf("a"), bv = sym.indexOf("b"), c = sym.indexOf("c");
+		assertEquals(1, sym.degree(a));
+		assertEquals(2, sym.degree(bv));
+		assertEquals(1, sym.degree(c));
+		assertEquals(1.5, sym.weight(sym.arcStart(a)));
+		assertEquals(4, sym.arcCount());
+	}
+
+	@Test
+	void dsaturColorsBipartiteGraphsWithTwoColors() {
+		CsrGraph.Builder b = new CsrGraph.Builder(8, 16);
+		for (int i = 0; i < 4; i++) {
+			for (int j = 0; j < 4; j++) b.addEdge("l" + i, "r" + j, 1.0, false);
+		}
+		int[] colors = GraphColoring.color(b.build(), GraphColoring.Strategy.DSATUR, ForkJoinPool.commonPool(), 0L);
+		assertEquals(1, Arrays.stream(colors).max().getAsInt());
+	}
+
+	@Test
+	void jonesPlassmannIsDeterministicForAFixedSeed() {
+		Random rnd = new Random(5);
+		CsrGraph.Builder b = new CsrGraph.Builder(500, 3000);
+		for (int i = 0; i < 3000; i++) b.addEdge("n" + rnd.nextInt(500), "n" + rnd.nextInt(500), 1.0, false);
+		CsrGraph g = b.build();
+		ForkJoinPool four = new ForkJoinPool(4);
+		ForkJoinPool two = new ForkJoinPool(2);
+		try {
+			int[] first = GraphColoring.color(g, GraphColoring.Strategy.JONES_PLASSMANN, four, 9L);
+			int[] second = GraphColoring.color(g, GraphColoring.Strategy.JONES_PLASSMANN, two, 9L);
+			assertArrayEquals(first, second);
+		} finally {
+			four.shutdownNow();
+			two.shutdownNow();
+		}
+	}
+}
@@ -0,0 +1,44 @@
+package com.example.backend.algorithm;
+
+import com.example.backend.entity.Edge;
+import com.example.backend.entity.Graph;
+import com.example.backend.entity.Node;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+class GraphFingerprintTests {
+
+	@Test
+	void ignoresRowOrderIdsAndUndirectedEndpointOrder() {
+		Graph a = new Graph("a", null);
+		a.getNodes().add(new Node("x", "X", a));
+		a.getNodes().add(new Node("y", "Y", a));
+		a.getEdges().add(new Edge("e1", "x", "y", a));
+
+		Graph b = new Graph("other name", null);
+		b.getNodes().add(new Node("y", "label", b));
+		b.getNodes().add(new Node("x", "label", b));
+		b.getEdges().add(new Edge("e9", "y", "x", b));
+
+		assertEquals(GraphFingerprint.of(a), GraphFingerprint.of(b));
+	}
+
+	@Test
+	void changesWithDirectionAndWeight() {
+		Graph a = new Graph("a", null);
+		a.getNodes().add(new Node("x", "X", a));
+		a.getNodes().add(new Node("y", "Y", a));
+		Edge e = new Edge("e1", "y", "x", a);
+		a.getEdges().add(e);
+		String undirected = GraphFingerprint.of(a);
+
+		e.setIsDirected(true);
+		String directed = GraphFingerprint.of(a);
+		assertNotEquals(undirected, directed);
+
+		e.setWeight(2.0);
+		assertNotEquals(directed, GraphFingerprint.of(a));
+	}
+}
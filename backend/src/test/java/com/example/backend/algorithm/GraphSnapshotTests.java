@@ -0,0 +1,86 @@
+package com.example.backend.algorithm;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GraphSnapshotTests {
+
+	@TempDir
+	Path dir;
+
+	@Test
+	void mappedGraphReadsLikeTheBuiltOne() throws IOException {
+		Random rnd = new Random(7);
+		int n = 300;
+		CsrGraph.Builder b = new CsrGraph.Builder(n, n * 4);
+		for (int v = 0; v < n; v++) {
+			b.addVertex("düğüm-" + v, v % 3 == 0 ? "Etiket " + v : null, rnd.nextDouble() * 100, rnd.nextDouble() * 100);
+		}
+		for (int i = 0; i < n * 4; i++) {
+			b.addEdge("düğüm-" + rnd.nextInt(n), "düğüm-" + rnd.nextInt(n), 1 + rnd.nextInt(9), rnd.nextBoolean());
+		}
+		b.setCoordinateScale(2.5);
+		CsrGraph built = b.build();
+		assertTrue(built.data().isDirect());
+
+		Path file = dir.resolve("g.csr");
+		GraphSnapshot.write(built, file);
+		assertEquals(built.byteSize(), Files.size(file));
+		CsrGraph mapped = GraphSnapshot.open(file);
+
+		assertEquals(built.vertexCount(), mapped.vertexCount());
+		assertEquals(built.arcCount(), mapped.arcCount());
+		assertEquals(built.hasDirectedArcs(), mapped.hasDirectedArcs());
+		assertEquals(built.minWeight(), mapped.minWeight());
+		assertEquals(2.5, mapped.coordinateScale());
+		for (int v = 0; v < n; v++) {
+			assertEquals(built.nodeId(v), mapped.nodeId(v));
+			assertEquals(built.label(v), mapped.label(v));
+			assertEquals(v, mapped.indexOf(built.nodeId(v)));
+			assertEquals(built.positionX(v), mapped.positionX(v));
+			assertEquals(built.arcStart(v), mapped.arcStart(v));
+			for (int a = mapped.arcStart(v); a < mapped.arcEnd(v); a++) {
+				assertEquals(built.target(a), mapped.target(a));
+				assertEquals(built.weight(a), mapped.weight(a));
+			}
+		}
+		assertEquals(-1, mapped.indexOf("düğüm-" + n));
+		assertEquals(built.reversed().arcCount(), mapped.reversed().arcCount());
+		assertEquals(mapped.nodeId(5), mapped.symmetric().nodeId(5));
+		assertFalse(built.reversed().data().isDirect());
+		assertFalse(mapped.symmetric().data().isDirect());
+
+		Dijkstra dijkstra = new Dijkstra(0);
+		assertEquals(dijkstra.shortestPath(built, 0, n - 1).getDistance(), dijkstra.shortestPath(mapped, 0, n - 1).getDistance());
+	}
+
+	@Test
+	void graphWithoutLabelsHasNullLabels() throws IOException {
+		CsrGraph.Builder b = new CsrGraph.Builder(2, 1);
+		b.addEdge("a", "b", 1.0, false);
+		Path file = dir.resolve("small.csr");
+		GraphSnapshot.write(b.build(), file);
+		CsrGraph g = GraphSnapshot.open(file);
+		assertNull(g.label(0));
+		assertEquals(1, g.indexOf("b"));
+		assertFalse(g.hasPositions());
+	}
+
+	@Test
+	void rejectsForeignFiles() throws IOException {
+		Path file = dir.resolve("junk.csr");
+		Files.write(file, new byte[64]);
+		assertThrows(IllegalArgumentException.class, () -> GraphSnapshot.open(file));
+	}
+}
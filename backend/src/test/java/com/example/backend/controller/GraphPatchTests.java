@@ -0,0 +1,164 @@
+package com.example.backend.controller;
+
+import com.example.backend.controller.GraphController.EdgeDTO;
+import com.example.backend.controller.GraphController.NodeDTO;
+import com.example.backend.controller.GraphController.PatchGraphRequest;
+import com.example.backend.controller.GraphController.SaveGraphRequest;
+import com.example.backend.entity.User;
+import com.example.backend.repository.UserRepository;
+import com.example.backend.security.AuthPrincipal;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class GraphPatchTests {
+
+	private static final String BEARER = "Bearer test";
+
+	@Autowired
+	private GraphController graphController;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	private AuthPrincipal principal;
+	private Long graphId;
+
+	@BeforeEach
+	void saveTriangle() {
+		User user = userRepository.save(new User(UUID.randomUUID() + "@test", "x", "Test", "User"));
+		principal = new AuthPrincipal(user.getId(), user.getEmail(), "access", Instant.now().plusSeconds(600));
+		SaveGraphRequest request = new SaveGraphRequest();
+		request.setName("triangle");
+		request.setNodes(List.of(node("a", 0.0), node("b", 10.0), node("c", 20.0)));
+		request.setEdges(List.of(edge("ab", "a", "b"), edge("bc", "b", "c"), edge("ca", "c", "a")));
+		graphId = (Long) body(graphController.saveGraph(BEARER, principal, null, null, request)).get("graphId");
+	}
+
+	private static NodeDTO node(String id, Double x) {
+		NodeDTO n = new NodeDTO();
+		n.setNodeId(id);
+		n.setLabel(id.toUpperCase());
+		n.setPositionX(x);
+		n.setPositionY(x);
+		return n;
+	}
+
+	private static EdgeDTO edge(String id, String from, String to) {
+		EdgeDTO e = new EdgeDTO();
+		e.setEdgeId(id);
+		e.setFromNode(from);
+		e.setToNode(to);
+		e.setWeight(1.0);
+		return e;
+	}
+
+	@SuppressWarnings("unchecked")
+	private static Map<String, Object> body(ResponseEntity<?> response) {
+		return (Map<String, Object>) response.getBody();
+	}
+
+	private long version() {
+		return jdbcTemplate.queryForObject("SELECT version FROM graphs WHERE id = ?", Long.class, graphId);
+	}
+
+	private List<String> ids(String table, String column) {
+		return jdbcTemplate.queryForList("SELECT " + column + " FROM " + table + " WHERE graph_id = ? ORDER BY " + column,
+				String.class, graphId);
+	}
+
+	@Test
+	void upsertUpdatesGivenFieldsAndInsertsNewNodes() {
+		PatchGraphRequest patch = new PatchGraphRequest();
+		NodeDTO moved = new NodeDTO();
+		moved.setNodeId("a");
+		moved.setPositionX(99.0);
+		patch.setNodes(List.of(moved, node("d", 30.0)));
+		patch.setEdges(List.of(edge("cd", "c", "d")));
+
+		Map<String, Object> res = body(graphController.patchGraph(BEARER, principal, graphId, patch));
+		assertEquals(1, res.get("nodesAdded"));
+		assertEquals(1, res.get("nodesUpdated"));
+		assertEquals(1, res.get("edgesAdded"));
+		assertEquals(List.of("a", "b", "c", "d"), ids("nodes", "node_id"));
+		assertEquals(List.of("ab", "bc", "ca", "cd"), ids("edges", "edge_id"));
+		Map<String, Object> a = jdbcTemplate.queryForMap(
+				"SELECT label, position_x, position_y FROM nodes WHERE graph_id = ? AND node_id = 'a'", graphId);
+		// Fields left null in the patch keep their stored values
+		assertEquals("A", a.get("label"));
+		assertEquals(99.0, ((Number) a.get("position_x")).doubleValue());
+		assertEquals(0.0, ((Number) a.get("position_y")).doubleValue());
+	}
+
+	@Test
+	void removingANodeRemovesItsEdges() {
+		PatchGraphRequest patch = new PatchGraphRequest();
+		patch.setRemovedNodes(List.of("b"));
+
+		body(graphController.patchGraph(BEARER, principal, graphId, patch));
+		assertEquals(List.of("a", "c"), ids("nodes", "node_id"));
+		assertEquals(List.of("ca"), ids("edges", "edge_id"));
+	}
+
+	@Test
+	void everyWriteMovesToTheNextVersion() {
+		long start = version();
+		PatchGraphRequest patch = new PatchGraphRequest();
+		patch.setBaseVersion(start);
+		patch.setName("renamed");
+		assertEquals(start + 1, body(graphController.patchGraph(BEARER, principal, graphId, patch)).get("version"));
+
+		SaveGraphRequest put = new SaveGraphRequest();
+		put.setName("replaced");
+		put.setNodes(List.of(node("x", 1.0)));
+		put.setEdges(List.of());
+		assertEquals(start + 2, body(graphController.updateGraph(BEARER, principal, graphId, put)).get("version"));
+		assertEquals(start + 2, version());
+		assertEquals(List.of("x"), ids("nodes", "node_id"));
+	}
+
+	@Test
+	void staleBaseVersionIsRejectedWithoutChanges() {
+		long start = version();
+		PatchGraphRequest first = new PatchGraphRequest();
+		first.setBaseVersion(start);
+		first.setRemovedEdges(List.of("ab"));
+		body(graphController.patchGraph(BEARER, principal, graphId, first));
+
+		PatchGraphRequest stale = new PatchGraphRequest();
+		stale.setBaseVersion(start);
+		stale.setRemovedNodes(List.of("a"));
+		ResponseEntity<?> patched = graphController.patchGraph(BEARER, principal, graphId, stale);
+		assertEquals(HttpStatus.CONFLICT, patched.getStatusCode());
+		assertEquals("VERSION_CONFLICT", body(patched).get("code"));
+
+		SaveGraphRequest put = new SaveGraphRequest();
+		put.setName("replaced");
+		put.setBaseVersion(start);
+		put.setNodes(List.of());
+		put.setEdges(List.of());
+		ResponseEntity<?> updated = graphController.updateGraph(BEARER, principal, graphId, put);
+		assertEquals(HttpStatus.CONFLICT, updated.getStatusCode());
+
+		assertEquals(start + 1, version());
+		assertEquals(List.of("a", "b", "c"), ids("nodes", "node_id"));
+		assertEquals(List.of("bc", "ca"), ids("edges", "edge_id"));
+	}
+}
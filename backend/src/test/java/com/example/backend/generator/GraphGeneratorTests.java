@@ -0,0 +1,148 @@
+package com.example.backend.generator;
+
+import com.example.backend.entity.Edge;
+import com.example.backend.entity.LegendEntry;
+import com.example.backend.entity.Node;
+import com.example.backend.importer.GraphSink;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GraphGeneratorTests {
+
+	private static final class Collector implements GraphSink {
+		final List<Node> nodes = new ArrayList<>();
+		final List<Edge> edges = new ArrayList<>();
+		final List<LegendEntry> legend = new ArrayList<>();
+
+		@Override public void graph(String name) {}
+		@Override public void legend(LegendEntry entry) { legend.add(entry); }
+		@Override public void node(Node node) { assertTrue(edges.isEmpty()); nodes.add(node); }
+		@Override public void edge(Edge edge) { edges.add(edge); }
+	}
+
+	private static Collector generate(GraphGenerator g) {
+		Collector sink = new Collector();
+		g.generate(sink);
+		return sink;
+	}
+
+	private static String key(Edge e) {
+		return e.getFromNode() + ">" + e.getToNode() + ":" + e.getWeight();
+	}
+
+	// Simple graphs: endpoints declared, no loops and no pair twice
+	private static void assertSimple(Collector sink) {
+		Set<String> ids = new HashSet<>();
+		for (Node n : sink.nodes) ids.add(n.getNodeId());
+		Set<String> pairs = new HashSet<>();
+		for (Edge e : sink.edges) {
+			assertTrue(ids.contains(e.getFromNode()) && ids.contains(e.getToNode()));
+			assertNotEquals(e.getFromNode(), e.getToNode());
+			String a = e.getFromNode(), b = e.getToNode();
+			assertTrue(pairs.add(a.compareTo(b) < 0 ? a + "-" + b : b + "-" + a));
+		}
+	}
+
+	@Test
+	void sameSeedGivesSameGraph() {
+		for (GraphModel model : GraphModel.values()) {
+			GraphGenerator a = new GraphGenerator(model, 500, 2000, 42);
+			GraphGenerator b = new GraphGenerator(model, 500, 2000, 42);
+			a.setMaxWeight(9);
+			b.setMaxWeight(9);
+			List<String> first = generate(a).edges.stream().map(GraphGeneratorTests::key).toList();
+			List<String> second = generate(b).edges.stream().map(GraphGeneratorTests::key).toList();
+			assertEquals(first, second, model.name());
+			if (model != GraphModel.GRID) {
+				List<String> other = generate(new GraphGenerator(model, 500, 2000, 43)).edges.stream().map(GraphGeneratorTests::key).toList();
+				assertNotEquals(first, other, model.name());
+			}
+		}
+	}
+
+	@Test
+	void randomModelsHitTheRequestedEdgeCountOnAverage() {
+		for (GraphModel model : new GraphModel[] {GraphModel.ERDOS_RENYI, GraphModel.GEOMETRIC, GraphModel.PLANTED_PARTITION}) {
+			Collector sink = generate(new GraphGenerator(model, 5000, 50000, 1));
+			assertEquals(5000, sink.nodes.size());
+			assertEquals(50000, sink.edges.size(), 50000 * 0.05, model.name());
+			assertSimple(sink);
+		}
+	}
+
+	@Test
+	void gridAndBarabasiAlbertHaveExactCounts() {
+		GraphGenerator grid = new GraphGenerator(GraphModel.GRID, 10, 0, 1);
+		Collector g = generate(grid);
+		// 4 columns: rows of 4, 4 and 2 nodes
+		assertEquals(3 + 3 + 1 + 4 + 2, g.edges.size());
+		assertEquals(grid.expectedEdges(), g.edges.size());
+		assertEquals(GraphGenerator.SPACING, g.nodes.get(5).getPositionX());
+		assertEquals(GraphGenerator.SPACING, g.nodes.get(5).getPositionY());
+		assertSimple(g);
+
+		GraphGenerator ba = new GraphGenerator(GraphModel.BARABASI_ALBERT, 1000, 3000, 1);
+		ba.setDirected(true);
+		Collector b = generate(ba);
+		assertEquals(3 * 997, b.edges.size());
+		assertEquals(ba.expectedEdges(), b.edges.size());
+		assertSimple(b);
+		for (Edge e : b.edges) {
+			assertTrue(e.getIsDirected());
+			// New nodes point at older ones
+			assertTrue(Integer.parseInt(e.getFromNode().substring(1)) > Integer.parseInt(e.getToNode().substring(1)));
+		}
+	}
+
+	@Test
+	void geometricEdgesWeighAtLeastTheirLength() {
+		Collector sink = generate(new GraphGenerator(GraphModel.GEOMETRIC, 2000, 10000, 5));
+		for (Edge e : sink.edges) {
+			Node u = sink.nodes.get(Integer.parseInt(e.getFromNode().substring(1)));
+			Node v = sink.nodes.get(Integer.parseInt(e.getToNode().substring(1)));
+			double d = Math.hypot(u.getPositionX() - v.getPositionX(), u.getPositionY() - v.getPositionY());
+			assertTrue(e.getWeight() >= d);
+		}
+	}
+
+	@Test
+	void plantedPartitionKeepsMostEdgesInsideCommunities() {
+		GraphGenerator g = new GraphGenerator(GraphModel.PLANTED_PARTITION, 4000, 40000, 3);
+		g.setCommunities(8);
+		g.setMixing(0.2);
+		g.setLegend(true);
+		Collector sink = generate(g);
+		assertEquals(8, sink.legend.size());
+		assertNotNull(sink.legend.get(0).getColor());
+		long between = sink.edges.stream().filter(e -> {
+			int u = Integer.parseInt(e.getFromNode().substring(1));
+			int v = Integer.parseInt(e.getToNode().substring(1));
+			return u / 500 != v / 500;
+		}).count();
+		assertEquals(0.2, (double) between / sink.edges.size(), 0.02);
+		assertEquals(sink.legend.get(7).getColor(), sink.nodes.get(3999).getColor());
+	}
+
+	@Test
+	void rejectsImpossibleSettings() {
+		assertThrows(IllegalArgumentException.class, () -> new GraphGenerator(GraphModel.GRID, 0, 0, 1));
+		assertThrows(IllegalArgumentException.class, () -> new GraphGenerator(GraphModel.ERDOS_RENYI, 10, 46, 1).check());
+		assertThrows(IllegalArgumentException.class, () -> new GraphGenerator(GraphModel.BARABASI_ALBERT, 10, 100, 1).check());
+		GraphGenerator pp = new GraphGenerator(GraphModel.PLANTED_PARTITION, 5, 4, 1);
+		pp.setCommunities(6);
+		assertThrows(IllegalArgumentException.class, pp::check);
+		assertThrows(IllegalArgumentException.class, () -> pp.setMixing(1.5));
+		assertEquals(45, generate(new GraphGenerator(GraphModel.ERDOS_RENYI, 10, 45, 1)).edges.size());
+		assertEquals(GraphModel.BARABASI_ALBERT, GraphModel.parse("Barabasi-Albert"));
+	}
+}
@@ -0,0 +1,101 @@
+package com.example.backend.importer;
+
+import com.example.backend.entity.Edge;
+import com.example.backend.entity.LegendEntry;
+import com.example.backend.entity.Node;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GraphFileReaderTests {
+
+	private static final class Collector implements GraphSink {
+		String name;
+		final List<Node> nodes = new ArrayList<>();
+		final List<Edge> edges = new ArrayList<>();
+		final List<LegendEntry> legend = new ArrayList<>();
+
+		@Override public void graph(String name) { this.name = name; }
+		@Override public void legend(LegendEntry entry) { legend.add(entry); }
+		@Override public void node(Node node) { nodes.add(node); }
+		@Override public void edge(Edge edge) { edges.add(edge); }
+	}
+
+	private static long read(GraphFileReader reader, String text, Collector sink) throws IOException {
+		return reader.read(new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8)), sink);
+	}
+
+	@Test
+	void edgeListSkipsHeaderCommentsAndBadWeights() throws IOException {
+		Collector sink = new Collector();
+		long skipped = read(new EdgeListReader(true), "source,target,weight\n# comment\na,b,2.5\n\"c\";d\nx\ne f oops\n", sink);
+		assertEquals(2, skipped);
+		assertEquals(2, sink.edges.size());
+		assertEquals("a", sink.edges.get(0).getFromNode());
+		assertEquals(2.5, sink.edges.get(0).getWeight());
+		assertEquals("c", sink.edges.get(1).getFromNode());
+		assertEquals(1.0, sink.edges.get(1).getWeight());
+		assertTrue(sink.edges.get(1).getIsDirected());
+	}
+
+	@Test
+	void graphMlMapsKeysByAttributeName() throws IOException {
+		String xml = "<?xml version=\"1.0\"?><graphml xmlns=\"http://graphml.graphdrawing.org/xmlns\">"
+				+ "<key id=\"d0\" for=\"node\" attr.name=\"label\" attr.type=\"string\"/>"
+				+ "<key id=\"d1\" for=\"node\" attr.name=\"x\" attr.type=\"double\"/>"
+				+ "<key id=\"d2\" for=\"edge\" attr.name=\"weight\" attr.type=\"double\"/>"
+				+ "<graph id=\"G\" edgedefault=\"directed\">"
+				+ "<node id=\"n0\"><data key=\"d0\">Start</data><data key=\"d1\">12.5</data></node>"
+				+ "<node id=\"n1\"/>"
+				+ "<edge source=\"n0\" target=\"n1\"><data key=\"d2\">3</data></edge>"
+				+ "<edge source=\"n1\" target=\"n2\" directed=\"false\"/>"
+				+ "</graph></graphml>";
+		Collector sink = new Collector();
+		assertEquals(0, read(new GraphMlReader(false), xml, sink));
+		assertEquals(2, sink.nodes.size());
+		assertEquals("Start", sink.nodes.get(0).getLabel());
+		assertEquals(12.5, sink.nodes.get(0).getPositionX());
+		assertEquals("n1", sink.nodes.get(1).getLabel());
+		assertEquals(3.0, sink.edges.get(0).getWeight());
+		assertTrue(sink.edges.get(0).getIsDirected());
+		assertEquals(false, sink.edges.get(1).getIsDirected());
+	}
+
+	@Test
+	void ndjsonReadsExportRecordsAndShortNames() throws IOException {
+		String lines = "{\"type\":\"graph\",\"name\":\"City\"}\n"
+				+ "{\"type\":\"legend\",\"name\":\"School\",\"color\":\"#f00\",\"capacity\":1,\"distance\":2,\"unitDistance\":1,\"size\":1}\n"
+				+ "{\"type\":\"node\",\"nodeId\":\"a\",\"label\":\"A\",\"positionX\":1,\"positionY\":2}\n"
+				+ "{\"id\":\"b\",\"x\":3}\n"
+				+ "{\"source\":\"a\",\"target\":\"b\",\"weight\":4,\"directed\":true}\n"
+				+ "{\"type\":\"edge\",\"edgeId\":\"e9\",\"fromNode\":\"b\"}\n";
+		Collector sink = new Collector();
+		assertEquals(1, read(new NdjsonGraphReader(new ObjectMapper()), lines, sink));
+		assertEquals("City", sink.name);
+		assertEquals(1, sink.legend.size());
+		assertEquals(2, sink.nodes.size());
+		assertEquals(3.0, sink.nodes.get(1).getPositionX());
+		assertEquals("b", sink.nodes.get(1).getLabel());
+		assertEquals(1, sink.edges.size());
+		assertNull(sink.edges.get(0).getEdgeId());
+		assertEquals(4.0, sink.edges.get(0).getWeight());
+		assertTrue(sink.edges.get(0).getIsDirected());
+	}
+
+	@Test
+	void detectsFormatFromNameOrExtension() {
+		assertEquals(GraphFormat.GRAPHML, GraphFormat.detect(null, "roads.graphml.gz"));
+		assertEquals(GraphFormat.EDGELIST, GraphFormat.detect(null, "web-Google.txt"));
+		assertEquals(GraphFormat.NDJSON, GraphFormat.detect("jsonl", "whatever.bin"));
+		assertNull(GraphFormat.detect(null, "graph.bin"));
+	}
+}
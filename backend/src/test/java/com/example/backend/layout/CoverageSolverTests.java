@@ -0,0 +1,70 @@
+package com.example.backend.layout;
+
+import com.example.backend.algorithm.AllPairsShortestPaths;
+import com.example.backend.algorithm.CsrGraph;
+import com.example.backend.algorithm.DistanceMatrix;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CoverageSolverTests {
+
+	private static CsrGraph grid(int w) {
+		CsrGraph.Builder b = new CsrGraph.Builder(w * w, 2 * w * w);
+		for (int i = 0; i < w; i++) {
+			for (int j = 0; j < w; j++) {
+				if (i + 1 < w) b.addEdge("n" + (i * w + j), "n" + ((i + 1) * w + j), 1.0, false);
+				if (j + 1 < w) b.addEdge("n" + (i * w + j), "n" + (i * w + j + 1), 1.0, false);
+			}
+		}
+		return b.build();
+	}
+
+	private static CoverageModel model(CsrGraph g, List<CoverageType> types) {
+		DistanceMatrix d = AllPairsShortestPaths.floydWarshall(g, ForkJoinPool.commonPool());
+		return CoverageModel.build(g, d, types, 100_000);
+	}
+
+	@Test
+	void enumeratesEachConnectedPlacementOnceWithinDiameter() {
+		CsrGraph g = grid(3);
+		// 6 straight and 16 L-shaped triominoes; a grid has no triangles
+		assertEquals(22, model(g, List.of(new CoverageType("a", "#000000", 1, 2, 3))).candidateCount());
+		assertEquals(0, model(g, List.of(new CoverageType("a", "#000000", 1, 1, 3))).candidateCount());
+	}
+
+	@Test
+	void exactSolverMatchesExhaustiveSearch() {
+		CsrGraph g = grid(3);
+		CoverageModel m = model(g, List.of(
+				new CoverageType("okul", "#b319d2", 1, 0, 1),
+				new CoverageType("hastane", "#d21919", 2, 0, 1)));
+
+		int candidates = m.candidateCount();
+		int best = 0;
+		for (int mask = 0; mask < 1 << candidates; mask++) {
+			int[] chosen = new int[Integer.bitCount(mask)];
+			for (int c = 0, k = 0; c < candidates; c++) {
+				if ((mask & (1 << c)) != 0) chosen[k++] = c;
+			}
+			try {
+				best = Math.max(best, m.evaluate(chosen, "brute", false).getResidents());
+			} catch (IllegalStateException overlapping) {
+				// two buildings on one node
+			}
+		}
+
+		CoverageSolution greedy = new GreedyCoverageSolver(m, 7L).solve(20);
+		assertTrue(greedy.getResidents() <= best);
+		assertFalse(greedy.isOptimal());
+
+		CoverageSolution exact = new MipCoverageSolver(m).solve(greedy, 10_000);
+		assertEquals(best, exact.getResidents());
+		assertTrue(exact.isOptimal());
+	}
+}
@@ -0,0 +1,158 @@
+package com.example.backend.layout;
+
+import com.example.backend.algorithm.CsrGraph;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ForceLayoutTests {
+
+	private static CsrGraph grid(int side, boolean withPositions) {
+		CsrGraph.Builder b = new CsrGraph.Builder(side * side, 2 * side * side);
+		for (int r = 0; r < side; r++) {
+			for (int c = 0; c < side; c++) {
+				b.addVertex(r + "_" + c, withPositions ? c * 10.0 : Double.NaN, withPositions ? r * 10.0 : Double.NaN);
+			}
+		}
+		for (int r = 0; r < side; r++) {
+			for (int c = 0; c < side; c++) {
+				if (c + 1 < side) b.addEdge(r + "_" + c, r + "_" + (c + 1), 1.0, false);
+				if (r + 1 < side) b.addEdge(r + "_" + c, (r + 1) + "_" + c, 1.0, false);
+			}
+		}
+		return b.build();
+	}
+
+	private static double meanEdgeLength(CsrGraph g, ForceLayoutResult r) {
+		double sum = 0;
+		int count = 0;
+		for (int v = 0; v < g.vertexCount(); v++) {
+			for (int a = g.arcStart(v); a < g.arcEnd(v); a++) {
+				int u = g.target(a);
+				sum += Math.hypot(r.x(u) - r.x(v), r.y(u) - r.y(v));
+				count++;
+			}
+		}
+		return sum / count;
+	}
+
+	// Share of each vertex's graph neighbours found among its nearest vertices in the layout
+	private static double neighbourPrecision(CsrGraph g, ForceLayoutResult r) {
+		CsrGraph sym = g.symmetric();
+		int n = sym.vertexCount();
+		long found = 0, total = 0;
+		for (int v = 0; v < n; v++) {
+			int degree = sym.degree(v);
+			double[] d = new double[n];
+			for (int u = 0; u < n; u++) d[u] = Math.hypot(r.x(u) - r.x(v), r.y(u) - r.y(v));
+			for (int a = sym.arcStart(v); a < sym.arcEnd(v); a++) {
+				int u = sym.target(a);
+				int closer = 0;
+				for (int w = 0; w < n; w++) if (w != v && d[w] < d[u]) closer++;
+				if (closer < degree) found++;
+				total++;
+			}
+		}
+		return (double) found / total;
+	}
+
+	@Test
+	void gridNeighboursStayAdjacent() {
+		CsrGraph g = grid(30, false);
+		ForceLayoutResult r = new ForceLayout(1L).run(g, ForkJoinPool.commonPool());
+		assertTrue(r.getLevels() > 1);
+		assertTrue(neighbourPrecision(g, r) > 0.7, "precision " + neighbourPrecision(g, r));
+		assertEquals(ForceLayout.DEFAULT_EDGE_LENGTH, meanEdgeLength(g, r), 1e-6);
+		for (int v = 0; v < g.vertexCount(); v++) {
+			assertTrue(r.x(v) >= ForceLayout.DEFAULT_EDGE_LENGTH - 1e-6 && r.y(v) >= ForceLayout.DEFAULT_EDGE_LENGTH - 1e-6);
+		}
+	}
+
+	@Test
+	void sameSeedGivesSameLayoutOnAnyPool() {
+		Random rnd = new Random(7);
+		int n = 3000;
+		CsrGraph.Builder b = new CsrGraph.Builder(n, 3 * n);
+		for (int v = 0; v < n; v++) b.addVertex("n" + v, Double.NaN, Double.NaN);
+		for (int i = 0; i < 3 * n; i++) b.addEdge("n" + rnd.nextInt(n), "n" + rnd.nextInt(n), 1.0, rnd.nextBoolean());
+		CsrGraph g = b.build();
+
+		ForceLayout layout = new ForceLayout(5L);
+		layout.setIterations(10);
+		ForkJoinPool pool = new ForkJoinPool(4);
+		ForceLayoutResult first;
+		try {
+			first = layout.run(g, pool);
+		} finally {
+			pool.shutdownNow();
+		}
+		ForceLayoutResult second = layout.run(g, null);
+		for (int v = 0; v < n; v++) {
+			assertEquals(first.x(v), second.x(v));
+			assertEquals(first.y(v), second.y(v));
+		}
+	}
+
+	@Test
+	void refineStartsFromStoredPositions() {
+		CsrGraph g = grid(12, true);
+		ForceLayout layout = new ForceLayout(3L);
+		layout.setRefine(true);
+		layout.setEdgeLength(40);
+		ForceLayoutResult r = layout.run(g, ForkJoinPool.commonPool());
+		assertEquals(1, r.getLevels());
+		assertEquals(40, meanEdgeLength(g, r), 1e-6);
+		// The stored grid is already a good layout, so corners keep their orientation
+		int last = 11 * 12 + 11;
+		assertTrue(r.x(0) < r.x(last) && r.y(0) < r.y(last));
+		assertTrue(r.x(11) > r.x(11 * 12) && r.y(11) < r.y(11 * 12));
+	}
+
+	@Test
+	void exactTreeMatchesPairwiseRepulsion() {
+		Random rnd = new Random(11);
+		int n = 400;
+		double[] x = new double[n], y = new double[n], m = new double[n];
+		double totalMass = 0;
+		for (int v = 0; v < n; v++) {
+			x[v] = rnd.nextGaussian() * 100;
+			y[v] = rnd.nextGaussian() * 100;
+			m[v] = 1 + rnd.nextInt(3);
+			totalMass += m[v];
+		}
+		x[1] = x[0];
+		y[1] = y[0] + 1e-12;
+		BarnesHutTree tree = new BarnesHutTree(n);
+		tree.build(n, x, y, m);
+		assertEquals(totalMass, tree.totalMass(), 1e-9);
+
+		int[] stack = new int[BarnesHutTree.STACK_SIZE];
+		for (int v = 2; v < n; v++) {
+			double[] out = new double[2];
+			tree.repulsion(v, x[v], y[v], m[v], 0, 2.0, stack, out);
+			double fx = 0, fy = 0;
+			for (int u = 0; u < n; u++) {
+				if (u == v) continue;
+				double dx = x[v] - x[u], dy = y[v] - y[u];
+				double f = 2.0 * m[u] / (dx * dx + dy * dy);
+				fx += dx * f;
+				fy += dy * f;
+			}
+			assertEquals(fx, out[0], 1e-9 * (1 + Math.abs(fx)));
+			assertEquals(fy, out[1], 1e-9 * (1 + Math.abs(fy)));
+		}
+	}
+
+	@Test
+	void rejectsInvalidSettings() {
+		ForceLayout layout = new ForceLayout(0L);
+		assertThrows(IllegalArgumentException.class, () -> layout.setIterations(0));
+		assertThrows(IllegalArgumentException.class, () -> layout.setEdgeLength(0));
+		assertThrows(IllegalArgumentException.class, () -> layout.setTheta(Double.NaN));
+	}
+}
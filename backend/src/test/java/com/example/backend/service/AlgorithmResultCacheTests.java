@@ -0,0 +1,67 @@
+package com.example.backend.service;
+
+import com.example.backend.entity.User;
+import com.example.backend.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class AlgorithmResultCacheTests {
+
+	@Autowired
+	private AlgorithmResultCache resultCache;
+
+	@Autowired
+	private GraphService graphService;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Test
+	void resultIsOnlyStoredWhenTheGraphStayedOnTheComputedVersion() {
+		Long userId = userRepository.save(new User(UUID.randomUUID() + "@test", "x", "Test", "User")).getId();
+		Long graphId = graphService.saveGraph("path",
+				List.of(Map.of("id", "a", "label", "A"), Map.of("id", "b", "label", "B")),
+				List.of(Map.of("id", "ab", "from", "a", "to", "b", "weight", 2.0)), userId).getId();
+		long start = jdbcTemplate.queryForObject("SELECT version FROM graphs WHERE id = ?", Long.class, graphId);
+		String algorithm = "test-" + UUID.randomUUID();
+		AtomicInteger runs = new AtomicInteger();
+		long[] computedOn = new long[1];
+
+		resultCache.get(graphId, algorithm, Map.of(), (g, version) -> {
+			runs.incrementAndGet();
+			computedOn[0] = version;
+			// A save lands while the run is in progress
+			jdbcTemplate.update("UPDATE graphs SET version = version + 1 WHERE id = ?", graphId);
+			return Map.of("vertices", g.vertexCount());
+		});
+		assertEquals(start, computedOn[0]);
+
+		AlgorithmResultCache.Compute count = (g, version) -> {
+			runs.incrementAndGet();
+			computedOn[0] = version;
+			return Map.of("vertices", g.vertexCount());
+		};
+		resultCache.get(graphId, algorithm, Map.of(), count);
+		assertEquals(2, runs.get());
+		assertEquals(start + 1, computedOn[0]);
+
+		Map<String, Object> cached = resultCache.get(graphId, algorithm, Map.of(), count);
+		assertEquals(2, runs.get());
+		assertEquals(2, cached.get("vertices"));
+	}
+}
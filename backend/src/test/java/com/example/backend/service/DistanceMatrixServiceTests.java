@@ -0,0 +1,53 @@
+package com.example.backend.service;
+
+import com.example.backend.algorithm.DistanceMatrix;
+import com.example.backend.entity.User;
+import com.example.backend.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class DistanceMatrixServiceTests {
+
+	@Autowired
+	private DistanceMatrixService distanceMatrixService;
+
+	@Autowired
+	private GraphService graphService;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Test
+	void matrixIsOnlyServedForTheVersionItWasComputedFrom() {
+		Long userId = userRepository.save(new User(UUID.randomUUID() + "@test", "x", "Test", "User")).getId();
+		Long graphId = graphService.saveGraph("path",
+				List.of(Map.of("id", "a", "label", "A"), Map.of("id", "b", "label", "B")),
+				List.of(Map.of("id", "ab", "from", "a", "to", "b", "weight", 2.0)), userId).getId();
+		long start = jdbcTemplate.queryForObject("SELECT version FROM graphs WHERE id = ?", Long.class, graphId);
+
+		jdbcTemplate.update("UPDATE edges SET weight = 5 WHERE graph_id = ?", graphId);
+		jdbcTemplate.update("UPDATE graphs SET version = version + 1 WHERE id = ?", graphId);
+
+		// A caller that read the old version gets nothing rather than the new graph's matrix under it
+		assertTrue(distanceMatrixService.getMatrix(graphId, start).isEmpty());
+		DistanceMatrix current = distanceMatrixService.getMatrix(graphId).orElseThrow();
+		assertEquals(5.0, current.get(0, 1));
+		assertSame(current, distanceMatrixService.getMatrix(graphId, start + 1).orElseThrow());
+	}
+}
@@ -0,0 +1,23 @@
+package com.example.backend.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class DistanceRowsTests {
+
+	@Test
+	void writesRowsAsNestedArraysWithNullForUnreachable() throws Exception {
+		double[] values = {0, 1.5, Double.POSITIVE_INFINITY, 2, 0, 3};
+		Map<String, Object> body = Map.of("distances", DistanceRows.of(values, 2, 3));
+		assertEquals("{\"distances\":[[0.0,1.5,null],[2.0,0.0,3.0]]}", new ObjectMapper().writeValueAsString(body));
+	}
+
+	@Test
+	void writesAnEmptyMatrix() throws Exception {
+		assertEquals("[]", new ObjectMapper().writeValueAsString(DistanceRows.of(new double[0], 0, 0)));
+	}
+}
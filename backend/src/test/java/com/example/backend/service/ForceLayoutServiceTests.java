@@ -0,0 +1,103 @@
+package com.example.backend.service;
+
+import com.example.backend.algorithm.CsrGraph;
+import com.example.backend.algorithm.DistanceMatrix;
+import com.example.backend.entity.User;
+import com.example.backend.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class ForceLayoutServiceTests {
+
+	@Autowired
+	private ForceLayoutService forceLayoutService;
+
+	@Autowired
+	private GraphService graphService;
+
+	@Autowired
+	private AlgorithmService algorithmService;
+
+	@Autowired
+	private DistanceMatrixService distanceMatrixService;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	private Long graphId;
+
+	@BeforeEach
+	void saveRing() {
+		Long userId = userRepository.save(new User(UUID.randomUUID() + "@test", "x", "Test", "User")).getId();
+		List<Map<String, Object>> nodes = new ArrayList<>();
+		List<Map<String, Object>> edges = new ArrayList<>();
+		for (int i = 0; i < 12; i++) {
+			nodes.add(Map.of("id", "n" + i, "label", "N" + i, "x", 0.0, "y", 0.0));
+			edges.add(Map.of("id", "e" + i, "from", "n" + i, "to", "n" + (i + 1) % 12));
+		}
+		graphId = graphService.saveGraph("ring", nodes, edges, userId).getId();
+	}
+
+	private long version() {
+		return jdbcTemplate.queryForObject("SELECT version FROM graphs WHERE id = ?", Long.class, graphId);
+	}
+
+	private List<Double> stored(String nodeId) {
+		Map<String, Object> row = jdbcTemplate.queryForMap(
+				"SELECT position_x, position_y FROM nodes WHERE graph_id = ? AND node_id = ?", graphId, nodeId);
+		return List.of(((Number) row.get("position_x")).doubleValue(), ((Number) row.get("position_y")).doubleValue());
+	}
+
+	@Test
+	void persistWritesPositionsAndMovesToTheNextVersion() {
+		long start = version();
+		DistanceMatrix before = distanceMatrixService.getMatrix(graphId).orElseThrow();
+
+		Map<String, Object> body = forceLayoutService.layout(graphId, 20, null, null, false, true, 1L, null);
+		assertEquals(start + 1, body.get("version"));
+		assertEquals(start + 1, version());
+		@SuppressWarnings("unchecked")
+		Map<String, List<Double>> positions = (Map<String, List<Double>>) body.get("positions");
+		CsrGraph reloaded = algorithmService.loadGraph(graphId).orElseThrow();
+		for (int v = 0; v < reloaded.vertexCount(); v++) {
+			String nodeId = reloaded.nodeId(v);
+			assertEquals(positions.get(nodeId), stored(nodeId));
+			// The graph is loaded again with the new positions rather than served from before the write
+			assertEquals(positions.get(nodeId), List.of(reloaded.positionX(v), reloaded.positionY(v)));
+		}
+		assertNotSame(before, distanceMatrixService.getMatrix(graphId).orElseThrow());
+	}
+
+	@Test
+	void graphChangedDuringTheLayoutIsNotOverwritten() {
+		long start = version();
+		AtomicBoolean edited = new AtomicBoolean();
+		assertThrows(VersionConflictException.class, () -> forceLayoutService.layout(graphId, 20, null, null, false, true, 2L,
+				fraction -> {
+					if (edited.compareAndSet(false, true)) {
+						jdbcTemplate.update("UPDATE graphs SET version = version + 1 WHERE id = ?", graphId);
+					}
+				}));
+		assertEquals(start + 1, version());
+		assertEquals(List.of(0.0, 0.0), stored("n3"));
+	}
+}
@@ -0,0 +1,71 @@
+package com.example.backend.service;
+
+import com.example.backend.entity.User;
+import com.example.backend.job.AlgorithmJob;
+import com.example.backend.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class GraphImportServiceTests {
+
+	@Autowired
+	private GraphImportService graphImportService;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	private Long userId;
+
+	@BeforeEach
+	void createUser() {
+		userId = userRepository.save(new User(UUID.randomUUID() + "@test", "x", "Test", "User")).getId();
+	}
+
+	private AlgorithmJob importNdjson(String content) throws Exception {
+		MockMultipartFile file = new MockMultipartFile("file", "graph.ndjson", "application/x-ndjson",
+				content.getBytes(StandardCharsets.UTF_8));
+		AlgorithmJob job = graphImportService.submit(userId, file, null, null, false);
+		long deadline = System.currentTimeMillis() + 10_000;
+		while (!job.getStatus().isFinished() && System.currentTimeMillis() < deadline) Thread.sleep(20);
+		return job;
+	}
+
+	@Test
+	void generatedEdgeIdsAvoidIdsFromTheFile() throws Exception {
+		AlgorithmJob job = importNdjson(String.join("\n",
+				"{\"type\":\"edge\",\"source\":\"a\",\"target\":\"b\"}",
+				"{\"type\":\"edge\",\"id\":\"e1\",\"source\":\"b\",\"target\":\"c\"}",
+				"{\"type\":\"edge\",\"source\":\"c\",\"target\":\"a\"}",
+				"{\"type\":\"edge\",\"id\":\"e3\",\"source\":\"a\",\"target\":\"d\"}"));
+		assertEquals(AlgorithmJob.Status.SUCCEEDED, job.getStatus());
+		Long graphId = (Long) ((Map<?, ?>) job.getResult()).get("graphId");
+		List<String> ids = jdbcTemplate.queryForList("SELECT edge_id FROM edges WHERE graph_id = ? ORDER BY id", String.class, graphId);
+		assertEquals(4, ids.stream().distinct().count(), ids.toString());
+		assertTrue(ids.containsAll(List.of("e1", "e3")), ids.toString());
+	}
+
+	@Test
+	void malformedFileFailsWithImportCode() throws Exception {
+		AlgorithmJob job = importNdjson("{\"type\":\"node\",\"id\":\"a\"}\n{not json");
+		assertEquals(AlgorithmJob.Status.FAILED, job.getStatus());
+		assertEquals("INVALID_IMPORT_FILE", job.toMap().get("errorCode"));
+	}
+}
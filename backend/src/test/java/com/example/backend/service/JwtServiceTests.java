@@ -0,0 +1,48 @@
+package com.example.backend.service;
+
+import com.example.backend.config.JwtProperties;
+import com.example.backend.security.AuthPrincipal;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JwtServiceTests {
+
+	private static JwtService service(long accessTtlMs) {
+		JwtProperties props = new JwtProperties();
+		props.setSecret("test-secret-test-secret-test-secret-0123456789");
+		props.setAccessTtlMs(accessTtlMs);
+		props.setRefreshTtlMs(accessTtlMs);
+		return new JwtService(props, new SimpleMeterRegistry());
+	}
+
+	@Test
+	void verifiesOnceAndServesTheCachedPrincipal() {
+		JwtService jwt = service(60_000);
+		String token = jwt.generateAccessToken(42L, "a@b.c");
+
+		Optional<AuthPrincipal> first = jwt.verify(token);
+		assertTrue(first.isPresent());
+		assertEquals(42L, first.get().getUserId());
+		assertEquals("a@b.c", first.get().getEmail());
+		assertEquals("access", first.get().getTokenType());
+		assertSame(first.get(), jwt.verify(token).orElseThrow());
+	}
+
+	@Test
+	void rejectsTamperedForeignAndExpiredTokens() {
+		JwtService jwt = service(60_000);
+		String token = jwt.generateAccessToken(1L, "a@b.c");
+		String tampered = token.substring(0, token.length() - 2) + (token.endsWith("A") ? "BB" : "AA");
+		assertTrue(jwt.verify(tampered).isEmpty());
+		assertTrue(jwt.verify("not-a-token").isEmpty());
+
+		JwtService other = service(60_000);
+		assertTrue(other.verify(service(-1_000).generateAccessToken(1L, "a@b.c")).isEmpty());
+	}
+}
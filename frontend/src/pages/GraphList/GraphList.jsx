@@ -315,10 +315,10 @@ const GraphList = () => {
                         {graph.name}
                       </Typography>
                       <Typography variant="body2">
-                        {t('node_count')} {graph.nodes?.length || 0}
+                        {t('node_count')} {graph.nodeCount ?? graph.nodes?.length ?? 0}
                       </Typography>
                       <Typography variant="body2">
-                        {t('edge_count')} {graph.edges?.length || 0}
+                        {t('edge_count')} {graph.edgeCount ?? graph.edges?.length ?? 0}
                       </Typography>
                       <Typography variant="caption" display="block">
                         {t('created_at')} {graph.createdAt ? new Date(graph.createdAt).toLocaleDateString(locale) : t('unknown')}
@@ -30,10 +30,14 @@ for outer in Nodes:
         if outer != inner and Weights[outer][inner] == 0:
             Weights[outer][inner] = np.inf
 
+# Straight-line distances do not depend on k, so compute them once
+for outer in Nodes:
+    for inner in Nodes:
+        Fly[outer][inner] = np.sqrt(np.square(Pos[outer][0] - Pos[inner][0]) + np.square(Pos[outer][1] - Pos[inner][1]))
+
 for k in Nodes:
     for outer in Nodes:
         for inner in Nodes:
-            Fly[outer][inner] = np.sqrt(np.square(Pos[outer][0] - Pos[inner][0]) + np.square(Pos[outer][1] - Pos[inner][1]))
             if Weights[outer][inner] > Weights[outer][k] + Weights[k][inner]:
                 Weights[outer][inner] = Weights[outer][k] + Weights[k][inner]
 